@@ -0,0 +1,90 @@
+package com.tphelps.backend.loadtest;
+
+import io.gatling.javaapi.core.ScenarioBuilder;
+import io.gatling.javaapi.core.Simulation;
+import io.gatling.javaapi.http.HttpProtocolBuilder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+import static io.gatling.javaapi.core.CoreDsl.*;
+import static io.gatling.javaapi.http.HttpDsl.*;
+
+/**
+ * End to end throughput and tail latency of study guide generation, run against the backend started with the
+ * loadtest profile so OpenAI is the embedded fake and nothing leaves the machine:
+ *
+ *   ./mvnw spring-boot:run -Dspring-boot.run.profiles=dev,loadtest
+ *   ./mvnw -P loadtest gatling:test -Dusers=250 -Dduration=120
+ *
+ * The user logged in as needs an active subscription with more generations_left than the run makes. Every
+ * request sends different notes so the study guide cache and request coalescing don't hide the generation.
+ * Access tokens live 15 minutes, keep runs shorter than that
+ */
+public class StudyGuideSimulation extends Simulation {
+
+    private static final String BASE_URL = System.getProperty("baseUrl", "http://localhost:8080");
+    private static final String PATH = System.getProperty("path", "/notes/generate-study-guide");
+    private static final String USERNAME = System.getProperty("username", "loadtest");
+    private static final String PASSWORD = System.getProperty("password", "loadtest");
+    private static final int USERS = Integer.getInteger("users", 250);
+    private static final int RAMP_SECONDS = Integer.getInteger("rampSeconds", 10);
+    private static final int DURATION_SECONDS = Integer.getInteger("duration", 120);
+    private static final int MAX_P99_MS = Integer.getInteger("maxP99Ms", 5000);
+    private static final int PARAGRAPHS = Integer.getInteger("paragraphs", 8);
+
+    private static final AtomicLong requests = new AtomicLong();
+
+    private final Iterator<Map<String, Object>> notes =
+            Stream.generate(() -> Map.<String, Object>of("notes", notes(requests.incrementAndGet()))).iterator();
+
+    private final HttpProtocolBuilder protocol = http
+            .baseUrl(BASE_URL)
+            .contentTypeHeader("application/json")
+            .acceptHeader("*/*");
+
+    private final ScenarioBuilder generate = scenario("study guide generation")
+            .exec(http("login")
+                    .post("/auth/login")
+                    .body(StringBody("{\"username\":\"" + USERNAME + "\",\"password\":\"" + PASSWORD + "\"}"))
+                    .check(status().is(200)))
+            .during(Duration.ofSeconds(DURATION_SECONDS)).on(
+                    feed(notes)
+                            .exec(http("generate study guide")
+                                    .post(PATH)
+                                    .body(StringBody("{\"title\":\"Load test\",\"notes\":\"#{notes}\"}"))
+                                    .check(status().is(200))
+                                    .check(bodyString().exists())));
+
+    {
+        setUp(generate.injectOpen(rampUsers(USERS).during(Duration.ofSeconds(RAMP_SECONDS))))
+                .protocols(protocol)
+                .assertions(
+                        global().successfulRequests().percent().gte(99.0),
+                        details("generate study guide").responseTime().percentile(99.0).lt(MAX_P99_MS));
+    }
+
+    /**
+     * Notes unique to one request, paragraphs separated by escaped blank lines so they can go straight into the
+     * json body
+     * @param request - number of the request
+     * @return - the notes
+     */
+    private static String notes(long request){
+        StringBuilder notes = new StringBuilder();
+        for(int p = 0; p < PARAGRAPHS; p++){
+            if(p > 0){
+                notes.append("\\n\\n");
+            }
+            notes.append("Request ").append(request).append(" paragraph ").append(p).append('.');
+            for(int w = 0; w < 60; w++){
+                notes.append(" term").append((request * 31 + p * 7 + w) % 1009);
+            }
+            notes.append('.');
+        }
+        return notes.toString();
+    }
+}
@@ -1,9 +1,10 @@
 package com.tphelps.backend.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.EnableAsync;
-import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
 
@@ -12,17 +13,58 @@ import java.util.concurrent.Executor;
 public class AsyncConfig {
 
     /**
-     * Custom executor for async email threads to prevent email tasks competing with other work
+     * Custom executor for async email threads to prevent email tasks competing with other work.
+     * Each email runs on its own virtual thread. There's no concurrency limit here since a full executor would block
+     * the request thread handing it the email, the smtp bulkhead bounds the SMTP sessions instead
      * @return
      */
     @Bean("emailExecutor")
     public Executor emailExecutor() {
-        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
-        executor.setCorePoolSize(5);
-        executor.setMaxPoolSize(10);
-        executor.setQueueCapacity(50);
-        executor.setThreadNamePrefix("email-");
-        executor.initialize();
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("email-");
+        executor.setVirtualThreads(true);
+        return executor;
+    }
+
+    /**
+     * Executor for the write-behind note uploads, each upload runs on its own virtual thread and the concurrency
+     * limit is the max number of concurrent uploads to the drive.
+     * Callers only hand it as many uploads as there are free slots so nothing waits on the limit
+     * @return
+     */
+    @Bean("noteUploadExecutor")
+    public SimpleAsyncTaskExecutor noteUploadExecutor(@Value("${notes.upload.concurrency:4}") int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("note-upload-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrency);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    /**
+     * Executor for queued study guide generations, each generation runs on its own virtual thread and the
+     * concurrency limit matches the worker's generation slots
+     * @return
+     */
+    @Bean("studyGuideJobExecutor")
+    public SimpleAsyncTaskExecutor studyGuideJobExecutor(@Value("${study-guide.jobs.concurrency:16}") int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("study-guide-job-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrency);
+        executor.setTaskTerminationTimeout(30_000);
+        return executor;
+    }
+
+    /**
+     * Executor for the per chunk OpenAI calls of large study guides, shared by every request so the chunk calls across
+     * all requests are bounded. Each request still keeps at most study-guide.map.concurrency of its own chunks in flight
+     * @return
+     */
+    @Bean("studyGuideMapExecutor")
+    public SimpleAsyncTaskExecutor studyGuideMapExecutor(@Value("${study-guide.map.total-concurrency:64}") int concurrency) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("study-guide-map-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(concurrency);
+        executor.setTaskTerminationTimeout(30_000);
         return executor;
     }
 }
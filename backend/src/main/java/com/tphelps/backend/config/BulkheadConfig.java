@@ -0,0 +1,76 @@
+package com.tphelps.backend.config;
+
+import com.openai.errors.OpenAIException;
+import com.openai.errors.OpenAIServiceException;
+import com.stripe.exception.StripeException;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mail.MailAuthenticationException;
+import org.springframework.mail.MailParseException;
+import org.springframework.mail.MailPreparationException;
+
+/**
+ * One bulkhead per outbound dependency so a slow OpenAI, drive, Stripe or SMTP server can only tie up its own
+ * share of request threads. The latency thresholds are per dependency since a study guide generation is normally
+ * far slower than a Stripe call. Each dependency also says which of its failures mean it's overloaded, a request
+ * it rejected (4xx, bad credentials, an invalid message) says nothing about its capacity
+ */
+@Configuration
+public class BulkheadConfig {
+
+    @Value("${bulkhead.min-limit:1}")
+    private int minLimit;
+
+    @Value("${bulkhead.backoff-ratio:0.9}")
+    private double backoffRatio;
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Bean
+    public AdaptiveBulkhead openAiBulkhead(MeterRegistry meterRegistry,
+                                           @Value("${bulkhead.openai.initial-limit:50}") int initialLimit,
+                                           @Value("${bulkhead.openai.max-limit:400}") int maxLimit,
+                                           @Value("${bulkhead.openai.latency-threshold-ms:120000}") long latencyThresholdMs) {
+        return new AdaptiveBulkhead("openai", initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio,
+                e -> e instanceof OpenAIException
+                        && (!(e instanceof OpenAIServiceException service) || isOverloadStatus(service.statusCode())),
+                meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveBulkhead rcloneBulkhead(MeterRegistry meterRegistry,
+                                           @Value("${bulkhead.rclone.initial-limit:20}") int initialLimit,
+                                           @Value("${bulkhead.rclone.max-limit:50}") int maxLimit,
+                                           @Value("${bulkhead.rclone.latency-threshold-ms:15000}") long latencyThresholdMs) {
+        return new AdaptiveBulkhead("rclone", initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio,
+                AdaptiveBulkhead.ALL_FAILURES, meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveBulkhead stripeBulkhead(MeterRegistry meterRegistry,
+                                           @Value("${bulkhead.stripe.initial-limit:10}") int initialLimit,
+                                           @Value("${bulkhead.stripe.max-limit:50}") int maxLimit,
+                                           @Value("${bulkhead.stripe.latency-threshold-ms:5000}") long latencyThresholdMs) {
+        // no status code means the request never got an answer
+        return new AdaptiveBulkhead("stripe", initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio,
+                e -> !(e instanceof StripeException stripe) || stripe.getStatusCode() == null || isOverloadStatus(stripe.getStatusCode()),
+                meterRegistry);
+    }
+
+    @Bean
+    public AdaptiveBulkhead smtpBulkhead(MeterRegistry meterRegistry,
+                                         @Value("${bulkhead.smtp.initial-limit:5}") int initialLimit,
+                                         @Value("${bulkhead.smtp.max-limit:10}") int maxLimit,
+                                         @Value("${bulkhead.smtp.latency-threshold-ms:10000}") long latencyThresholdMs) {
+        return new AdaptiveBulkhead("smtp", initialLimit, minLimit, maxLimit, latencyThresholdMs, backoffRatio,
+                e -> !(e instanceof MailParseException || e instanceof MailPreparationException || e instanceof MailAuthenticationException),
+                meterRegistry);
+    }
+
+    private static boolean isOverloadStatus(int statusCode){
+        return statusCode == TOO_MANY_REQUESTS || statusCode >= 500;
+    }
+}
@@ -2,6 +2,7 @@ package com.tphelps.backend.config;
 
 import com.tphelps.backend.jwt.JwtTokenGenerator;
 import com.tphelps.backend.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.Cookie;
@@ -19,6 +20,7 @@ import org.springframework.security.web.context.RequestAttributeSecurityContextR
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 import java.util.StringJoiner;
 
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -51,9 +53,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         String token = getJwtFromRequest(request);
         try {
-            if (token != null && !token.isEmpty() && jwtTokenGenerator.validateJwt(token)) {
+            // one verification per new token, repeat requests with the same token are a cache lookup
+            Optional<Claims> claims = jwtTokenGenerator.verifyJwt(token);
+            if (claims.isPresent()) {
 
-                String username = jwtTokenGenerator.getUsernameFromJwt(token);
+                String username = claims.get().getSubject();
 
                 UserDetails userDetails = userDetailsService.loadUserByUsername(username);
                 UsernamePasswordAuthenticationToken authenticationToken =
@@ -0,0 +1,56 @@
+package com.tphelps.backend.config;
+
+import com.openai.client.OpenAIClient;
+import com.openai.client.okhttp.OpenAIOkHttpClient;
+import com.openai.core.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class OpenAiClientConfig {
+
+    @Value("${openai.base-url:https://api.openai.com/v1}")
+    private String baseUrl;
+
+    @Value("${openai.timeout.connect-ms:5000}")
+    private long connectTimeoutMs;
+
+    @Value("${openai.timeout.read-ms:60000}")
+    private long readTimeoutMs;
+
+    @Value("${openai.timeout.write-ms:30000}")
+    private long writeTimeoutMs;
+
+    @Value("${openai.timeout.request-ms:180000}")
+    private long requestTimeoutMs;
+
+    @Value("${openai.max-retries:2}")
+    private int maxRetries;
+
+    /**
+     * Shared OpenAI client for every generation, replaces the client NotesService built with the sdk defaults.
+     *
+     * The sdk doesn't expose OkHttp's connection pool, it keeps OkHttp's default pool. Everything goes to one host and
+     * OkHttp negotiates HTTP/2 with api.openai.com, multiplexing calls over those connections. The read timeout
+     * is the longest gap between bytes, so a stalled stream fails, and the request timeout bounds the whole call
+     * including retries of connection errors, 408, 409, 429 and 5xx
+     * @return - the shared client
+     */
+    @Bean(destroyMethod = "close")
+    public OpenAIClient openAiClient() {
+        return OpenAIOkHttpClient.builder()
+                .fromEnv()
+                .baseUrl(baseUrl)
+                .timeout(Timeout.builder()
+                        .connect(Duration.ofMillis(connectTimeoutMs))
+                        .read(Duration.ofMillis(readTimeoutMs))
+                        .write(Duration.ofMillis(writeTimeoutMs))
+                        .request(Duration.ofMillis(requestTimeoutMs))
+                        .build())
+                .maxRetries(maxRetries)
+                .build();
+    }
+}
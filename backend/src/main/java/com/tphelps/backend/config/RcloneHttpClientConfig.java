@@ -0,0 +1,87 @@
+package com.tphelps.backend.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+public class RcloneHttpClientConfig {
+
+    @Value("${rclone.pool.max-total:50}")
+    private int maxTotal;
+
+    @Value("${rclone.pool.max-per-route:50}")
+    private int maxPerRoute;
+
+    @Value("${rclone.pool.keep-alive-ms:30000}")
+    private long keepAliveMs;
+
+    @Value("${rclone.pool.idle-evict-ms:60000}")
+    private long idleEvictMs;
+
+    @Value("${rclone.pool.connect-timeout-ms:2000}")
+    private int connectTimeoutMs;
+
+    @Value("${rclone.pool.socket-timeout-ms:120000}")
+    private int socketTimeoutMs;
+
+    /**
+     * Connection pool for the local rclone RC daemon, everything goes to one route (127.0.0.1:5572)
+     * so max-per-route is effectively the concurrency limit for rclone calls
+     * @param meterRegistry - registry to publish pool gauges to
+     * @return - the pooling connection manager
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PoolingHttpClientConnectionManager rcloneConnectionManager(MeterRegistry meterRegistry) {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity(2_000);
+
+        Gauge.builder("rclone.http.pool.leased", connectionManager, cm -> cm.getTotalStats().getLeased())
+                .description("Connections to rclone currently in use")
+                .register(meterRegistry);
+        Gauge.builder("rclone.http.pool.available", connectionManager, cm -> cm.getTotalStats().getAvailable())
+                .description("Idle connections to rclone kept alive in the pool")
+                .register(meterRegistry);
+        Gauge.builder("rclone.http.pool.pending", connectionManager, cm -> cm.getTotalStats().getPending())
+                .description("Requests waiting for a connection to rclone")
+                .register(meterRegistry);
+        Gauge.builder("rclone.http.pool.max", connectionManager, cm -> cm.getTotalStats().getMax())
+                .description("Max connections to rclone")
+                .register(meterRegistry);
+
+        return connectionManager;
+    }
+
+    /**
+     * Shared http client for every rclone RC call, replaces building a client per request
+     * @param rcloneConnectionManager - the pooled connection manager
+     * @return - the shared client
+     */
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient rcloneHttpClient(PoolingHttpClientConnectionManager rcloneConnectionManager) {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeoutMs)
+                .setConnectionRequestTimeout(connectTimeoutMs)
+                .setSocketTimeout(socketTimeoutMs)
+                .build();
+
+        return HttpClients.custom()
+                .setConnectionManager(rcloneConnectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                // rclone doesn't send a Keep-Alive header so hold connections for a fixed time instead of forever
+                .setKeepAliveStrategy((response, context) -> keepAliveMs)
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEvictMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+}
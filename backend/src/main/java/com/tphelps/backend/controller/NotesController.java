@@ -1,15 +1,27 @@
 package com.tphelps.backend.controller;
 
+import com.tphelps.backend.controller.pojos.Steps;
 import com.tphelps.backend.controller.pojos.StudyGuide;
 import com.tphelps.backend.dtos.notes.SaveNotesRequest;
 import com.tphelps.backend.service.CustomUserDetailsService;
 import com.tphelps.backend.service.NotesService;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
+import com.tphelps.backend.service.cache.StudyGuideSingleFlight;
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import com.tphelps.backend.service.exceptions.NotesTooLargeException;
 import com.tphelps.backend.service.exceptions.UnauthorizedUserException;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import com.tphelps.backend.service.pojos.StudyGuidePrompt;
 
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
@@ -20,13 +32,16 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.nio.charset.StandardCharsets;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 @RestController
@@ -36,11 +51,21 @@ public class NotesController {
     private static final Logger logger = LoggerFactory.getLogger(NotesController.class);
     private final NotesService notesService;
     private final CustomUserDetailsService customUserDetailsService;
+    private final StudyGuideSingleFlight singleFlight;
+    private final ObjectReader saveNotesReader;
+
+    @Value("${notes.batch.max-notes:1000}")
+    private int maxBatchNotes;
 
     @Autowired
-    public NotesController(NotesService notesService, CustomUserDetailsService customUserDetailsService) {
+    public NotesController(NotesService notesService,
+                           CustomUserDetailsService customUserDetailsService,
+                           StudyGuideSingleFlight singleFlight,
+                           ObjectMapper objectMapper) {
         this.notesService = notesService;
         this.customUserDetailsService = customUserDetailsService;
+        this.singleFlight = singleFlight;
+        this.saveNotesReader = objectMapper.readerFor(SaveNotesRequest.class);
     }
 
     @GetMapping("/fetch-clustered-notes")
@@ -55,7 +80,7 @@ public class NotesController {
     }
 
     /**
-     * Save notes to google drive and save path to database
+     * Save notes to the database and queue them for upload to google drive
      * @param notes - the dto containing the notes and the title
      * @return - response code indicating success or not
      */
@@ -72,7 +97,7 @@ public class NotesController {
             logger.info("User {} initiated saving notes to cloud with title: {}", userDetails.getUsername(), notes.title());
             notesService.saveNotesToCloud(notes, userDetails.getUsername());
             return ResponseEntity.ok().build();
-        }catch(IllegalStateException | EmptyResultDataAccessException | IOException e){
+        }catch(IllegalStateException | DataAccessException e){
             logger.error("Exception caught while saving notes to cloud for user={} with exception={}",
                     userDetails.getUsername(),
                     e.getMessage());
@@ -81,12 +106,90 @@ public class NotesController {
     }
 
     /**
-     * Sends the desired file to the front end as a stream. File comes from the remote via rclone http server
+     * Replace the content of an existing note, only the parts of the note that changed are uploaded again
+     * @param notes - the dto containing the title of the note to update and its new text
+     * @return - response code indicating success or not, 404 if the user has no note with that title
+     */
+    @PutMapping("/to-cloud")
+    public ResponseEntity<?> updateInCloud(
+            @RequestBody SaveNotesRequest notes,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        if(validateNotes(notes)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            logger.info("User {} initiated updating notes in cloud with title: {}", userDetails.getUsername(), notes.title());
+            notesService.updateNote(notes, userDetails.getUsername());
+            return ResponseEntity.ok().build();
+        }catch(EmptyResultDataAccessException e){
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }catch(IllegalStateException | DataAccessException e){
+            logger.error("Exception caught while updating notes in cloud for user={} with exception={}",
+                    userDetails.getUsername(),
+                    e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Save many notes at once from an NDJSON body, one {@link SaveNotesRequest} per line. The notes are read off the
+     * stream as they arrive and saved together in one transaction, then queued for upload like /to-cloud
+     * @param body - the NDJSON request body
+     * @return - the number of notes saved on success
+     */
+    @PostMapping(value = "/to-cloud/batch", consumes = "application/x-ndjson")
+    public ResponseEntity<Map<String, Integer>> saveBatchToCloud(
+            InputStream body,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        String username = userDetails.getUsername();
+
+        List<SaveNotesRequest> notes = new ArrayList<>();
+        try(MappingIterator<SaveNotesRequest> lines = saveNotesReader.readValues(body)){
+            while(lines.hasNextValue()){
+                SaveNotesRequest note = lines.nextValue();
+                if(note.title() == null || note.notes() == null || validateNotes(note) || notes.size() >= maxBatchNotes){
+                    logger.error("Rejected note batch for user={} at line={}", username, notes.size() + 1);
+                    return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+                }
+                notes.add(note);
+            }
+        }catch(IOException e){
+            logger.error("Malformed note batch for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        if(notes.isEmpty()){
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            logger.info("User {} initiated saving a batch of {} notes to cloud", username, notes.size());
+            int saved = notesService.saveNotesBatchToCloud(notes, username);
+            return ResponseEntity.ok().body(Map.of("saved", saved));
+        }catch(IllegalStateException | DataAccessException e){
+            logger.error("Exception caught while saving note batch to cloud for user={} with exception={}",
+                    username,
+                    e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Sends the desired file to the front end as a stream. The file comes from the note content cache if it's there,
+     * else it's piped straight from the remote via the rclone http server as it arrives.
+     * Range requests are honored for partial/resumed downloads, compressed notes go out with their Content-Encoding
+     * when the client accepts it
      * @param body - contains the path of the file
+     * @param range - optional Range header
+     * @param acceptEncoding - optional Accept-Encoding header
      * @return response containing the file stream on success
      */
     @PostMapping("/download-note")
     public ResponseEntity<StreamingResponseBody> getDownloadNote(@RequestBody Map<String, String> body,
+                                                                 @RequestHeader(value = HttpHeaders.RANGE, required = false) String range,
+                                                                 @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
                                                                  @AuthenticationPrincipal UserDetails userDetails) {
         String username = userDetails.getUsername();
         String title = body.get("title");
@@ -96,27 +199,32 @@ public class NotesController {
         }
 
         try{
-            logger.info("Initiating fetch from google drive for user={}", username);
-            File file = notesService.fetchNoteFromGoogleDrive(title, username);
+            logger.info("Initiating note download for user={}", username);
+            NoteDownload note = notesService.openNoteDownload(title, username, range, acceptEncoding);
 
             logger.trace("Streaming response to frontend for user={}", username);
             StreamingResponseBody stream = outputStream -> {
-                try(InputStream inputStream = new FileInputStream(file)){
-                    inputStream.transferTo(outputStream);
-                }finally{
-                    boolean deleted = file.delete();
-                    if(!deleted){
-                        logger.error("Failed to delete file at path={} for user={}",
-                                file.getAbsolutePath(), username);
-                    }
+                try(note){
+                    note.writeTo(outputStream);
                 }
             };
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getName() + "\"")
-                    .contentType(MediaType.APPLICATION_OCTET_STREAM)
-                    .contentLength(file.length())
-                    .body(stream);
+            ResponseEntity.BodyBuilder response = ResponseEntity.status(note.status())
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + note.fileName() + "\"")
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    .contentType(MediaType.APPLICATION_OCTET_STREAM);
+            if(note.contentLength() >= 0){
+                response.contentLength(note.contentLength());
+            }
+            if(note.contentRange() != null){
+                response.header(HttpHeaders.CONTENT_RANGE, note.contentRange());
+            }
+            if(note.contentEncoding() != null){
+                response.header(HttpHeaders.CONTENT_ENCODING, note.contentEncoding())
+                        .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+            }
+
+            return response.body(stream);
         }catch(IllegalStateException | EmptyResultDataAccessException e){
             logger.error("Exception caught streaming note to frontend, user={} exception={}",
                     username, e.getMessage());
@@ -146,10 +254,35 @@ public class NotesController {
                     username, notes.title());
 
             notesService.validateUsersSubscription(username);
-            customUserDetailsService.decrementUserGenerationsLeft(username, 1);
 
-            StudyGuide studyGuide = notesService.generateStudyGuide(
-                    notes.title(), notes.notes(), username);
+            // the same notes were generated before, serve that guide without spending a generation
+            Optional<StudyGuide> cached = notesService.fetchCachedStudyGuide(notes.notes());
+            StudyGuide studyGuide;
+            if(cached.isPresent()){
+                logger.trace("Serving cached study guide for user={}", username);
+                studyGuide = cached.get();
+            }else{
+                // an identical request of the user's already generating is shared rather than charged again
+                StudyGuideSingleFlight.Flight flight = singleFlight.join(username, notesService.studyGuideKey(notes.notes()));
+                if(flight.isLeader()){
+                    try {
+                        StudyGuidePrompt prompt = notesService.prepareStudyGuidePrompt(notes.notes());
+                        // take the OpenAI slot first so a saturated OpenAI turns the request away before it's charged
+                        try(AdaptiveBulkhead.Permit slot = notesService.acquireStudyGuideSlot()){
+                            customUserDetailsService.decrementUserGenerationsLeft(username, 1);
+                            studyGuide = notesService.generateStudyGuide(notes.title(), prompt, username, slot);
+                        }
+                        flight.complete(studyGuide);
+                    } catch(Throwable e){
+                        // whatever ends the leader has to end the flight too or the followers wait it out
+                        flight.fail(e);
+                        throw e;
+                    }
+                }else{
+                    logger.trace("Sharing in flight study guide generation for user={}", username);
+                    studyGuide = flight.await();
+                }
+            }
 
             logger.trace("Streaming response to front end for user={}", username);
 
@@ -158,17 +291,7 @@ public class NotesController {
 
                 try {
                     for (int i = 0; i < questions.size(); i++) {
-                        var q = questions.get(i);
-
-                        String line = String.format(
-                                "%d. %s\n    %c. %s\n",
-                                i + 1,
-                                q.question(),
-                                (char) ('a' + i),
-                                q.answer());
-
-                        outputStream.write(line.getBytes(StandardCharsets.UTF_8));
-                        outputStream.flush();
+                        writeStep(outputStream, i, questions.get(i));
                     }
 
                 } catch (IOException e) {
@@ -187,6 +310,146 @@ public class NotesController {
                     username, Instant.now(), e.getMessage());
             return ResponseEntity.status(403).build();
 
+        } catch(BulkheadFullException e){
+            logger.warn("Study guide request turned away for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+
+        } catch(NotesTooLargeException e){
+            logger.error("Notes too large for a study guide for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+
+        } catch(EmptyResultDataAccessException e){
+            logger.error("Empty result for decrementing generations_left for user={}", username);
+            return  ResponseEntity.status(500).build();
+
+        } catch(Exception e){
+
+            logger.error("Exception occurred while generating study guide for user={} with exception={}",
+                    username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+
+        }
+    }
+
+    /**
+     * Generate a study guide and stream each question/answer pair to the front end the moment the model has
+     * finished writing it, rather than after the whole guide. Same output format as /generate-study-guide
+     * @param notes - populated {@link SaveNotesRequest} from the user
+     * @return response streaming the study guide on success
+     */
+    @PostMapping("/generate-study-guide/stream")
+    public ResponseEntity<StreamingResponseBody> streamStudyGuide(
+            @RequestBody SaveNotesRequest notes,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = userDetails.getUsername();
+        if(validateNotes(notes)) {
+            logger.error("Empty generate study guide request for user={}", username);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try{
+            logger.info("Initiating streamed study guide generation for user={} with title={}",
+                    username, notes.title());
+
+            notesService.validateUsersSubscription(username);
+
+            Optional<StudyGuide> cached = notesService.fetchCachedStudyGuide(notes.notes());
+            StudyGuideSingleFlight.Flight flight = null;
+            AdaptiveBulkhead.Permit slot = null;
+            StudyGuidePrompt prompt = null;
+            if(cached.isEmpty()){
+                flight = singleFlight.join(username, notesService.studyGuideKey(notes.notes()));
+                if(flight.isLeader()){
+                    try {
+                        prompt = notesService.prepareStudyGuidePrompt(notes.notes());
+                        // the slot is held until the stream finishes, taken before charging like /generate-study-guide
+                        slot = notesService.acquireStudyGuideSlot();
+                        try {
+                            customUserDetailsService.decrementUserGenerationsLeft(username, 1);
+                        } catch(RuntimeException e){
+                            slot.close();
+                            throw e;
+                        }
+                    } catch(Throwable e){
+                        flight.fail(e);
+                        throw e;
+                    }
+                }else{
+                    // a leader turned away before generating fails its followers the same way, before they respond
+                    flight.awaitStarted();
+                }
+            }
+
+            StudyGuideSingleFlight.Flight streamFlight = flight;
+            AdaptiveBulkhead.Permit streamSlot = slot;
+            StudyGuidePrompt streamPrompt = prompt;
+            StreamingResponseBody stream = outputStream -> {
+                try(streamSlot) {
+                    if(cached.isPresent()){
+                        var questions = cached.get().questions();
+                        for (int i = 0; i < questions.size(); i++) {
+                            writeStep(outputStream, i, questions.get(i));
+                        }
+                        return;
+                    }
+
+                    int[] index = {0};
+                    if(!streamFlight.isLeader()){
+                        logger.trace("Sharing in flight study guide stream for user={}", username);
+                        streamFlight.follow(step -> {
+                            try {
+                                writeStep(outputStream, index[0]++, step);
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        });
+                        return;
+                    }
+
+                    // the leader keeps generating after its own client goes away, the followers still need the guide
+                    boolean[] clientGone = {false};
+                    try {
+                        StudyGuide studyGuide = notesService.streamStudyGuide(streamPrompt, username, streamSlot, step -> {
+                            streamFlight.publish(step);
+                            if(clientGone[0]){
+                                return;
+                            }
+                            try {
+                                writeStep(outputStream, index[0]++, step);
+                            } catch (IOException e) {
+                                clientGone[0] = true;
+                                logger.error("IOException while streaming study guide for user={} error={}",
+                                        username, e.getMessage());
+                            }
+                        });
+                        streamFlight.complete(studyGuide);
+                    } catch (Throwable e) {
+                        streamFlight.fail(e);
+                        throw e;
+                    }
+                } catch (IOException | UncheckedIOException | IllegalStateException e) {
+                    logger.error(
+                            "Exception while streaming study guide for user={} error={}",
+                            username, e.getMessage());
+                }
+            };
+            return ResponseEntity.ok()
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(stream);
+        } catch(UnauthorizedUserException e){
+
+            logger.error("Unauthorized user tried to access study guide feature user={} at UTC time={} with exception={}",
+                    username, Instant.now(), e.getMessage());
+            return ResponseEntity.status(403).build();
+
+        } catch(BulkheadFullException e){
+            logger.warn("Study guide request turned away for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+
+        } catch(NotesTooLargeException e){
+            logger.error("Notes too large for a study guide for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+
         } catch(EmptyResultDataAccessException e){
             logger.error("Empty result for decrementing generations_left for user={}", username);
             return  ResponseEntity.status(500).build();
@@ -200,6 +463,25 @@ public class NotesController {
         }
     }
 
+    /**
+     * Write one question/answer pair of a study guide and flush it so the client sees it straight away
+     * @param outputStream - the response stream
+     * @param i - index of the pair in the guide
+     * @param q - the pair
+     * @throws IOException
+     */
+    private void writeStep(OutputStream outputStream, int i, Steps q) throws IOException {
+        String line = String.format(
+                "%d. %s\n    %c. %s\n",
+                i + 1,
+                q.question(),
+                (char) ('a' + i),
+                q.answer());
+
+        outputStream.write(line.getBytes(StandardCharsets.UTF_8));
+        outputStream.flush();
+    }
+
     /**
      * Bad name, validate notes fields within dto
      * @param notes - the {@link SaveNotesRequest}
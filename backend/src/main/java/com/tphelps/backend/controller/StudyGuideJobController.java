@@ -0,0 +1,107 @@
+package com.tphelps.backend.controller;
+
+import com.tphelps.backend.dtos.notes.SaveNotesRequest;
+import com.tphelps.backend.dtos.responses.StudyGuideJobResponseDto;
+import com.tphelps.backend.service.StudyGuideJobService;
+import com.tphelps.backend.service.exceptions.NotesTooLargeException;
+import com.tphelps.backend.service.exceptions.UnauthorizedUserException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.net.URI;
+import java.util.UUID;
+
+/**
+ * Async study guide generation, the generation is queued as a job and delivered by polling or Server-Sent Events
+ * instead of inside the request, so a client that disconnects doesn't lose a generation it paid for
+ */
+@RestController
+@RequestMapping("/notes/study-guide-jobs")
+public class StudyGuideJobController {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudyGuideJobController.class);
+    private final StudyGuideJobService studyGuideJobService;
+
+    public StudyGuideJobController(StudyGuideJobService studyGuideJobService) {
+        this.studyGuideJobService = studyGuideJobService;
+    }
+
+    /**
+     * Queue a study guide generation for the notes
+     * @param notes - populated {@link SaveNotesRequest} from the user
+     * @return - 202 with the job id, poll /{id} or subscribe to /{id}/events for the result
+     */
+    @PostMapping
+    public ResponseEntity<StudyGuideJobResponseDto> enqueueStudyGuide(
+            @RequestBody SaveNotesRequest notes,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        String username = userDetails.getUsername();
+        if(notes.title() == null || notes.notes() == null || notes.title().isEmpty() || notes.notes().isEmpty()) {
+            logger.error("Empty study guide job request for user={}", username);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+
+        try {
+            logger.info("Queueing study guide generation for user={} with title={}", username, notes.title());
+            StudyGuideJobResponseDto job = studyGuideJobService.enqueueStudyGuide(notes, username);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/notes/study-guide-jobs/" + job.id()))
+                    .body(job);
+        }catch(UnauthorizedUserException e){
+            logger.error("Unauthorized user tried to queue a study guide user={} with exception={}",
+                    username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }catch(NotesTooLargeException e){
+            logger.error("Notes too large for a study guide for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).build();
+        }catch(EmptyResultDataAccessException e){
+            logger.error("Empty result for decrementing generations_left for user={}", username);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }catch(IllegalStateException | DataAccessException e){
+            logger.error("Exception caught queueing study guide for user={} with exception={}", username, e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Poll a job, the study guide is included once it's completed and stays available to download again
+     * @param id - the job id
+     * @return - the job, 404 if the user has no such job
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<StudyGuideJobResponseDto> fetchJob(@PathVariable UUID id,
+                                                             @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(studyGuideJobService.fetchJob(id, userDetails.getUsername()));
+        }catch(EmptyResultDataAccessException e){
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+
+    /**
+     * Subscribe to a job as Server-Sent Events, "step" events carry each question/answer pair as it's generated
+     * and a "completed" or "failed" event ends the stream
+     * @param id - the job id
+     * @return - the event stream, 404 if the user has no such job
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(@PathVariable UUID id,
+                                                @AuthenticationPrincipal UserDetails userDetails) {
+        try {
+            return ResponseEntity.ok(studyGuideJobService.subscribe(id, userDetails.getUsername()));
+        }catch(EmptyResultDataAccessException e){
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+        }
+    }
+}
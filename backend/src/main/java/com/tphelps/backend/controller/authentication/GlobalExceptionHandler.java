@@ -1,6 +1,8 @@
 package com.tphelps.backend.controller.authentication;
 
 
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -23,4 +25,14 @@ public class GlobalExceptionHandler {
     public ResponseEntity<?> handleAuthenticationException(AuthenticationException e) {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
     }
+
+    /**
+     * A dependency's bulkhead was full so the call was turned away without waiting
+     * @param e the bulkhead exception
+     * @return a 503 status with a short Retry-After
+     */
+    @ExceptionHandler(BulkheadFullException.class)
+    public ResponseEntity<?> handleBulkheadFullException(BulkheadFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
+    }
 }
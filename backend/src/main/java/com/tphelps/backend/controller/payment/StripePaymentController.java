@@ -4,10 +4,10 @@ import com.google.gson.JsonSyntaxException;
 
 import com.stripe.exception.StripeException;
 import com.stripe.model.*;
-import com.stripe.model.checkout.Session;
 import com.stripe.net.ApiResource;
 import com.stripe.net.Webhook;
 
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
 import com.tphelps.backend.service.payment.StripePaymentService;
 import com.tphelps.backend.service.payment.enums.StripeEventEnum;
 
@@ -16,6 +16,7 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -78,6 +79,10 @@ public class StripePaymentController {
             logger.info("Initiating a stripe customer portal session for user={}", userDetails.getUsername());
             Map<String, String> urlMap = stripePaymentService.getPortalSessionRedirectUrl(userDetails.getUsername());
             return ResponseEntity.ok(urlMap);
+        }catch(BulkheadFullException e){
+            logger.warn("Stripe customer portal session turned away for user={} with exception={}",
+                    userDetails.getUsername(), e.getMessage());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "5").build();
         }catch(Exception e){
             logger.error("Error occurred while generating a stripe customer portal session for user={} with exception={}",
                     userDetails.getUsername(), e.getMessage());
@@ -96,9 +101,8 @@ public class StripePaymentController {
     @GetMapping("/order/success")
     public ResponseEntity<?> getOrderSuccess(@RequestParam("session_id") String sessionId){
         try {
-            Session session = Session.retrieve(sessionId);
-            Customer customer = Customer.retrieve(session.getCustomer());
-            return ResponseEntity.ok("<html><body><h1>Thanks for your order, " + customer.getName() + "!</h1></body></html>");
+            String customerName = stripePaymentService.getCheckoutCustomerName(sessionId);
+            return ResponseEntity.ok("<html><body><h1>Thanks for your order, " + customerName + "!</h1></body></html>");
         }catch(StripeException e){
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Map.of("error", e.getMessage()));
         }
@@ -0,0 +1,8 @@
+package com.tphelps.backend.dtos.responses;
+
+import com.tphelps.backend.controller.pojos.StudyGuide;
+
+import java.util.UUID;
+
+public record StudyGuideJobResponseDto(UUID id, String status, StudyGuide study_guide, String error) {
+}
@@ -0,0 +1,19 @@
+package com.tphelps.backend.enums;
+
+public enum NoteUploadStatus {
+
+    PENDING("pending"),
+    UPLOADING("uploading"),
+    UPLOADED("uploaded"),
+    FAILED("failed");
+
+    private final String value;
+
+    NoteUploadStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -0,0 +1,19 @@
+package com.tphelps.backend.enums;
+
+public enum StudyGuideJobStatus {
+
+    PENDING("pending"),
+    PROCESSING("processing"),
+    FAILED("failed"),
+    COMPLETED("completed");
+
+    private final String value;
+
+    StudyGuideJobStatus(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
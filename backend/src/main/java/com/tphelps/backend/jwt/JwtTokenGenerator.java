@@ -1,9 +1,15 @@
 package com.tphelps.backend.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
@@ -12,23 +18,37 @@ import java.security.Key;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Date;
+import java.util.Optional;
 
 
 @Component
 public class JwtTokenGenerator {
 
+    private final Key signingKey;
+    private final JwtParser parser;
+
     /**
-     * Jwt secret from application-dev.properties
+     * Claims of tokens that already passed verification, keyed by the whole token so only the exact signed string
+     * hits. Each entry expires at the token's exp, so an expired token is never served from here
      */
-    @Value("${jwt.secret}")
-    private String jwtSecret;
+    private final Cache<String, Claims> verifiedClaims;
 
     /**
-     * Get a signing key from the jwt secret
-     * @return - the generated key
+     * @param jwtSecret - jwt secret from application-dev.properties
+     * @param maxEntries - max verified tokens kept
+     * @param meterRegistry - registry to publish the cache stats to
      */
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+    public JwtTokenGenerator(@Value("${jwt.secret}") String jwtSecret,
+                             @Value("${jwt.claims-cache.max-entries:10000}") long maxEntries,
+                             MeterRegistry meterRegistry) {
+        this.signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        this.parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+        this.verifiedClaims = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(Expiry.creating((String token, Claims claims) -> untilExpiry(claims)))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedClaims, "jwt.claims");
     }
 
     /**
@@ -41,7 +61,7 @@ public class JwtTokenGenerator {
                 .setSubject(username)
                 .setIssuedAt(new Date())
                 .setExpiration(Date.from(Instant.now().plus(Duration.ofMinutes(15)))) // instead of raw math, this makes it easier to read
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
@@ -56,36 +76,40 @@ public class JwtTokenGenerator {
                 .setIssuedAt(new Date())
                 .setExpiration(Date.from(Instant.now().plus(Duration.ofDays(7))))
                 .claim("type", "refresh")
-                .signWith(getSigningKey())
+                .signWith(signingKey)
                 .compact();
     }
 
     /**
-     * Extract a username from a JWT
-     * @param token - JWT to get the username from
-     * @return - the subject
+     * Verify a jwt and extract its claims in one go. A token seen before is a cache lookup, only a new token pays
+     * for parsing and the signature check
+     * @param token - token to verify
+     * @return - the claims, shared with the cache so don't modify them, empty if the token is invalid or expired
      */
-    public String getUsernameFromJwt(String token){
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
-    }
+    public Optional<Claims> verifyJwt(String token){
+        if(token == null || token.isEmpty()){
+            return Optional.empty();
+        }
+        Claims cached = verifiedClaims.getIfPresent(token);
+        if(cached != null){
+            return Optional.of(cached);
+        }
 
-    /**
-     * Validate a jwt token
-     * @param token - token to be validated
-     * @return - true on validation, false else
-     */
-    public boolean validateJwt(String token){
+        Claims claims;
         try{
-            Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token);
-            return true;
-        }catch (JwtException e){
-            return false;
+            claims = parser.parseClaimsJws(token).getBody();
+        }catch (JwtException | IllegalArgumentException e){
+            return Optional.empty();
         }
+        // tokens without an exp would never expire out of the cache, verify those every time instead
+        if(claims.getExpiration() != null){
+            verifiedClaims.put(token, claims);
+        }
+        return Optional.of(claims);
     }
 
-}
\ No newline at end of file
+    private static Duration untilExpiry(Claims claims){
+        Duration remaining = Duration.between(Instant.now(), claims.getExpiration().toInstant());
+        return remaining.isNegative() ? Duration.ZERO : remaining;
+    }
+}
@@ -151,7 +151,17 @@ public class AccountRepository {
      * @param deduction - constant 1 deduction
      */
     public void decrementUserGenerationsLeft(String username, int deduction){
-        int rowsAffected = dslContext.update(SUBSCRIPTIONS)
+        decrementUserGenerationsLeft(dslContext, username, deduction);
+    }
+
+    /**
+     * Decrement generations left inside the callers transaction
+     * @param ctx - the context to run in
+     * @param username - user to deduct
+     * @param deduction - constant 1 deduction
+     */
+    public void decrementUserGenerationsLeft(DSLContext ctx, String username, int deduction){
+        int rowsAffected = ctx.update(SUBSCRIPTIONS)
                 .set(SUBSCRIPTIONS.GENERATIONS_LEFT,
                         SUBSCRIPTIONS.GENERATIONS_LEFT.subtract(deduction))
                 .from(USERS)
@@ -164,4 +174,29 @@ public class AccountRepository {
             throw new EmptyResultDataAccessException(1);
         }
     }
+
+    /**
+     * Give generations back inside the callers transaction, for a charged generation that never produced a guide.
+     * Goes to the same subscription {@link #getSubscriptionStatus(String)} picks
+     * @param ctx - the context to run in
+     * @param username - user to refund
+     * @param refund - generations to give back
+     * @return - whether a subscription was refunded, false if the user has none
+     */
+    public boolean incrementUserGenerationsLeft(DSLContext ctx, String username, int refund){
+        return ctx.update(SUBSCRIPTIONS)
+                .set(SUBSCRIPTIONS.GENERATIONS_LEFT,
+                        SUBSCRIPTIONS.GENERATIONS_LEFT.add(refund))
+                .where(SUBSCRIPTIONS.ID.eq(
+                        ctx.select(SUBSCRIPTIONS.ID)
+                                .from(SUBSCRIPTIONS)
+                                .join(USERS).on(USERS.STRIPE_CUSTOMER_ID.eq(SUBSCRIPTIONS.CUSTOMER_ID))
+                                .where(USERS.USERNAME.eq(username))
+                                .orderBy(
+                                        DSL.when(SUBSCRIPTIONS.CURRENT_PERIOD_END.ge(OffsetDateTime.now()), 0)
+                                                .otherwise(1),
+                                        SUBSCRIPTIONS.CURRENT_PERIOD_END.desc())
+                                .limit(1)))
+                .execute() > 0;
+    }
 }
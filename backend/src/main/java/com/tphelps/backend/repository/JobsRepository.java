@@ -1,11 +1,23 @@
 package com.tphelps.backend.repository;
 
 import com.tphelps.backend.enums.NoteGraphingStatus;
+import com.tphelps.backend.service.pojos.JobStatusUpdate;
 import com.tphelps.backend.service.pojos.NoteGraphingJob;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
+import org.jooq.DatePart;
+import org.jooq.Field;
+import org.jooq.Record5;
+import org.jooq.Row5;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 import static test.generated.tables.Jobs.JOBS;
@@ -15,17 +27,22 @@ public class JobsRepository {
 
     private final DSLContext dslContext;
 
+    // months before the retention cutoff are retired, hot queries skip them
+    @Value("${partitions.jobs.retention-months:3}")
+    private int retentionMonths;
+
     public JobsRepository(DSLContext dslContext) {
         this.dslContext = dslContext;
     }
 
     /**
      * Create a job record in the db to be used in the NotesGraphingService
+     * @param ctx - the context to run in, the note save transaction
      * @param noteId - note_id fk from user_note_history
      * @param status - status of job, default PENDING
      */
-    public void createJob(int noteId, String status, String username){
-        int rowsAffected = dslContext
+    public void createJob(DSLContext ctx, int noteId, String status, String username){
+        int rowsAffected = ctx
                 .insertInto(JOBS)
                 .set(JOBS.NOTE_ID, noteId)
                 .set(JOBS.STATUS, status)
@@ -38,72 +55,160 @@ public class JobsRepository {
     }
 
     /**
-     * Fetch the 10 oldest jobs with the status PENDING
-     * @return - list of jobs
+     * Create the jobs for a batch of saved notes in a single multi-row insert
+     * @param ctx - the context to run in, the note save transaction
+     * @param noteIds - note_id fks from user_note_history
+     * @param status - status of the jobs, default PENDING
+     * @param username - owner of the notes
+     */
+    public void createJobs(DSLContext ctx, Collection<Integer> noteIds, String status, String username){
+        if(noteIds.isEmpty()){
+            return;
+        }
+
+        var insert = ctx.insertInto(JOBS, JOBS.NOTE_ID, JOBS.STATUS, JOBS.USERNAME);
+        for(Integer noteId : noteIds){
+            insert = insert.values(noteId, status, username);
+        }
+
+        int rowsAffected = insert.execute();
+        if(rowsAffected != noteIds.size()) {
+            throw new EmptyResultDataAccessException(noteIds.size());
+        }
+    }
+
+    /**
+     * Claim the oldest PENDING jobs by row locking them inside the callers transaction.
+     *
+     * SKIP LOCKED lets concurrent pollers take disjoint batches, and since the claim is the lock instead of a
+     * PROCESSING status write, a crash rolls the jobs straight back to PENDING
+     * @param ctx - the transactional context
+     * @param limit - max jobs to claim
+     * @return - list of claimed jobs
      */
-    public List<NoteGraphingJob> fetchPendingJobs(){
-        return dslContext
-                .select(JOBS.NOTE_ID, JOBS.STATUS, JOBS.ATTEMPT_COUNT, JOBS.USERNAME)
+    public List<NoteGraphingJob> claimPendingJobs(DSLContext ctx, int limit){
+        return ctx
+                .select(JOBS.ID, JOBS.NOTE_ID, JOBS.STATUS, JOBS.ATTEMPT_COUNT, JOBS.USERNAME, JOBS.CREATED_AT)
                 .from(JOBS)
                 .where(JOBS.STATUS.eq(NoteGraphingStatus.PENDING.getValue()))
+                .and(withinRetention())
                 .orderBy(JOBS.CREATED_AT.asc())
-                .limit(50)
+                .limit(limit)
+                .forUpdate()
+                .skipLocked()
                 .fetchInto(NoteGraphingJob.class);
     }
 
     /**
-     * Update a job status when its being processed
-     * @param noteId - noteId to match on
+     * Re-claim specific PENDING jobs by id, used when a batch has to be retried one user at a time
+     * @param ctx - the transactional context
+     * @param jobs - the jobs to lock, as claimed before
+     * @return - the jobs that are still pending and weren't locked by someone else, with their current attempt count
      */
-    public void updateJobStatus(int noteId){
-        int rowsAffected = dslContext
-                .update(JOBS)
-                .set(JOBS.STATUS, NoteGraphingStatus.PROCESSING.getValue())
-                .where(JOBS.NOTE_ID.eq(noteId))
-                .execute();
-
-        if(rowsAffected == 0) {
-            throw new EmptyResultDataAccessException(1);
+    public List<NoteGraphingJob> claimJobs(DSLContext ctx, Collection<NoteGraphingJob> jobs){
+        if(jobs.isEmpty()){
+            return List.of();
         }
+        LocalDateTime oldest = jobs.stream().map(NoteGraphingJob::createdAt).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime newest = jobs.stream().map(NoteGraphingJob::createdAt).max(LocalDateTime::compareTo).orElseThrow();
+
+        return ctx
+                .select(JOBS.ID, JOBS.NOTE_ID, JOBS.STATUS, JOBS.ATTEMPT_COUNT, JOBS.USERNAME, JOBS.CREATED_AT)
+                .from(JOBS)
+                .where(JOBS.ID.in(jobs.stream().map(NoteGraphingJob::id).toList()))
+                .and(JOBS.CREATED_AT.between(oldest, newest))
+                .and(JOBS.STATUS.eq(NoteGraphingStatus.PENDING.getValue()))
+                .forUpdate()
+                .skipLocked()
+                .fetchInto(NoteGraphingJob.class);
     }
 
     /**
-     * Update a job when it failed
-     * @param noteId - noteId to match on
-     * @param status - updated status
-     * @param attemptCount - updated attempt count
-     * @param error - error message from failure exception
+     * Apply status, attempt count and error for many jobs in a single UPDATE ... FROM (VALUES ...)
+     * @param ctx - the context to run in, transactional or not
+     * @param updates - one entry per job, matched on the primary key (id, created_at)
+     * @throws EmptyResultDataAccessException - if any job wasn't found
      */
-    public void updateJobStatus(int noteId, String status, short attemptCount, String error){
-        int rowsAffected = dslContext
+    @SuppressWarnings("unchecked")
+    public void updateJobs(DSLContext ctx, List<JobStatusUpdate> updates){
+        if(updates.isEmpty()){
+            return;
+        }
+
+        Row5<Integer, LocalDateTime, String, Short, String>[] rows = updates.stream()
+                .map(update -> DSL.row(
+                        DSL.val(update.id()).cast(SQLDataType.INTEGER),
+                        DSL.val(update.createdAt()).cast(SQLDataType.LOCALDATETIME),
+                        DSL.val(update.status()).cast(SQLDataType.VARCHAR),
+                        DSL.val(update.attemptCount()).cast(SQLDataType.SMALLINT),
+                        DSL.val(update.lastError()).cast(SQLDataType.CLOB)))
+                .toArray(Row5[]::new);
+
+        Table<Record5<Integer, LocalDateTime, String, Short, String>> values = DSL.values(rows)
+                .as("v", "id", "created_at", "status", "attempt_count", "last_error");
+
+        // bound created_at by the batch so only the partitions the jobs live in are touched
+        LocalDateTime oldest = updates.stream().map(JobStatusUpdate::createdAt).min(LocalDateTime::compareTo).orElseThrow();
+        LocalDateTime newest = updates.stream().map(JobStatusUpdate::createdAt).max(LocalDateTime::compareTo).orElseThrow();
+
+        int rowsAffected = ctx
                 .update(JOBS)
-                .set(JOBS.STATUS, status)
-                .set(JOBS.ATTEMPT_COUNT, attemptCount)
-                .set(JOBS.LAST_ERROR, error)
-                .where(JOBS.NOTE_ID.eq(noteId))
+                .set(JOBS.STATUS, values.field("status", String.class))
+                .set(JOBS.ATTEMPT_COUNT, values.field("attempt_count", Short.class))
+                .set(JOBS.LAST_ERROR, values.field("last_error", String.class))
+                .set(JOBS.UPDATED_AT, LocalDateTime.now())
+                .from(values)
+                .where(JOBS.ID.eq(values.field("id", Integer.class)))
+                .and(JOBS.CREATED_AT.eq(values.field("created_at", LocalDateTime.class)))
+                .and(JOBS.CREATED_AT.between(oldest, newest))
                 .execute();
 
-        if(rowsAffected == 0) {
-            throw new EmptyResultDataAccessException(1);
+        if(rowsAffected < updates.size()) {
+            throw new EmptyResultDataAccessException(updates.size());
         }
     }
 
-
     /**
-     * Set job status to completed
-     * @param noteId - noteId for the job
+     * Bounds on created_at for jobs that can still be worked on, lets the planner prune the future months made ahead
+     * of time and the months past the retention cutoff (same cutoff as PartitionMaintenanceService). A job still
+     * pending after the whole retention window isn't going to succeed, its partition is kept back from retirement
+     * and logged by the maintenance instead. Both bounds are computed by the db, created_at is its CURRENT_TIMESTAMP
+     * default so the JVM clock and timezone must not decide which jobs are in range
+     * @return - the condition
      */
-    public void setJobCompleted(int noteId, short attempts){
-        attempts += 1;
-        int rowsAffected = dslContext
-                .update(JOBS)
-                .set(JOBS.ATTEMPT_COUNT, attempts)
-                .set(JOBS.STATUS, NoteGraphingStatus.COMPLETED.getValue())
-                .where(JOBS.NOTE_ID.eq(noteId))
-                .execute();
-
-        if(rowsAffected == 0) {
-            throw new EmptyResultDataAccessException(1);
+    private Condition withinRetention(){
+        Field<LocalDateTime> now = DSL.currentLocalDateTime();
+        Condition notFuture = JOBS.CREATED_AT.le(now);
+        if(retentionMonths <= 0){
+            return notFuture;
         }
+        return notFuture.and(JOBS.CREATED_AT.ge(
+                DSL.localDateTimeSub(DSL.trunc(now, DatePart.MONTH), retentionMonths, DatePart.MONTH)));
+    }
+
+    /**
+     * Move a batch of completed jobs older than the cutoff into jobs_history.
+     * The delete and insert run as one statement so a job is never in both tables or neither
+     * @param completedBefore - only jobs completed before this time are archived
+     * @param batchSize - max rows moved per call to keep the delete lock short
+     * @return - number of jobs archived
+     */
+    public int archiveCompletedJobs(LocalDateTime completedBefore, int batchSize){
+        return dslContext.execute("""
+                WITH archived AS (
+                    DELETE FROM jobs
+                    WHERE id IN (
+                        SELECT id FROM jobs
+                        WHERE status = ? AND updated_at < ?
+                        ORDER BY id
+                        LIMIT ?)
+                    RETURNING id, note_id, status, attempt_count, last_error, username, created_at, updated_at)
+                INSERT INTO jobs_history (id, note_id, status, attempt_count, last_error, username, created_at, updated_at)
+                SELECT id, note_id, status, attempt_count, last_error, username, created_at, updated_at
+                FROM archived
+                """,
+                NoteGraphingStatus.COMPLETED.getValue(),
+                completedBefore,
+                batchSize);
     }
 }
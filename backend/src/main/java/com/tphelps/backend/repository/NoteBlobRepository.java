@@ -0,0 +1,194 @@
+package com.tphelps.backend.repository;
+
+import com.tphelps.backend.enums.NoteUploadStatus;
+import com.tphelps.backend.service.pojos.NoteBlob;
+import com.tphelps.backend.service.pojos.StoredBlob;
+import com.tphelps.backend.service.pojos.UnreferencedBlob;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+
+import static test.generated.tables.NoteBlobs.NOTE_BLOBS;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+public class NoteBlobRepository {
+
+    private final DSLContext dslContext;
+
+    public NoteBlobRepository(DSLContext dslContext) {
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Take references on the blobs of newly saved notes in one upsert, new blobs are created as pending
+     * and existing ones just get their ref count bumped
+     * @param ctx - the note save transaction
+     * @param username - owner of the notes
+     * @param blobs - one entry per distinct content hash, references is the number of new notes using it
+     * @return - map of content hash -> the blob after the upsert, an existing blob keeps its location and encoding
+     */
+    public Map<String, StoredBlob> acquireBlobs(DSLContext ctx, String username, Collection<NoteBlob> blobs){
+        if(blobs.isEmpty()){
+            return Map.of();
+        }
+
+        var insert = ctx.insertInto(NOTE_BLOBS, NOTE_BLOBS.USERNAME, NOTE_BLOBS.CONTENT_HASH, NOTE_BLOBS.LOCATION, NOTE_BLOBS.SIZE_BYTES, NOTE_BLOBS.REF_COUNT, NOTE_BLOBS.CONTENT_ENCODING);
+        for(NoteBlob blob : blobs){
+            insert = insert.values(username,
+                    blob.contentHash(),
+                    blob.location(),
+                    blob.sizeBytes(),
+                    blob.references(),
+                    blob.contentEncoding());
+        }
+
+        return insert
+                .onConflict(NOTE_BLOBS.USERNAME, NOTE_BLOBS.CONTENT_HASH)
+                .doUpdate()
+                .set(NOTE_BLOBS.REF_COUNT, NOTE_BLOBS.REF_COUNT.plus(DSL.excluded(NOTE_BLOBS.REF_COUNT)))
+                .set(NOTE_BLOBS.UPDATED_AT, LocalDateTime.now())
+                .returningResult(NOTE_BLOBS.CONTENT_HASH, NOTE_BLOBS.LOCATION, NOTE_BLOBS.STATUS, NOTE_BLOBS.CONTENT_ENCODING)
+                .fetchMap(NOTE_BLOBS.CONTENT_HASH, StoredBlob.class);
+    }
+
+    /**
+     * Drop the reference a note saved before chunking holds on its blob, the same release the delete trigger does
+     * @param ctx - the transactional context
+     * @param username - owner of the blob
+     * @param contentHash - sha256 of the content
+     * @param location - the note's link, only the blob stored there is released
+     */
+    public void releaseBlob(DSLContext ctx, String username, String contentHash, String location){
+        ctx.update(NOTE_BLOBS)
+                .set(NOTE_BLOBS.REF_COUNT, NOTE_BLOBS.REF_COUNT.minus(1))
+                .set(NOTE_BLOBS.UPDATED_AT, LocalDateTime.now())
+                .where(NOTE_BLOBS.USERNAME.eq(username))
+                .and(NOTE_BLOBS.CONTENT_HASH.eq(contentHash))
+                .and(NOTE_BLOBS.LOCATION.eq(location))
+                .execute();
+    }
+
+    /**
+     * Check if a blob's content is already in storage
+     * @param username - owner of the blob
+     * @param contentHash - sha256 of the content
+     * @return - true if uploaded
+     */
+    public boolean isBlobUploaded(String username, String contentHash){
+        return dslContext.fetchExists(
+                dslContext.selectOne()
+                        .from(NOTE_BLOBS)
+                        .where(NOTE_BLOBS.USERNAME.eq(username))
+                        .and(NOTE_BLOBS.CONTENT_HASH.eq(contentHash))
+                        .and(NOTE_BLOBS.STATUS.eq(NoteUploadStatus.UPLOADED.getValue())));
+    }
+
+    /**
+     * Mark blobs as stored
+     * @param ctx - the transactional context
+     * @param username - owner of the blobs
+     * @param contentHashes - sha256 of each stored content
+     */
+    public void markBlobsUploaded(DSLContext ctx, String username, Collection<String> contentHashes){
+        if(contentHashes.isEmpty()){
+            return;
+        }
+        ctx.update(NOTE_BLOBS)
+                .set(NOTE_BLOBS.STATUS, NoteUploadStatus.UPLOADED.getValue())
+                .set(NOTE_BLOBS.UPDATED_AT, LocalDateTime.now())
+                .where(NOTE_BLOBS.USERNAME.eq(username))
+                .and(NOTE_BLOBS.CONTENT_HASH.in(contentHashes))
+                .execute();
+    }
+
+    /**
+     * Fetch blobs no note has referenced for a while, candidates to be removed from storage
+     * @param unreferencedBefore - only blobs released before this
+     * @param limit - max blobs to fetch
+     * @return - list of unreferenced blobs
+     */
+    public List<UnreferencedBlob> fetchUnreferencedBlobs(LocalDateTime unreferencedBefore, int limit){
+        return dslContext
+                .select(NOTE_BLOBS.USERNAME, NOTE_BLOBS.CONTENT_HASH, NOTE_BLOBS.LOCATION)
+                .from(NOTE_BLOBS)
+                .where(NOTE_BLOBS.REF_COUNT.le(0))
+                .and(NOTE_BLOBS.UPDATED_AT.lt(unreferencedBefore))
+                .orderBy(NOTE_BLOBS.UPDATED_AT)
+                .limit(limit)
+                .fetchInto(UnreferencedBlob.class);
+    }
+
+    /**
+     * Fetch blobs not uploaded yet whose location starts with a prefix
+     * @param locationPrefix - start of the location
+     * @param limit - max blobs to fetch
+     * @return - list of blobs, ordered by owner and hash
+     */
+    public List<UnreferencedBlob> fetchPendingBlobsAt(String locationPrefix, int limit){
+        return dslContext
+                .select(NOTE_BLOBS.USERNAME, NOTE_BLOBS.CONTENT_HASH, NOTE_BLOBS.LOCATION)
+                .from(NOTE_BLOBS)
+                .where(NOTE_BLOBS.LOCATION.startsWith(locationPrefix))
+                .and(NOTE_BLOBS.STATUS.ne(NoteUploadStatus.UPLOADED.getValue()))
+                .orderBy(NOTE_BLOBS.USERNAME, NOTE_BLOBS.CONTENT_HASH)
+                .limit(limit)
+                .fetchInto(UnreferencedBlob.class);
+    }
+
+    /**
+     * Move a blob that isn't uploaded yet to another location
+     * @param ctx - the transactional context
+     * @param username - owner of the blob
+     * @param contentHash - sha256 of the content
+     * @param from - the location it has now
+     * @param to - the new location
+     * @return - true if the blob was moved, false if it changed in the meantime
+     */
+    public boolean relocatePendingBlob(DSLContext ctx, String username, String contentHash, String from, String to){
+        return ctx.update(NOTE_BLOBS)
+                .set(NOTE_BLOBS.LOCATION, to)
+                .set(NOTE_BLOBS.UPDATED_AT, LocalDateTime.now())
+                .where(NOTE_BLOBS.USERNAME.eq(username))
+                .and(NOTE_BLOBS.CONTENT_HASH.eq(contentHash))
+                .and(NOTE_BLOBS.LOCATION.eq(from))
+                .and(NOTE_BLOBS.STATUS.ne(NoteUploadStatus.UPLOADED.getValue()))
+                .execute() > 0;
+    }
+
+    /**
+     * Lock a blob if it's still unreferenced, held while the blob is removed from storage so a note
+     * saved with the same content in the meantime waits and then creates a fresh blob
+     * @param ctx - the transactional context
+     * @param username - owner of the blob
+     * @param contentHash - sha256 of the content
+     * @return - the blob's upload status if it's still unreferenced and now locked, empty otherwise
+     */
+    public Optional<String> lockUnreferencedBlob(DSLContext ctx, String username, String contentHash){
+        return ctx.select(NOTE_BLOBS.STATUS)
+                .from(NOTE_BLOBS)
+                .where(NOTE_BLOBS.USERNAME.eq(username))
+                .and(NOTE_BLOBS.CONTENT_HASH.eq(contentHash))
+                .and(NOTE_BLOBS.REF_COUNT.le(0))
+                .forUpdate()
+                .fetchOptional(NOTE_BLOBS.STATUS);
+    }
+
+    /**
+     * Delete a blob row once its content is gone from storage
+     * @param ctx - the transactional context
+     * @param username - owner of the blob
+     * @param contentHash - sha256 of the content
+     */
+    public void deleteBlob(DSLContext ctx, String username, String contentHash){
+        ctx.deleteFrom(NOTE_BLOBS)
+                .where(NOTE_BLOBS.USERNAME.eq(username))
+                .and(NOTE_BLOBS.CONTENT_HASH.eq(contentHash))
+                .execute();
+    }
+}
@@ -0,0 +1,112 @@
+package com.tphelps.backend.repository;
+
+import com.tphelps.backend.service.pojos.ChunkManifestEntry;
+import com.tphelps.backend.service.pojos.NoteChunk;
+import org.jooq.DSLContext;
+import org.jooq.Record7;
+import org.jooq.Result;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import static test.generated.tables.NoteBlobs.NOTE_BLOBS;
+import static test.generated.tables.NoteChunks.NOTE_CHUNKS;
+import static test.generated.tables.UserNoteHistory.USER_NOTE_HISTORY;
+
+import java.util.List;
+import java.util.Map;
+
+@Repository
+public class NoteChunkRepository {
+
+    private final DSLContext dslContext;
+
+    public NoteChunkRepository(DSLContext dslContext) {
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Insert the chunk manifests of newly saved notes in a single multi-row statement
+     * @param ctx - the note save transaction
+     * @param username - owner of the notes
+     * @param manifests - map of note id -> its chunks in order
+     */
+    public void insertManifests(DSLContext ctx, String username, Map<Integer, List<NoteChunk>> manifests){
+        if(manifests.isEmpty()){
+            return;
+        }
+
+        var insert = ctx.insertInto(NOTE_CHUNKS, NOTE_CHUNKS.NOTE_ID, NOTE_CHUNKS.SEQ, NOTE_CHUNKS.USERNAME, NOTE_CHUNKS.CONTENT_HASH, NOTE_CHUNKS.BYTE_OFFSET, NOTE_CHUNKS.SIZE_BYTES);
+        for(Map.Entry<Integer, List<NoteChunk>> manifest : manifests.entrySet()){
+            for(NoteChunk chunk : manifest.getValue()){
+                insert = insert.values(manifest.getKey(),
+                        chunk.seq(),
+                        username,
+                        chunk.contentHash(),
+                        chunk.byteOffset(),
+                        chunk.sizeBytes());
+            }
+        }
+
+        insert.execute();
+    }
+
+    /**
+     * Delete a note's chunk manifest, the release trigger drops the references on its blobs
+     * @param ctx - the transactional context
+     * @param noteId - the note
+     */
+    public void deleteManifest(DSLContext ctx, int noteId){
+        ctx.deleteFrom(NOTE_CHUNKS)
+                .where(NOTE_CHUNKS.NOTE_ID.eq(noteId))
+                .execute();
+    }
+
+    /**
+     * Fetch a note's chunk manifest along with where each chunk's blob is stored
+     * @param noteId - the note
+     * @return - the chunks in order, empty for notes saved before chunking
+     */
+    public List<ChunkManifestEntry> fetchManifest(int noteId){
+        return dslContext
+                .select(NOTE_CHUNKS.SEQ, NOTE_CHUNKS.CONTENT_HASH, NOTE_CHUNKS.BYTE_OFFSET, NOTE_CHUNKS.SIZE_BYTES, NOTE_BLOBS.LOCATION, NOTE_BLOBS.CONTENT_ENCODING, NOTE_BLOBS.STATUS)
+                .from(NOTE_CHUNKS)
+                .join(NOTE_BLOBS)
+                .on(NOTE_BLOBS.USERNAME.eq(NOTE_CHUNKS.USERNAME))
+                .and(NOTE_BLOBS.CONTENT_HASH.eq(NOTE_CHUNKS.CONTENT_HASH))
+                .where(NOTE_CHUNKS.NOTE_ID.eq(noteId))
+                .orderBy(NOTE_CHUNKS.SEQ)
+                .fetchInto(ChunkManifestEntry.class);
+    }
+
+    /**
+     * Fetch a note's chunk manifest only while the note still has the given content. The manifest and the content
+     * hash are read in one statement so a revision saved in between can't pair old content with new chunk offsets
+     * @param noteId - the note
+     * @param contentHash - sha256 of the content the caller holds
+     * @return - the chunks in order, empty for notes saved before chunking
+     * @throws EmptyResultDataAccessException if the note is gone or has different content now
+     */
+    public List<ChunkManifestEntry> fetchManifest(int noteId, String contentHash){
+        Result<Record7<Integer, String, Long, Integer, String, String, String>> rows = dslContext
+                .select(NOTE_CHUNKS.SEQ, NOTE_CHUNKS.CONTENT_HASH, NOTE_CHUNKS.BYTE_OFFSET, NOTE_CHUNKS.SIZE_BYTES, NOTE_BLOBS.LOCATION, NOTE_BLOBS.CONTENT_ENCODING, NOTE_BLOBS.STATUS)
+                .from(USER_NOTE_HISTORY)
+                .leftJoin(NOTE_CHUNKS)
+                .on(NOTE_CHUNKS.NOTE_ID.eq(USER_NOTE_HISTORY.ID))
+                .leftJoin(NOTE_BLOBS)
+                .on(NOTE_BLOBS.USERNAME.eq(NOTE_CHUNKS.USERNAME))
+                .and(NOTE_BLOBS.CONTENT_HASH.eq(NOTE_CHUNKS.CONTENT_HASH))
+                .where(USER_NOTE_HISTORY.ID.eq(noteId))
+                .and(USER_NOTE_HISTORY.CONTENT_HASH.isNotDistinctFrom(contentHash))
+                .orderBy(NOTE_CHUNKS.SEQ)
+                .fetch();
+        if(rows.isEmpty()){
+            throw new EmptyResultDataAccessException(1);
+        }
+
+        // a note without chunks comes back as a single row of nulls from the outer join
+        return rows.stream()
+                .filter(row -> row.get(NOTE_CHUNKS.SEQ) != null)
+                .map(row -> row.into(ChunkManifestEntry.class))
+                .toList();
+    }
+}
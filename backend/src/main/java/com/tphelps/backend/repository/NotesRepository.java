@@ -1,18 +1,28 @@
 package com.tphelps.backend.repository;
 
+import com.tphelps.backend.enums.NoteUploadStatus;
 import com.tphelps.backend.service.pojos.NoteEdges;
-import com.tphelps.backend.service.pojos.NoteInformation;
-import com.tphelps.backend.service.pojos.NoteRelationshipInformation;
+import com.tphelps.backend.service.pojos.NoteLink;
+import com.tphelps.backend.service.pojos.NewNote;
+import com.tphelps.backend.service.pojos.NoteMetadata;
+import com.tphelps.backend.service.pojos.PendingNoteUpload;
 import org.jooq.DSLContext;
-import org.jooq.Query;
+import org.jooq.Field;
+import org.jooq.Record4;
+import org.jooq.Row4;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Repository;
 
 import static test.generated.tables.UserNoteHistory.USER_NOTE_HISTORY;
 import static test.generated.tables.NoteLinks.NOTE_LINKS;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -26,74 +36,185 @@ public class NotesRepository {
     }
 
     /**
-     * Save user note info to have a path to retrieve later from the drive
-     * @param pathToNote - a path that exists in the drive AFTER it was already put there
-     * @param username - the user for which we want to save their path to note
-     * @throws EmptyResultDataAccessException if row not set
+     * Save a batch of notes in a single multi-row insert, with the location their content is stored under.
+     * Notes whose content is already in storage are saved as uploaded, the rest start as pending uploads
+     * for the write-behind uploader
+     * @param ctx - the transactional context
+     * @param username - owner of the notes
+     * @param notes - notes to save
+     * @return - the new note ids, in the same order as the notes
+     * @throws EmptyResultDataAccessException if not every row was inserted
      */
-    public int saveNoteToDatabase(String pathToNote, String username, String title, String notes){
-        Integer noteId = dslContext
-                .insertInto(USER_NOTE_HISTORY)
-                .set(USER_NOTE_HISTORY.USERNAME, username)
-                .set(USER_NOTE_HISTORY.LINK_TO_NOTE, pathToNote)
-                .set(USER_NOTE_HISTORY.SAVED_AT, LocalTime.now())
-                .set(USER_NOTE_HISTORY.TITLE, title)
-                .set(USER_NOTE_HISTORY.TEXT_CONTENT, notes)
+    public List<Integer> saveNotesToDatabase(DSLContext ctx, String username, List<NewNote> notes){
+        if(notes.isEmpty()){
+            return List.of();
+        }
+
+        LocalTime savedAt = LocalTime.now();
+        var insert = ctx.insertInto(USER_NOTE_HISTORY,
+                USER_NOTE_HISTORY.USERNAME,
+                USER_NOTE_HISTORY.LINK_TO_NOTE,
+                USER_NOTE_HISTORY.SAVED_AT,
+                USER_NOTE_HISTORY.TITLE,
+                USER_NOTE_HISTORY.TEXT_CONTENT,
+                USER_NOTE_HISTORY.CONTENT_HASH,
+                USER_NOTE_HISTORY.UPLOAD_STATUS,
+                USER_NOTE_HISTORY.CONTENT_ENCODING);
+        for(NewNote note : notes){
+            insert = insert.values(username,
+                    note.linkToNote(),
+                    savedAt,
+                    note.title(),
+                    note.textContent(),
+                    note.contentHash(),
+                    note.uploadStatus(),
+                    note.contentEncoding());
+        }
+
+        // postgres returns the rows of a multi-row VALUES insert in the order they were given
+        List<Integer> noteIds = insert
                 .returningResult(USER_NOTE_HISTORY.ID)
-                .fetchOneInto(Integer.class);
-        if(noteId == null){
-            throw new EmptyResultDataAccessException(1);
+                .fetchInto(Integer.class);
+        if(noteIds.size() != notes.size()){
+            throw new EmptyResultDataAccessException(notes.size());
         }
-        return noteId;
+        return noteIds;
     }
 
     /**
-     * Fetches a singular note from databse
+     * Fetches the location, content hash and encoding of a user's note, the latest one wins if titles repeat
      * @param title - title of the note
-     * @return
+     * @param username - owner of the note
+     * @return - the note metadata, null if not found
      */
-    public String fetchNote(String title){
+    public NoteMetadata fetchNoteMetadata(String title, String username){
         return dslContext
-                .select(USER_NOTE_HISTORY.LINK_TO_NOTE)
+                .select(USER_NOTE_HISTORY.ID, USER_NOTE_HISTORY.LINK_TO_NOTE, USER_NOTE_HISTORY.CONTENT_HASH, USER_NOTE_HISTORY.CONTENT_ENCODING)
                 .from(USER_NOTE_HISTORY)
                 .where(USER_NOTE_HISTORY.TITLE.eq(title))
-                .fetchOneInto(String.class);
+                .and(USER_NOTE_HISTORY.USERNAME.eq(username))
+                .orderBy(USER_NOTE_HISTORY.ID.desc())
+                .limit(1)
+                .fetchOneInto(NoteMetadata.class);
     }
 
     /**
-     * Fetch a map of user notes with (noteId, NoteInformation)
-     * @param noteId - note id to get username to fetch all users notes
-     * @return - Map.of() noteId -> NoteInformation
+     * Lock a user's note for an update, the latest one wins if titles repeat like {@link #fetchNoteMetadata(String, String)}
+     * @param ctx - the transactional context
+     * @param title - title of the note
+     * @param username - owner of the note
+     * @return - the note metadata, null if not found
      */
-    public Map<Integer, NoteInformation> fetchUsersNotes(int noteId){
-        return dslContext
-                .select(USER_NOTE_HISTORY.TITLE, USER_NOTE_HISTORY.ID)
+    public NoteMetadata lockNoteForUpdate(DSLContext ctx, String title, String username){
+        return ctx
+                .select(USER_NOTE_HISTORY.ID, USER_NOTE_HISTORY.LINK_TO_NOTE, USER_NOTE_HISTORY.CONTENT_HASH, USER_NOTE_HISTORY.CONTENT_ENCODING)
                 .from(USER_NOTE_HISTORY)
-                .where(USER_NOTE_HISTORY.USERNAME.eq(
-                        dslContext.select(USER_NOTE_HISTORY.USERNAME)
-                                .from(USER_NOTE_HISTORY)
-                                .where(USER_NOTE_HISTORY.ID.eq(noteId))
-                ))
-                .fetchMap(USER_NOTE_HISTORY.ID, NoteInformation.class);
+                .where(USER_NOTE_HISTORY.TITLE.eq(title))
+                .and(USER_NOTE_HISTORY.USERNAME.eq(username))
+                .orderBy(USER_NOTE_HISTORY.ID.desc())
+                .limit(1)
+                .forUpdate()
+                .fetchOneInto(NoteMetadata.class);
     }
 
+    /**
+     * Replace the content of a note in place with a new revision, upload state starts over for the new content
+     * @param ctx - the transactional context
+     * @param noteId - note to update
+     * @param note - the new revision
+     */
+    public void replaceNoteRevision(DSLContext ctx, int noteId, NewNote note){
+        int rowsAffected = ctx.update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.LINK_TO_NOTE, note.linkToNote())
+                .set(USER_NOTE_HISTORY.SAVED_AT, LocalTime.now())
+                .set(USER_NOTE_HISTORY.TEXT_CONTENT, note.textContent())
+                .set(USER_NOTE_HISTORY.CONTENT_HASH, note.contentHash())
+                .set(USER_NOTE_HISTORY.CONTENT_ENCODING, note.contentEncoding())
+                .set(USER_NOTE_HISTORY.UPLOAD_STATUS, note.uploadStatus())
+                .set(USER_NOTE_HISTORY.UPLOAD_ATTEMPTS, (short) 0)
+                .set(USER_NOTE_HISTORY.UPLOAD_ERROR, (String) null)
+                .set(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT, (LocalDateTime) null)
+                .set(USER_NOTE_HISTORY.NEXT_UPLOAD_AT, LocalDateTime.now())
+                .where(USER_NOTE_HISTORY.ID.eq(noteId))
+                .execute();
+        if(rowsAffected != 1){
+            throw new EmptyResultDataAccessException(1);
+        }
+    }
 
     /**
-     * Query to set the adjacency list for edges that link notes together
-     * @param noteId - note in a map to link to a list of notes
-     * @param neighbors - list of related notes
+     * Remove every link from and to a note, used when its content changes so graphing links it again
+     * @param ctx - the transactional context
+     * @param noteId - the note
      */
-    public void linkNotes(int noteId, List<NoteRelationshipInformation> neighbors, String username){
-        List<Query> queries = new ArrayList<>();
-        for(NoteRelationshipInformation neighbor : neighbors){
-            queries.add(dslContext.insertInto(NOTE_LINKS)
-                    .set(NOTE_LINKS.FROM_NOTE_ID, noteId)
-                    .set(NOTE_LINKS.TO_NOTE_ID, neighbor.noteId())
-                    .set(NOTE_LINKS.SIMILARITY_SCORE, neighbor.similarityScore())
-                    .set(NOTE_LINKS.USERNAME, username));
+    public void deleteNoteLinks(DSLContext ctx, int noteId){
+        ctx.deleteFrom(NOTE_LINKS)
+                .where(NOTE_LINKS.FROM_NOTE_ID.eq(noteId))
+                .or(NOTE_LINKS.TO_NOTE_ID.eq(noteId))
+                .execute();
+    }
+
+    /**
+     * Fetch the text of a note, the warm fallback before going to the remote
+     * @param noteId - note to fetch
+     * @return - the text content, null if the note has none stored
+     */
+    public String fetchNoteContent(int noteId){
+        return dslContext
+                .select(USER_NOTE_HISTORY.TEXT_CONTENT)
+                .from(USER_NOTE_HISTORY)
+                .where(USER_NOTE_HISTORY.ID.eq(noteId))
+                .fetchOneInto(String.class);
+    }
+
+    /**
+     * Insert every new note link in a single multi-row statement, links that already exist are skipped
+     * @param ctx - the transactional context
+     * @param links - edges to insert
+     */
+    public void insertNoteLinks(DSLContext ctx, List<NoteLink> links){
+        if(links.isEmpty()){
+            return;
         }
 
-        dslContext.batch(queries).execute();
+        // note_links is partitioned on created_at so (from, to) can't be a unique constraint anymore, serialize the
+        // inserts per user and skip edges that already exist instead. Locks are taken in a fixed order so two
+        // batches sharing users can't deadlock
+        links.stream()
+                .map(NoteLink::username)
+                .distinct()
+                .sorted()
+                .forEach(username -> ctx.select(DSL.field("pg_advisory_xact_lock(hashtext({0}))", DSL.val(username)))
+                        .fetch());
+
+        @SuppressWarnings("unchecked")
+        Row4<Integer, Integer, Double, String>[] rows = links.stream()
+                .map(link -> DSL.row(
+                        DSL.val(link.fromNoteId()).cast(SQLDataType.INTEGER),
+                        DSL.val(link.toNoteId()).cast(SQLDataType.INTEGER),
+                        DSL.val(link.similarityScore()).cast(SQLDataType.DOUBLE),
+                        DSL.val(link.username()).cast(SQLDataType.VARCHAR)))
+                .toArray(Row4[]::new);
+
+        Table<Record4<Integer, Integer, Double, String>> values = DSL.values(rows)
+                .as("v", "from_note_id", "to_note_id", "similarity_score", "username");
+        Field<Integer> from = values.field("from_note_id", Integer.class);
+        Field<Integer> to = values.field("to_note_id", Integer.class);
+
+        ctx.insertInto(NOTE_LINKS,
+                        NOTE_LINKS.FROM_NOTE_ID,
+                        NOTE_LINKS.TO_NOTE_ID,
+                        NOTE_LINKS.SIMILARITY_SCORE,
+                        NOTE_LINKS.USERNAME)
+                .select(DSL.select(from, to,
+                                values.field("similarity_score", Double.class),
+                                values.field("username", String.class))
+                        .from(values)
+                        .whereNotExists(DSL.selectOne()
+                                .from(NOTE_LINKS)
+                                .where(NOTE_LINKS.FROM_NOTE_ID.eq(from))
+                                .and(NOTE_LINKS.TO_NOTE_ID.eq(to))))
+                .execute();
     }
 
 
@@ -121,4 +242,155 @@ public class NotesRepository {
                         r.get(USER_NOTE_HISTORY.TITLE)
                 ));
     }
+
+    /**
+     * Fetch the note edges for many users at once, same shape as {@link #fetchNotesEdges(String)}
+     * @param ctx - the context to read in
+     * @param usernames - users to fetch edges for
+     * @return - map of username -> edge list
+     */
+    public Map<String, List<NoteEdges>> fetchNotesEdges(DSLContext ctx, Collection<String> usernames){
+        return ctx
+                .select(USER_NOTE_HISTORY.USERNAME,
+                        USER_NOTE_HISTORY.ID,
+                        NOTE_LINKS.TO_NOTE_ID,
+                        NOTE_LINKS.SIMILARITY_SCORE,
+                        USER_NOTE_HISTORY.TITLE)
+                .from(USER_NOTE_HISTORY)
+                .leftJoin(NOTE_LINKS)
+                .on(USER_NOTE_HISTORY.ID.eq(NOTE_LINKS.FROM_NOTE_ID))
+                .where(USER_NOTE_HISTORY.USERNAME.in(usernames))
+                .fetchGroups(
+                        r -> r.get(USER_NOTE_HISTORY.USERNAME),
+                        r -> new NoteEdges(
+                                r.get(USER_NOTE_HISTORY.ID),
+                                r.get(NOTE_LINKS.TO_NOTE_ID),
+                                r.get(NOTE_LINKS.SIMILARITY_SCORE),
+                                r.get(USER_NOTE_HISTORY.TITLE)
+                        ));
+    }
+
+    /**
+     * Claim notes waiting to be uploaded, plus uploads whose claim expired (the instance died mid upload)
+     * @param limit - max notes to claim
+     * @param lease - how long a claim is held before another poll can take it over
+     * @return - the claimed notes
+     */
+    public List<PendingNoteUpload> claimPendingUploads(int limit, Duration lease){
+        LocalDateTime now = LocalDateTime.now();
+        return dslContext
+                .update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.UPLOAD_STATUS, NoteUploadStatus.UPLOADING.getValue())
+                .set(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT, now)
+                .where(USER_NOTE_HISTORY.ID.in(
+                        dslContext.select(USER_NOTE_HISTORY.ID)
+                                .from(USER_NOTE_HISTORY)
+                                .where(USER_NOTE_HISTORY.UPLOAD_STATUS.eq(NoteUploadStatus.PENDING.getValue())
+                                        .and(USER_NOTE_HISTORY.NEXT_UPLOAD_AT.le(now)))
+                                .or(USER_NOTE_HISTORY.UPLOAD_STATUS.eq(NoteUploadStatus.UPLOADING.getValue())
+                                        .and(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT.lt(now.minus(lease))))
+                                .orderBy(USER_NOTE_HISTORY.ID)
+                                .limit(limit)
+                                .forUpdate()
+                                .skipLocked()
+                ))
+                .returningResult(USER_NOTE_HISTORY.ID,
+                        USER_NOTE_HISTORY.USERNAME,
+                        USER_NOTE_HISTORY.TITLE,
+                        USER_NOTE_HISTORY.TEXT_CONTENT,
+                        USER_NOTE_HISTORY.CONTENT_HASH,
+                        USER_NOTE_HISTORY.CONTENT_ENCODING,
+                        USER_NOTE_HISTORY.UPLOAD_ATTEMPTS)
+                .fetchInto(PendingNoteUpload.class);
+    }
+
+    /**
+     * Mark a chunked note as uploaded once all of its chunks are stored, a note updated to new content since it
+     * was claimed is left pending for its new chunks
+     * @param ctx - the transactional context
+     * @param noteId - uploaded note
+     * @param contentHash - sha256 of the content that was uploaded
+     */
+    public void markNoteUploaded(DSLContext ctx, int noteId, String contentHash){
+        ctx.update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.UPLOAD_STATUS, NoteUploadStatus.UPLOADED.getValue())
+                .set(USER_NOTE_HISTORY.UPLOAD_ERROR, (String) null)
+                .set(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT, (LocalDateTime) null)
+                .where(USER_NOTE_HISTORY.ID.eq(noteId))
+                .and(USER_NOTE_HISTORY.CONTENT_HASH.eq(contentHash))
+                .execute();
+    }
+
+    /**
+     * Mark every note still waiting on a blob as uploaded once the blob is stored, so notes saved with the same
+     * content while it was pending don't upload it again
+     * @param ctx - the transactional context
+     * @param username - owner of the notes
+     * @param contentHash - sha256 of the stored content
+     * @param location - where the blob is stored
+     */
+    public void markBlobNotesUploaded(DSLContext ctx, String username, String contentHash, String location){
+        ctx.update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.UPLOAD_STATUS, NoteUploadStatus.UPLOADED.getValue())
+                .set(USER_NOTE_HISTORY.UPLOAD_ERROR, (String) null)
+                .set(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT, (LocalDateTime) null)
+                .where(USER_NOTE_HISTORY.USERNAME.eq(username))
+                .and(USER_NOTE_HISTORY.CONTENT_HASH.eq(contentHash))
+                .and(USER_NOTE_HISTORY.LINK_TO_NOTE.eq(location))
+                .and(USER_NOTE_HISTORY.UPLOAD_STATUS.in(NoteUploadStatus.PENDING.getValue(), NoteUploadStatus.UPLOADING.getValue()))
+                .execute();
+    }
+
+    /**
+     * Point the notes of a blob at its new location, used when a blob that isn't uploaded yet is moved
+     * @param ctx - the transactional context
+     * @param username - owner of the notes
+     * @param contentHash - sha256 of the blob content
+     * @param from - the location the notes link to now
+     * @param to - the new location
+     */
+    public void relocateBlobNotes(DSLContext ctx, String username, String contentHash, String from, String to){
+        ctx.update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.LINK_TO_NOTE, to)
+                .where(USER_NOTE_HISTORY.USERNAME.eq(username))
+                .and(USER_NOTE_HISTORY.CONTENT_HASH.eq(contentHash))
+                .and(USER_NOTE_HISTORY.LINK_TO_NOTE.eq(from))
+                .execute();
+    }
+
+    /**
+     * Put a claimed upload back to PENDING without counting an attempt, used when it couldn't be started
+     * @param noteId - the note
+     * @param nextUploadAt - when the upload can be claimed again
+     */
+    public void releaseNoteUpload(int noteId, LocalDateTime nextUploadAt){
+        dslContext
+                .update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.UPLOAD_STATUS, NoteUploadStatus.PENDING.getValue())
+                .set(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT, (LocalDateTime) null)
+                .set(USER_NOTE_HISTORY.NEXT_UPLOAD_AT, nextUploadAt)
+                .where(USER_NOTE_HISTORY.ID.eq(noteId))
+                .and(USER_NOTE_HISTORY.UPLOAD_STATUS.eq(NoteUploadStatus.UPLOADING.getValue()))
+                .execute();
+    }
+
+    /**
+     * Record a failed upload, either for another attempt later or as given up
+     * @param noteId - the note that failed
+     * @param status - PENDING to retry, FAILED when out of attempts
+     * @param attempts - updated attempt count
+     * @param error - error message of the failure
+     * @param nextUploadAt - when the retry becomes eligible
+     */
+    public void markNoteUploadFailed(int noteId, String status, short attempts, String error, LocalDateTime nextUploadAt){
+        dslContext
+                .update(USER_NOTE_HISTORY)
+                .set(USER_NOTE_HISTORY.UPLOAD_STATUS, status)
+                .set(USER_NOTE_HISTORY.UPLOAD_ATTEMPTS, attempts)
+                .set(USER_NOTE_HISTORY.UPLOAD_ERROR, error)
+                .set(USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT, (LocalDateTime) null)
+                .set(USER_NOTE_HISTORY.NEXT_UPLOAD_AT, nextUploadAt)
+                .where(USER_NOTE_HISTORY.ID.eq(noteId))
+                .execute();
+    }
 }
@@ -0,0 +1,88 @@
+package com.tphelps.backend.repository;
+
+import com.tphelps.backend.enums.NoteGraphingStatus;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.springframework.stereotype.Repository;
+import test.generated.tables.Jobs;
+
+import static test.generated.tables.Jobs.JOBS;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public class PartitionRepository {
+
+    private final DSLContext dslContext;
+
+    public PartitionRepository(DSLContext dslContext) {
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Create a monthly range partition of a parent table if it doesn't exist yet
+     * @param parent - the partitioned table (jobs, note_links)
+     * @param partition - name of the partition table
+     * @param from - inclusive lower bound
+     * @param to - exclusive upper bound
+     */
+    public void createPartition(String parent, String partition, LocalDate from, LocalDate to){
+        dslContext.execute("CREATE TABLE IF NOT EXISTS {0} PARTITION OF {1} FOR VALUES FROM ({2}) TO ({3})",
+                DSL.name(partition),
+                DSL.name(parent),
+                DSL.inline(from),
+                DSL.inline(to));
+    }
+
+    /**
+     * Fetch the names of every partition currently attached to a parent table
+     * @param parent - the partitioned table
+     * @return - list of partition table names
+     */
+    public List<String> fetchPartitions(String parent){
+        return dslContext.fetch("""
+                SELECT child.relname
+                FROM pg_inherits
+                JOIN pg_class parent ON parent.oid = pg_inherits.inhparent
+                JOIN pg_class child ON child.oid = pg_inherits.inhrelid
+                WHERE parent.relname = ?
+                """, parent)
+                .getValues(0, String.class);
+    }
+
+    /**
+     * Check if a jobs partition still has work that hasn't finished, those partitions are never dropped
+     * @param partition - jobs partition name
+     * @return - true if a pending or processing job lives in the partition
+     */
+    public boolean hasUnfinishedJobs(String partition){
+        Jobs jobsPartition = JOBS.rename(partition);
+        return dslContext.fetchExists(
+                dslContext.selectOne()
+                        .from(jobsPartition)
+                        .where(jobsPartition.STATUS.in(
+                                NoteGraphingStatus.PENDING.getValue(),
+                                NoteGraphingStatus.PROCESSING.getValue()))
+        );
+    }
+
+    /**
+     * Detach a partition from its parent, the rows stay in the now standalone table
+     * @param parent - the partitioned table
+     * @param partition - partition to detach
+     */
+    public void detachPartition(String parent, String partition){
+        dslContext.execute("ALTER TABLE {0} DETACH PARTITION {1}",
+                DSL.name(parent),
+                DSL.name(partition));
+    }
+
+    /**
+     * Drop a detached partition table
+     * @param partition - partition to drop
+     */
+    public void dropTable(String partition){
+        dslContext.execute("DROP TABLE IF EXISTS {0}", DSL.name(partition));
+    }
+}
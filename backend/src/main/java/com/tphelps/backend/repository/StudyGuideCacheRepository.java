@@ -0,0 +1,100 @@
+package com.tphelps.backend.repository;
+
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.Record2;
+import org.jooq.Row2;
+import org.jooq.Table;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.springframework.stereotype.Repository;
+
+import static test.generated.tables.StudyGuideCache.STUDY_GUIDE_CACHE;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Repository
+public class StudyGuideCacheRepository {
+
+    private final DSLContext dslContext;
+
+    public StudyGuideCacheRepository(DSLContext dslContext) {
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Fetch a cached study guide and count the hit
+     * @param cacheKey - the cache key
+     * @return - the study guide json, null on a miss
+     */
+    public String fetchStudyGuide(String cacheKey){
+        JSONB studyGuide = dslContext
+                .update(STUDY_GUIDE_CACHE)
+                .set(STUDY_GUIDE_CACHE.HITS, STUDY_GUIDE_CACHE.HITS.plus(1))
+                .set(STUDY_GUIDE_CACHE.LAST_HIT_AT, LocalDateTime.now())
+                .where(STUDY_GUIDE_CACHE.CACHE_KEY.eq(cacheKey))
+                .returningResult(STUDY_GUIDE_CACHE.STUDY_GUIDE)
+                .fetchOneInto(JSONB.class);
+        return studyGuide == null ? null : studyGuide.data();
+    }
+
+    /**
+     * Count hits served from the heap tier in a single UPDATE ... FROM (VALUES ...), keeps last_hit_at of guides
+     * that are only read from the heap moving so the cleanup doesn't treat them as stale
+     * @param hits - map of cache key -> hits since the last flush
+     * @param hitAt - time to record as the last hit
+     */
+    @SuppressWarnings("unchecked")
+    public void recordHits(Map<String, Integer> hits, LocalDateTime hitAt){
+        if(hits.isEmpty()){
+            return;
+        }
+
+        Row2<String, Integer>[] rows = hits.entrySet().stream()
+                .map(hit -> DSL.row(
+                        DSL.val(hit.getKey()).cast(SQLDataType.VARCHAR),
+                        DSL.val(hit.getValue()).cast(SQLDataType.INTEGER)))
+                .toArray(Row2[]::new);
+
+        Table<Record2<String, Integer>> values = DSL.values(rows).as("v", "cache_key", "hits");
+
+        dslContext
+                .update(STUDY_GUIDE_CACHE)
+                .set(STUDY_GUIDE_CACHE.HITS, STUDY_GUIDE_CACHE.HITS.plus(values.field("hits", Integer.class)))
+                .set(STUDY_GUIDE_CACHE.LAST_HIT_AT, DSL.greatest(STUDY_GUIDE_CACHE.LAST_HIT_AT, DSL.val(hitAt)))
+                .from(values)
+                .where(STUDY_GUIDE_CACHE.CACHE_KEY.eq(values.field("cache_key", String.class)))
+                .execute();
+    }
+
+    /**
+     * Save a generated study guide, a guide already saved under the key by a concurrent request is kept
+     * @param cacheKey - the cache key
+     * @param model - model that generated the guide
+     * @param promptVersion - version of the prompt used
+     * @param studyGuide - the study guide json
+     */
+    public void saveStudyGuide(String cacheKey, String model, int promptVersion, String studyGuide){
+        dslContext
+                .insertInto(STUDY_GUIDE_CACHE)
+                .set(STUDY_GUIDE_CACHE.CACHE_KEY, cacheKey)
+                .set(STUDY_GUIDE_CACHE.MODEL, model)
+                .set(STUDY_GUIDE_CACHE.PROMPT_VERSION, promptVersion)
+                .set(STUDY_GUIDE_CACHE.STUDY_GUIDE, JSONB.valueOf(studyGuide))
+                .onConflictDoNothing()
+                .execute();
+    }
+
+    /**
+     * Delete study guides nobody has asked for since a cutoff
+     * @param lastHitBefore - the cutoff
+     * @return - number of guides deleted
+     */
+    public int deleteStaleStudyGuides(LocalDateTime lastHitBefore){
+        return dslContext
+                .deleteFrom(STUDY_GUIDE_CACHE)
+                .where(STUDY_GUIDE_CACHE.LAST_HIT_AT.lt(lastHitBefore))
+                .execute();
+    }
+}
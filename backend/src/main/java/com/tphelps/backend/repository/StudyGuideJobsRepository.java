@@ -0,0 +1,202 @@
+package com.tphelps.backend.repository;
+
+import com.tphelps.backend.enums.StudyGuideJobStatus;
+import com.tphelps.backend.service.pojos.StudyGuideJob;
+import com.tphelps.backend.service.pojos.StudyGuideJobResult;
+import org.jooq.DSLContext;
+import org.jooq.JSONB;
+import org.jooq.impl.SQLDataType;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.stereotype.Repository;
+
+import static test.generated.tables.StudyGuideJobs.STUDY_GUIDE_JOBS;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public class StudyGuideJobsRepository {
+
+    private final DSLContext dslContext;
+
+    public StudyGuideJobsRepository(DSLContext dslContext) {
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Create a study guide job
+     * @param ctx - the context to run in, the transaction charging the user for the generation
+     * @param username - owner of the job
+     * @param title - title of the notes
+     * @param notes - the notes to generate for
+     * @param status - status of the job, PENDING or COMPLETED when the guide came from the cache
+     * @param studyGuide - the study guide json for a COMPLETED job, else null
+     * @return - the id of the job
+     */
+    public UUID createJob(DSLContext ctx, String username, String title, String notes, String status, String studyGuide){
+        UUID id = ctx
+                .insertInto(STUDY_GUIDE_JOBS)
+                .set(STUDY_GUIDE_JOBS.USERNAME, username)
+                .set(STUDY_GUIDE_JOBS.TITLE, title)
+                .set(STUDY_GUIDE_JOBS.NOTES, notes)
+                .set(STUDY_GUIDE_JOBS.STATUS, status)
+                .set(STUDY_GUIDE_JOBS.STUDY_GUIDE, studyGuide == null ? null : JSONB.valueOf(studyGuide))
+                .returningResult(STUDY_GUIDE_JOBS.ID)
+                .fetchOneInto(UUID.class);
+
+        if(id == null) {
+            throw new EmptyResultDataAccessException(1);
+        }
+        return id;
+    }
+
+    /**
+     * Claim jobs waiting to be generated, plus jobs whose claim expired (the instance died mid generation)
+     * @param limit - max jobs to claim
+     * @param lease - how long a claim is held before another poll can take it over
+     * @return - the claimed jobs
+     */
+    public List<StudyGuideJob> claimPendingJobs(int limit, Duration lease){
+        LocalDateTime now = LocalDateTime.now();
+        return dslContext
+                .update(STUDY_GUIDE_JOBS)
+                .set(STUDY_GUIDE_JOBS.STATUS, StudyGuideJobStatus.PROCESSING.getValue())
+                .set(STUDY_GUIDE_JOBS.CLAIMED_AT, now)
+                .set(STUDY_GUIDE_JOBS.UPDATED_AT, now)
+                .where(STUDY_GUIDE_JOBS.ID.in(
+                        dslContext.select(STUDY_GUIDE_JOBS.ID)
+                                .from(STUDY_GUIDE_JOBS)
+                                .where(STUDY_GUIDE_JOBS.STATUS.eq(StudyGuideJobStatus.PENDING.getValue())
+                                        .and(STUDY_GUIDE_JOBS.NEXT_ATTEMPT_AT.le(now)))
+                                .or(STUDY_GUIDE_JOBS.STATUS.eq(StudyGuideJobStatus.PROCESSING.getValue())
+                                        .and(STUDY_GUIDE_JOBS.CLAIMED_AT.lt(now.minus(lease))))
+                                .orderBy(STUDY_GUIDE_JOBS.NEXT_ATTEMPT_AT)
+                                .limit(limit)
+                                .forUpdate()
+                                .skipLocked()
+                ))
+                .returningResult(STUDY_GUIDE_JOBS.ID, STUDY_GUIDE_JOBS.USERNAME, STUDY_GUIDE_JOBS.TITLE, STUDY_GUIDE_JOBS.NOTES, STUDY_GUIDE_JOBS.ATTEMPT_COUNT)
+                .fetchInto(StudyGuideJob.class);
+    }
+
+    /**
+     * Store the generated study guide on a job and mark it completed
+     * @param id - the job
+     * @param studyGuide - the study guide json
+     */
+    public void completeJob(UUID id, String studyGuide){
+        dslContext.update(STUDY_GUIDE_JOBS)
+                .set(STUDY_GUIDE_JOBS.STATUS, StudyGuideJobStatus.COMPLETED.getValue())
+                .set(STUDY_GUIDE_JOBS.STUDY_GUIDE, JSONB.valueOf(studyGuide))
+                .set(STUDY_GUIDE_JOBS.LAST_ERROR, (String) null)
+                .set(STUDY_GUIDE_JOBS.CLAIMED_AT, (LocalDateTime) null)
+                .set(STUDY_GUIDE_JOBS.UPDATED_AT, LocalDateTime.now())
+                .where(STUDY_GUIDE_JOBS.ID.eq(id))
+                .execute();
+    }
+
+    /**
+     * Record a failed generation, either back to PENDING for a retry or FAILED for good
+     * @param id - the job
+     * @param status - PENDING or FAILED
+     * @param attempts - attempts made so far
+     * @param error - error message of the failure
+     * @param nextAttemptAt - when the job can be claimed again
+     */
+    public void failJob(UUID id, String status, short attempts, String error, LocalDateTime nextAttemptAt){
+        failJob(dslContext, id, status, attempts, error, nextAttemptAt);
+    }
+
+    /**
+     * Record a failed generation inside the callers transaction. Only applies while the job is still on the attempt
+     * that failed, so a job whose lease ran out and was failed by another worker isn't failed twice
+     * @param ctx - the context to run in, the transaction refunding the user for a job FAILED for good
+     * @param id - the job
+     * @param status - PENDING or FAILED
+     * @param attempts - attempts made so far, including the one that failed
+     * @param error - error message of the failure
+     * @param nextAttemptAt - when the job can be claimed again
+     * @return - whether the job was updated
+     */
+    public boolean failJob(DSLContext ctx, UUID id, String status, short attempts, String error, LocalDateTime nextAttemptAt){
+        return ctx.update(STUDY_GUIDE_JOBS)
+                .set(STUDY_GUIDE_JOBS.STATUS, status)
+                .set(STUDY_GUIDE_JOBS.ATTEMPT_COUNT, attempts)
+                .set(STUDY_GUIDE_JOBS.LAST_ERROR, error)
+                .set(STUDY_GUIDE_JOBS.CLAIMED_AT, (LocalDateTime) null)
+                .set(STUDY_GUIDE_JOBS.NEXT_ATTEMPT_AT, nextAttemptAt)
+                .set(STUDY_GUIDE_JOBS.UPDATED_AT, LocalDateTime.now())
+                .where(STUDY_GUIDE_JOBS.ID.eq(id))
+                .and(STUDY_GUIDE_JOBS.STATUS.eq(StudyGuideJobStatus.PROCESSING.getValue()))
+                .and(STUDY_GUIDE_JOBS.ATTEMPT_COUNT.eq((short) (attempts - 1)))
+                .execute() > 0;
+    }
+
+    /**
+     * Put a claimed job back to PENDING without counting an attempt, used when it couldn't be started
+     * @param id - the job
+     * @param nextAttemptAt - when the job can be claimed again
+     */
+    public void releaseJob(UUID id, LocalDateTime nextAttemptAt){
+        dslContext.update(STUDY_GUIDE_JOBS)
+                .set(STUDY_GUIDE_JOBS.STATUS, StudyGuideJobStatus.PENDING.getValue())
+                .set(STUDY_GUIDE_JOBS.CLAIMED_AT, (LocalDateTime) null)
+                .set(STUDY_GUIDE_JOBS.NEXT_ATTEMPT_AT, nextAttemptAt)
+                .where(STUDY_GUIDE_JOBS.ID.eq(id))
+                .execute();
+    }
+
+    /**
+     * Fetch a user's job
+     * @param id - the job
+     * @param username - the user, a job belonging to someone else isn't found
+     * @return - the job's status and result
+     * @throws EmptyResultDataAccessException - if the user has no such job
+     */
+    public StudyGuideJobResult fetchJob(UUID id, String username) throws EmptyResultDataAccessException{
+        StudyGuideJobResult job = dslContext
+                .select(STUDY_GUIDE_JOBS.ID, STUDY_GUIDE_JOBS.STATUS, STUDY_GUIDE_JOBS.STUDY_GUIDE.cast(SQLDataType.CLOB), STUDY_GUIDE_JOBS.LAST_ERROR)
+                .from(STUDY_GUIDE_JOBS)
+                .where(STUDY_GUIDE_JOBS.ID.eq(id))
+                .and(STUDY_GUIDE_JOBS.USERNAME.eq(username))
+                .fetchOneInto(StudyGuideJobResult.class);
+
+        if(job == null){
+            throw new EmptyResultDataAccessException(1);
+        }
+        return job;
+    }
+
+    /**
+     * Fetch the jobs out of a set that have finished, completed or failed
+     * @param ids - the jobs to check
+     * @return - the finished jobs
+     */
+    public List<StudyGuideJobResult> fetchFinishedJobs(Collection<UUID> ids){
+        if(ids.isEmpty()){
+            return List.of();
+        }
+        return dslContext
+                .select(STUDY_GUIDE_JOBS.ID, STUDY_GUIDE_JOBS.STATUS, STUDY_GUIDE_JOBS.STUDY_GUIDE.cast(SQLDataType.CLOB), STUDY_GUIDE_JOBS.LAST_ERROR)
+                .from(STUDY_GUIDE_JOBS)
+                .where(STUDY_GUIDE_JOBS.ID.in(ids))
+                .and(STUDY_GUIDE_JOBS.STATUS.in(StudyGuideJobStatus.COMPLETED.getValue(), StudyGuideJobStatus.FAILED.getValue()))
+                .fetchInto(StudyGuideJobResult.class);
+    }
+
+    /**
+     * Delete finished jobs last updated before a cutoff
+     * @param updatedBefore - the cutoff
+     * @return - number of jobs deleted
+     */
+    public int deleteFinishedJobs(LocalDateTime updatedBefore){
+        return dslContext
+                .deleteFrom(STUDY_GUIDE_JOBS)
+                .where(STUDY_GUIDE_JOBS.UPDATED_AT.lt(updatedBefore))
+                .and(STUDY_GUIDE_JOBS.STATUS.in(StudyGuideJobStatus.COMPLETED.getValue(), StudyGuideJobStatus.FAILED.getValue()))
+                .execute();
+    }
+}
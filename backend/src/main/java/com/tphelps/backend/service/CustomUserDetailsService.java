@@ -235,6 +235,27 @@ public class CustomUserDetailsService implements UserDetailsService {
         accountRepository.decrementUserGenerationsLeft(username, deduction);
     }
 
+    /**
+     * Decrement the amount of generations a user has left inside the callers transaction
+     * @param ctx - the context to run in
+     * @param username
+     * @param deduction - 1
+     */
+    public void decrementUserGenerationsLeft(DSLContext ctx, String username, int deduction){
+        accountRepository.decrementUserGenerationsLeft(ctx, username, deduction);
+    }
+
+    /**
+     * Give back generations a user was charged for inside the callers transaction
+     * @param ctx - the context to run in
+     * @param username
+     * @param refund - 1
+     * @return - whether the user had a subscription to refund
+     */
+    public boolean incrementUserGenerationsLeft(DSLContext ctx, String username, int refund){
+        return accountRepository.incrementUserGenerationsLeft(ctx, username, refund);
+    }
+
     /**
      * Verify a users password by principal and password against the db
      * @param principal - user details object of principal
@@ -278,10 +299,9 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @return - a response cookie containing the
      */
     public ResponseCookie refreshAccessToken(String refreshToken) throws IllegalRefreshTokenException{
-        if(!jwtTokenGenerator.validateJwt(refreshToken)){
-            throw new IllegalRefreshTokenException("Invalid refresh token");
-        }
-        String username = jwtTokenGenerator.getUsernameFromJwt(refreshToken);
+        String username = jwtTokenGenerator.verifyJwt(refreshToken)
+                .orElseThrow(() -> new IllegalRefreshTokenException("Invalid refresh token"))
+                .getSubject();
         String access_token = jwtTokenGenerator.getJwt(username);
 
         return ResponseCookie.from("access_token", access_token)
@@ -298,8 +318,10 @@ public class CustomUserDetailsService implements UserDetailsService {
      * @param refreshToken
      * @return
      */
-    public ResponseCookie refreshRefreshToken(String refreshToken){
-        String username = jwtTokenGenerator.getUsernameFromJwt(refreshToken);
+    public ResponseCookie refreshRefreshToken(String refreshToken) throws JwtException {
+        String username = jwtTokenGenerator.verifyJwt(refreshToken)
+                .orElseThrow(() -> new JwtException("Invalid refresh token"))
+                .getSubject();
         String refresh_token = jwtTokenGenerator.getRefreshToken(username);
 
         return ResponseCookie.from("refresh_token", refresh_token)
@@ -1,15 +1,19 @@
 package com.tphelps.backend.service;
 
 import com.tphelps.backend.repository.EmailRepository;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.UUID;
 
 import static org.apache.commons.codec.digest.DigestUtils.sha256Hex;
@@ -22,18 +26,23 @@ public class EmailService {
     @Value("${spring.mail.username}") String sender;
     @Value("${salted.key}") String saltedKey;
     @Value("${front.end.url}") String frontEndUrl;
+    @Value("${bulkhead.smtp.max-wait-ms:30000}") long maxWaitMs;
 
     private final JavaMailSender mailSender;
     private final EmailRepository emailRepository;
+    private final AdaptiveBulkhead smtpBulkhead;
 
     @Autowired
-    public EmailService(JavaMailSender mailSender, EmailRepository emailRepository) {
+    public EmailService(JavaMailSender mailSender, EmailRepository emailRepository,
+                        @Qualifier("smtpBulkhead") AdaptiveBulkhead smtpBulkhead) {
         this.mailSender = mailSender;
         this.emailRepository = emailRepository;
+        this.smtpBulkhead = smtpBulkhead;
     }
 
     /**
-     * Send a password reset email to specified email
+     * Send a password reset email to specified email. Runs in the background so when SMTP is saturated it waits
+     * for a slot (bulkhead.smtp.max-wait-ms) rather than dropping the email
      * @param email - email for link
      */
     @Async("emailExecutor")
@@ -48,8 +57,16 @@ public class EmailService {
             message.setTo(email);
             message.setSubject("Password Reset Link");
             message.setText(formattedEmailText);
-            mailSender.send(message);
+            smtpBulkhead.call(() -> {
+                mailSender.send(message);
+                return null;
+            }, Duration.ofMillis(maxWaitMs));
             logger.trace("Email sent for password reset request with trace UUID={} for email={}", token, email);
+        }catch(BulkheadFullException e){
+            logger.error("No SMTP slot freed up in {}ms, dropped password reset email for email={}", maxWaitMs, email);
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            logger.error("Interrupted waiting for an SMTP slot, dropped password reset email for email={}", email);
         }catch(Exception e){
             logger.error("Failed to send email for password reset to email={}",email);
         }
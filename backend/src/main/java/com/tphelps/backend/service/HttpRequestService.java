@@ -1,26 +1,30 @@
 package com.tphelps.backend.service;
 
 import org.apache.commons.logging.impl.Log4JLogger;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
+import com.tphelps.backend.service.pojos.RemoteNoteStream;
+import org.apache.http.Header;
 import org.apache.http.HttpEntity;
+import org.apache.http.HttpHeaders;
+import org.apache.http.HttpStatus;
+import org.apache.http.client.config.RequestConfig;
 import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
 import org.apache.http.client.methods.HttpPost;
 import org.apache.http.client.utils.URIBuilder;
-import org.apache.http.entity.StringEntity;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.mime.MultipartEntityBuilder;
 import org.apache.http.impl.client.CloseableHttpClient;
-import org.apache.http.impl.client.HttpClients;
 import org.apache.http.util.EntityUtils;
-import org.jooq.tools.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 @Service
 public class HttpRequestService {
@@ -31,152 +35,150 @@ public class HttpRequestService {
     @Value("{rclone.password}")
     private String PASSWORD;
 
+    @Value("${rclone.rc.url:http://127.0.0.1:5572}")
+    private String rcUrl;
+
+    private final CloseableHttpClient httpClient;
+    private final AdaptiveBulkhead rcloneBulkhead;
+
+    public static final String REMOTE = "GDRIVE:";
     private static final Logger logger = LoggerFactory.getLogger(HttpRequestService.class);
 
+    public HttpRequestService(CloseableHttpClient rcloneHttpClient,
+                              @Qualifier("rcloneBulkhead") AdaptiveBulkhead rcloneBulkhead) {
+        this.httpClient = rcloneHttpClient;
+        this.rcloneBulkhead = rcloneBulkhead;
+    }
+
     /**
-     * Service method for sending an rclone http request to local remote running on machine.
-     * Executes a
-     * @param title
-     * @param notes
-     * @return
+     * Service method for uploading a file to the remote through the local rclone RC server.
+     * The bytes are sent as a multipart body to operations/uploadfile so nothing is written to local disk
+     * @param remoteDir - directory in the remote, e.g. ai-notes/username
+     * @param fileName - name of the file in that directory
+     * @param content - the file bytes
+     * @param contentType - content type of the file
+     * @throws com.tphelps.backend.service.exceptions.BulkheadFullException - if too many rclone calls are in flight
      */
-    public static JSONObject rcloneHttpRequestPost(String title, String notes, String username){
+    public void rcloneHttpRequestPost(String remoteDir, String fileName, byte[] content, ContentType contentType){
         try {
-            logger.trace("Creating temporary file with title={} for user={}", title, username);
-            // create a temp file with notes written to file
-            String pathToTempFile = createFileWithNotes(title, notes);
-
-            // pass a new file object to get the file to the tempFile
-            JSONObject jsonObject = createJsonObjectForPost(new File(pathToTempFile), username);
-
-            logger.trace("Initiating rclone post request for user={}", username);
-            buildHttpPostRequest(jsonObject);
-
-            // TODO get rid of this and move to a scheduled job
-            logger.trace("Deleting temporary file with path={}", pathToTempFile);
-            Files.deleteIfExists(Path.of(pathToTempFile));
-
-            JSONObject object = new JSONObject();
-            object.put("drive", jsonObject.get("dstFs"));
-            object.put("path", jsonObject.get("dstRemote"));
-
-            return object;
+            logger.trace("Initiating rclone upload request for dir={} file={}", remoteDir, fileName);
+            HttpPost post = new HttpPost(new URIBuilder(rcUrl + "/operations/uploadfile")
+                    .addParameter("fs", REMOTE)
+                    .addParameter("remote", remoteDir)
+                    .build());
+            post.setEntity(MultipartEntityBuilder.create()
+                    .addBinaryBody("file", content, contentType, fileName)
+                    .build());
+
+            String response = rcloneBulkhead.call(() -> executePostRequest(post));
+            logger.trace("Rclone response={}", response);
         }catch(IOException | URISyntaxException e){
-            logger.atError().log("Exception caught while making rclone request for saving notes, ex={}, user={}",
-                    e.getMessage(), username);
+            logger.atError().log("Exception caught while making rclone request for saving notes, ex={}, dir={}",
+                    e.getMessage(), remoteDir);
             throw new IllegalStateException(e);
         }
     }
 
     /**
-     * Calls rclone remote server for fetching the file for the user
+     * Service method for deleting a file from the remote through the local rclone RC server, a file that is
+     * already gone (rclone answers 404) is not an error
      * @param path - the path in the remote to the file
-     * @return - a path to the temp file created
      */
-    public static String rcloneHttpRequestGetFile(String path, String username){
+    public void rcloneHttpRequestDelete(String path){
         try {
-            String tempDir = System.getProperty("java.io.tmpdir");
-            String fileName = path.substring(path.lastIndexOf("/") + 1);
-            String fullPath = tempDir + File.separator + fileName;
-
-            JSONObject object = createJsonObjectForFetch(path, fileName);
-
-            logger.trace("Initiating rclone get request for user={}", username);
-            buildHttpPostRequest(object);
-
-            File f = new File(tempDir + "/" + fileName);
-            if(!f.exists() || !f.isFile()) {
-                throw new IllegalStateException("File didn't transfer from the remote into local disk storage");
-            }
-
-            return fullPath;
-
-        }catch(URISyntaxException | IOException e){
-            logger.error("Exception caught fetching file from path={} for user={} with message={}",
-                    path, username, e.getMessage());
+            logger.trace("Initiating rclone delete request for path={}", path);
+            HttpPost post = new HttpPost(new URIBuilder(rcUrl + "/operations/deletefile")
+                    .addParameter("fs", REMOTE)
+                    .addParameter("remote", path)
+                    .build());
+
+            String response = rcloneBulkhead.call(() -> executeDeleteRequest(post));
+            logger.trace("Rclone response={}", response);
+        }catch(IOException | URISyntaxException e){
+            logger.error("Exception caught deleting file from path={} with message={}", path, e.getMessage());
             throw new IllegalStateException(e);
         }
     }
 
     /**
-     * Build and executes an HTTP post request
-     * @param jsonObject - the JSON object for the post request (rclone remote setup)
-     * @throws URISyntaxException
-     * @throws IOException
-     */
-    private static void buildHttpPostRequest(JSONObject jsonObject) throws URISyntaxException, IOException {
-
-        HttpPost post = new HttpPost("http://127.0.0.1:5572/operations/copyfile");
-        post.setHeader("Content-Type", "application/json; charset=UTF-8");
-
-        // Make sure entity is UTF-8 encoded and has correct content length
-        StringEntity entity = new StringEntity(jsonObject.toString(), StandardCharsets.UTF_8);
-        entity.setContentType("application/json; charset=UTF-8");
-        post.setEntity(entity);
-
-        String response = executePostRequest(post);
-        logger.trace("Rclone response={}", response);
-    }
-
-    /**
-     * Create a new file with the name of the file set to the title and the notes written to said file
-     * @param title - name of file created
-     * @param notes - text file contains
-     * @return a String containing the path to the file
-     * @throws IOException
+     * Open a stream of a file in the remote through rclone's served remote (rcd --rc-serve), bytes are
+     * passed through as they arrive instead of being copied to local disk first.
+     * The Range header is forwarded so partial and resumed downloads only fetch what's asked for
+     * @param path - the path in the remote to the file
+     * @param fileName - file name to serve the file as
+     * @param range - the HTTP Range header from the client, null for the whole file
+     * @return - the open stream, caller must close it
      */
-    private static String createFileWithNotes(String title, String notes) throws IOException {
-
-        File tempFile = new File(System.getProperty("java.io.tmpdir"), title + ".txt");
-        Files.writeString(tempFile.toPath(), notes);
+    public RemoteNoteStream rcloneHttpRequestGetStream(String path, String fileName, String range){
+        CloseableHttpResponse response = null;
+        try {
+            HttpGet get = new HttpGet(new URIBuilder(rcUrl)
+                    .setPath("/[" + REMOTE + "]/" + path)
+                    .build());
+            if(range != null && !range.isEmpty()){
+                get.setHeader(HttpHeaders.RANGE, range);
+            }
 
-        return tempFile.getAbsolutePath();
-    }
+            logger.trace("Initiating rclone streaming get request for path={}", path);
+            // the slot covers getting the response headers back, not the client reading the body
+            response = rcloneBulkhead.call(() -> httpClient.execute(get));
 
-    /**
-     * Create a json object containing the information for the rclone request
-     * @param tempFile - the file to get the attributes from to build to json object
-     * @return - a json object containing the information for the rclone request
-     * @throws IOException
-     */
-    private static JSONObject createJsonObjectForPost(File tempFile, String username) throws IOException {
-        logger.trace("Creating JSON object for rclone post request for user={}", username);
+            int statusCode = response.getStatusLine().getStatusCode();
+            if(statusCode != HttpStatus.SC_OK && statusCode != HttpStatus.SC_PARTIAL_CONTENT){
+                throw new IOException("HTTP error code : " + statusCode);
+            }
+            HttpEntity entity = response.getEntity();
+            if(entity == null){
+                throw new IOException("No response from rclone RC server");
+            }
 
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("srcFs", tempFile.getParent());
-        jsonObject.put("srcRemote", tempFile.getName());
-        jsonObject.put("dstFs", "GDRIVE:");
-        jsonObject.put("dstRemote", "/ai-notes/" + username + "/" + tempFile.getName());
+            Header contentRange = response.getFirstHeader(HttpHeaders.CONTENT_RANGE);
+            return new RemoteNoteStream(
+                    fileName,
+                    statusCode,
+                    entity.getContentLength(),
+                    contentRange == null ? null : contentRange.getValue(),
+                    entity.getContent(),
+                    response);
 
-        return jsonObject;
+        }catch(URISyntaxException | IOException e){
+            closeQuietly(response);
+            logger.error("Exception caught fetching file from path={} with message={}",
+                    path, e.getMessage());
+            throw new IllegalStateException(e);
+        }
     }
 
     /**
-     * Copy file from remote into local /tmp dir for temporary storage
-     * @param path - the path of the file in the remote
-     * @param fileName - name of file to be stored in /tmp
-     * @return - a JSONObject containing the necessary info for a rclone remote http server call
-     * @throws IOException
+     * Ping the rclone RC server with rc/noop, used for readiness and health checks
+     * @param timeoutMs - connect and read timeout for the ping, kept short so a hung daemon reads as down
+     * @return - true if rclone answered
      */
-    private static JSONObject createJsonObjectForFetch(String path, String fileName) throws IOException {
-        JSONObject jsonObject = new JSONObject();
-        jsonObject.put("srcFs", "GDRIVE:");
-        jsonObject.put("srcRemote", path);
-        jsonObject.put("dstFs", "/tmp");
-        jsonObject.put("dstRemote", fileName);
-
-        return jsonObject;
+    public boolean rcloneHttpRequestNoop(int timeoutMs){
+        try {
+            HttpPost post = new HttpPost(rcUrl + "/rc/noop");
+            post.setConfig(RequestConfig.custom()
+                    .setConnectTimeout(timeoutMs)
+                    .setConnectionRequestTimeout(timeoutMs)
+                    .setSocketTimeout(timeoutMs)
+                    .build());
+            executePostRequest(post);
+            return true;
+        }catch(IOException e){
+            logger.trace("Rclone noop failed with message={}", e.getMessage());
+            return false;
+        }
     }
 
     /**
-     * Execute the http post request
+     * Execute the http post request on the shared pooled client, the response is fully consumed
+     * so the connection goes back to the pool for reuse
      * @param post an HttpPost object
      * @return - a string containing the entity response
      * @throws IOException
      */
-    private static String executePostRequest(HttpPost post) throws IOException {
-        try (CloseableHttpClient httpClient = HttpClients.createDefault();
-             CloseableHttpResponse response = httpClient.execute(post)) {
+    private String executePostRequest(HttpPost post) throws IOException {
+        try (CloseableHttpResponse response = httpClient.execute(post)) {
 
             int statusCode = response.getStatusLine().getStatusCode();;
             if(statusCode != 200){
@@ -194,4 +196,42 @@ public class HttpRequestService {
             return result;
         }
     }
+
+    /**
+     * Execute an rclone delete request, a file that's already gone counts as deleted
+     * @param post an HttpPost object
+     * @return - the entity response, empty if the file didn't exist
+     * @throws IOException
+     */
+    private String executeDeleteRequest(HttpPost post) throws IOException {
+        try (CloseableHttpResponse response = httpClient.execute(post)) {
+            HttpEntity entity = response.getEntity();
+            String result = entity == null ? "" : EntityUtils.toString(entity, StandardCharsets.UTF_8);
+
+            int statusCode = response.getStatusLine().getStatusCode();
+            if(statusCode == HttpStatus.SC_NOT_FOUND){
+                logger.trace("File to delete not found, response={}", result);
+                return "";
+            }
+            if(statusCode != HttpStatus.SC_OK){
+                throw new IOException("HTTP error code : " + statusCode);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Close a response on a failed request so its connection isn't leaked from the pool
+     * @param response - response to close, may be null
+     */
+    private void closeQuietly(CloseableHttpResponse response){
+        if(response == null){
+            return;
+        }
+        try {
+            response.close();
+        }catch(IOException e){
+            logger.trace("Failed to close rclone response with message={}", e.getMessage());
+        }
+    }
 }
@@ -1,30 +1,66 @@
 package com.tphelps.backend.service;
 
 import com.openai.client.OpenAIClient;
-import com.openai.client.okhttp.OpenAIOkHttpClient;
+import com.openai.core.http.StreamResponse;
+import com.openai.errors.OpenAIException;
+import com.openai.models.chat.completions.ChatCompletionChunk;
 import com.openai.models.chat.completions.StructuredChatCompletion;
 import com.openai.models.chat.completions.StructuredChatCompletionCreateParams;
+import com.tphelps.backend.controller.pojos.Steps;
 import com.tphelps.backend.controller.pojos.StudyGuide;
 import com.tphelps.backend.dtos.notes.SaveNotesRequest;
 import com.tphelps.backend.enums.NoteGraphingStatus;
+import com.tphelps.backend.enums.NoteUploadStatus;
 import com.tphelps.backend.enums.SubscriptionStatus;
 import com.tphelps.backend.repository.JobsRepository;
+import com.tphelps.backend.repository.NoteBlobRepository;
+import com.tphelps.backend.repository.NoteChunkRepository;
 import com.tphelps.backend.repository.NotesRepository;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import com.tphelps.backend.service.exceptions.NotesTooLargeException;
 import com.tphelps.backend.service.exceptions.UnauthorizedUserException;
-import static com.tphelps.backend.service.HttpRequestService.rcloneHttpRequestGetFile;
-import static com.tphelps.backend.service.HttpRequestService.rcloneHttpRequestPost;
-
+import com.tphelps.backend.service.cache.NoteContentCache;
+import com.tphelps.backend.service.cache.StudyGuideCache;
+import com.tphelps.backend.service.openai.OpenAiMetrics;
+import com.tphelps.backend.service.pojos.ChunkManifestEntry;
+import com.tphelps.backend.service.pojos.NewNote;
+import com.tphelps.backend.service.pojos.NoteBlob;
+import com.tphelps.backend.service.pojos.NoteChunk;
+import com.tphelps.backend.service.pojos.NoteDownload;
 import com.tphelps.backend.service.pojos.NoteEdges;
-import org.jooq.tools.json.JSONObject;
+import com.tphelps.backend.service.pojos.NoteMetadata;
+import com.tphelps.backend.service.pojos.StoredBlob;
+import com.tphelps.backend.service.pojos.StudyGuidePrompt;
+import com.tphelps.backend.service.storage.ContentDefinedChunker;
+import com.tphelps.backend.service.storage.NoteCompression;
+import com.tphelps.backend.service.storage.NoteStorage;
+import com.tphelps.backend.service.util.NoteSplitter;
+import com.tphelps.backend.service.util.PromptCompactor;
+import com.tphelps.backend.service.util.StudyGuideMerger;
+import com.tphelps.backend.service.util.StudyGuideStreamParser;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
 
 @Service
 public class NotesService {
@@ -33,18 +69,70 @@ public class NotesService {
     private final OpenAIClient client;
     private final CustomUserDetailsService customUserDetailsService;
     private final JobsRepository jobsRepository;
+    private final NoteBlobRepository noteBlobRepository;
+    private final NoteChunkRepository noteChunkRepository;
+    private final NoteStorage noteStorage;
+    private final NoteContentCache noteContentCache;
+    private final StudyGuideCache studyGuideCache;
+    private final NoteCompression noteCompression;
+    private final ContentDefinedChunker contentDefinedChunker;
+    private final AdaptiveBulkhead openAiBulkhead;
+    private final SimpleAsyncTaskExecutor studyGuideMapExecutor;
+    private final OpenAiMetrics openAiMetrics;
+    private final DSLContext dslContext;
 
-    private static final String AI_NOTES_FOLDER = "ai-notes/";
+    private static final String STUDY_GUIDE_MODEL = "gpt-4o-mini";
+    private static final String STUDY_GUIDE_PROMPT = "Generate a study guide for the following notes: ";
+    // bump whenever the prompt or the StudyGuide format changes so guides cached from the old prompt miss
+    private static final int STUDY_GUIDE_PROMPT_VERSION = 2;
     private static final Logger logger = LoggerFactory.getLogger(NotesService.class);
 
+    @Value("${study-guide.chunk.max-tokens:4000}")
+    private int chunkMaxTokens;
+
+    @Value("${study-guide.chunk.max-chunks:32}")
+    private int maxChunks;
+
+    @Value("${study-guide.map.concurrency:4}")
+    private int mapConcurrency;
+
+    @Value("${study-guide.map.slot-wait-ms:30000}")
+    private long mapSlotWaitMs;
+
+    @Value("${study-guide.prompt.max-tokens:64000}")
+    private int promptMaxTokens;
+
     @Autowired
     public NotesService(
             NotesRepository notesRepository,
             CustomUserDetailsService customUserDetailsService,
-            JobsRepository jobsRepository) {
+            JobsRepository jobsRepository,
+            NoteBlobRepository noteBlobRepository,
+            NoteChunkRepository noteChunkRepository,
+            NoteStorage noteStorage,
+            NoteContentCache noteContentCache,
+            StudyGuideCache studyGuideCache,
+            NoteCompression noteCompression,
+            ContentDefinedChunker contentDefinedChunker,
+            @Qualifier("openAiBulkhead") AdaptiveBulkhead openAiBulkhead,
+            @Qualifier("studyGuideMapExecutor") SimpleAsyncTaskExecutor studyGuideMapExecutor,
+            @Qualifier("openAiClient") OpenAIClient client,
+            OpenAiMetrics openAiMetrics,
+            DSLContext dslContext) {
         this.notesRepository = notesRepository;
         this.jobsRepository = jobsRepository;
-        this.client = OpenAIOkHttpClient.fromEnv();
+        this.noteBlobRepository = noteBlobRepository;
+        this.noteChunkRepository = noteChunkRepository;
+        this.noteStorage = noteStorage;
+        this.noteContentCache = noteContentCache;
+        this.studyGuideCache = studyGuideCache;
+        this.noteCompression = noteCompression;
+        this.contentDefinedChunker = contentDefinedChunker;
+        this.openAiBulkhead = openAiBulkhead;
+        this.studyGuideMapExecutor = studyGuideMapExecutor;
+        this.client = client;
+        this.openAiMetrics = openAiMetrics;
+        this.dslContext = dslContext;
         this.customUserDetailsService = customUserDetailsService;
     }
 
@@ -61,75 +149,508 @@ public class NotesService {
     }
 
     /**
-     * Service method for making rclone request and saving the location where the notes were stored in the database
+     * Service method for saving notes, the note and its graphing job are written to the database in one transaction
+     * and the upload to the note storage happens in the background ({@link com.tphelps.backend.service.scheduled.NoteUploadService}), so the save doesn't wait on the drive
      * @param notesRequest - notes request containing the title and text
      * @param username - username for the db save
      * @throws IllegalStateException
      * @throws EmptyResultDataAccessException
      */
     public void saveNotesToCloud(SaveNotesRequest notesRequest, String username)
-            throws IllegalStateException, EmptyResultDataAccessException, IOException {
+            throws IllegalStateException, EmptyResultDataAccessException {
 
-        String title = notesRequest.title().replace(" ", "_");
+        if(username == null) {
+            throw new IllegalStateException("Username is null from security context");
+        }
 
-        JSONObject pathObject = rcloneHttpRequestPost(title, notesRequest.notes(), username);
-        String drive = pathObject.get("drive").toString();
-        String path = pathObject.get("path").toString();
+        logger.trace("Saving user note to database for user={} with title={}",
+                username, notesRequest.title());
+        saveNotes(List.of(notesRequest), username);
+    }
+
+    /**
+     * Service method for saving a batch of notes, same as {@link #saveNotesToCloud(SaveNotesRequest, String)} but the
+     * notes and their jobs go in with one multi-row insert each, in one transaction. The uploads are picked up by
+     * the write-behind uploader which runs them with bounded parallelism
+     * @param notesRequests - the notes to save
+     * @param username - username for the db save
+     * @return - number of notes saved
+     * @throws IllegalStateException
+     * @throws EmptyResultDataAccessException
+     */
+    public int saveNotesBatchToCloud(List<SaveNotesRequest> notesRequests, String username)
+            throws IllegalStateException, EmptyResultDataAccessException {
 
         if(username == null) {
             throw new IllegalStateException("Username is null from security context");
         }
-        logger.trace("Saving user note path to database for user={} with path={}",
-                username, path);
 
-        int noteId = notesRepository.saveNoteToDatabase(drive + path,
-                username,
-                notesRequest.title(),
-                notesRequest.notes());
-        jobsRepository.createJob(noteId, NoteGraphingStatus.PENDING.getValue(), username);
+        logger.trace("Saving batch of {} notes to database for user={}", notesRequests.size(), username);
+        saveNotes(notesRequests, username);
+        return notesRequests.size();
     }
 
     /**
-     * Service method for pulling a file from the Google Drive and returning it to the user
+     * Service method for updating a note, the note's row is kept and its chunk manifest swapped for the new content
+     * in one transaction. Since notes are stored as content defined chunks only the chunks touched by the edit are new,
+     * the rest are shared with the previous content and aren't uploaded again. The note's links are dropped and
+     * a graphing job links it again from the new content
+     * @param notesRequest - the title of the note to update and its new text
+     * @param username - owner of the note
+     * @throws EmptyResultDataAccessException - if the user has no note with that title
+     */
+    public void updateNote(SaveNotesRequest notesRequest, String username)
+            throws IllegalStateException, EmptyResultDataAccessException {
+
+        if(username == null) {
+            throw new IllegalStateException("Username is null from security context");
+        }
+
+        logger.trace("Updating note for user={} with title={}", username, notesRequest.title());
+        byte[] content = notesRequest.notes().getBytes(StandardCharsets.UTF_8);
+        String hash = DigestUtils.sha256Hex(content);
+        List<NoteChunk> chunks = contentDefinedChunker.chunk(content);
+        Map<String, NoteBlob> blobs = new TreeMap<>();
+        addChunkBlobs(blobs, username, chunks);
+
+        dslContext.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            NoteMetadata current = notesRepository.lockNoteForUpdate(ctx, notesRequest.title(), username);
+            if(current == null){
+                throw new EmptyResultDataAccessException(1);
+            }
+            boolean chunked = current.linkToNote().startsWith(NoteStorage.MANIFEST_PREFIX);
+            if(chunked && hash.equals(current.contentHash())){
+                return; // nothing changed
+            }
+
+            // new references first, so chunks shared with the old content never drop to zero
+            Map<String, StoredBlob> storedBlobs = noteBlobRepository.acquireBlobs(ctx, username, blobs.values());
+            if(chunked){
+                noteChunkRepository.deleteManifest(ctx, current.noteId());
+            }else if(current.contentHash() != null){
+                noteBlobRepository.releaseBlob(ctx, username, current.contentHash(), current.linkToNote());
+            }
+
+            notesRepository.replaceNoteRevision(ctx, current.noteId(), new NewNote(NoteStorage.manifestLocation(username, hash),
+                    notesRequest.title(),
+                    notesRequest.notes(),
+                    hash,
+                    allStored(chunks, storedBlobs) ? NoteUploadStatus.UPLOADED.getValue() : NoteUploadStatus.PENDING.getValue(),
+                    null));
+            noteChunkRepository.insertManifests(ctx, username, Map.of(current.noteId(), chunks));
+            notesRepository.deleteNoteLinks(ctx, current.noteId());
+            jobsRepository.createJobs(ctx, List.of(current.noteId()), NoteGraphingStatus.PENDING.getValue(), username);
+        });
+    }
+
+    /**
+     * Save notes as content defined chunks stored in content addressed blobs, each distinct chunk gets one blob
+     * per user keyed by its sha256 and each note gets a chunk manifest. A note whose chunks are all stored already
+     * is saved as uploaded and never goes through the uploader
+     * @param notesRequests - the notes to save
+     * @param username - owner of the notes
+     */
+    private void saveNotes(List<SaveNotesRequest> notesRequests, String username){
+        // sorted so concurrent saves lock the blob rows in the same order
+        Map<String, NoteBlob> blobs = new TreeMap<>();
+        List<String> hashes = new ArrayList<>(notesRequests.size());
+        List<List<NoteChunk>> chunkLists = new ArrayList<>(notesRequests.size());
+        for(SaveNotesRequest notesRequest : notesRequests){
+            byte[] content = notesRequest.notes().getBytes(StandardCharsets.UTF_8);
+            hashes.add(DigestUtils.sha256Hex(content));
+
+            List<NoteChunk> chunks = contentDefinedChunker.chunk(content);
+            chunkLists.add(chunks);
+            addChunkBlobs(blobs, username, chunks);
+        }
+
+        dslContext.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            Map<String, StoredBlob> storedBlobs = noteBlobRepository.acquireBlobs(ctx, username, blobs.values());
+
+            List<NewNote> notes = new ArrayList<>(notesRequests.size());
+            for(int i = 0; i < notesRequests.size(); i++){
+                boolean stored = allStored(chunkLists.get(i), storedBlobs);
+                notes.add(new NewNote(NoteStorage.manifestLocation(username, hashes.get(i)),
+                        notesRequests.get(i).title(),
+                        notesRequests.get(i).notes(),
+                        hashes.get(i),
+                        stored ? NoteUploadStatus.UPLOADED.getValue() : NoteUploadStatus.PENDING.getValue(),
+                        null));
+            }
+
+            List<Integer> noteIds = notesRepository.saveNotesToDatabase(ctx, username, notes);
+
+            Map<Integer, List<NoteChunk>> manifests = new LinkedHashMap<>();
+            for(int i = 0; i < noteIds.size(); i++){
+                manifests.put(noteIds.get(i), chunkLists.get(i));
+            }
+            noteChunkRepository.insertManifests(ctx, username, manifests);
+            jobsRepository.createJobs(ctx, noteIds, NoteGraphingStatus.PENDING.getValue(), username);
+        });
+    }
+
+    /**
+     * Add a reference per chunk to the blobs to acquire, a chunk repeated within or across notes is one blob
+     * @param blobs - blobs to acquire keyed by content hash, sorted so concurrent saves lock them in the same order
+     * @param username - owner of the notes
+     * @param chunks - chunks of a note
+     */
+    private void addChunkBlobs(Map<String, NoteBlob> blobs, String username, List<NoteChunk> chunks){
+        for(NoteChunk chunk : chunks){
+            String hash = chunk.contentHash();
+            String encoding = noteCompression.encodingFor(chunk.sizeBytes());
+            blobs.merge(hash,
+                    new NoteBlob(hash, noteStorage.location(NoteStorage.blobKey(username, hash, encoding)), chunk.sizeBytes(), 1, encoding),
+                    (existing, added) -> new NoteBlob(hash, existing.location(), existing.sizeBytes(),
+                            existing.references() + 1, existing.contentEncoding()));
+        }
+    }
+
+    private static boolean allStored(List<NoteChunk> chunks, Map<String, StoredBlob> storedBlobs){
+        return chunks.stream()
+                .allMatch(chunk -> NoteUploadStatus.UPLOADED.getValue().equals(storedBlobs.get(chunk.contentHash()).status()));
+    }
+
+    /**
+     * Service method for opening a note for download, served from the note content cache when possible
+     * and streamed from the note storage otherwise. Compressed notes from storage are sent as is when the client
+     * accepts their encoding and decoded on the way out when it doesn't, ranges only apply to uncompressed notes.
+     * Chunked notes are reassembled from their chunks as they stream, gzip encoded one member per chunk when the
+     * client accepts it and decoded otherwise
      * @param name - name of the file
+     * @param range - optional HTTP Range header for partial downloads
+     * @param acceptEncoding - the client's Accept-Encoding header
+     * @return - the open download, caller must close it
+     * @throws EmptyResultDataAccessException - if the user has no note with that title
+     */
+    public NoteDownload openNoteDownload(String name, String username, String range, String acceptEncoding){
+        NoteMetadata metadata = notesRepository.fetchNoteMetadata(name, username);
+        if(metadata == null){
+            throw new EmptyResultDataAccessException(1);
+        }
+        String fileName = name.replace(" ", "_") + ".txt";
+
+        Optional<NoteDownload> cached = noteContentCache.open(metadata, fileName, range,
+                () -> notesRepository.fetchNoteContent(metadata.noteId()));
+        if(cached.isPresent()){
+            return cached.get();
+        }
+
+        try {
+            if(metadata.linkToNote().startsWith(NoteStorage.MANIFEST_PREFIX)){
+                List<ChunkManifestEntry> chunks = noteChunkRepository.fetchManifest(metadata.noteId());
+                if(chunks.isEmpty()){
+                    throw new IllegalStateException("Chunk manifest missing for noteId=" + metadata.noteId());
+                }
+                return noteCompression.forClient(fileName, chunks, range, acceptEncoding, noteStorage);
+            }
+
+            String encoding = metadata.contentEncoding();
+            NoteDownload stored = noteStorage.open(metadata.linkToNote(), fileName, encoding == null ? range : null);
+            return noteCompression.forClient(stored, encoding, acceptEncoding);
+        }catch(IOException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Look up a study guide already generated for the same notes with the current model and prompt,
+     * a hit doesn't cost the user a generation
+     * @param notes - content of notes
+     * @return - the cached study guide, empty if it has to be generated
      */
-    public File fetchNoteFromGoogleDrive(String name, String username){
-        String path = notesRepository.fetchNote(name);
-        String fileName = path.substring(path.lastIndexOf("/") + 1);
-        String updatedPath = AI_NOTES_FOLDER + username + "/" + fileName;
-        String pathToTempFile = rcloneHttpRequestGetFile(updatedPath, username);
-        return new File(pathToTempFile);
+    public Optional<StudyGuide> fetchCachedStudyGuide(String notes){
+        return studyGuideCache.get(studyGuideKey(notes));
     }
 
     /**
-     * Generate a study guide from OpenAI API based on users notes
-     * @param title - title of notes
+     * Key of a study guide for the notes with the current model and prompt, the same notes give the same key
      * @param notes - content of notes
+     * @return - the key
+     */
+    public String studyGuideKey(String notes){
+        return studyGuideCache.cacheKey(notes, STUDY_GUIDE_MODEL, STUDY_GUIDE_PROMPT_VERSION);
+    }
+
+    /**
+     * Take a slot for one study guide generation against OpenAI. Taken before the user is charged for the
+     * generation so a request turned away because OpenAI is saturated costs them nothing
+     * @return - the slot, close it once the generation is done
+     * @throws BulkheadFullException - if too many generations are in flight
+     */
+    public AdaptiveBulkhead.Permit acquireStudyGuideSlot() throws BulkheadFullException {
+        return openAiBulkhead.acquire();
+    }
+
+    /**
+     * Compact notes for the prompt and cut them to the prompt token budget, then check the prompt isn't too large to
+     * generate a study guide for. Done before the user is charged, the result is what gets generated from
+     * @param notes - content of notes as the user sent them
+     * @return - the prompt to pass to {@link #generateStudyGuide(String, StudyGuidePrompt, String, AdaptiveBulkhead.Permit)}
+     *           or {@link #streamStudyGuide(StudyGuidePrompt, String, AdaptiveBulkhead.Permit, Consumer)}
+     * @throws NotesTooLargeException - if the prompt still splits into more chunks than allowed
+     */
+    public StudyGuidePrompt prepareStudyGuidePrompt(String notes) throws NotesTooLargeException{
+        String compacted = PromptCompactor.compact(notes);
+        String prompt = PromptCompactor.trimToBudget(compacted, promptMaxTokens);
+        int chunks = NoteSplitter.split(prompt, chunkMaxTokens).size();
+        if(chunks > maxChunks){
+            throw new NotesTooLargeException("Notes split into " + chunks + " chunks, max is " + maxChunks);
+        }
+        return new StudyGuidePrompt(notes, prompt, prompt.length() < compacted.length());
+    }
+
+    /**
+     * Generate a study guide from OpenAI API based on users notes, the result is cached for repeat requests.
+     * Notes over the chunk token budget are split on paragraph boundaries and a partial guide is generated for
+     * each chunk in parallel, then merged, so latency follows the largest chunk rather than the whole note.
+     * Generates from the prompt made by {@link #prepareStudyGuidePrompt(String)}, compacted and cut to the prompt budget
+     * @param title - title of notes
+     * @param prompt - the prepared prompt
      * @param username - user to generate
+     * @param slot - the slot from {@link #acquireStudyGuideSlot()}, the outcome is recorded on it for a single chunk,
+     *             chunked notes close it and take a slot per chunk call
      * @return - a StudyGuide object {@link StudyGuide}
      * @throws IllegalStateException
      */
-    public StudyGuide generateStudyGuide(String title, String notes, String username) throws IllegalStateException{
-        // Build the request parameters
-        logger.trace("Initiating OpenAI api request for user={}", username);
-        StructuredChatCompletionCreateParams<StudyGuide> params = StructuredChatCompletionCreateParams.<StudyGuide>builder()
-                .addUserMessage("Generate a study guide for the following notes: " + notes)
-                .model("gpt-4o-mini")
-                .responseFormat(StudyGuide.class)
-                .maxCompletionTokens(5000) // set a max on output tokens to prevent runaway responses / malicious input
-                .build();
+    public StudyGuide generateStudyGuide(String title, StudyGuidePrompt prompt, String username, AdaptiveBulkhead.Permit slot)
+            throws IllegalStateException{
+        List<String> chunks = splitPrompt(prompt);
+        logger.trace("Initiating OpenAI api request for user={} with chunks={}", username, chunks.size());
+
+        StudyGuide studyGuide;
+        if(chunks.size() == 1){
+            try {
+                studyGuide = requestStudyGuide(chunks.get(0));
+                slot.success();
+            }catch(OpenAIException e){
+                slot.failure(e);
+                throw e;
+            }
+        }else{
+            // the slot only admitted the request, each chunk call takes and reports on a slot of its own
+            slot.close();
+            studyGuide = generateChunkedStudyGuide(chunks, username, null);
+        }
+
+        if(studyGuide.questions().isEmpty()) {
+            throw new IllegalStateException("Result from OpenAI API is empty");
+        }
+        logger.trace("Finished extracting content for study guide for user={}", username);
+        studyGuideCache.put(studyGuideCache.cacheKey(prompt.notes(), STUDY_GUIDE_MODEL, STUDY_GUIDE_PROMPT_VERSION),
+                STUDY_GUIDE_MODEL, STUDY_GUIDE_PROMPT_VERSION, studyGuide);
+        return studyGuide;
+    }
+
+    /**
+     * Generate a study guide from OpenAI API with the streaming api, each question/answer pair is handed to the
+     * callback as soon as it has been parsed out of the streamed json instead of after the whole generation.
+     * Notes over the chunk token budget are generated chunk by chunk like
+     * {@link #generateStudyGuide(String, StudyGuidePrompt, String, AdaptiveBulkhead.Permit)}, each chunk's pairs are
+     * handed over as soon as that chunk is done. The finished guide is cached the same way
+     * @param prompt - the prompt from {@link #prepareStudyGuidePrompt(String)}
+     * @param username - user to generate
+     * @param slot - the slot from {@link #acquireStudyGuideSlot()}, the outcome is recorded on it for a single chunk,
+     *             chunked notes close it and take a slot per chunk call
+     * @param onStep - called with each question/answer pair in order as it completes
+     * @return - the full StudyGuide object {@link StudyGuide}
+     * @throws IllegalStateException - if the stream fails or the streamed json is invalid
+     */
+    public StudyGuide streamStudyGuide(StudyGuidePrompt prompt, String username, AdaptiveBulkhead.Permit slot,
+                                       Consumer<Steps> onStep) throws IllegalStateException{
+        List<String> chunks = splitPrompt(prompt);
+        logger.trace("Initiating streaming OpenAI api request for user={} with chunks={}", username, chunks.size());
+
+        StudyGuide studyGuide;
+        if(chunks.size() == 1){
+            try {
+                studyGuide = streamSingleStudyGuide(chunks.get(0), onStep);
+                slot.success();
+            }catch(OpenAIException e){
+                // only failures from OpenAI itself count against the limit, not a client that hung up mid stream
+                slot.failure(e);
+                throw e;
+            }
+        }else{
+            // the slot only admitted the request, each chunk call takes and reports on a slot of its own
+            slot.close();
+            studyGuide = generateChunkedStudyGuide(chunks, username, onStep);
+        }
+
+        if(studyGuide.questions().isEmpty()) {
+            throw new IllegalStateException("Result from OpenAI API is empty");
+        }
+        logger.trace("Finished streaming study guide for user={}", username);
+        studyGuideCache.put(studyGuideCache.cacheKey(prompt.notes(), STUDY_GUIDE_MODEL, STUDY_GUIDE_PROMPT_VERSION),
+                STUDY_GUIDE_MODEL, STUDY_GUIDE_PROMPT_VERSION, studyGuide);
+        return studyGuide;
+    }
+
+    /**
+     * Generate partial guides for every chunk in parallel, at most study-guide.map.concurrency at a time, and merge
+     * them with duplicate questions dropped. The calls run on the shared map executor and each one holds its own
+     * OpenAI slot, so the bulkhead sees one sample per call. The user has already been charged, so a chunk waits up
+     * to study-guide.map.slot-wait-ms for a slot rather than failing the generation straight away
+     * @param chunks - the note split into chunks
+     * @param username - user to generate
+     * @param onStep - if not null the questions kept from each chunk are handed over as the chunk completes and the
+     *               guide keeps that order, else the guide is merged in note order once every chunk is done
+     * @return - the merged StudyGuide, titled with the title the model gave the first chunk
+     */
+    private StudyGuide generateChunkedStudyGuide(List<String> chunks, String username, Consumer<Steps> onStep){
+        StudyGuide[] partials = new StudyGuide[chunks.size()];
+        StudyGuideMerger merger = new StudyGuideMerger();
 
-        List<StructuredChatCompletion.Choice<StudyGuide>> results = client.chat().completions().create(params).choices();
+        CompletionService<Integer> completed = new ExecutorCompletionService<>(studyGuideMapExecutor);
+        List<Future<Integer>> futures = new ArrayList<>(chunks.size());
+        int submitted = 0;
+        try {
+            // keep at most mapConcurrency of this request's chunks in flight, the next is submitted as one completes
+            for(; submitted < Math.min(mapConcurrency, chunks.size()); submitted++){
+                futures.add(completed.submit(chunkCall(chunks, submitted, partials)));
+            }
+            for(int done = 0; done < chunks.size(); done++){
+                int index = completed.take().get();
+                logger.trace("Generated chunk {} of {} for user={}", index + 1, chunks.size(), username);
+                if(onStep != null){
+                    merger.add(partials[index].questions()).forEach(onStep);
+                }
+                if(submitted < chunks.size()){
+                    futures.add(completed.submit(chunkCall(chunks, submitted++, partials)));
+                }
+            }
+        }catch(ExecutionException e){
+            futures.forEach(future -> future.cancel(true));
+            if(e.getCause() instanceof RuntimeException cause){
+                throw cause;
+            }
+            throw new IllegalStateException("Study guide chunk generation failed", e.getCause());
+        }catch(InterruptedException e){
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while generating study guide chunks", e);
+        }
+
+        if(onStep == null){
+            for(StudyGuide partial : partials){
+                merger.add(partial.questions());
+            }
+        }
+        return merger.result(partials[0].title());
+    }
+
+    /**
+     * One chunk's call for {@link #generateChunkedStudyGuide(List, String, Consumer)}, run inside its own OpenAI slot
+     * @param chunks - the note split into chunks
+     * @param index - the chunk to generate
+     * @param partials - where the chunk's partial guide is stored
+     * @return - the task, returns the chunk index once done
+     */
+    private Callable<Integer> chunkCall(List<String> chunks, int index, StudyGuide[] partials){
+        return () -> {
+            partials[index] = openAiBulkhead.call(() -> requestStudyGuide(chunks.get(index)),
+                    Duration.ofMillis(mapSlotWaitMs));
+            return index;
+        };
+    }
+
+    /**
+     * Split a prepared prompt into chunks for generation, the sizes before and after compaction are recorded
+     * @param prompt - the prompt from {@link #prepareStudyGuidePrompt(String)}
+     * @return - the chunks to generate from
+     */
+    private List<String> splitPrompt(StudyGuidePrompt prompt){
+        if(prompt.trimmed()){
+            logger.warn("Notes cut to the prompt budget of {} tokens", promptMaxTokens);
+        }
+        openAiMetrics.promptCompacted(prompt.notes().getBytes(StandardCharsets.UTF_8).length,
+                prompt.prompt().getBytes(StandardCharsets.UTF_8).length, prompt.trimmed());
+        return NoteSplitter.split(prompt.prompt(), chunkMaxTokens);
+    }
+
+    /**
+     * Make a single structured OpenAI request for a study guide of one piece of notes
+     * @param notes - the notes to generate for
+     * @return - the generated StudyGuide
+     * @throws IllegalStateException - if OpenAI returned nothing
+     */
+    private StudyGuide requestStudyGuide(String notes) throws IllegalStateException{
+        StructuredChatCompletionCreateParams<StudyGuide> params = studyGuideParams(notes);
+
+        long start = openAiMetrics.start();
+        List<StructuredChatCompletion.Choice<StudyGuide>> results;
+        try {
+            results = client.chat().completions().create(params).choices();
+        }catch(RuntimeException e){
+            openAiMetrics.completed(STUDY_GUIDE_MODEL, false, false, start);
+            throw e;
+        }
+        openAiMetrics.completed(STUDY_GUIDE_MODEL, false, true, start);
 
         // Extract the actual content from the Choice object
         Optional<StudyGuide> res = results.get(0).message().content();
         if(res.isEmpty()) {
             throw new IllegalStateException("Result from OpenAI API is empty");
         }
-        logger.trace("Finished extracting content for study guide for user={}", username);
         return res.get();
     }
 
+    /**
+     * Make a single streaming OpenAI request for a study guide of one piece of notes
+     * @param notes - the notes to generate for
+     * @param onStep - called with each question/answer pair in order as it completes
+     * @return - the generated StudyGuide
+     * @throws IllegalStateException - if the streamed json is invalid
+     */
+    private StudyGuide streamSingleStudyGuide(String notes, Consumer<Steps> onStep) throws IllegalStateException{
+        StructuredChatCompletionCreateParams<StudyGuide> params = studyGuideParams(notes);
+
+        StudyGuideStreamParser parser = new StudyGuideStreamParser();
+        long start = openAiMetrics.start();
+        boolean firstToken = true;
+        boolean success = false;
+        try(StreamResponse<ChatCompletionChunk> stream = client.chat().completions().createStreaming(params.rawParams())){
+            Iterator<ChatCompletionChunk> chunks = stream.stream().iterator();
+            while(chunks.hasNext()){
+                for(ChatCompletionChunk.Choice choice : chunks.next().choices()){
+                    Optional<String> delta = choice.delta().content();
+                    if(delta.isPresent() && !delta.get().isEmpty()){
+                        if(firstToken){
+                            openAiMetrics.firstToken(STUDY_GUIDE_MODEL, start);
+                            firstToken = false;
+                        }
+                        parser.feed(delta.get()).forEach(onStep);
+                    }
+                }
+            }
+            StudyGuide studyGuide = parser.finish();
+            success = true;
+            return studyGuide;
+        }catch(IOException e){
+            throw new IllegalStateException("Invalid study guide json streamed from OpenAI API", e);
+        }finally {
+            openAiMetrics.completed(STUDY_GUIDE_MODEL, true, success, start);
+        }
+    }
+
+    /**
+     * Request parameters for a study guide of one piece of notes
+     * @param notes - the notes to generate for
+     * @return - the request parameters
+     */
+    private StructuredChatCompletionCreateParams<StudyGuide> studyGuideParams(String notes){
+        return StructuredChatCompletionCreateParams.<StudyGuide>builder()
+                .addUserMessage(STUDY_GUIDE_PROMPT + notes)
+                .model(STUDY_GUIDE_MODEL)
+                .responseFormat(StudyGuide.class)
+                .maxCompletionTokens(5000) // set a max on output tokens to prevent runaway responses / malicious input
+                .build();
+    }
+
     /**
      * Validate a user has an existing subscription
      * @param username - user to validate
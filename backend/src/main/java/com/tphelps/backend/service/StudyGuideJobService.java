@@ -0,0 +1,345 @@
+package com.tphelps.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import com.tphelps.backend.dtos.notes.SaveNotesRequest;
+import com.tphelps.backend.dtos.responses.StudyGuideJobResponseDto;
+import com.tphelps.backend.enums.StudyGuideJobStatus;
+import com.tphelps.backend.repository.StudyGuideJobsRepository;
+import com.tphelps.backend.service.exceptions.NotesTooLargeException;
+import com.tphelps.backend.service.exceptions.UnauthorizedUserException;
+import com.tphelps.backend.service.pojos.StudyGuideJobResult;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Async study guide generation. A request only charges the user and queues a job, the generation itself runs in
+ * {@link com.tphelps.backend.service.scheduled.StudyGuideGenerationService} and the result is kept on the job so it
+ * can be polled or downloaded again later.
+ *
+ * Server-Sent Events subscribers get each question/answer pair as the worker on this instance generates it. A job
+ * generated on another instance is picked up by the sweep once it finishes
+ */
+@Service
+public class StudyGuideJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StudyGuideJobService.class);
+
+    private final StudyGuideJobsRepository studyGuideJobsRepository;
+    private final NotesService notesService;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final ObjectMapper objectMapper;
+    private final DSLContext dslContext;
+    private final Map<UUID, JobStream> streams = new ConcurrentHashMap<>();
+
+    @Value("${study-guide.jobs.sse-timeout-ms:600000}")
+    private long sseTimeoutMs;
+
+    public StudyGuideJobService(StudyGuideJobsRepository studyGuideJobsRepository,
+                                NotesService notesService,
+                                CustomUserDetailsService customUserDetailsService,
+                                ObjectMapper objectMapper,
+                                DSLContext dslContext) {
+        this.studyGuideJobsRepository = studyGuideJobsRepository;
+        this.notesService = notesService;
+        this.customUserDetailsService = customUserDetailsService;
+        this.objectMapper = objectMapper;
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Queue a study guide generation. The user is charged in the same transaction the job is created in, notes that
+     * were generated before are served from the cache as an already completed job without a charge
+     * @param notes - title and content of the notes
+     * @param username - user to generate for
+     * @return - the id and status of the job
+     * @throws UnauthorizedUserException - if the user has no active subscription with generations left
+     * @throws NotesTooLargeException - if the notes are too large for a study guide
+     */
+    public StudyGuideJobResponseDto enqueueStudyGuide(SaveNotesRequest notes, String username)
+            throws UnauthorizedUserException, NotesTooLargeException {
+        notesService.validateUsersSubscription(username);
+
+        Optional<StudyGuide> cached = notesService.fetchCachedStudyGuide(notes.notes());
+        if(cached.isPresent()){
+            logger.trace("Queued study guide served from cache for user={}", username);
+            UUID id = studyGuideJobsRepository.createJob(dslContext, username, notes.title(), notes.notes(),
+                    StudyGuideJobStatus.COMPLETED.getValue(), toJson(cached.get()));
+            return new StudyGuideJobResponseDto(id, StudyGuideJobStatus.COMPLETED.getValue(), null, null);
+        }
+
+        notesService.prepareStudyGuidePrompt(notes.notes());
+        AtomicReference<UUID> id = new AtomicReference<>();
+        dslContext.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            customUserDetailsService.decrementUserGenerationsLeft(ctx, username, 1);
+            id.set(studyGuideJobsRepository.createJob(ctx, username, notes.title(), notes.notes(),
+                    StudyGuideJobStatus.PENDING.getValue(), null));
+        });
+        return new StudyGuideJobResponseDto(id.get(), StudyGuideJobStatus.PENDING.getValue(), null, null);
+    }
+
+    /**
+     * Fetch a user's job with its study guide once completed
+     * @param id - the job
+     * @param username - the user
+     * @return - the job
+     * @throws EmptyResultDataAccessException - if the user has no such job
+     */
+    public StudyGuideJobResponseDto fetchJob(UUID id, String username) throws EmptyResultDataAccessException{
+        StudyGuideJobResult job = studyGuideJobsRepository.fetchJob(id, username);
+        return new StudyGuideJobResponseDto(job.id(), job.status(), fromJson(job.studyGuide()), job.lastError());
+    }
+
+    /**
+     * Subscribe to a user's job as Server-Sent Events. Each question/answer pair is sent as a "step" event, then a
+     * "completed" or "failed" event ends the stream. A finished job sends its whole guide straight away
+     * @param id - the job
+     * @param username - the user
+     * @return - the emitter
+     * @throws EmptyResultDataAccessException - if the user has no such job
+     */
+    public SseEmitter subscribe(UUID id, String username) throws EmptyResultDataAccessException{
+        StudyGuideJobResult job = studyGuideJobsRepository.fetchJob(id, username);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMs);
+        if(isFinished(job)){
+            sendFinished(emitter, job);
+            return emitter;
+        }
+
+        JobStream stream = streams.computeIfAbsent(id, k -> new JobStream());
+        stream.lock.lock();
+        try {
+            for(int i = 0; i < stream.steps.size(); i++){
+                send(emitter, "step", String.valueOf(i), stream.steps.get(i));
+            }
+            stream.emitters.add(emitter);
+        } finally {
+            stream.lock.unlock();
+        }
+        emitter.onCompletion(() -> removeEmitter(id, emitter));
+        emitter.onTimeout(() -> removeEmitter(id, emitter));
+        emitter.onError(e -> removeEmitter(id, emitter));
+        return emitter;
+    }
+
+    /**
+     * Called by the worker when it starts generating a job, any steps buffered from an earlier attempt are dropped
+     * @param id - the job
+     */
+    public void jobStarted(UUID id){
+        JobStream stream = streams.computeIfAbsent(id, k -> new JobStream());
+        stream.lock.lock();
+        try {
+            if(!stream.steps.isEmpty()){
+                stream.steps.clear();
+                stream.emitters.forEach(emitter -> send(emitter, "restarted", null, id));
+            }
+            stream.running = true;
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    /**
+     * Called by the worker with each question/answer pair as it's generated
+     * @param id - the job
+     * @param step - the pair
+     */
+    public void jobStep(UUID id, Steps step){
+        JobStream stream = streams.computeIfAbsent(id, k -> new JobStream());
+        stream.lock.lock();
+        try {
+            String eventId = String.valueOf(stream.steps.size());
+            stream.steps.add(step);
+            stream.emitters.forEach(emitter -> send(emitter, "step", eventId, step));
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    /**
+     * Called by the worker once a job is completed or failed for good, subscribers are sent the end of the stream
+     * @param job - the finished job
+     */
+    public void jobFinished(StudyGuideJobResult job){
+        JobStream stream = streams.remove(job.id());
+        if(stream == null){
+            return;
+        }
+        stream.lock.lock();
+        try {
+            stream.emitters.forEach(emitter -> sendEnd(emitter, job));
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    /**
+     * Called by the worker when an attempt failed and the job will be retried later, maybe on another instance
+     * @param id - the job
+     */
+    public void jobRetrying(UUID id){
+        JobStream stream = streams.get(id);
+        if(stream == null){
+            return;
+        }
+        stream.lock.lock();
+        try {
+            stream.running = false;
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    /**
+     * Finish the streams of subscribers waiting on jobs this instance isn't generating, either generated on
+     * another instance or finished in the gap between a subscriber's lookup and registering
+     */
+    @Scheduled(initialDelay = 5_000, fixedDelayString = "${study-guide.jobs.sse-sweep-interval-ms:2000}")
+    public void sweepStreams(){
+        List<UUID> waiting = new ArrayList<>();
+        streams.forEach((id, stream) -> {
+            if(!stream.running){
+                waiting.add(id);
+            }
+        });
+        if(waiting.isEmpty()){
+            return;
+        }
+
+        try {
+            for(StudyGuideJobResult job : studyGuideJobsRepository.fetchFinishedJobs(waiting)){
+                JobStream stream = streams.remove(job.id());
+                if(stream == null){
+                    continue;
+                }
+                stream.lock.lock();
+                try {
+                    stream.emitters.forEach(emitter -> sendFinished(emitter, job));
+                } finally {
+                    stream.lock.unlock();
+                }
+            }
+        }catch(RuntimeException e){
+            logger.error("Failed to sweep study guide job streams with message={}", e.getMessage());
+        }
+    }
+
+    private boolean isFinished(StudyGuideJobResult job){
+        return StudyGuideJobStatus.COMPLETED.getValue().equals(job.status())
+                || StudyGuideJobStatus.FAILED.getValue().equals(job.status());
+    }
+
+    /**
+     * Send a finished job's whole guide and end the stream
+     * @param emitter - the subscriber
+     * @param job - the finished job
+     */
+    private void sendFinished(SseEmitter emitter, StudyGuideJobResult job){
+        StudyGuide studyGuide = fromJson(job.studyGuide());
+        if(studyGuide != null){
+            for(int i = 0; i < studyGuide.questions().size(); i++){
+                send(emitter, "step", String.valueOf(i), studyGuide.questions().get(i));
+            }
+        }
+        sendEnd(emitter, job);
+    }
+
+    /**
+     * Send the completed or failed event and end the stream
+     * @param emitter - the subscriber
+     * @param job - the finished job
+     */
+    private void sendEnd(SseEmitter emitter, StudyGuideJobResult job){
+        if(StudyGuideJobStatus.COMPLETED.getValue().equals(job.status())){
+            send(emitter, "completed", null, job.id());
+        }else{
+            send(emitter, "failed", null, job.lastError() == null ? "" : job.lastError());
+        }
+        emitter.complete();
+    }
+
+    private void send(SseEmitter emitter, String name, String eventId, Object data){
+        try {
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+            if(eventId != null){
+                event.id(eventId);
+            }
+            emitter.send(event);
+        }catch(IOException | IllegalStateException e){
+            // the client went away, the job carries on and the result stays on the job
+            logger.trace("Failed to send study guide job event with message={}", e.getMessage());
+        }
+    }
+
+    private void removeEmitter(UUID id, SseEmitter emitter){
+        JobStream stream = streams.get(id);
+        if(stream == null){
+            return;
+        }
+        stream.lock.lock();
+        try {
+            stream.emitters.remove(emitter);
+            if(stream.emitters.isEmpty() && !stream.running){
+                streams.remove(id, stream);
+            }
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    private StudyGuide fromJson(String studyGuide){
+        if(studyGuide == null){
+            return null;
+        }
+        try {
+            return objectMapper.readValue(studyGuide, StudyGuide.class);
+        }catch(JsonProcessingException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Serialize a generated study guide for the job table
+     * @param studyGuide - the study guide
+     * @return - the study guide json
+     */
+    public String toJson(StudyGuide studyGuide){
+        try {
+            return objectMapper.writeValueAsString(studyGuide);
+        }catch(JsonProcessingException e){
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Live state of a job on this instance, the steps generated so far are kept to replay to late subscribers
+     */
+    private static final class JobStream {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final List<Steps> steps = new ArrayList<>();
+        private final List<SseEmitter> emitters = new ArrayList<>();
+        private volatile boolean running;
+    }
+}
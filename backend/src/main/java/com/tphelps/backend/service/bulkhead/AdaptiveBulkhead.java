@@ -0,0 +1,277 @@
+package com.tphelps.backend.service.bulkhead;
+
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+
+/**
+ * Concurrency limit for calls to one external dependency, so a slow dependency can only hold as many request
+ * threads as its own limit instead of all of them.
+ *
+ * The limit adapts with AIMD: a call that finishes under the latency threshold while the limit was actually in use
+ * raises it by one, a call that fails or goes over the threshold cuts it by the backoff ratio. Only failures the
+ * dependency's classifier counts as overload (timeouts, connection errors, 5xx, 429) cut the limit, a rejected
+ * request like a Stripe 4xx is an answer from a healthy dependency. A call made while the limit is used up fails
+ * fast with {@link BulkheadFullException} instead of waiting, unless the caller asks to wait for a slot
+ */
+public class AdaptiveBulkhead {
+
+    /**
+     * Classifier that counts every failure as overload, for dependencies whose failures are all transport errors
+     */
+    public static final Predicate<Exception> ALL_FAILURES = e -> true;
+
+    private static final Logger logger = LoggerFactory.getLogger(AdaptiveBulkhead.class);
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final Predicate<Exception> isOverload;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition slotFreed = lock.newCondition();
+    private final Counter rejected;
+
+    private double limit;
+    private int inFlight;
+
+    /**
+     * @param name - name of the dependency, used for metrics and logs
+     * @param initialLimit - limit to start at
+     * @param minLimit - the limit is never cut below this
+     * @param maxLimit - the limit is never raised above this
+     * @param latencyThresholdMs - a call slower than this counts as a sign of overload
+     * @param backoffRatio - multiplier applied to the limit on overload, between 0 and 1
+     * @param isOverload - whether a failed call is a sign the dependency is overloaded or unreachable
+     * @param meterRegistry - registry to publish the limit, in flight and rejected meters to
+     */
+    public AdaptiveBulkhead(String name, int initialLimit, int minLimit, int maxLimit, long latencyThresholdMs,
+                            double backoffRatio, Predicate<Exception> isOverload, MeterRegistry meterRegistry) {
+        if(minLimit < 1 || maxLimit < minLimit || backoffRatio <= 0 || backoffRatio >= 1){
+            throw new IllegalArgumentException("Invalid bulkhead limits for " + name);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = TimeUnit.MILLISECONDS.toNanos(latencyThresholdMs);
+        this.backoffRatio = backoffRatio;
+        this.isOverload = isOverload;
+        this.limit = Math.clamp(initialLimit, minLimit, maxLimit);
+
+        Gauge.builder("bulkhead.limit", this, AdaptiveBulkhead::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.in.flight", this, AdaptiveBulkhead::getInFlight)
+                .description("Calls currently in flight")
+                .tag("dependency", name)
+                .register(meterRegistry);
+        this.rejected = Counter.builder("bulkhead.rejected")
+                .description("Calls rejected because the limit was used up")
+                .tag("dependency", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * A call to the dependency that may throw a checked exception
+     */
+    @FunctionalInterface
+    public interface Call<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    /**
+     * Run a call inside the bulkhead, an exception thrown by the call is a failure if the classifier counts it as one
+     * @param call - the call to the dependency
+     * @return - whatever the call returned
+     * @throws BulkheadFullException - if the limit is used up, the call is not run
+     * @throws E - the call's own exception
+     */
+    public <T, E extends Exception> T call(Call<T, E> call) throws E {
+        return run(acquire(), call);
+    }
+
+    /**
+     * Run a call inside the bulkhead like {@link #call(Call)}, waiting up to maxWait for a slot when the limit is
+     * used up. For background work that would rather be late than dropped
+     * @param call - the call to the dependency
+     * @param maxWait - how long to wait for a slot
+     * @return - whatever the call returned
+     * @throws BulkheadFullException - if no slot freed up in time, the call is not run
+     * @throws InterruptedException - if interrupted while waiting for a slot
+     * @throws E - the call's own exception
+     */
+    public <T, E extends Exception> T call(Call<T, E> call, Duration maxWait) throws E, InterruptedException {
+        return run(acquire(maxWait), call);
+    }
+
+    private <T, E extends Exception> T run(Permit permit, Call<T, E> call) throws E {
+        try(permit){
+            try {
+                T result = call.run();
+                permit.success();
+                return result;
+            }catch(Exception e){
+                permit.failure(e);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Take a slot for a call that can't be wrapped in {@link #call(Call)}, e.g. one that spans a streamed response.
+     * Report the outcome with {@link Permit#success()} or {@link Permit#failure()}, a permit closed without either
+     * is released without touching the limit
+     * @return - the permit, must be closed
+     * @throws BulkheadFullException - if the limit is used up
+     */
+    public Permit acquire() throws BulkheadFullException {
+        lock.lock();
+        try {
+            if(inFlight >= (int) limit){
+                throw reject();
+            }
+            inFlight++;
+            return new Permit(inFlight, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Take a slot like {@link #acquire()}, waiting up to maxWait for one to free up when the limit is used up
+     * @param maxWait - how long to wait for a slot
+     * @return - the permit, must be closed
+     * @throws BulkheadFullException - if no slot freed up in time
+     * @throws InterruptedException - if interrupted while waiting
+     */
+    public Permit acquire(Duration maxWait) throws BulkheadFullException, InterruptedException {
+        long remainingNanos = maxWait.toNanos();
+        lock.lock();
+        try {
+            while(inFlight >= (int) limit){
+                if(remainingNanos <= 0){
+                    throw reject();
+                }
+                remainingNanos = slotFreed.awaitNanos(remainingNanos);
+            }
+            inFlight++;
+            return new Permit(inFlight, System.nanoTime());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private BulkheadFullException reject(){
+        rejected.increment();
+        logger.warn("Bulkhead for {} is full with limit={}, rejecting call", name, (int) limit);
+        return new BulkheadFullException(name);
+    }
+
+    /**
+     * @return - the current limit
+     */
+    public int getLimit(){
+        lock.lock();
+        try {
+            return (int) limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * @return - calls in flight right now
+     */
+    public int getInFlight(){
+        lock.lock();
+        try {
+            return inFlight;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Release a slot and adjust the limit for how the call went
+     * @param inFlightAtStart - calls in flight when this one started, including itself
+     * @param latencyNanos - how long the call held the slot
+     * @param outcome - how the call went, null if the call never reached the dependency
+     */
+    private void release(int inFlightAtStart, long latencyNanos, Boolean outcome){
+        lock.lock();
+        try {
+            inFlight--;
+            slotFreed.signal();
+            if(outcome == null){
+                return;
+            }
+            if(!outcome || latencyNanos > latencyThresholdNanos){
+                limit = Math.max(minLimit, limit * backoffRatio);
+            }else if(inFlightAtStart * 2 >= limit){
+                // only grow while the limit is actually being used, an idle dependency shouldn't drift to max
+                limit = Math.min(maxLimit, limit + 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A slot in the bulkhead, released on close
+     */
+    public final class Permit implements AutoCloseable {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private Boolean outcome;
+        private boolean released;
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * Mark the call as having succeeded
+         */
+        public void success(){
+            outcome = true;
+        }
+
+        /**
+         * Mark the call as having failed, which shrinks the limit
+         */
+        public void failure(){
+            outcome = false;
+        }
+
+        /**
+         * Mark the call as having failed with an exception, which only shrinks the limit if the dependency's
+         * classifier counts it as overload. Otherwise the dependency answered and the call counts as a success
+         * @param cause - what the call failed with
+         */
+        public void failure(Exception cause){
+            outcome = !isOverload.test(cause);
+        }
+
+        @Override
+        public void close(){
+            if(released){
+                return;
+            }
+            released = true;
+            release(inFlightAtStart, System.nanoTime() - startNanos, outcome);
+        }
+    }
+}
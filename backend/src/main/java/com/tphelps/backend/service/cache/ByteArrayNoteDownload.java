@@ -0,0 +1,50 @@
+package com.tphelps.backend.service.cache;
+
+import com.tphelps.backend.service.pojos.NoteDownload;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A note served from memory, either the heap cache or text_content from the db
+ */
+public record ByteArrayNoteDownload(String fileName, byte[] content, ByteRange range) implements NoteDownload {
+
+    @Override
+    public int status() {
+        return range == null ? 200 : 206;
+    }
+
+    @Override
+    public long contentLength() {
+        return range == null ? content.length : range.length();
+    }
+
+    @Override
+    public String contentRange() {
+        return range == null ? null : range.contentRange();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        if(range == null){
+            outputStream.write(content);
+        }else{
+            outputStream.write(content, (int) range.start(), (int) range.length());
+        }
+    }
+
+    @Override
+    public InputStream openStream() {
+        return range == null
+                ? new ByteArrayInputStream(content)
+                : new ByteArrayInputStream(content, (int) range.start(), (int) range.length());
+    }
+
+    @Override
+    public void close() {
+        // nothing to release
+    }
+}
@@ -0,0 +1,56 @@
+package com.tphelps.backend.service.cache;
+
+/**
+ * A single resolved byte range of a note, end is inclusive like the HTTP Range header
+ */
+public record ByteRange(long start, long end, long total) {
+
+    /**
+     * Resolve a single-range Range header (bytes=a-b, bytes=a-, bytes=-n) against the note length
+     * @param header - the Range header, may be null
+     * @param length - length of the note in bytes
+     * @return - the range, or null to serve the whole note (no header, multi-range or not satisfiable)
+     */
+    public static ByteRange parse(String header, long length){
+        if(header == null || !header.startsWith("bytes=") || header.contains(",") || length == 0){
+            return null;
+        }
+
+        String spec = header.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if(dash < 0){
+            return null;
+        }
+
+        try {
+            String from = spec.substring(0, dash).trim();
+            String to = spec.substring(dash + 1).trim();
+
+            long start;
+            long end;
+            if(from.isEmpty()){ // suffix range, last n bytes
+                long suffix = Long.parseLong(to);
+                start = Math.max(0, length - suffix);
+                end = length - 1;
+            }else{
+                start = Long.parseLong(from);
+                end = to.isEmpty() ? length - 1 : Math.min(Long.parseLong(to), length - 1);
+            }
+
+            if(start > end || start >= length){
+                return null;
+            }
+            return new ByteRange(start, end, length);
+        }catch(NumberFormatException e){
+            return null;
+        }
+    }
+
+    public long length(){
+        return end - start + 1;
+    }
+
+    public String contentRange(){
+        return "bytes " + start + "-" + end + "/" + total;
+    }
+}
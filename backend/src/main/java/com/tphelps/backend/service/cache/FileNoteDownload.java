@@ -0,0 +1,72 @@
+package com.tphelps.backend.service.cache;
+
+import com.tphelps.backend.service.pojos.NoteDownload;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A note served from the disk cache tier.
+ * Whole notes go out with FileChannel.transferTo so the kernel can copy without passing through the heap,
+ * ranges are read from a memory mapped slice of the file
+ */
+public record FileNoteDownload(String fileName, FileChannel channel, ByteRange range) implements NoteDownload {
+
+    @Override
+    public int status() {
+        return range == null ? 200 : 206;
+    }
+
+    @Override
+    public long contentLength() {
+        try {
+            return range == null ? channel.size() : range.length();
+        }catch(IOException e){
+            return -1;
+        }
+    }
+
+    @Override
+    public String contentRange() {
+        return range == null ? null : range.contentRange();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        if(range == null){
+            long position = 0;
+            long size = channel.size();
+            while(position < size){
+                position += channel.transferTo(position, size - position, target);
+            }
+        }else{
+            MappedByteBuffer slice = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.length());
+            while(slice.hasRemaining()){
+                target.write(slice);
+            }
+        }
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        if(range == null){
+            return Channels.newInputStream(channel.position(0));
+        }
+        MappedByteBuffer slice = channel.map(FileChannel.MapMode.READ_ONLY, range.start(), range.length());
+        byte[] bytes = new byte[slice.remaining()];
+        slice.get(bytes);
+        return new ByteArrayInputStream(bytes);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
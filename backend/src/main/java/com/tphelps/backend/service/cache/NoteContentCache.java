@@ -0,0 +1,242 @@
+package com.tphelps.backend.service.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import com.tphelps.backend.service.pojos.NoteMetadata;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Read-through cache for note downloads, checked in order:
+ * heap (W-TinyLFU via Caffeine, small notes) -> disk (larger notes) -> text_content in the db.
+ * A miss on every tier means the caller goes to the remote.
+ *
+ * Entries are keyed by note id and content hash so a changed note can never be served stale
+ */
+@Service
+public class NoteContentCache {
+
+    private static final String FILE_SUFFIX = ".note";
+    private static final Logger logger = LoggerFactory.getLogger(NoteContentCache.class);
+
+    @Value("${notes.cache.heap.max-bytes:67108864}")
+    private long heapMaxBytes;
+
+    @Value("${notes.cache.heap.max-note-bytes:65536}")
+    private int heapMaxNoteBytes;
+
+    @Value("${notes.cache.disk.dir:${java.io.tmpdir}/ai-notes-cache}")
+    private Path diskDir;
+
+    @Value("${notes.cache.disk.max-bytes:1073741824}")
+    private long diskMaxBytes;
+
+    private final MeterRegistry meterRegistry;
+
+    private Cache<String, byte[]> heapCache;
+
+    // access ordered so iteration starts at the least recently used file
+    private final LinkedHashMap<String, Long> diskIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private final ReentrantLock diskLock = new ReentrantLock();
+    private long diskBytes;
+
+    private Counter heapHits;
+    private Counter diskHits;
+    private Counter dbHits;
+    private Counter misses;
+
+    public NoteContentCache(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void init() throws IOException {
+        heapCache = Caffeine.newBuilder()
+                .maximumWeight(heapMaxBytes)
+                .weigher((String key, byte[] value) -> value.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, heapCache, "notes.content.heap");
+
+        heapHits = tierCounter("heap");
+        diskHits = tierCounter("disk");
+        dbHits = tierCounter("db");
+        misses = tierCounter("remote");
+
+        Files.createDirectories(diskDir);
+        rebuildDiskIndex();
+    }
+
+    /**
+     * Open a note from the first tier that has it, filling the faster tiers on the way back
+     * @param metadata - the note's id and content hash
+     * @param fileName - file name for the download
+     * @param range - optional Range header
+     * @param dbLoader - loads text_content from the db, may return null
+     * @return - the download, or empty if the note has to come from the remote
+     */
+    public Optional<NoteDownload> open(NoteMetadata metadata, String fileName, String range, Supplier<String> dbLoader){
+        String key = cacheKey(metadata);
+
+        if(key != null){
+            byte[] content = heapCache.getIfPresent(key);
+            if(content != null){
+                heapHits.increment();
+                return Optional.of(fromBytes(fileName, content, range));
+            }
+
+            Optional<NoteDownload> fromDisk = openFromDisk(key, fileName, range);
+            if(fromDisk.isPresent()){
+                diskHits.increment();
+                return fromDisk;
+            }
+        }
+
+        String text = dbLoader.get();
+        if(text == null){
+            misses.increment();
+            return Optional.empty();
+        }
+
+        dbHits.increment();
+        byte[] content = text.getBytes(StandardCharsets.UTF_8);
+        if(key != null){
+            put(key, content);
+        }
+        return Optional.of(fromBytes(fileName, content, range));
+    }
+
+    /**
+     * Store note content in the tier that fits its size
+     * @param key - id:hash cache key
+     * @param content - note bytes
+     */
+    private void put(String key, byte[] content){
+        if(content.length <= heapMaxNoteBytes){
+            heapCache.put(key, content);
+            return;
+        }
+
+        try {
+            writeToDisk(key, content);
+        }catch(IOException e){
+            logger.error("Failed to write note to disk cache key={} with message={}", key, e.getMessage());
+        }
+    }
+
+    private Optional<NoteDownload> openFromDisk(String key, String fileName, String range){
+        diskLock.lock();
+        try {
+            if(diskIndex.get(key) == null){ // get() also marks the entry as recently used
+                return Optional.empty();
+            }
+        } finally {
+            diskLock.unlock();
+        }
+
+        try {
+            FileChannel channel = FileChannel.open(diskPath(key), StandardOpenOption.READ);
+            return Optional.of(new FileNoteDownload(fileName, channel, ByteRange.parse(range, channel.size())));
+        }catch(IOException e){
+            // evicted between the index check and the open
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(String key, byte[] content) throws IOException {
+        // write then rename so readers never see a partial file
+        Path tempFile = Files.createTempFile(diskDir, key, ".tmp");
+        Files.write(tempFile, content);
+        Files.move(tempFile, diskPath(key), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        diskLock.lock();
+        try {
+            Long previous = diskIndex.put(key, (long) content.length);
+            diskBytes += content.length - (previous == null ? 0 : previous);
+            evictDisk();
+        } finally {
+            diskLock.unlock();
+        }
+    }
+
+    /**
+     * Drop least recently used files until the disk tier is under its size bound, caller holds diskLock
+     */
+    private void evictDisk(){
+        Iterator<Map.Entry<String, Long>> iterator = diskIndex.entrySet().iterator();
+        while(diskBytes > diskMaxBytes && iterator.hasNext()){
+            Map.Entry<String, Long> eldest = iterator.next();
+            try {
+                Files.deleteIfExists(diskPath(eldest.getKey()));
+            }catch(IOException e){
+                logger.error("Failed to evict note from disk cache key={} with message={}", eldest.getKey(), e.getMessage());
+            }
+            diskBytes -= eldest.getValue();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Pick up files left by a previous run, they're keyed by content hash so they're still valid
+     */
+    private void rebuildDiskIndex() throws IOException {
+        try(Stream<Path> files = Files.list(diskDir)){
+            files.forEach(file -> {
+                String name = file.getFileName().toString();
+                try {
+                    if(name.endsWith(FILE_SUFFIX)){
+                        long size = Files.size(file);
+                        diskIndex.put(name.substring(0, name.length() - FILE_SUFFIX.length()), size);
+                        diskBytes += size;
+                    }else{
+                        Files.deleteIfExists(file); // leftover temp file
+                    }
+                }catch(IOException e){
+                    logger.error("Failed to index disk cache file={} with message={}", name, e.getMessage());
+                }
+            });
+        }
+        evictDisk();
+    }
+
+    private NoteDownload fromBytes(String fileName, byte[] content, String range){
+        return new ByteArrayNoteDownload(fileName, content, ByteRange.parse(range, content.length));
+    }
+
+    private Path diskPath(String key){
+        return diskDir.resolve(key + FILE_SUFFIX);
+    }
+
+    private String cacheKey(NoteMetadata metadata){
+        return metadata.contentHash() == null ? null : metadata.noteId() + "-" + metadata.contentHash();
+    }
+
+    private Counter tierCounter(String tier){
+        return Counter.builder("notes.content.cache.requests")
+                .description("Note downloads by the tier that served them")
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+}
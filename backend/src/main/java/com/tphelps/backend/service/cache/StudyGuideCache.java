@@ -0,0 +1,186 @@
+package com.tphelps.backend.service.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import com.tphelps.backend.repository.StudyGuideCacheRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.text.Normalizer;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Cache of generated study guides so the same notes never pay for a second generation.
+ *
+ * Keyed by the sha256 of the model, the prompt version and the normalized note text, so bumping either the model
+ * or the prompt version naturally misses. Checked heap first (Caffeine) then the study_guide_cache table.
+ *
+ * Heap hits are counted in memory and flushed to the table in one statement per flush interval, so a guide that is
+ * only ever served from the heap still has its last_hit_at move and isn't removed as stale
+ */
+@Service
+public class StudyGuideCache {
+
+    private static final Pattern HORIZONTAL_WHITESPACE = Pattern.compile("[\\t\\x0B\\f\\r ]+");
+    private static final Pattern BLANK_LINES = Pattern.compile("\\n{3,}");
+    private static final Logger logger = LoggerFactory.getLogger(StudyGuideCache.class);
+
+    private final StudyGuideCacheRepository studyGuideCacheRepository;
+    private final ObjectMapper objectMapper;
+    private final Cache<String, StudyGuide> heapCache;
+    private final ConcurrentHashMap<String, Integer> pendingHeapHits = new ConcurrentHashMap<>();
+    private final Counter heapHits;
+    private final Counter dbHits;
+    private final Counter misses;
+
+    @Value("${study-guide.cache.retention-days:90}")
+    private int retentionDays;
+
+    public StudyGuideCache(StudyGuideCacheRepository studyGuideCacheRepository,
+                           ObjectMapper objectMapper,
+                           MeterRegistry meterRegistry,
+                           @Value("${study-guide.cache.heap.max-entries:10000}") long maxEntries) {
+        this.studyGuideCacheRepository = studyGuideCacheRepository;
+        this.objectMapper = objectMapper;
+        this.heapCache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, heapCache, "study.guide.heap");
+
+        this.heapHits = tierCounter(meterRegistry, "heap");
+        this.dbHits = tierCounter(meterRegistry, "db");
+        this.misses = tierCounter(meterRegistry, "miss");
+    }
+
+    /**
+     * Cache key for a generation request
+     * @param notes - the note text sent to the model
+     * @param model - the model
+     * @param promptVersion - version of the prompt
+     * @return - the cache key
+     */
+    public String cacheKey(String notes, String model, int promptVersion){
+        return DigestUtils.sha256Hex(model + "\n" + promptVersion + "\n" + normalize(notes));
+    }
+
+    /**
+     * Look up a study guide, a db hit is copied into the heap tier
+     * @param cacheKey - key from {@link #cacheKey(String, String, int)}
+     * @return - the study guide, empty on a miss
+     */
+    public Optional<StudyGuide> get(String cacheKey){
+        StudyGuide studyGuide = heapCache.getIfPresent(cacheKey);
+        if(studyGuide != null){
+            heapHits.increment();
+            pendingHeapHits.merge(cacheKey, 1, Integer::sum);
+            return Optional.of(studyGuide);
+        }
+
+        try {
+            String json = studyGuideCacheRepository.fetchStudyGuide(cacheKey);
+            if(json != null){
+                studyGuide = objectMapper.readValue(json, StudyGuide.class);
+                heapCache.put(cacheKey, studyGuide);
+                dbHits.increment();
+                return Optional.of(studyGuide);
+            }
+        }catch(JsonProcessingException | DataAccessException e){
+            // a broken cache never blocks a generation
+            logger.error("Failed to read cached study guide for key={} with message={}", cacheKey, e.getMessage());
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * Store a freshly generated study guide in both tiers
+     * @param cacheKey - key from {@link #cacheKey(String, String, int)}
+     * @param model - model that generated the guide
+     * @param promptVersion - version of the prompt
+     * @param studyGuide - the study guide
+     */
+    public void put(String cacheKey, String model, int promptVersion, StudyGuide studyGuide){
+        heapCache.put(cacheKey, studyGuide);
+        try {
+            studyGuideCacheRepository.saveStudyGuide(cacheKey, model, promptVersion,
+                    objectMapper.writeValueAsString(studyGuide));
+        }catch(JsonProcessingException | DataAccessException e){
+            logger.error("Failed to persist study guide for key={} with message={}", cacheKey, e.getMessage());
+        }
+    }
+
+    /**
+     * Scheduled job for writing the hits served from the heap since the last flush to the study_guide_cache table
+     */
+    @Scheduled(initialDelayString = "${study-guide.cache.hit-flush-ms:600000}", fixedDelayString = "${study-guide.cache.hit-flush-ms:600000}")
+    public void flushHeapHits(){
+        if(pendingHeapHits.isEmpty()){
+            return;
+        }
+
+        Map<String, Integer> hits = new HashMap<>();
+        for(String cacheKey : pendingHeapHits.keySet()){
+            Integer count = pendingHeapHits.remove(cacheKey);
+            if(count != null){
+                hits.put(cacheKey, count);
+            }
+        }
+        try {
+            studyGuideCacheRepository.recordHits(hits, LocalDateTime.now());
+        }catch(DataAccessException e){
+            // put them back for the next flush
+            hits.forEach((cacheKey, count) -> pendingHeapHits.merge(cacheKey, count, Integer::sum));
+            logger.error("Failed to flush {} study guide heap hits with message={}", hits.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Scheduled job for dropping study guides that haven't been hit for the retention period, heap hits are flushed
+     * first so a guide in use right now is never the one removed
+     */
+    @Scheduled(cron = "${study-guide.cache.cleanup-cron:0 0 4 * * *}")
+    public void removeStaleStudyGuides(){
+        flushHeapHits();
+        int deleted = studyGuideCacheRepository.deleteStaleStudyGuides(LocalDateTime.now().minusDays(retentionDays));
+        logger.info("Removed {} study guides not hit in {} days", deleted, retentionDays);
+    }
+
+    /**
+     * Normalize note text so whitespace-only differences hit the same entry: NFC unicode, \n line endings,
+     * runs of spaces/tabs collapsed, at most one blank line in a row, trimmed lines
+     * @param notes - note text
+     * @return - the normalized text
+     */
+    static String normalize(String notes){
+        String normalized = Normalizer.normalize(notes, Normalizer.Form.NFC)
+                .replace("\r\n", "\n");
+        normalized = HORIZONTAL_WHITESPACE.matcher(normalized).replaceAll(" ");
+        normalized = normalized.replace(" \n", "\n").replace("\n ", "\n");
+        normalized = BLANK_LINES.matcher(normalized).replaceAll("\n\n");
+        return normalized.strip();
+    }
+
+    private static Counter tierCounter(MeterRegistry meterRegistry, String tier){
+        return Counter.builder("study.guide.cache.requests")
+                .description("Study guide requests by the tier that served them")
+                .tag("tier", tier)
+                .register(meterRegistry);
+    }
+}
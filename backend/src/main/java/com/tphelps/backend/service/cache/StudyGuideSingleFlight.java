@@ -0,0 +1,257 @@
+package com.tphelps.backend.service.cache;
+
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Coalesces identical study guide requests that are in flight at the same time, e.g. a double click or a frontend
+ * retry. The first request for a user and note content leads: it is charged and makes the one OpenAI call. Requests
+ * that arrive while it's running follow: they aren't charged and get the leader's pairs replayed and streamed to them
+ * as they're generated, then the same guide or the same failure.
+ *
+ * Keyed by user as well as content so one user's generation never stands in for another user's charge. A flight is
+ * bounded by study-guide.single-flight.timeout-ms: followers stop waiting once it's up, and a flight whose leader
+ * never finished it is replaced by the next request instead of being followed forever
+ */
+@Component
+public class StudyGuideSingleFlight {
+
+    private final Map<String, Flight> flights = new ConcurrentHashMap<>();
+    private final Counter led;
+    private final Counter followed;
+    private final long timeoutNanos;
+
+    public StudyGuideSingleFlight(MeterRegistry meterRegistry,
+                                  @Value("${study-guide.single-flight.timeout-ms:300000}") long timeoutMs) {
+        this.led = roleCounter(meterRegistry, "leader");
+        this.followed = roleCounter(meterRegistry, "follower");
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+    }
+
+    /**
+     * Join the flight for a user's notes, starting it if there isn't one
+     * @param username - the user
+     * @param studyGuideKey - key of the note content, {@link StudyGuideCache#cacheKey(String, String, int)}
+     * @return - the flight, check {@link Flight#isLeader()} to know whether to generate or follow
+     */
+    public Flight join(String username, String studyGuideKey){
+        String key = username + "/" + studyGuideKey;
+        Flight started = new Flight(key);
+        Flight flight = flights.compute(key, (k, existing) -> existing == null || existing.expired() ? started : existing);
+        if(flight == started){
+            led.increment();
+            return started;
+        }
+        followed.increment();
+        return flight.asFollower();
+    }
+
+    private static Counter roleCounter(MeterRegistry meterRegistry, String role){
+        return Counter.builder("study.guide.single.flight")
+                .description("Study guide requests by whether they made the OpenAI call or shared another's")
+                .tag("role", role)
+                .register(meterRegistry);
+    }
+
+    /**
+     * One in-flight generation, the leader publishes to it and any followers read from it
+     */
+    public final class Flight {
+
+        private final String key;
+        private final boolean leader;
+        private final State state;
+
+        private Flight(String key) {
+            this.key = key;
+            this.leader = true;
+            this.state = new State(System.nanoTime() + timeoutNanos);
+        }
+
+        private Flight(Flight leading) {
+            this.key = leading.key;
+            this.leader = false;
+            this.state = leading.state;
+        }
+
+        private Flight asFollower(){
+            return new Flight(this);
+        }
+
+        private boolean expired(){
+            return System.nanoTime() - state.deadline > 0;
+        }
+
+        /**
+         * @return - true if this request has to generate the guide, false if it follows another request
+         */
+        public boolean isLeader(){
+            return leader;
+        }
+
+        /**
+         * Leader only, hand a generated pair to the followers
+         * @param step - the pair
+         */
+        public void publish(Steps step){
+            state.lock.lock();
+            try {
+                state.steps.add(step);
+                state.changed.signalAll();
+            } finally {
+                state.lock.unlock();
+            }
+        }
+
+        /**
+         * Leader only, finish the flight with the generated guide. Pairs that weren't published along the way, e.g.
+         * from a non streamed generation, are published now
+         * @param studyGuide - the guide
+         */
+        public void complete(StudyGuide studyGuide){
+            finish(studyGuide, null);
+        }
+
+        /**
+         * Leader only, finish the flight with the failure that ended the generation. Call it for anything the leader
+         * throws, an unfinished flight keeps its followers waiting until it times out
+         * @param failure - the failure, rethrown to every follower
+         */
+        public void fail(Throwable failure){
+            finish(null, failure instanceof RuntimeException runtime
+                    ? runtime
+                    : new IllegalStateException("Study guide generation failed", failure));
+        }
+
+        /**
+         * Follower only, wait for the leader's guide
+         * @return - the guide
+         * @throws RuntimeException - the leader's failure
+         * @throws IllegalStateException - if the flight timed out
+         */
+        public StudyGuide await(){
+            return follow(step -> {});
+        }
+
+        /**
+         * Follower only, wait until the leader has published its first pair or finished, so a leader that was
+         * turned away before generating anything fails the follower before it commits to a response
+         * @throws RuntimeException - the leader's failure if it failed before publishing anything
+         * @throws IllegalStateException - if the flight timed out
+         */
+        public void awaitStarted(){
+            state.lock.lock();
+            try {
+                awaitChange(0);
+                if(state.done && state.steps.isEmpty() && state.failure != null){
+                    throw state.failure;
+                }
+            } finally {
+                state.lock.unlock();
+            }
+        }
+
+        /**
+         * Follower only, hand every pair the leader publishes to the callback on the calling thread, from the first
+         * pair on, until the leader finishes
+         * @param onStep - called with each pair in order
+         * @return - the guide
+         * @throws RuntimeException - the leader's failure
+         * @throws IllegalStateException - if the flight timed out
+         */
+        public StudyGuide follow(Consumer<Steps> onStep){
+            int next = 0;
+            while(true){
+                List<Steps> pending;
+                boolean done;
+                state.lock.lock();
+                try {
+                    awaitChange(next);
+                    pending = new ArrayList<>(state.steps.subList(next, state.steps.size()));
+                    done = state.done;
+                } finally {
+                    state.lock.unlock();
+                }
+
+                // write outside the lock so a slow follower never holds up the leader
+                pending.forEach(onStep);
+                next += pending.size();
+                if(done && pending.isEmpty()){
+                    if(state.failure != null){
+                        throw state.failure;
+                    }
+                    return state.studyGuide;
+                }
+            }
+        }
+
+        /**
+         * Wait, holding the lock, until there are more than seen pairs or the flight is done
+         * @param seen - pairs already handed over
+         * @throws IllegalStateException - if the flight timed out or the thread was interrupted
+         */
+        private void awaitChange(int seen){
+            try {
+                while(seen == state.steps.size() && !state.done){
+                    long remaining = state.deadline - System.nanoTime();
+                    if(remaining <= 0){
+                        throw new IllegalStateException("Timed out waiting on the study guide generation being shared");
+                    }
+                    state.changed.awaitNanos(remaining);
+                }
+            } catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted waiting on the study guide generation being shared", e);
+            }
+        }
+
+        private void finish(StudyGuide studyGuide, RuntimeException failure){
+            state.lock.lock();
+            try {
+                if(state.done){
+                    return;
+                }
+                if(studyGuide != null && state.steps.size() < studyGuide.questions().size()){
+                    state.steps.addAll(studyGuide.questions().subList(state.steps.size(), studyGuide.questions().size()));
+                }
+                state.studyGuide = studyGuide;
+                state.failure = failure;
+                state.done = true;
+                state.changed.signalAll();
+            } finally {
+                state.lock.unlock();
+            }
+            flights.remove(key, this);
+        }
+    }
+
+    /**
+     * State shared by the leader and followers of a flight
+     */
+    private static final class State {
+        private final long deadline;
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final List<Steps> steps = new ArrayList<>();
+        private StudyGuide studyGuide;
+        private RuntimeException failure;
+        private boolean done;
+
+        private State(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.tphelps.backend.service.exceptions;
+
+public class BulkheadFullException extends RuntimeException {
+    public BulkheadFullException(String dependency) {
+        super("Too many concurrent calls to " + dependency);
+    }
+}
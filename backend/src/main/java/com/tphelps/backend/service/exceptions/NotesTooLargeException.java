@@ -0,0 +1,7 @@
+package com.tphelps.backend.service.exceptions;
+
+public class NotesTooLargeException extends RuntimeException {
+    public NotesTooLargeException(String message) {
+        super(message);
+    }
+}
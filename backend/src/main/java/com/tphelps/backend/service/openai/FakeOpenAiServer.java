@@ -0,0 +1,262 @@
+package com.tphelps.backend.service.openai;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+
+/**
+ * Stand-in for the OpenAI chat completions api so study guide generation can be load tested offline, point
+ * openai.base-url at it. Only for local load tests, never enable it in production.
+ *
+ * Answers POST /v1/chat/completions with a structured {@link StudyGuide} json, as one response or as SSE chunks
+ * when the request asks to stream. The guide is derived from a checksum of the prompt so the same notes always
+ * get the same guide, and the latency is fixed by config: the time to the first token, then a delay per chunk
+ */
+@Component
+@ConditionalOnProperty(name = "openai.fake.enabled", havingValue = "true")
+public class FakeOpenAiServer implements SmartLifecycle {
+
+    private static final String COMPLETIONS_PATH = "/v1/chat/completions";
+
+    private final ObjectMapper objectMapper;
+    private final AtomicLong completions = new AtomicLong();
+
+    @Value("${openai.fake.port:18080}")
+    private int port;
+
+    @Value("${openai.fake.first-token-ms:500}")
+    private long firstTokenMs;
+
+    @Value("${openai.fake.chunk-delay-ms:20}")
+    private long chunkDelayMs;
+
+    @Value("${openai.fake.chunk-chars:32}")
+    private int chunkChars;
+
+    @Value("${openai.fake.pairs:10}")
+    private int pairs;
+
+    @Value("${openai.fake.answer-words:40}")
+    private int answerWords;
+
+    private volatile HttpServer server;
+    private volatile ExecutorService executor;
+
+    private static final Logger logger = LoggerFactory.getLogger(FakeOpenAiServer.class);
+
+    public FakeOpenAiServer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public void start() {
+        try {
+            HttpServer started = HttpServer.create(new InetSocketAddress("127.0.0.1", port), 0);
+            executor = Executors.newVirtualThreadPerTaskExecutor();
+            started.setExecutor(executor);
+            started.createContext(COMPLETIONS_PATH, this::handle);
+            started.start();
+            server = started;
+            logger.warn("Fake OpenAI server listening on http://127.0.0.1:{}/v1, study guides are not real", port);
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to start fake OpenAI server on port " + port, e);
+        }
+    }
+
+    @Override
+    public void stop() {
+        HttpServer current = server;
+        if(current == null){
+            return;
+        }
+        current.stop(0);
+        executor.shutdownNow();
+        server = null;
+        logger.info("Fake OpenAI server stopped after completions={}", completions.get());
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try(exchange) {
+            if(!"POST".equals(exchange.getRequestMethod())){
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            JsonNode request;
+            try(InputStream body = exchange.getRequestBody()) {
+                request = objectMapper.readTree(body);
+            }
+            String model = request.path("model").asText("gpt-fake");
+            String id = "chatcmpl-fake-" + completions.incrementAndGet();
+            String content = objectMapper.writeValueAsString(studyGuide(prompt(request)));
+
+            sleep(firstTokenMs);
+            if(request.path("stream").asBoolean(false)){
+                stream(exchange, id, model, content);
+            }else{
+                // same total latency as the stream would have had
+                sleep(chunkDelayMs * (chunks(content).size() - 1));
+                respond(exchange, id, model, content);
+            }
+        } catch (RuntimeException e) {
+            logger.error("Fake OpenAI server failed a completion with message={}", e.getMessage());
+        }
+    }
+
+    /**
+     * Write a whole chat completion
+     */
+    private void respond(HttpExchange exchange, String id, String model, String content) throws IOException {
+        ObjectNode message = objectMapper.createObjectNode()
+                .put("role", "assistant")
+                .put("content", content)
+                .putNull("refusal");
+        ObjectNode choice = objectMapper.createObjectNode()
+                .put("index", 0)
+                .put("finish_reason", "stop")
+                .putNull("logprobs");
+        choice.set("message", message);
+
+        ObjectNode completion = completion(id, "chat.completion", model);
+        completion.putArray("choices").add(choice);
+
+        byte[] bytes = objectMapper.writeValueAsBytes(completion);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try(OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Write the chat completion as server sent event chunks, a delay apart, ending with [DONE]
+     */
+    private void stream(HttpExchange exchange, String id, String model, String content) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        try(OutputStream out = exchange.getResponseBody()) {
+            List<String> chunks = chunks(content);
+            for(int i = 0; i < chunks.size(); i++){
+                if(i > 0){
+                    sleep(chunkDelayMs);
+                }
+                ObjectNode delta = objectMapper.createObjectNode().put("content", chunks.get(i));
+                if(i == 0){
+                    delta.put("role", "assistant");
+                }
+                writeEvent(out, chunk(id, model, delta, null));
+            }
+            writeEvent(out, chunk(id, model, objectMapper.createObjectNode(), "stop"));
+            out.write("data: [DONE]\n\n".getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private ObjectNode chunk(String id, String model, ObjectNode delta, String finishReason){
+        ObjectNode choice = objectMapper.createObjectNode().put("index", 0);
+        choice.set("delta", delta);
+        choice.put("finish_reason", finishReason);
+        choice.putNull("logprobs");
+
+        ObjectNode chunk = completion(id, "chat.completion.chunk", model);
+        chunk.putArray("choices").add(choice);
+        return chunk;
+    }
+
+    private ObjectNode completion(String id, String object, String model){
+        return objectMapper.createObjectNode()
+                .put("id", id)
+                .put("object", object)
+                .put("created", System.currentTimeMillis() / 1000)
+                .put("model", model);
+    }
+
+    private void writeEvent(OutputStream out, ObjectNode data) throws IOException {
+        out.write(("data: " + objectMapper.writeValueAsString(data) + "\n\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+
+    /**
+     * Build the guide for a prompt, the same prompt always gives the same guide
+     * @param prompt - text of the user messages
+     * @return - the guide
+     */
+    private StudyGuide studyGuide(String prompt){
+        CRC32 crc = new CRC32();
+        crc.update(prompt.getBytes(StandardCharsets.UTF_8));
+        String seed = HexFormat.of().toHexDigits((int) crc.getValue());
+
+        List<Steps> questions = new ArrayList<>(pairs);
+        for(int i = 1; i <= pairs; i++){
+            StringBuilder answer = new StringBuilder("Answer ").append(i).append(" for ").append(seed).append(':');
+            for(int w = 0; w < answerWords; w++){
+                answer.append(" word").append((i + w) % 97);
+            }
+            questions.add(new Steps("Question " + i + " about notes " + seed + "?", answer.toString()));
+        }
+        return new StudyGuide("Study guide " + seed, questions);
+    }
+
+    private String prompt(JsonNode request){
+        StringBuilder prompt = new StringBuilder();
+        for(JsonNode message : request.path("messages")){
+            JsonNode content = message.path("content");
+            if(content instanceof ArrayNode parts){
+                parts.forEach(part -> prompt.append(part.path("text").asText("")));
+            }else{
+                prompt.append(content.asText(""));
+            }
+        }
+        return prompt.toString();
+    }
+
+    private List<String> chunks(String content){
+        int size = Math.max(1, chunkChars);
+        List<String> chunks = new ArrayList<>();
+        for(int i = 0; i < content.length(); i += size){
+            chunks.add(content.substring(i, Math.min(content.length(), i + size)));
+        }
+        return chunks;
+    }
+
+    private void sleep(long ms){
+        if(ms <= 0){
+            return;
+        }
+        try {
+            Thread.sleep(ms);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while delaying fake completion", e);
+        }
+    }
+}
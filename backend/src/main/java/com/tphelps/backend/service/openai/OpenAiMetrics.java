@@ -0,0 +1,93 @@
+package com.tphelps.backend.service.openai;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of OpenAI chat completions, time to the first streamed token and total time of a call. Both are
+ * published as histograms so the tail can be watched under load and a degrading upstream shows up before the
+ * timeouts do. Also the size of the notes going into prompts, before and after compaction
+ */
+@Component
+public class OpenAiMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary rawPromptBytes;
+    private final DistributionSummary compactedPromptBytes;
+    private final Counter trimmedPrompts;
+
+    public OpenAiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.rawPromptBytes = promptBytes(meterRegistry, "raw");
+        this.compactedPromptBytes = promptBytes(meterRegistry, "compacted");
+        this.trimmedPrompts = Counter.builder("openai.prompt.trimmed")
+                .description("Prompts cut to the token budget after compaction")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return - start of a call, pass it to {@link #firstToken} and {@link #completed}
+     */
+    public long start(){
+        return System.nanoTime();
+    }
+
+    /**
+     * Record the time from the start of a streamed call to its first content token
+     * @param model - the model called
+     * @param startNanos - from {@link #start()}
+     */
+    public void firstToken(String model, long startNanos){
+        Timer.builder("openai.chat.first.token")
+                .description("Time from sending a streamed chat completion to its first content token")
+                .tag("model", model)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the total time of a call
+     * @param model - the model called
+     * @param streamed - whether the call was streamed
+     * @param success - whether the call returned a result
+     * @param startNanos - from {@link #start()}
+     */
+    public void completed(String model, boolean streamed, boolean success, long startNanos){
+        Timer.builder("openai.chat.duration")
+                .description("Total time of a chat completion, to the last token when streamed")
+                .tag("model", model)
+                .tag("streamed", String.valueOf(streamed))
+                .tag("outcome", success ? "success" : "error")
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Record the size of notes going into a prompt
+     * @param rawBytes - utf-8 size of the notes as the user sent them
+     * @param compactedBytes - utf-8 size after compaction and trimming to the budget
+     * @param trimmed - whether the notes were cut to the budget
+     */
+    public void promptCompacted(long rawBytes, long compactedBytes, boolean trimmed){
+        rawPromptBytes.record(rawBytes);
+        compactedPromptBytes.record(compactedBytes);
+        if(trimmed){
+            trimmedPrompts.increment();
+        }
+    }
+
+    private static DistributionSummary promptBytes(MeterRegistry meterRegistry, String stage){
+        return DistributionSummary.builder("openai.prompt.bytes")
+                .description("Size of the notes in a study guide prompt")
+                .baseUnit("bytes")
+                .tag("stage", stage)
+                .register(meterRegistry);
+    }
+}
@@ -12,8 +12,10 @@ import com.tphelps.backend.dtos.payment.SubscriptionUpdateDto;
 import com.tphelps.backend.enums.SubscriptionLevel;
 import com.tphelps.backend.enums.SubscriptionStatus;
 import com.tphelps.backend.repository.payment.StripePaymentRepository;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
 import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
@@ -38,6 +40,7 @@ public class StripePaymentService {
 
 
     private final StripePaymentRepository stripePaymentRepository;
+    private final AdaptiveBulkhead stripeBulkhead;
 
 
     private final Map<String, SubscriptionLevel> subscriptionLevelMap = Map.of(
@@ -52,8 +55,10 @@ public class StripePaymentService {
     }
 
     @Autowired
-    public StripePaymentService(StripePaymentRepository stripePaymentRepository) {
+    public StripePaymentService(StripePaymentRepository stripePaymentRepository,
+                                @Qualifier("stripeBulkhead") AdaptiveBulkhead stripeBulkhead) {
         this.stripePaymentRepository = stripePaymentRepository;
+        this.stripeBulkhead = stripeBulkhead;
     }
 
 
@@ -80,11 +85,12 @@ public class StripePaymentService {
      * @param key - the key for the object the user is buying
      * @return a map containing the redirect urlDataRes
      * @throws StripeException - if any stripe api error occurs
+     * @throws com.tphelps.backend.service.exceptions.BulkheadFullException - if too many stripe calls are in flight
      */
     public Map<String, String> getCreateCheckoutSessionRedirectUrl(String key, String username) throws StripeException {
 
         PriceListParams priceListParams = PriceListParams.builder().addLookupKey(key).build();
-        PriceCollection prices = Price.list(priceListParams);// requires a product within stripe dashboard to have a lookup_key assigned to the product
+        PriceCollection prices = stripeBulkhead.call(() -> Price.list(priceListParams));// requires a product within stripe dashboard to have a lookup_key assigned to the product
         if(prices.getData().isEmpty()) {
             throw new IllegalStateException("No price list found");
         }
@@ -99,7 +105,7 @@ public class StripePaymentService {
                 .setCustomer(stripeCustomerId) // pass in the customer id generated when user created account
                 .setSuccessUrl(FRONTEND_URL + "/landing")
                 .build();
-        Session session = Session.create(sessionCreateParams);
+        Session session = stripeBulkhead.call(() -> Session.create(sessionCreateParams));
         return Map.of("url", session.getUrl());
     }
 
@@ -108,6 +114,7 @@ public class StripePaymentService {
      * @param username - the username for the authenticated Principal
      * @return - map containing the portal session redirect url
      * @throws StripeException - if any stripe api error occurs
+     * @throws com.tphelps.backend.service.exceptions.BulkheadFullException - if too many stripe calls are in flight
      */
     public Map<String, String> getPortalSessionRedirectUrl(String username) throws StripeException {
         java.lang.String  stripeCustomerId= stripePaymentRepository.getUserStripeCustomerId(username);
@@ -116,10 +123,24 @@ public class StripePaymentService {
                 .setCustomer(stripeCustomerId) // stripe customer id from the db to not create a new customer ID on checkout
                 .setReturnUrl(FRONTEND_URL + "/landing").build();
 
-        com.stripe.model.billingportal.Session portalSession = com.stripe.model.billingportal.Session.create(params);
+        com.stripe.model.billingportal.Session portalSession = stripeBulkhead.call(
+                () -> com.stripe.model.billingportal.Session.create(params));
         return Map.of("url", portalSession.getUrl());
     }
 
+    /**
+     * Look up the name of the customer who paid for a checkout session
+     * @param sessionId - the checkout session id
+     * @return - the customer's name
+     * @throws StripeException - if any stripe api error occurs
+     * @throws com.tphelps.backend.service.exceptions.BulkheadFullException - if too many stripe calls are in flight
+     */
+    public String getCheckoutCustomerName(String sessionId) throws StripeException {
+        Session session = stripeBulkhead.call(() -> Session.retrieve(sessionId));
+        Customer customer = stripeBulkhead.call(() -> Customer.retrieve(session.getCustomer()));
+        return customer.getName();
+    }
+
     /**
      * Handle the subscription deleted event (cancelled) and update the subscription status for customer id within the db
      * @param subscription - a subscription object from Stripe
@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record ChunkManifestEntry(int seq, String contentHash, long byteOffset, int sizeBytes, String location, String contentEncoding, String status) {
+}
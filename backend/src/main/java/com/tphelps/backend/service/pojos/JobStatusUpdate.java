@@ -0,0 +1,6 @@
+package com.tphelps.backend.service.pojos;
+
+import java.time.LocalDateTime;
+
+public record JobStatusUpdate(int id, LocalDateTime createdAt, String status, short attemptCount, String lastError) {
+}
@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record NewNote(String linkToNote, String title, String textContent, String contentHash, String uploadStatus, String contentEncoding) {
+}
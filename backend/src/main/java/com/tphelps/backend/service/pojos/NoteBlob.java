@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record NoteBlob(String contentHash, String location, long sizeBytes, int references, String contentEncoding) {
+}
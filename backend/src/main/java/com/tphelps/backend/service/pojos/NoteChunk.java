@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record NoteChunk(int seq, long byteOffset, int sizeBytes, String contentHash) {
+}
@@ -0,0 +1,46 @@
+package com.tphelps.backend.service.pojos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A note ready to be written to the client, wherever it's served from (heap, disk cache, db or remote)
+ */
+public interface NoteDownload extends Closeable {
+
+    String fileName();
+
+    /**
+     * @return - 200 for the whole note, 206 for a range
+     */
+    int status();
+
+    /**
+     * @return - number of bytes that will be written, -1 if unknown
+     */
+    long contentLength();
+
+    /**
+     * @return - the Content-Range header value for a 206, else null
+     */
+    String contentRange();
+
+    /**
+     * @return - the Content-Encoding the bytes are written in, null when they're the note text as is
+     */
+    default String contentEncoding() {
+        return null;
+    }
+
+    void writeTo(OutputStream outputStream) throws IOException;
+
+    /**
+     * Read the bytes as a stream instead of writing them, for wrapping a download (e.g. decoding it).
+     * Use either this or {@link #writeTo(OutputStream)}, not both
+     * @return - the bytes that would be written
+     * @throws IOException
+     */
+    InputStream openStream() throws IOException;
+}
@@ -1,4 +1,6 @@
 package com.tphelps.backend.service.pojos;
 
-public record NoteGraphingJob(int noteId, String status, short attemptCount, String username) {
+import java.time.LocalDateTime;
+
+public record NoteGraphingJob(int id, int noteId, String status, short attemptCount, String username, LocalDateTime createdAt) {
 }
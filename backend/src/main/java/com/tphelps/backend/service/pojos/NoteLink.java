@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record NoteLink(int fromNoteId, int toNoteId, double similarityScore, String username) {
+}
@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record NoteMetadata(int noteId, String linkToNote, String contentHash, String contentEncoding) {
+}
@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record PendingNoteUpload(int noteId, String username, String title, String textContent, String contentHash, String contentEncoding, short uploadAttempts) {
+}
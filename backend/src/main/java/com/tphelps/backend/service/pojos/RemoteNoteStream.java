@@ -0,0 +1,37 @@
+package com.tphelps.backend.service.pojos;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * An open note download, the body must be closed to release the connection back to the pool
+ */
+public record RemoteNoteStream(
+        String fileName,
+        int status,
+        long contentLength,
+        String contentRange,
+        InputStream body,
+        Closeable response) implements NoteDownload {
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        body.transferTo(outputStream);
+    }
+
+    @Override
+    public InputStream openStream() {
+        return body;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            body.close();
+        } finally {
+            response.close();
+        }
+    }
+}
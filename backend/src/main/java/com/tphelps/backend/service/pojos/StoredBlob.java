@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record StoredBlob(String contentHash, String location, String status, String contentEncoding) {
+}
@@ -0,0 +1,6 @@
+package com.tphelps.backend.service.pojos;
+
+import java.util.UUID;
+
+public record StudyGuideJob(UUID id, String username, String title, String notes, short attemptCount) {
+}
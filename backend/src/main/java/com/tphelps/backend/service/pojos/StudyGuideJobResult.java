@@ -0,0 +1,6 @@
+package com.tphelps.backend.service.pojos;
+
+import java.util.UUID;
+
+public record StudyGuideJobResult(UUID id, String status, String studyGuide, String lastError) {
+}
@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record StudyGuidePrompt(String notes, String prompt, boolean trimmed) {
+}
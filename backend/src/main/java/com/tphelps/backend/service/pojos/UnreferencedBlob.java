@@ -0,0 +1,4 @@
+package com.tphelps.backend.service.pojos;
+
+public record UnreferencedBlob(String username, String contentHash, String location) {
+}
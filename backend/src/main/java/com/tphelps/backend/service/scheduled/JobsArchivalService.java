@@ -0,0 +1,48 @@
+package com.tphelps.backend.service.scheduled;
+
+import com.tphelps.backend.repository.JobsRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+
+@Service
+public class JobsArchivalService {
+
+    private final JobsRepository jobsRepository;
+
+    @Value("${jobs.archive.after-days:7}")
+    private int archiveAfterDays;
+
+    @Value("${jobs.archive.batch-size:5000}")
+    private int batchSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(JobsArchivalService.class);
+
+    public JobsArchivalService(JobsRepository jobsRepository) {
+        this.jobsRepository = jobsRepository;
+    }
+
+    /**
+     * Scheduled job for moving old completed jobs out of the jobs table into jobs_history
+     *
+     * Runs in batches so each delete holds its locks briefly and the pending-job poll is never blocked for long
+     */
+    @Scheduled(cron = "${jobs.archive.cron:0 0 3 * * *}")
+    public void archiveCompletedJobs(){
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(archiveAfterDays);
+
+        int total = 0;
+        int archived;
+        do {
+            archived = jobsRepository.archiveCompletedJobs(cutoff, batchSize);
+            total += archived;
+        } while(archived == batchSize);
+
+        logger.info("Archived {} completed jobs older than {}", total, cutoff);
+    }
+}
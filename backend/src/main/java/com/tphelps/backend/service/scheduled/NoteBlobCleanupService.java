@@ -0,0 +1,89 @@
+package com.tphelps.backend.service.scheduled;
+
+import com.tphelps.backend.enums.NoteUploadStatus;
+import com.tphelps.backend.repository.NoteBlobRepository;
+import com.tphelps.backend.service.pojos.UnreferencedBlob;
+import com.tphelps.backend.service.storage.NoteStorage;
+
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+public class NoteBlobCleanupService {
+
+    private final NoteBlobRepository noteBlobRepository;
+    private final NoteStorage noteStorage;
+    private final DSLContext dslContext;
+
+    @Value("${notes.blobs.cleanup.grace-hours:24}")
+    private int graceHours;
+
+    @Value("${notes.blobs.cleanup.batch-size:100}")
+    private int batchSize;
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteBlobCleanupService.class);
+
+    public NoteBlobCleanupService(NoteBlobRepository noteBlobRepository, NoteStorage noteStorage, DSLContext dslContext) {
+        this.noteBlobRepository = noteBlobRepository;
+        this.noteStorage = noteStorage;
+        this.dslContext = dslContext;
+    }
+
+    /**
+     * Scheduled job for removing blobs no note references anymore from storage.
+     *
+     * Each blob is removed inside its own transaction holding the blob row lock, so a note saved with the same content
+     * at the same time either revives the blob before the lock or creates a fresh pending one after it. Blobs that
+     * were never uploaded only have their row dropped, and a blob that fails to be removed is left for the next run
+     * without holding up the rest
+     */
+    @Scheduled(cron = "${notes.blobs.cleanup.cron:0 30 3 * * *}")
+    public void removeUnreferencedBlobs(){
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(graceHours);
+
+        int removed = 0;
+        int failed = 0;
+        List<UnreferencedBlob> blobs;
+        do {
+            blobs = noteBlobRepository.fetchUnreferencedBlobs(cutoff, batchSize);
+            int removedInBatch = 0;
+            for(UnreferencedBlob blob : blobs){
+                try {
+                    dslContext.transaction(configuration -> {
+                        DSLContext ctx = DSL.using(configuration);
+
+                        Optional<String> status = noteBlobRepository.lockUnreferencedBlob(ctx, blob.username(), blob.contentHash());
+                        if(status.isEmpty()){
+                            return;
+                        }
+                        if(NoteUploadStatus.UPLOADED.getValue().equals(status.get())){
+                            noteStorage.delete(blob.location());
+                        }
+                        noteBlobRepository.deleteBlob(ctx, blob.username(), blob.contentHash());
+                    });
+                    removedInBatch++;
+                }catch(Exception e){
+                    failed++;
+                    logger.error("Failed to remove blob for user={} hash={} with message={}",
+                            blob.username(), blob.contentHash(), e.getMessage());
+                }
+            }
+            removed += removedInBatch;
+            // failed blobs stay at the front of the next batch, stop once a whole batch is failures
+            if(removedInBatch == 0){
+                break;
+            }
+        } while(blobs.size() == batchSize);
+
+        logger.info("Removed {} unreferenced note blobs, {} failed", removed, failed);
+    }
+}
@@ -7,9 +7,10 @@ import com.tphelps.backend.service.exceptions.EmptyNoteContentException;
 import com.tphelps.backend.service.pojos.*;
 import com.tphelps.backend.service.util.TextUtils;
 
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.dao.EmptyResultDataAccessException;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
@@ -22,65 +23,159 @@ public class NoteGraphingService {
 
     private final JobsRepository jobsRepository;
     private final NotesRepository notesRepository;
+    private final DSLContext dslContext;
 
     private static final double THRESHOLD = 0.3;
     private static final short MAX_RETRIES = 3;
+    private static final int BATCH_SIZE = 50;
 
     private static final Logger logger = LoggerFactory.getLogger(NoteGraphingService.class);
 
-    public NoteGraphingService(JobsRepository jobsRepository, NotesRepository notesRepository) {
+    public NoteGraphingService(JobsRepository jobsRepository, NotesRepository notesRepository, DSLContext dslContext) {
         this.jobsRepository = jobsRepository;
         this.notesRepository = notesRepository;
+        this.dslContext = dslContext;
     }
 
     /**
      * Scheduled job for creating relationships between notes
+     *
+     * The whole batch is claimed, linked and completed inside one transaction with set based statements,
+     * so a crash midway rolls every job back to PENDING instead of leaving it half applied. If the batch
+     * transaction fails it's retried one user at a time so a single bad user can't fail everyone else's jobs
      */
     @Scheduled(initialDelay = 5_000, fixedDelay = 300_000)
     public void createJob(){
 
-        List<NoteGraphingJob> noteGraphingJobs = jobsRepository.fetchPendingJobs();
-        if(noteGraphingJobs == null || noteGraphingJobs.isEmpty()){
+        List<NoteGraphingJob> claimedJobs = new ArrayList<>();
+        try {
+            dslContext.transaction(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                claimedJobs.addAll(jobsRepository.claimPendingJobs(ctx, BATCH_SIZE));
+                processJobs(ctx, claimedJobs);
+            });
+        }catch(Exception e){
+            logger.error("Note graphing batch of {} jobs failed, retrying per user with exception={}",
+                    claimedJobs.size(), e.getMessage());
+            retryPerUser(claimedJobs);
+            return;
+        }
+
+        if(claimedJobs.isEmpty()){
             logger.info("No pending note graphing jobs found");
+        }
+    }
+
+    /**
+     * Process claimed jobs grouped by user, each user's graph is rebuilt once no matter how many of their notes are queued.
+     *
+     * Round trips for the whole batch: one edge fetch, one multi-row link insert and one job update
+     * @param ctx - the transactional context the jobs were claimed in
+     * @param jobs - claimed jobs
+     */
+    private void processJobs(DSLContext ctx, List<NoteGraphingJob> jobs){
+        if(jobs.isEmpty()){
             return;
         }
 
-        for (NoteGraphingJob noteGraphingJob : noteGraphingJobs) {
+        Map<String, List<NoteGraphingJob>> jobsByUser = new HashMap<>();
+        for(NoteGraphingJob job : jobs){
+            jobsByUser.computeIfAbsent(job.username(), k -> new ArrayList<>()).add(job);
+        }
+
+        Map<String, List<NoteEdges>> edgesByUser = notesRepository.fetchNotesEdges(ctx, jobsByUser.keySet());
+
+        List<NoteLink> noteLinks = new ArrayList<>();
+        List<JobStatusUpdate> jobUpdates = new ArrayList<>();
+        for(Map.Entry<String, List<NoteGraphingJob>> entry : jobsByUser.entrySet()){
+            String username = entry.getKey();
             try {
-                jobsRepository.updateJobStatus(noteGraphingJob.noteId());
+                noteLinks.addAll(processUser(username, edgesByUser.getOrDefault(username, List.of())));
 
-                processJob(noteGraphingJob);
+                for(NoteGraphingJob job : entry.getValue()){
+                    jobUpdates.add(completedJob(job));
+                }
+            }catch(Exception e){
+                for(NoteGraphingJob job : entry.getValue()){
+                    jobUpdates.add(failedJob(job, e.getMessage()));
+                }
+            }
+        }
 
-                jobsRepository.setJobCompleted(noteGraphingJob.noteId(), noteGraphingJob.attemptCount());
+        notesRepository.insertNoteLinks(ctx, noteLinks);
+        jobsRepository.updateJobs(ctx, jobUpdates);
+    }
 
-            }catch(EmptyResultDataAccessException e){
+    /**
+     * Fallback for a failed batch, every user gets their own transaction and a failing user
+     * only has their own jobs marked for retry
+     * @param jobs - jobs claimed by the failed batch, they are PENDING again after the rollback
+     */
+    private void retryPerUser(List<NoteGraphingJob> jobs){
+        Map<String, List<NoteGraphingJob>> jobsByUser = new HashMap<>();
+        for(NoteGraphingJob job : jobs){
+            jobsByUser.computeIfAbsent(job.username(), k -> new ArrayList<>()).add(job);
+        }
 
-                handleFailedJob(noteGraphingJob, e.getMessage());
+        for(Map.Entry<String, List<NoteGraphingJob>> entry : jobsByUser.entrySet()){
+            try {
+                dslContext.transaction(configuration -> {
+                    DSLContext ctx = DSL.using(configuration);
 
+                    processJobs(ctx, jobsRepository.claimJobs(ctx, entry.getValue()));
+                });
             }catch(Exception e){
-
-                handleFailedJob(noteGraphingJob, e.getMessage());
+                recordFailedUser(entry.getKey(), entry.getValue(), e.getMessage());
             }
         }
     }
 
+    /**
+     * Count a failed attempt against every job of a user whose retry failed, whether claiming or processing
+     * failed, so the jobs run out of attempts instead of being retried forever. The jobs are locked again in the
+     * same transaction so a job another poller has finished meanwhile isn't overwritten
+     * @param username - the user
+     * @param jobs - the user's jobs from the failed batch
+     * @param errorMessage - error to record on the jobs
+     */
+    private void recordFailedUser(String username, List<NoteGraphingJob> jobs, String errorMessage){
+        try {
+            dslContext.transaction(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                List<JobStatusUpdate> failures = new ArrayList<>();
+                for(NoteGraphingJob job : jobsRepository.claimJobs(ctx, jobs)){
+                    failures.add(failedJob(job, errorMessage));
+                }
+                jobsRepository.updateJobs(ctx, failures);
+            });
+        }catch(Exception e){
+            logger.error("Failed to record failed note graphing jobs for user={} with exception={}",
+                    username, e.getMessage());
+        }
+    }
+
     /**
      * Creates an adjacency list for note edge links using Jaccard Similarity Forumla
      *
-     * Retrieve a note from the db, utilize its title for the formula,
-     * create edges for related notes, store related edges in the note_links table
+     * Uses the user's notes and existing edges, fetched in one query for the batch,
+     * create edges for related notes that aren't linked yet
      *
      * Could also save a notes set (the words contained in the title or text) in the db
      * to prevent having to parse everytime we pull it out
      *
-     * @param noteGraphingJob - the job to process
+     * @param username - the user whose notes are graphed
+     * @param edgesList - every note of the user left joined to its existing links
+     * @return - the new links to insert
      */
-    private void processJob(NoteGraphingJob noteGraphingJob) {
+    private List<NoteLink> processUser(String username, List<NoteEdges> edgesList) {
 
-        logger.info("Processing job for noteId {} with attempt count {}", noteGraphingJob.noteId(), noteGraphingJob.attemptCount());
-        Map<Integer, NoteInformation> noteInformationMap = notesRepository.fetchUsersNotes(noteGraphingJob.noteId());
-
-        List<NoteEdges> edgesList = notesRepository.fetchNotesEdges(noteGraphingJob.username());
+        logger.info("Processing note graphing jobs for user {}", username);
+        Map<Integer, NoteInformation> noteInformationMap = new HashMap<>();
+        for(NoteEdges edge : edgesList){
+            noteInformationMap.putIfAbsent(edge.from_note_id(), new NoteInformation(edge.title(), edge.from_note_id()));
+        }
 
         Map<Integer, Set<Integer>> existingAdjacencyMap = buildExistingAdjacencyMap(edgesList, noteInformationMap);
 
@@ -93,7 +188,7 @@ public class NoteGraphingService {
                 existingAdjacencyMap,
                 noteInformationMap);
 
-        insertNoteLinks(noteAdjacencyMap, noteGraphingJob);
+        return toNoteLinks(noteAdjacencyMap, username);
     }
 
     /**
@@ -202,17 +297,21 @@ public class NoteGraphingService {
     }
 
     /**
-     * Insert compiled note links into the database
+     * Flatten the compiled adjacency map into rows for note_links
      * @param noteAdjacencyMap
-     * @param noteGraphingJob
+     * @param username
+     * @return
      */
-    private void insertNoteLinks(
+    private List<NoteLink> toNoteLinks(
             Map<Integer, List<NoteRelationshipInformation>> noteAdjacencyMap,
-            NoteGraphingJob noteGraphingJob){
+            String username){
+        List<NoteLink> noteLinks = new ArrayList<>();
         for(Map.Entry<Integer, List<NoteRelationshipInformation>> entry : noteAdjacencyMap.entrySet()){
-            logger.trace("Inserting note relationships for noteId {}", entry.getKey());
-            notesRepository.linkNotes(entry.getKey(), entry.getValue(), noteGraphingJob.username());
+            for(NoteRelationshipInformation neighbor : entry.getValue()){
+                noteLinks.add(new NoteLink(entry.getKey(), neighbor.noteId(), neighbor.similarityScore(), username));
+            }
         }
+        return noteLinks;
     }
 
     /**
@@ -233,11 +332,26 @@ public class NoteGraphingService {
     }
 
     /**
-     * Handle a failed job
+     * Build the update for a completed job
+     * @param noteGraphingJob - completed job
+     * @return - the job update
+     */
+    private JobStatusUpdate completedJob(NoteGraphingJob noteGraphingJob) {
+        return new JobStatusUpdate(
+                noteGraphingJob.id(),
+                noteGraphingJob.createdAt(),
+                NoteGraphingStatus.COMPLETED.getValue(),
+                (short) (noteGraphingJob.attemptCount() + 1),
+                null);
+    }
+
+    /**
+     * Build the update for a failed job
      * @param noteGraphingJob - failed job
      * @param errorMessage - error to update db column for errors
+     * @return - the job update, back to PENDING for a retry or FAILED once out of retries
      */
-    private void handleFailedJob(NoteGraphingJob noteGraphingJob, String errorMessage) {
+    private JobStatusUpdate failedJob(NoteGraphingJob noteGraphingJob, String errorMessage) {
         logger.error("Job failed for noteId {} with {} attempts left",
                 noteGraphingJob.noteId(),
                 MAX_RETRIES - noteGraphingJob.attemptCount());
@@ -245,19 +359,20 @@ public class NoteGraphingService {
         short attempts = (short) (noteGraphingJob.attemptCount() + 1);
         if(attempts > MAX_RETRIES){ // max retry attempts allowed
             traceLogRetryMessage(NoteGraphingStatus.FAILED.getValue(), attempts);
-            jobsRepository.updateJobStatus(
-                    noteGraphingJob.noteId(),
+            return new JobStatusUpdate(
+                    noteGraphingJob.id(),
+                    noteGraphingJob.createdAt(),
                     NoteGraphingStatus.FAILED.getValue(),
                     (short) (attempts - 1),
                     errorMessage);
         }else{ // retry
             traceLogRetryMessage(NoteGraphingStatus.PENDING.getValue(), attempts);
-            jobsRepository.updateJobStatus(
-                    noteGraphingJob.noteId(),
+            return new JobStatusUpdate(
+                    noteGraphingJob.id(),
+                    noteGraphingJob.createdAt(),
                     NoteGraphingStatus.PENDING.getValue(),
                     attempts,
-                    errorMessage
-            );
+                    errorMessage);
         }
     }
 
@@ -0,0 +1,247 @@
+package com.tphelps.backend.service.scheduled;
+
+import com.tphelps.backend.enums.NoteUploadStatus;
+import com.tphelps.backend.repository.NoteBlobRepository;
+import com.tphelps.backend.repository.NoteChunkRepository;
+import com.tphelps.backend.repository.NotesRepository;
+import com.tphelps.backend.service.pojos.ChunkManifestEntry;
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import com.tphelps.backend.service.pojos.PendingNoteUpload;
+import com.tphelps.backend.service.storage.NoteCompression;
+import com.tphelps.backend.service.storage.NoteStorage;
+
+import org.apache.commons.codec.digest.DigestUtils;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class NoteUploadService {
+
+    private final NotesRepository notesRepository;
+    private final NoteBlobRepository noteBlobRepository;
+    private final NoteChunkRepository noteChunkRepository;
+    private final NoteStorage noteStorage;
+    private final NoteCompression noteCompression;
+    private final DSLContext dslContext;
+    private final SimpleAsyncTaskExecutor noteUploadExecutor;
+    private final Semaphore uploadSlots;
+
+    @Value("${notes.upload.max-attempts:5}")
+    private short maxAttempts;
+
+    @Value("${notes.upload.base-backoff-ms:2000}")
+    private long baseBackoffMs;
+
+    @Value("${notes.upload.lease-ms:300000}")
+    private long leaseMs;
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteUploadService.class);
+
+    public NoteUploadService(NotesRepository notesRepository,
+                             NoteBlobRepository noteBlobRepository,
+                             NoteChunkRepository noteChunkRepository,
+                             NoteStorage noteStorage,
+                             NoteCompression noteCompression,
+                             DSLContext dslContext,
+                             @Qualifier("noteUploadExecutor") SimpleAsyncTaskExecutor noteUploadExecutor,
+                             @Value("${notes.upload.concurrency:4}") int concurrency) {
+        this.notesRepository = notesRepository;
+        this.noteBlobRepository = noteBlobRepository;
+        this.noteChunkRepository = noteChunkRepository;
+        this.noteStorage = noteStorage;
+        this.noteCompression = noteCompression;
+        this.dslContext = dslContext;
+        this.noteUploadExecutor = noteUploadExecutor;
+        this.uploadSlots = new Semaphore(concurrency);
+    }
+
+    /**
+     * Scheduled job for pushing saved notes to the note storage.
+     *
+     * Only claims as many notes as there are free upload slots so the concurrency against the storage stays bounded
+     * and nothing sits claimed in a queue
+     */
+    @Scheduled(initialDelay = 5_000, fixedDelayString = "${notes.upload.poll-interval-ms:1000}")
+    public void uploadPendingNotes(){
+        int freeSlots = uploadSlots.availablePermits();
+        if(freeSlots == 0){
+            return;
+        }
+
+        List<PendingNoteUpload> uploads = notesRepository.claimPendingUploads(freeSlots, Duration.ofMillis(leaseMs));
+        for(PendingNoteUpload upload : uploads){
+            uploadSlots.acquireUninterruptibly();
+            try {
+                noteUploadExecutor.execute(() -> {
+                    try {
+                        drain(upload);
+                    } finally {
+                        uploadSlots.release();
+                    }
+                });
+            }catch(RuntimeException e){
+                uploadSlots.release();
+                handleFailedUpload(upload, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Upload a claimed note then keep claiming and uploading one at a time while there is a backlog, so a bulk import
+     * drains at the full upload concurrency instead of a few notes per poll. The caller's slot is held the whole time,
+     * draining stops early when the storage is saturated
+     * @param first - the claimed note to start with
+     */
+    private void drain(PendingNoteUpload first){
+        PendingNoteUpload next = first;
+        while(next != null){
+            if(!upload(next)){
+                return;
+            }
+            try {
+                List<PendingNoteUpload> claimed = notesRepository.claimPendingUploads(1, Duration.ofMillis(leaseMs));
+                next = claimed.isEmpty() ? null : claimed.get(0);
+            }catch(RuntimeException e){
+                logger.error("Failed to claim next pending upload with message={}", e.getMessage());
+                next = null;
+            }
+        }
+    }
+
+    /**
+     * Upload a single note, failures are recorded for a retry. Chunked notes upload only the chunks that aren't
+     * stored yet, notes saved before chunking upload their whole blob. A note turned away because the storage is
+     * saturated is put back without using up an attempt, and one whose content was replaced since it was claimed is
+     * skipped since the new revision is queued on its own
+     * @param upload - the claimed note
+     * @return - false if the storage was saturated
+     */
+    private boolean upload(PendingNoteUpload upload){
+        try {
+            List<ChunkManifestEntry> chunks;
+            try {
+                chunks = noteChunkRepository.fetchManifest(upload.noteId(), upload.contentHash());
+            }catch(EmptyResultDataAccessException e){
+                logger.trace("Note changed since it was claimed, skipping upload for noteId={}", upload.noteId());
+                return true;
+            }
+            if(chunks.isEmpty()){
+                uploadBlob(upload);
+            }else{
+                uploadChunks(upload, chunks);
+            }
+            logger.trace("Uploaded note with noteId={} for user={}", upload.noteId(), upload.username());
+        }catch(BulkheadFullException e){
+            logger.trace("Storage saturated, putting upload for noteId={} back", upload.noteId());
+            notesRepository.releaseNoteUpload(upload.noteId(), LocalDateTime.now().plus(Duration.ofMillis(baseBackoffMs)));
+            return false;
+        }catch(Exception e){
+            handleFailedUpload(upload, e.getMessage());
+        }
+        return true;
+    }
+
+    /**
+     * Upload the chunks of a chunked note that aren't stored yet, a chunk shared with the note's previous content or
+     * repeated within the note is skipped. Every slice is checked against its chunk's hash before it's stored so a
+     * blob is never marked uploaded with someone else's bytes
+     * @param upload - the claimed note
+     * @param chunks - the note's chunk manifest
+     * @throws IOException
+     * @throws IllegalStateException if a slice of the content doesn't match its chunk hash
+     */
+    private void uploadChunks(PendingNoteUpload upload, List<ChunkManifestEntry> chunks) throws IOException {
+        byte[] content = upload.textContent().getBytes(StandardCharsets.UTF_8);
+        Set<String> storedHashes = new LinkedHashSet<>();
+        for(ChunkManifestEntry chunk : chunks){
+            if(NoteUploadStatus.UPLOADED.getValue().equals(chunk.status()) || storedHashes.contains(chunk.contentHash())){
+                continue;
+            }
+            byte[] chunkContent = Arrays.copyOfRange(content,
+                    (int) chunk.byteOffset(),
+                    (int) chunk.byteOffset() + chunk.sizeBytes());
+            if(!DigestUtils.sha256Hex(chunkContent).equals(chunk.contentHash())){
+                throw new IllegalStateException("Content of chunk seq=" + chunk.seq() + " doesn't match its hash");
+            }
+            noteStorage.store(NoteStorage.blobKey(upload.username(), chunk.contentHash(), chunk.contentEncoding()),
+                    noteCompression.encode(chunkContent, chunk.contentEncoding()));
+            storedHashes.add(chunk.contentHash());
+        }
+
+        logger.trace("Stored {} of {} chunks for noteId={}", storedHashes.size(), chunks.size(), upload.noteId());
+        dslContext.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            noteBlobRepository.markBlobsUploaded(ctx, upload.username(), storedHashes);
+            notesRepository.markNoteUploaded(ctx, upload.noteId(), upload.contentHash());
+        });
+    }
+
+    /**
+     * Upload the whole blob of a note saved before chunking, skipped when another note already stored the same
+     * content. Every note waiting on the blob is marked uploaded with it
+     * @param upload - the claimed note
+     * @throws IOException
+     */
+    private void uploadBlob(PendingNoteUpload upload) throws IOException {
+        String key = NoteStorage.blobKey(upload.username(), upload.contentHash(), upload.contentEncoding());
+        String location = noteStorage.location(key);
+        if(noteBlobRepository.isBlobUploaded(upload.username(), upload.contentHash())){
+            logger.trace("Blob already stored, skipping upload for noteId={}", upload.noteId());
+        }else{
+            noteStorage.store(key, noteCompression.encode(upload.textContent().getBytes(StandardCharsets.UTF_8),
+                    upload.contentEncoding()));
+        }
+
+        dslContext.transaction(configuration -> {
+            DSLContext ctx = DSL.using(configuration);
+
+            noteBlobRepository.markBlobsUploaded(ctx, upload.username(), List.of(upload.contentHash()));
+            notesRepository.markBlobNotesUploaded(ctx, upload.username(), upload.contentHash(), location);
+        });
+    }
+
+    /**
+     * Handle a failed upload, retried with exponential backoff until max attempts
+     * @param upload - failed upload
+     * @param errorMessage - error to record on the note
+     */
+    private void handleFailedUpload(PendingNoteUpload upload, String errorMessage){
+        short attempts = (short) (upload.uploadAttempts() + 1);
+        logger.error("Upload failed for noteId={} user={} attempt={} with message={}",
+                upload.noteId(), upload.username(), attempts, errorMessage);
+
+        if(attempts >= maxAttempts){
+            notesRepository.markNoteUploadFailed(upload.noteId(),
+                    NoteUploadStatus.FAILED.getValue(),
+                    attempts,
+                    errorMessage,
+                    LocalDateTime.now());
+        }else{
+            long backoffMs = baseBackoffMs << (attempts - 1);
+            notesRepository.markNoteUploadFailed(upload.noteId(),
+                    NoteUploadStatus.PENDING.getValue(),
+                    attempts,
+                    errorMessage,
+                    LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.tphelps.backend.service.scheduled;
+
+import com.tphelps.backend.repository.PartitionRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+public class PartitionMaintenanceService {
+
+    private static final String JOBS = "jobs";
+    private static final String NOTE_LINKS = "note_links";
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final PartitionRepository partitionRepository;
+
+    @Value("${partitions.months-ahead:3}")
+    private int monthsAhead;
+
+    @Value("${partitions.jobs.retention-months:3}")
+    private int jobsRetentionMonths;
+
+    @Value("${partitions.note-links.retention-months:0}")
+    private int noteLinksRetentionMonths;
+
+    @Value("${partitions.drop-detached:true}")
+    private boolean dropDetached;
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    public PartitionMaintenanceService(PartitionRepository partitionRepository) {
+        this.partitionRepository = partitionRepository;
+    }
+
+    /**
+     * Scheduled job for keeping the monthly partitions of jobs and note_links ahead of the clock
+     * and retiring the ones past their retention policy
+     */
+    @Scheduled(initialDelay = 10_000, fixedDelayString = "${partitions.maintenance-interval-ms:86400000}")
+    public void maintainPartitions(){
+        maintain(JOBS, jobsRetentionMonths);
+        maintain(NOTE_LINKS, noteLinksRetentionMonths);
+    }
+
+    /**
+     * Create the upcoming partitions and retire expired ones for a single table
+     * @param parent - partitioned table
+     * @param retentionMonths - months of data to keep, 0 keeps everything
+     */
+    private void maintain(String parent, int retentionMonths){
+        try {
+            createFuturePartitions(parent);
+            if(retentionMonths > 0){
+                retireExpiredPartitions(parent, retentionMonths);
+            }
+        }catch(Exception e){
+            logger.error("Partition maintenance failed for table={} with exception={}", parent, e.getMessage());
+        }
+    }
+
+    /**
+     * Create a partition for the current month and each of the next monthsAhead months
+     * @param parent - partitioned table
+     */
+    private void createFuturePartitions(String parent){
+        YearMonth current = YearMonth.now();
+        for(int i = 0; i <= monthsAhead; i++){
+            YearMonth month = current.plusMonths(i);
+            LocalDate from = month.atDay(1);
+            LocalDate to = month.plusMonths(1).atDay(1);
+
+            partitionRepository.createPartition(parent, partitionName(parent, month), from, to);
+        }
+    }
+
+    /**
+     * Detach (and optionally drop) every monthly partition that ends before the retention cutoff.
+     * Jobs partitions that still have unfinished work are left alone until the work is done
+     * @param parent - partitioned table
+     * @param retentionMonths - months of data to keep
+     */
+    private void retireExpiredPartitions(String parent, int retentionMonths){
+        YearMonth cutoff = YearMonth.now().minusMonths(retentionMonths);
+        Pattern pattern = Pattern.compile("^" + parent + "_p(\\d{6})$");
+
+        for(String partition : partitionRepository.fetchPartitions(parent)){
+            Matcher matcher = pattern.matcher(partition);
+            if(!matcher.matches()){
+                continue; // default partition or something not managed by us
+            }
+
+            YearMonth month = YearMonth.parse(matcher.group(1), PARTITION_SUFFIX);
+            if(!month.isBefore(cutoff)){
+                continue;
+            }
+
+            if(JOBS.equals(parent) && partitionRepository.hasUnfinishedJobs(partition)){
+                logger.warn("Skipping expired partition={} because it still has unfinished jobs", partition);
+                continue;
+            }
+
+            partitionRepository.detachPartition(parent, partition);
+            logger.info("Detached expired partition={} from table={}", partition, parent);
+
+            if(dropDetached){
+                partitionRepository.dropTable(partition);
+                logger.info("Dropped expired partition={}", partition);
+            }
+        }
+    }
+
+    /**
+     * Build the partition name, matches the naming used in the V17/V18 migrations
+     * @param parent - partitioned table
+     * @param month - month the partition covers
+     * @return - e.g. jobs_p202610
+     */
+    private String partitionName(String parent, YearMonth month){
+        return parent + "_p" + month.format(PARTITION_SUFFIX);
+    }
+}
@@ -0,0 +1,187 @@
+package com.tphelps.backend.service.scheduled;
+
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import com.tphelps.backend.enums.StudyGuideJobStatus;
+import com.tphelps.backend.repository.StudyGuideJobsRepository;
+import com.tphelps.backend.service.CustomUserDetailsService;
+import com.tphelps.backend.service.NotesService;
+import com.tphelps.backend.service.StudyGuideJobService;
+import com.tphelps.backend.service.bulkhead.AdaptiveBulkhead;
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import com.tphelps.backend.service.pojos.StudyGuideJob;
+import com.tphelps.backend.service.pojos.StudyGuideJobResult;
+
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+
+@Service
+public class StudyGuideGenerationService {
+
+    private final StudyGuideJobsRepository studyGuideJobsRepository;
+    private final StudyGuideJobService studyGuideJobService;
+    private final NotesService notesService;
+    private final CustomUserDetailsService customUserDetailsService;
+    private final DSLContext dslContext;
+    private final SimpleAsyncTaskExecutor studyGuideJobExecutor;
+    private final Semaphore generationSlots;
+
+    @Value("${study-guide.jobs.max-attempts:3}")
+    private short maxAttempts;
+
+    @Value("${study-guide.jobs.base-backoff-ms:5000}")
+    private long baseBackoffMs;
+
+    @Value("${study-guide.jobs.lease-ms:600000}")
+    private long leaseMs;
+
+    @Value("${study-guide.jobs.retention-days:30}")
+    private int retentionDays;
+
+    private static final Logger logger = LoggerFactory.getLogger(StudyGuideGenerationService.class);
+
+    public StudyGuideGenerationService(StudyGuideJobsRepository studyGuideJobsRepository,
+                                       StudyGuideJobService studyGuideJobService,
+                                       NotesService notesService,
+                                       CustomUserDetailsService customUserDetailsService,
+                                       DSLContext dslContext,
+                                       @Qualifier("studyGuideJobExecutor") SimpleAsyncTaskExecutor studyGuideJobExecutor,
+                                       @Value("${study-guide.jobs.concurrency:16}") int concurrency) {
+        this.studyGuideJobsRepository = studyGuideJobsRepository;
+        this.studyGuideJobService = studyGuideJobService;
+        this.notesService = notesService;
+        this.customUserDetailsService = customUserDetailsService;
+        this.dslContext = dslContext;
+        this.studyGuideJobExecutor = studyGuideJobExecutor;
+        this.generationSlots = new Semaphore(concurrency);
+    }
+
+    /**
+     * Scheduled job for generating queued study guides.
+     *
+     * Only claims as many jobs as there are free generation slots, like the note uploads, and a job that can't get
+     * an OpenAI slot is put back without counting an attempt
+     */
+    @Scheduled(initialDelay = 5_000, fixedDelayString = "${study-guide.jobs.poll-interval-ms:1000}")
+    public void generatePendingStudyGuides(){
+        int freeSlots = generationSlots.availablePermits();
+        if(freeSlots == 0){
+            return;
+        }
+
+        List<StudyGuideJob> jobs = studyGuideJobsRepository.claimPendingJobs(freeSlots, Duration.ofMillis(leaseMs));
+        for(StudyGuideJob job : jobs){
+            generationSlots.acquireUninterruptibly();
+            try {
+                studyGuideJobExecutor.execute(() -> {
+                    try {
+                        generate(job);
+                    } finally {
+                        generationSlots.release();
+                    }
+                });
+            }catch(RuntimeException e){
+                generationSlots.release();
+                handleFailedJob(job, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Scheduled job for dropping finished jobs older than the retention period
+     */
+    @Scheduled(cron = "${study-guide.jobs.cleanup-cron:0 30 4 * * *}")
+    public void removeOldJobs(){
+        int deleted = studyGuideJobsRepository.deleteFinishedJobs(LocalDateTime.now().minusDays(retentionDays));
+        logger.info("Removed {} study guide jobs older than {} days", deleted, retentionDays);
+    }
+
+    /**
+     * Generate a single job's study guide, streaming each pair to the job's subscribers as it's generated
+     * @param job - the claimed job
+     */
+    private void generate(StudyGuideJob job){
+        AdaptiveBulkhead.Permit slot;
+        try {
+            slot = notesService.acquireStudyGuideSlot();
+        }catch(BulkheadFullException e){
+            logger.trace("OpenAI saturated, putting study guide job={} back", job.id());
+            studyGuideJobsRepository.releaseJob(job.id(), LocalDateTime.now().plus(Duration.ofMillis(baseBackoffMs)));
+            return;
+        }
+
+        try(slot) {
+            studyGuideJobService.jobStarted(job.id());
+            StudyGuide studyGuide = notesService.streamStudyGuide(notesService.prepareStudyGuidePrompt(job.notes()),
+                    job.username(), slot,
+                    step -> studyGuideJobService.jobStep(job.id(), step));
+
+            studyGuideJobsRepository.completeJob(job.id(), studyGuideJobService.toJson(studyGuide));
+            studyGuideJobService.jobFinished(new StudyGuideJobResult(job.id(),
+                    StudyGuideJobStatus.COMPLETED.getValue(), null, null));
+            logger.trace("Generated study guide job={} for user={}", job.id(), job.username());
+        }catch(Exception e){
+            handleFailedJob(job, e.getMessage());
+        }
+    }
+
+    /**
+     * Handle a failed generation, retried with exponential backoff until max attempts. The user was charged when the
+     * job was queued, a job failed for good gives the generation back in the same transaction it's failed in
+     * @param job - failed job
+     * @param errorMessage - error to record on the job
+     */
+    private void handleFailedJob(StudyGuideJob job, String errorMessage){
+        short attempts = (short) (job.attemptCount() + 1);
+        logger.error("Study guide generation failed for job={} user={} attempt={} with message={}",
+                job.id(), job.username(), attempts, errorMessage);
+
+        try {
+            if(attempts >= maxAttempts){
+                boolean failed = dslContext.transactionResult(configuration -> {
+                    DSLContext ctx = DSL.using(configuration);
+
+                    if(!studyGuideJobsRepository.failJob(ctx, job.id(),
+                            StudyGuideJobStatus.FAILED.getValue(),
+                            attempts,
+                            errorMessage,
+                            LocalDateTime.now())){
+                        return false; // already failed by whoever took over the job after its lease ran out
+                    }
+                    if(!customUserDetailsService.incrementUserGenerationsLeft(ctx, job.username(), 1)){
+                        logger.warn("No subscription to refund failed study guide job={} for user={}",
+                                job.id(), job.username());
+                    }
+                    return true;
+                });
+                if(!failed){
+                    return;
+                }
+                studyGuideJobService.jobFinished(new StudyGuideJobResult(job.id(),
+                        StudyGuideJobStatus.FAILED.getValue(), null, errorMessage));
+            }else{
+                long backoffMs = baseBackoffMs << (attempts - 1);
+                studyGuideJobsRepository.failJob(job.id(),
+                        StudyGuideJobStatus.PENDING.getValue(),
+                        attempts,
+                        errorMessage,
+                        LocalDateTime.now().plus(Duration.ofMillis(backoffMs)));
+                studyGuideJobService.jobRetrying(job.id());
+            }
+        }catch(RuntimeException e){
+            // the lease runs out and the job is claimed again
+            logger.error("Failed to record failed study guide job={} with message={}", job.id(), e.getMessage());
+        }
+    }
+}
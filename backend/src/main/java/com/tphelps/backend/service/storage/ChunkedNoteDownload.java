@@ -0,0 +1,250 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.cache.ByteRange;
+import com.tphelps.backend.service.pojos.ChunkManifestEntry;
+import com.tphelps.backend.service.pojos.NoteDownload;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.io.UncheckedIOException;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A chunked note reassembled from its chunk blobs as it streams, chunks are opened one at a time in order
+ * and only the chunks overlapping the requested range are fetched at all.
+ *
+ * Sent gzip encoded, every chunk goes out as its own gzip member. Concatenated members are a valid gzip stream,
+ * so compressed chunks are passed through as stored and only plain ones are compressed on the way out
+ */
+public class ChunkedNoteDownload implements NoteDownload {
+
+    private final String fileName;
+    private final List<ChunkManifestEntry> chunks;
+    private final long totalBytes;
+    private final ByteRange range;
+    private final NoteStorage noteStorage;
+    private final String contentEncoding;
+
+    public ChunkedNoteDownload(String fileName, List<ChunkManifestEntry> chunks, String range, NoteStorage noteStorage) {
+        ChunkManifestEntry last = chunks.get(chunks.size() - 1);
+        this.fileName = fileName;
+        this.chunks = chunks;
+        this.totalBytes = last.byteOffset() + last.sizeBytes();
+        this.range = ByteRange.parse(range, totalBytes);
+        this.noteStorage = noteStorage;
+        this.contentEncoding = null;
+    }
+
+    /**
+     * The whole note sent gzip encoded, ranges aren't supported since they'd apply to the encoded bytes
+     * @param fileName - name to serve the note as
+     * @param chunks - the note's chunk manifest
+     * @param noteStorage - where the chunks are stored
+     * @return - the download
+     */
+    public static ChunkedNoteDownload gzip(String fileName, List<ChunkManifestEntry> chunks, NoteStorage noteStorage) {
+        return new ChunkedNoteDownload(fileName, chunks, noteStorage, NoteCompression.GZIP);
+    }
+
+    private ChunkedNoteDownload(String fileName, List<ChunkManifestEntry> chunks, NoteStorage noteStorage, String contentEncoding) {
+        ChunkManifestEntry last = chunks.get(chunks.size() - 1);
+        this.fileName = fileName;
+        this.chunks = chunks;
+        this.totalBytes = last.byteOffset() + last.sizeBytes();
+        this.range = null;
+        this.noteStorage = noteStorage;
+        this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public String fileName() {
+        return fileName;
+    }
+
+    @Override
+    public int status() {
+        return range == null ? 200 : 206;
+    }
+
+    @Override
+    public long contentLength() {
+        if(contentEncoding != null){
+            return -1;
+        }
+        return range == null ? totalBytes : range.length();
+    }
+
+    @Override
+    public String contentRange() {
+        return range == null ? null : range.contentRange();
+    }
+
+    @Override
+    public String contentEncoding() {
+        return contentEncoding;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        // looped directly rather than through openStream so a client that goes away doesn't open the remaining chunks
+        Iterator<ChunkManifestEntry> overlapping = overlappingChunks();
+        while(overlapping.hasNext()){
+            try(InputStream in = openChunk(overlapping.next())){
+                in.transferTo(outputStream);
+            }
+        }
+    }
+
+    @Override
+    public InputStream openStream() {
+        Iterator<ChunkManifestEntry> overlapping = overlappingChunks();
+        return new SequenceInputStream(new Enumeration<>() {
+            @Override
+            public boolean hasMoreElements() {
+                return overlapping.hasNext();
+            }
+
+            @Override
+            public InputStream nextElement() {
+                try {
+                    return openChunk(overlapping.next());
+                }catch(IOException e){
+                    throw new UncheckedIOException(e);
+                }
+            }
+        });
+    }
+
+    private long start(){
+        return range == null ? 0 : range.start();
+    }
+
+    private long end(){
+        return range == null ? totalBytes - 1 : range.end();
+    }
+
+    private Iterator<ChunkManifestEntry> overlappingChunks(){
+        long start = start();
+        long end = end();
+        return chunks.stream()
+                .filter(chunk -> chunk.byteOffset() + chunk.sizeBytes() > start && chunk.byteOffset() <= end)
+                .iterator();
+    }
+
+    /**
+     * Open the wanted slice of one chunk, plain chunks are asked for just the slice, compressed ones are decoded
+     * and skipped up to it
+     * @param chunk - the chunk
+     * @return - stream of the slice, closing it releases the chunk download
+     * @throws IOException
+     */
+    private InputStream openChunk(ChunkManifestEntry chunk) throws IOException {
+        if(contentEncoding != null){
+            return openEncodedChunk(chunk);
+        }
+
+        long skip = Math.max(0, start() - chunk.byteOffset());
+        long take = Math.min(chunk.sizeBytes(), end() - chunk.byteOffset() + 1) - skip;
+        if(chunk.contentEncoding() == null){
+            String chunkRange = skip == 0 && take == chunk.sizeBytes()
+                    ? null
+                    : "bytes=" + skip + "-" + (skip + take - 1);
+            NoteDownload download = noteStorage.open(chunk.location(), fileName, chunkRange);
+            return new ChunkStream(download.openStream(), download, take);
+        }
+
+        NoteDownload download = noteStorage.open(chunk.location(), fileName, null);
+        try {
+            InputStream decoded = new GZIPInputStream(download.openStream(), 8192);
+            decoded.skipNBytes(skip);
+            return new ChunkStream(decoded, download, take);
+        }catch(IOException e){
+            download.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Open a whole chunk as a gzip member, compressed chunks are streamed as stored and plain ones (at most one
+     * chunk in size) are compressed in memory
+     * @param chunk - the chunk
+     * @return - stream of the gzip member, closing it releases the chunk download
+     * @throws IOException
+     */
+    private InputStream openEncodedChunk(ChunkManifestEntry chunk) throws IOException {
+        NoteDownload download = noteStorage.open(chunk.location(), fileName, null);
+        if(NoteCompression.GZIP.equals(chunk.contentEncoding())){
+            return new ChunkStream(download.openStream(), download, Long.MAX_VALUE);
+        }
+
+        try(download; InputStream in = download.openStream()){
+            ByteArrayOutputStream out = new ByteArrayOutputStream(chunk.sizeBytes() / 2 + 64);
+            try(GZIPOutputStream gzip = new GZIPOutputStream(out, 8192)){
+                in.transferTo(gzip);
+            }
+            return new ByteArrayInputStream(out.toByteArray());
+        }
+    }
+
+    @Override
+    public void close() {
+        // every chunk download is closed as the stream moves past it
+    }
+
+    /**
+     * Reads at most the chunk slice and closes the chunk's download along with the stream
+     */
+    private static class ChunkStream extends FilterInputStream {
+
+        private final NoteDownload download;
+        private long remaining;
+
+        ChunkStream(InputStream in, NoteDownload download, long remaining) {
+            super(in);
+            this.download = download;
+            this.remaining = remaining;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if(remaining <= 0){
+                return -1;
+            }
+            int b = super.read();
+            if(b >= 0){
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if(remaining <= 0){
+                return -1;
+            }
+            int read = super.read(b, off, (int) Math.min(len, remaining));
+            if(read > 0){
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                download.close();
+            }
+        }
+    }
+}
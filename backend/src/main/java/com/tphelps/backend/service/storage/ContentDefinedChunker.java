@@ -0,0 +1,108 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.NoteChunk;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Splits note content into chunks at content defined boundaries (FastCDC style gear hash), so an edit only
+ * changes the chunks around it and every other chunk keeps the same hash as in the previous revision.
+ *
+ * The gear table comes from a fixed splitmix64 seed, changing it (or the sizes) only costs dedup against
+ * older revisions, never correctness since chunks are addressed by their sha256
+ */
+@Component
+public class ContentDefinedChunker {
+
+    private static final long[] GEAR = gearTable(0x2545F4914F6CDD1DL);
+
+    private final int minBytes;
+    private final int avgBytes;
+    private final int maxBytes;
+    private final long maskSmall;
+    private final long maskLarge;
+
+    public ContentDefinedChunker(@Value("${notes.chunking.min-bytes:8192}") int minBytes,
+                                 @Value("${notes.chunking.avg-bytes:32768}") int avgBytes,
+                                 @Value("${notes.chunking.max-bytes:131072}") int maxBytes) {
+        if(minBytes <= 0 || minBytes >= avgBytes || avgBytes >= maxBytes){
+            throw new IllegalArgumentException("Chunk sizes must satisfy 0 < min < avg < max");
+        }
+        this.minBytes = minBytes;
+        this.avgBytes = avgBytes;
+        this.maxBytes = maxBytes;
+
+        // normalized chunking, harder to cut before the average size and easier after it
+        int bits = 31 - Integer.numberOfLeadingZeros(avgBytes);
+        this.maskSmall = -1L << (64 - (bits + 1));
+        this.maskLarge = -1L << (64 - (bits - 1));
+    }
+
+    /**
+     * Split content into chunks
+     * @param content - the note bytes
+     * @return - the chunks in order, a single chunk for notes under the min size
+     */
+    public List<NoteChunk> chunk(byte[] content){
+        List<NoteChunk> chunks = new ArrayList<>();
+        int offset = 0;
+        while(offset < content.length){
+            int length = nextChunkLength(content, offset);
+            chunks.add(new NoteChunk(chunks.size(),
+                    offset,
+                    length,
+                    DigestUtils.sha256Hex(Arrays.copyOfRange(content, offset, offset + length))));
+            offset += length;
+        }
+        return chunks;
+    }
+
+    /**
+     * Find the length of the chunk starting at an offset
+     * @param content - the note bytes
+     * @param start - start of the chunk
+     * @return - length of the chunk
+     */
+    private int nextChunkLength(byte[] content, int start){
+        int remaining = content.length - start;
+        if(remaining <= minBytes){
+            return remaining;
+        }
+
+        int limit = Math.min(remaining, maxBytes);
+        int normal = Math.min(limit, avgBytes);
+        long fingerprint = 0;
+        int i = minBytes;
+        for(; i < normal; i++){
+            fingerprint = (fingerprint << 1) + GEAR[content[start + i] & 0xff];
+            if((fingerprint & maskSmall) == 0){
+                return i + 1;
+            }
+        }
+        for(; i < limit; i++){
+            fingerprint = (fingerprint << 1) + GEAR[content[start + i] & 0xff];
+            if((fingerprint & maskLarge) == 0){
+                return i + 1;
+            }
+        }
+        return limit;
+    }
+
+    private static long[] gearTable(long seed){
+        long[] table = new long[256];
+        long state = seed;
+        for(int i = 0; i < table.length; i++){
+            state += 0x9E3779B97F4A7C15L;
+            long z = state;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            table[i] = z ^ (z >>> 31);
+        }
+        return table;
+    }
+}
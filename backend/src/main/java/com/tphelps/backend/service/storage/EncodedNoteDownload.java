@@ -0,0 +1,48 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.NoteDownload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * A compressed blob passed through to a client that accepts its encoding, the bytes are never decoded server side
+ */
+public record EncodedNoteDownload(NoteDownload delegate, String contentEncoding) implements NoteDownload {
+
+    @Override
+    public String fileName() {
+        return delegate.fileName();
+    }
+
+    @Override
+    public int status() {
+        return delegate.status();
+    }
+
+    @Override
+    public long contentLength() {
+        return delegate.contentLength();
+    }
+
+    @Override
+    public String contentRange() {
+        return delegate.contentRange();
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        delegate.writeTo(outputStream);
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return delegate.openStream();
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
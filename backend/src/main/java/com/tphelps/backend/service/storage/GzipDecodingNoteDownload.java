@@ -0,0 +1,51 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.NoteDownload;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * A gzip blob decoded as it streams to a client that doesn't accept gzip, the decoded length isn't known up front
+ */
+public record GzipDecodingNoteDownload(NoteDownload delegate) implements NoteDownload {
+
+    @Override
+    public String fileName() {
+        return delegate.fileName();
+    }
+
+    @Override
+    public int status() {
+        return 200;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    @Override
+    public String contentRange() {
+        return null;
+    }
+
+    @Override
+    public void writeTo(OutputStream outputStream) throws IOException {
+        try(InputStream decoded = openStream()){
+            decoded.transferTo(outputStream);
+        }
+    }
+
+    @Override
+    public InputStream openStream() throws IOException {
+        return new GZIPInputStream(delegate.openStream(), 8192);
+    }
+
+    @Override
+    public void close() throws IOException {
+        delegate.close();
+    }
+}
@@ -0,0 +1,50 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.cache.ByteArrayNoteDownload;
+import com.tphelps.backend.service.cache.ByteRange;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Notes held in memory, nothing survives a restart so this is only for local development and tests
+ */
+@Component
+@ConditionalOnProperty(name = "notes.storage.type", havingValue = "memory")
+public class InMemoryNoteStorage implements NoteStorage {
+
+    private static final String PREFIX = "memory:/";
+
+    private final Map<String, byte[]> notes = new ConcurrentHashMap<>();
+
+    @Override
+    public String location(String key) {
+        return PREFIX + key;
+    }
+
+    @Override
+    public void store(String key, byte[] content) {
+        notes.put(key, content.clone());
+    }
+
+    @Override
+    public NoteDownload open(String location, String fileName, String range) {
+        byte[] content = notes.get(key(location));
+        if(content == null){
+            throw new IllegalStateException("No note stored at location=" + location);
+        }
+        return new ByteArrayNoteDownload(fileName, content, ByteRange.parse(range, content.length));
+    }
+
+    @Override
+    public void delete(String location) {
+        notes.remove(key(location));
+    }
+
+    private String key(String location){
+        return location.startsWith(PREFIX) ? location.substring(PREFIX.length()) : location;
+    }
+}
@@ -0,0 +1,101 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.cache.ByteRange;
+import com.tphelps.backend.service.cache.FileNoteDownload;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Notes stored on a local (or mounted) filesystem, for self hosting and for running without a drive.
+ *
+ * Files are named by the sha256 of their key and sharded two levels deep (ab/cd/abcd...) so no single directory
+ * grows past a few thousand entries. Writes go to a temp file and are atomically moved into place so readers
+ * never see a partial note, with notes.storage.local.fsync=always the data is forced to disk before the move
+ */
+@Component
+@ConditionalOnProperty(name = "notes.storage.type", havingValue = "local")
+public class LocalFileNoteStorage implements NoteStorage {
+
+    private static final String PREFIX = "local:/";
+    private static final Logger logger = LoggerFactory.getLogger(LocalFileNoteStorage.class);
+
+    private final Path baseDir;
+    private final boolean fsync;
+
+    public LocalFileNoteStorage(@Value("${notes.storage.local.dir:${java.io.tmpdir}/ai-notes}") String baseDir,
+                                @Value("${notes.storage.local.fsync:always}") String fsync) throws IOException {
+        this.baseDir = Path.of(baseDir);
+        this.fsync = "always".equalsIgnoreCase(fsync);
+        Files.createDirectories(this.baseDir);
+        logger.info("Storing notes on the local filesystem in dir={} fsync={}", this.baseDir, fsync);
+    }
+
+    @Override
+    public String location(String key) {
+        return PREFIX + key;
+    }
+
+    @Override
+    public void store(String key, byte[] content) throws IOException {
+        Path target = filePath(key);
+        Files.createDirectories(target.getParent());
+
+        Path tempFile = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try(FileChannel channel = FileChannel.open(tempFile, StandardOpenOption.WRITE)){
+            ByteBuffer buffer = ByteBuffer.wrap(content);
+            while(buffer.hasRemaining()){
+                channel.write(buffer);
+            }
+            if(fsync){
+                channel.force(true);
+            }
+            Files.move(tempFile, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }catch(IOException e){
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    @Override
+    public NoteDownload open(String location, String fileName, String range) throws IOException {
+        try {
+            FileChannel channel = FileChannel.open(filePath(key(location)), StandardOpenOption.READ);
+            return new FileNoteDownload(fileName, channel, ByteRange.parse(range, channel.size()));
+        }catch(NoSuchFileException e){
+            throw new IllegalStateException("No note stored at location=" + location, e);
+        }
+    }
+
+    @Override
+    public void delete(String location) throws IOException {
+        Files.deleteIfExists(filePath(key(location)));
+    }
+
+    private String key(String location){
+        return location.startsWith(PREFIX) ? location.substring(PREFIX.length()) : location;
+    }
+
+    /**
+     * Path of the file for a key, sharded by the first two bytes of the key hash
+     * @param key - key of the note
+     * @return - path of the file
+     */
+    private Path filePath(String key){
+        String hash = DigestUtils.sha256Hex(key);
+        return baseDir.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+}
@@ -0,0 +1,81 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.repository.NoteBlobRepository;
+import com.tphelps.backend.repository.NotesRepository;
+import com.tphelps.backend.service.HttpRequestService;
+import com.tphelps.backend.service.pojos.UnreferencedBlob;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * V21 moved notes that were still waiting on their upload onto blobs, but a migration can't know the storage
+ * backend so it wrote rclone locations for all of them. On startup the blobs that are still pending at such a
+ * location are moved to where the configured backend stores their key, together with the notes linking to them,
+ * so the uploader and the release trigger find them again. With the rclone backend there is nothing to move
+ */
+@Component
+public class NoteBlobLocationBackfill implements ApplicationRunner {
+
+    private static final String LEGACY_PREFIX = HttpRequestService.REMOTE + "/";
+    private static final String LEGACY_KEY_PREFIX = "ai-notes/";
+    private static final int BATCH_SIZE = 500;
+
+    private static final Logger logger = LoggerFactory.getLogger(NoteBlobLocationBackfill.class);
+
+    private final NoteBlobRepository noteBlobRepository;
+    private final NotesRepository notesRepository;
+    private final NoteStorage noteStorage;
+    private final DSLContext dslContext;
+
+    public NoteBlobLocationBackfill(NoteBlobRepository noteBlobRepository,
+                                    NotesRepository notesRepository,
+                                    NoteStorage noteStorage,
+                                    DSLContext dslContext) {
+        this.noteBlobRepository = noteBlobRepository;
+        this.notesRepository = notesRepository;
+        this.noteStorage = noteStorage;
+        this.dslContext = dslContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if(noteStorage.location(LEGACY_KEY_PREFIX).equals(LEGACY_PREFIX + LEGACY_KEY_PREFIX)){
+            return;
+        }
+
+        int moved = 0;
+        List<UnreferencedBlob> blobs;
+        do {
+            blobs = noteBlobRepository.fetchPendingBlobsAt(LEGACY_PREFIX + LEGACY_KEY_PREFIX, BATCH_SIZE);
+            List<UnreferencedBlob> batch = blobs;
+            int batchMoved = dslContext.transactionResult(configuration -> {
+                DSLContext ctx = DSL.using(configuration);
+
+                int count = 0;
+                for(UnreferencedBlob blob : batch){
+                    String to = noteStorage.location(blob.location().substring(LEGACY_PREFIX.length()));
+                    if(noteBlobRepository.relocatePendingBlob(ctx, blob.username(), blob.contentHash(), blob.location(), to)){
+                        notesRepository.relocateBlobNotes(ctx, blob.username(), blob.contentHash(), blob.location(), to);
+                        count++;
+                    }
+                }
+                return count;
+            });
+            moved += batchMoved;
+            if(batchMoved == 0){
+                break; // nothing in the batch could be moved, don't spin on it
+            }
+        } while(blobs.size() == BATCH_SIZE);
+
+        if(moved > 0){
+            logger.info("Moved {} pending note blobs from rclone locations to the configured storage backend", moved);
+        }
+    }
+}
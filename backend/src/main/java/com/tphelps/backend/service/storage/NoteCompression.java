@@ -0,0 +1,130 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.ChunkManifestEntry;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional compression of note blobs in storage, notes.storage.compression.codec=gzip turns it on.
+ *
+ * The encoding a blob was stored with is recorded on the blob and its notes, so changing the codec only
+ * affects new blobs and old ones keep being served the way they were written
+ */
+@Component
+public class NoteCompression {
+
+    public static final String GZIP = "gzip";
+
+    @Value("${notes.storage.compression.codec:none}")
+    private String codec;
+
+    @Value("${notes.storage.compression.level:6}")
+    private int level;
+
+    @Value("${notes.storage.compression.min-bytes:4096}")
+    private int minBytes;
+
+    /**
+     * The encoding to store a new blob with, small notes aren't worth the cpu on either end
+     * @param sizeBytes - size of the note text
+     * @return - the encoding, null to store the text as is
+     */
+    public String encodingFor(long sizeBytes){
+        return GZIP.equalsIgnoreCase(codec) && sizeBytes >= minBytes ? GZIP : null;
+    }
+
+    /**
+     * Encode note text for storage
+     * @param content - the note text bytes
+     * @param encoding - encoding recorded for the blob, null for none
+     * @return - the bytes to store
+     * @throws IOException
+     */
+    public byte[] encode(byte[] content, String encoding) throws IOException {
+        if(encoding == null){
+            return content;
+        }
+        if(!GZIP.equals(encoding)){
+            throw new IllegalArgumentException("Unsupported content encoding=" + encoding);
+        }
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream(content.length / 3 + 64);
+        try(GZIPOutputStream gzip = new GZIPOutputStream(out, 8192) {
+            {
+                def.setLevel(level);
+            }
+        }){
+            gzip.write(content);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Serve a stored blob to a client, compressed blobs go out as is with a Content-Encoding when the client
+     * accepts it, and are decoded as they stream otherwise
+     * @param stored - the download opened from storage
+     * @param encoding - encoding the blob was stored with, null for none
+     * @param acceptEncoding - the client's Accept-Encoding header, may be null
+     * @return - the download to write to the client
+     */
+    public NoteDownload forClient(NoteDownload stored, String encoding, String acceptEncoding){
+        if(encoding == null){
+            return stored;
+        }
+        if(accepts(acceptEncoding, encoding)){
+            return new EncodedNoteDownload(stored, encoding);
+        }
+        return new GzipDecodingNoteDownload(stored);
+    }
+
+    /**
+     * Serve a chunked note to a client. A client that accepts gzip gets the whole note gzip encoded, one member per
+     * chunk, as long as some chunk is stored compressed. Ranges and other clients get the decoded note
+     * @param fileName - name to serve the note as
+     * @param chunks - the note's chunk manifest
+     * @param range - optional HTTP Range header
+     * @param acceptEncoding - the client's Accept-Encoding header, may be null
+     * @param noteStorage - where the chunks are stored
+     * @return - the download to write to the client
+     */
+    public NoteDownload forClient(String fileName, List<ChunkManifestEntry> chunks, String range, String acceptEncoding,
+                                  NoteStorage noteStorage){
+        boolean compressed = chunks.stream().anyMatch(chunk -> GZIP.equals(chunk.contentEncoding()));
+        if(compressed && (range == null || range.isEmpty()) && accepts(acceptEncoding, GZIP)){
+            return ChunkedNoteDownload.gzip(fileName, chunks, noteStorage);
+        }
+        return new ChunkedNoteDownload(fileName, chunks, range, noteStorage);
+    }
+
+    /**
+     * Check an Accept-Encoding header for an encoding, an explicit q=0 refuses it
+     * @param acceptEncoding - the header, may be null
+     * @param encoding - encoding to look for
+     * @return - true if the client takes the encoding
+     */
+    static boolean accepts(String acceptEncoding, String encoding){
+        if(acceptEncoding == null){
+            return false;
+        }
+        for(String part : acceptEncoding.split(",")){
+            String[] params = part.trim().split(";");
+            if(!params[0].trim().equalsIgnoreCase(encoding)){
+                continue;
+            }
+            for(int i = 1; i < params.length; i++){
+                String param = params[i].trim().replace(" ", "");
+                if(param.matches("q=0(\\.0*)?")){
+                    return false;
+                }
+            }
+            return true;
+        }
+        return false;
+    }
+}
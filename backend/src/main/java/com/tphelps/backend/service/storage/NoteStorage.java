@@ -0,0 +1,74 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.NoteDownload;
+
+import java.io.IOException;
+
+/**
+ * Where note files live once they've been uploaded.
+ *
+ * Notes are addressed by a key like ai-notes/username/blobs/sha256.txt, the backend turns that into a location
+ * which is what gets saved as the note's link in the database. The backend is picked per deployment with notes.storage.type
+ */
+public interface NoteStorage {
+
+    /**
+     * Link prefix of notes stored as chunks, their content is found through the note_chunks manifest
+     * rather than at a single location
+     */
+    String MANIFEST_PREFIX = "chunks:/";
+
+    /**
+     * The location a key is stored under, known before the note is uploaded so it can be saved with the note
+     * @param key - key of the note
+     * @return - the location for the key
+     */
+    String location(String key);
+
+    /**
+     * Store the content of a note under a key, replacing anything already there
+     * @param key - key of the note
+     * @param content - the note bytes
+     * @throws IOException
+     */
+    void store(String key, byte[] content) throws IOException;
+
+    /**
+     * Open a stored note for download
+     * @param location - the location returned by {@link #location(String)}
+     * @param fileName - file name to serve the note as
+     * @param range - optional HTTP Range header for partial downloads
+     * @return - the open download, caller must close it
+     * @throws IOException
+     */
+    NoteDownload open(String location, String fileName, String range) throws IOException;
+
+    /**
+     * Remove a stored note, missing notes are not an error
+     * @param location - the location returned by {@link #location(String)}
+     * @throws IOException
+     */
+    void delete(String location) throws IOException;
+
+    /**
+     * Link saved for a chunked note
+     * @param username - owner of the note
+     * @param contentHash - sha256 of the whole note content
+     * @return - the link
+     */
+    static String manifestLocation(String username, String contentHash){
+        return MANIFEST_PREFIX + "ai-notes/" + username + "/" + contentHash;
+    }
+
+    /**
+     * Key for a users note content, notes are content addressed so identical bodies share one stored copy
+     * @param username - owner of the note
+     * @param contentHash - sha256 of the note content
+     * @param contentEncoding - encoding the content is stored with, null for plain text
+     * @return - the key
+     */
+    static String blobKey(String username, String contentHash, String contentEncoding){
+        String extension = NoteCompression.GZIP.equals(contentEncoding) ? ".txt.gz" : ".txt";
+        return "ai-notes/" + username + "/blobs/" + contentHash + extension;
+    }
+}
@@ -0,0 +1,272 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.HttpRequestService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Owns the rclone rcd process the rclone storage backend talks to.
+ *
+ * On startup a daemon already answering on the RC address is reused, otherwise one is started with the
+ * performance flags from config. Startup blocks until the RC endpoint answers (bounded exponential backoff)
+ * so the first request after boot doesn't hit a daemon that isn't listening yet. A supervisor check restarts
+ * a daemon we started if it exits, or if it misses several pings in a row (one slow ping during a big transfer
+ * isn't worth killing it over), and the state is exposed as an actuator health indicator
+ */
+@Component
+@ConditionalOnProperty(name = "notes.storage.type", havingValue = "rclone", matchIfMissing = true)
+public class RcloneDaemon implements SmartLifecycle, HealthIndicator {
+
+    private final HttpRequestService httpRequestService;
+
+    @Value("${rclone.rc.url:http://127.0.0.1:5572}")
+    private String rcUrl;
+
+    @Value("${rclone.daemon.managed:true}")
+    private boolean managed;
+
+    @Value("${rclone.daemon.binary:rclone}")
+    private String binary;
+
+    @Value("${rclone.daemon.log-file:/tmp/rclone.log}")
+    private String logFile;
+
+    @Value("${rclone.daemon.transfers:8}")
+    private int transfers;
+
+    @Value("${rclone.daemon.buffer-size:16M}")
+    private String bufferSize;
+
+    @Value("${rclone.daemon.drive-chunk-size:32M}")
+    private String driveChunkSize;
+
+    @Value("${rclone.daemon.vfs-cache-mode:}")
+    private String vfsCacheMode;
+
+    @Value("${rclone.daemon.extra-args:}")
+    private String[] extraArgs;
+
+    @Value("${rclone.daemon.startup-timeout-ms:30000}")
+    private long startupTimeoutMs;
+
+    @Value("${rclone.daemon.max-backoff-ms:2000}")
+    private long maxBackoffMs;
+
+    @Value("${rclone.daemon.ping-timeout-ms:1000}")
+    private int pingTimeoutMs;
+
+    @Value("${rclone.daemon.max-missed-pings:3}")
+    private int maxMissedPings;
+
+    private volatile Process process;
+    private volatile boolean running;
+    private volatile boolean healthy;
+    private volatile boolean reused;
+    private volatile int restarts;
+    private volatile int missedPings;
+    private volatile Instant lastCheck;
+    private volatile String lastError;
+
+    private static final Logger logger = LoggerFactory.getLogger(RcloneDaemon.class);
+
+    public RcloneDaemon(HttpRequestService httpRequestService) {
+        this.httpRequestService = httpRequestService;
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        if(httpRequestService.rcloneHttpRequestNoop(pingTimeoutMs)){
+            reused = true;
+            healthy = true;
+            lastCheck = Instant.now();
+            logger.info("Reusing rclone daemon already running at url={}", rcUrl);
+            return;
+        }
+        if(!managed){
+            logger.warn("No rclone daemon answering at url={} and rclone.daemon.managed=false", rcUrl);
+            return;
+        }
+
+        launch();
+        healthy = awaitReady();
+        if(!healthy){
+            logger.error("Rclone daemon not ready after {}ms, saves will retry until it is", startupTimeoutMs);
+        }
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Process current = process;
+        if(current == null){
+            return;
+        }
+        current.destroy();
+        try {
+            if(!current.waitFor(5, TimeUnit.SECONDS)){
+                current.destroyForcibly();
+            }
+        }catch(InterruptedException e){
+            Thread.currentThread().interrupt();
+            current.destroyForcibly();
+        }
+        logger.info("Rclone daemon stopped");
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Supervisor check, pings the RC endpoint and starts a fresh daemon if the current one exited, or if it has
+     * missed rclone.daemon.max-missed-pings checks in a row, including a reused daemon that went away
+     */
+    @Scheduled(initialDelayString = "${rclone.daemon.check-interval-ms:5000}", fixedDelayString = "${rclone.daemon.check-interval-ms:5000}")
+    public void supervise(){
+        if(!running){
+            return;
+        }
+
+        boolean answered = httpRequestService.rcloneHttpRequestNoop(pingTimeoutMs);
+        lastCheck = Instant.now();
+        if(answered){
+            missedPings = 0;
+            healthy = true;
+            return;
+        }
+
+        Process current = process;
+        boolean exited = current != null && !current.isAlive();
+        missedPings++;
+        if(!exited && missedPings < maxMissedPings){
+            logger.warn("Rclone daemon at url={} missed a ping, missedPings={} of {}", rcUrl, missedPings, maxMissedPings);
+            return;
+        }
+
+        healthy = false;
+        if(!managed){
+            lastError = "RC endpoint not answering";
+            logger.error("Rclone daemon at url={} is not answering", rcUrl);
+            return;
+        }
+        if(current != null && current.isAlive()){
+            // alive but hasn't answered for several checks, kill it so it gets replaced
+            lastError = "RC endpoint not answering, restarting daemon";
+            current.destroyForcibly();
+        }else{
+            lastError = current == null ? "Daemon stopped answering" : "Daemon exited with code=" + current.exitValue();
+        }
+
+        restarts++;
+        missedPings = 0;
+        logger.error("Restarting rclone daemon, restarts={} reason={}", restarts, lastError);
+        launch();
+        healthy = awaitReady();
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = healthy ? Health.up() : Health.down();
+        Process current = process;
+        builder.withDetail("url", rcUrl)
+                .withDetail("reused", reused)
+                .withDetail("restarts", restarts)
+                .withDetail("missedPings", missedPings);
+        if(current != null){
+            builder.withDetail("pid", current.pid());
+        }
+        if(lastCheck != null){
+            builder.withDetail("lastCheck", lastCheck.toString());
+        }
+        if(!healthy && lastError != null){
+            builder.withDetail("error", lastError);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Start the rcd process with the configured flags
+     */
+    private void launch(){
+        try {
+            ProcessBuilder processBuilder = new ProcessBuilder(command());
+            processBuilder.redirectOutput(ProcessBuilder.Redirect.appendTo(new File(logFile)));
+            processBuilder.redirectErrorStream(true);
+            process = processBuilder.start();
+            logger.info("Rclone daemon started with pid={}", process.pid());
+        }catch(IOException e){
+            lastError = e.getMessage();
+            logger.error("Failed to start rclone daemon: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Wait for the RC endpoint to answer, backing off exponentially between pings up to the startup timeout
+     * @return - true once rclone answers, false if the timeout passed or the process died
+     */
+    private boolean awaitReady(){
+        long deadline = System.currentTimeMillis() + startupTimeoutMs;
+        long backoffMs = 50;
+        while(System.currentTimeMillis() < deadline){
+            Process current = process;
+            if(current == null || !current.isAlive()){
+                lastError = "Daemon exited during startup";
+                return false;
+            }
+            if(httpRequestService.rcloneHttpRequestNoop(pingTimeoutMs)){
+                lastCheck = Instant.now();
+                logger.info("Rclone daemon ready at url={}", rcUrl);
+                return true;
+            }
+            try {
+                Thread.sleep(backoffMs);
+            }catch(InterruptedException e){
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            backoffMs = Math.min(backoffMs * 2, maxBackoffMs);
+        }
+        lastError = "Daemon not ready after " + startupTimeoutMs + "ms";
+        return false;
+    }
+
+    private List<String> command(){
+        URI uri = URI.create(rcUrl);
+        List<String> command = new ArrayList<>(List.of(
+                binary, "rcd",
+                "--rc-no-auth",
+                "--rc-serve", // serves remote objects over http so downloads can be streamed
+                "--rc-addr", uri.getHost() + ":" + uri.getPort(),
+                "--transfers", String.valueOf(transfers),
+                "--buffer-size", bufferSize,
+                "--drive-chunk-size", driveChunkSize
+        ));
+        if(!vfsCacheMode.isBlank()){
+            command.add("--vfs-cache-mode");
+            command.add(vfsCacheMode);
+        }
+        Arrays.stream(extraArgs)
+                .map(String::trim)
+                .filter(arg -> !arg.isEmpty())
+                .forEach(command::add);
+        return command;
+    }
+}
@@ -0,0 +1,53 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.HttpRequestService;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import org.apache.http.entity.ContentType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Notes stored in the Google Drive through the local rclone daemon, this is the default backend
+ */
+@Component
+@ConditionalOnProperty(name = "notes.storage.type", havingValue = "rclone", matchIfMissing = true)
+public class RcloneNoteStorage implements NoteStorage {
+
+    private static final String PREFIX = HttpRequestService.REMOTE + "/";
+
+    private final HttpRequestService httpRequestService;
+
+    public RcloneNoteStorage(HttpRequestService httpRequestService) {
+        this.httpRequestService = httpRequestService;
+    }
+
+    @Override
+    public String location(String key) {
+        return PREFIX + key;
+    }
+
+    @Override
+    public void store(String key, byte[] content) {
+        int slash = key.lastIndexOf("/");
+        httpRequestService.rcloneHttpRequestPost(key.substring(0, slash),
+                key.substring(slash + 1),
+                content,
+                ContentType.TEXT_PLAIN.withCharset(StandardCharsets.UTF_8));
+    }
+
+    @Override
+    public NoteDownload open(String location, String fileName, String range) {
+        return httpRequestService.rcloneHttpRequestGetStream(path(location), fileName, range);
+    }
+
+    @Override
+    public void delete(String location) {
+        httpRequestService.rcloneHttpRequestDelete(path(location));
+    }
+
+    private String path(String location){
+        return location.startsWith(PREFIX) ? location.substring(PREFIX.length()) : location;
+    }
+}
@@ -0,0 +1,108 @@
+package com.tphelps.backend.service.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * Splits note text into chunks that each fit a token budget, so a large note can be sent to OpenAI as several
+ * smaller prompts. Chunks break on paragraph boundaries, a paragraph too large on its own is broken on lines, then
+ * sentences, then as a last resort at the budget itself
+ */
+public class NoteSplitter {
+
+    private static final Pattern[] SEPARATORS = {
+            Pattern.compile("\\n\\s*\\n"),   // paragraphs
+            Pattern.compile("\\n"),          // lines
+            Pattern.compile("(?<=[.!?])\\s+") // sentences
+    };
+    private static final String[] JOINERS = {"\n\n", "\n", " "};
+
+    /**
+     * Split notes into chunks of at most maxTokens estimated tokens
+     * @param notes - the note text
+     * @param maxTokens - token budget per chunk
+     * @return - the chunks in document order, a single chunk if the notes already fit
+     */
+    public static List<String> split(String notes, int maxTokens) {
+        if(maxTokens < 1){
+            throw new IllegalArgumentException("maxTokens must be positive");
+        }
+        List<String> chunks = new ArrayList<>();
+        split(notes.strip(), maxTokens, 0, chunks);
+        return chunks;
+    }
+
+    /**
+     * Split text on the separator for this level, packing the pieces greedily into chunks and sending any piece that
+     * doesn't fit on its own down to the next level
+     * @param text - text to split
+     * @param maxTokens - token budget per chunk
+     * @param level - index into SEPARATORS
+     * @param chunks - chunks are added here
+     */
+    private static void split(String text, int maxTokens, int level, List<String> chunks) {
+        if(TextUtils.estimateTokens(text) <= maxTokens){
+            if(!text.isBlank()){
+                chunks.add(text);
+            }
+            return;
+        }
+        if(level == SEPARATORS.length){
+            hardSplit(text, maxTokens, chunks);
+            return;
+        }
+
+        StringBuilder current = new StringBuilder();
+        int currentTokens = 0;
+        for(String piece : SEPARATORS[level].split(text)){
+            piece = piece.strip();
+            if(piece.isEmpty()){
+                continue;
+            }
+            int pieceTokens = TextUtils.estimateTokens(piece);
+            if(pieceTokens > maxTokens){
+                flush(current, chunks);
+                currentTokens = 0;
+                split(piece, maxTokens, level + 1, chunks);
+                continue;
+            }
+
+            // summing the estimates never undercounts the joined text, so a chunk stays within the budget
+            int joinerTokens = current.isEmpty() ? 0 : TextUtils.estimateTokens(JOINERS[level]);
+            if(currentTokens + joinerTokens + pieceTokens > maxTokens){
+                flush(current, chunks);
+                currentTokens = 0;
+                joinerTokens = 0;
+            }
+            if(!current.isEmpty()){
+                current.append(JOINERS[level]);
+            }
+            current.append(piece);
+            currentTokens += joinerTokens + pieceTokens;
+        }
+        flush(current, chunks);
+    }
+
+    /**
+     * Cut text with no usable separators into budget sized pieces
+     * @param text - text to cut
+     * @param maxTokens - token budget per chunk
+     * @param chunks - chunks are added here
+     */
+    private static void hardSplit(String text, int maxTokens, List<String> chunks) {
+        String rest = text;
+        while(!rest.isEmpty()){
+            int end = TextUtils.tokenBudgetEnd(rest, maxTokens);
+            chunks.add(rest.substring(0, end));
+            rest = rest.substring(end);
+        }
+    }
+
+    private static void flush(StringBuilder current, List<String> chunks) {
+        if(!current.isEmpty()){
+            chunks.add(current.toString());
+            current.setLength(0);
+        }
+    }
+}
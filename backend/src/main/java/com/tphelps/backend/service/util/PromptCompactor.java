@@ -0,0 +1,94 @@
+package com.tphelps.backend.service.util;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Shrinks note text before it goes into a prompt. Whitespace is normalized, a line repeated straight after itself
+ * and a paragraph repeated anywhere later are dropped, and the result can be cut to a token budget. None of it
+ * changes what a study guide would be generated from, it only stops paying for tokens that carry nothing
+ */
+public class PromptCompactor {
+
+    private static final Pattern LINE_BREAKS = Pattern.compile("\\r\\n?");
+    private static final Pattern INVISIBLE = Pattern.compile("[\\u200B\\u200C\\u200D\\uFEFF]");
+    private static final Pattern HORIZONTAL_SPACE = Pattern.compile("[\\h\\x0B\\f]+");
+    private static final Pattern PARAGRAPHS = Pattern.compile("\\n{2,}");
+
+    /**
+     * Normalize whitespace and drop repeated lines and paragraphs
+     * @param notes - the note text
+     * @return - the compacted text, paragraphs separated by one blank line
+     */
+    public static String compact(String notes) {
+        if(notes == null || notes.isEmpty()){
+            return "";
+        }
+        String text = INVISIBLE.matcher(LINE_BREAKS.matcher(notes).replaceAll("\n")).replaceAll("");
+
+        // collapse spacing inside lines, drop blank and immediately repeated lines
+        StringBuilder lines = new StringBuilder(text.length());
+        String previous = null;
+        for(String line : text.split("\n", -1)){
+            line = HORIZONTAL_SPACE.matcher(line).replaceAll(" ").strip();
+            if(line.isEmpty()){
+                if(previous != null && !previous.isEmpty()){
+                    lines.append('\n');
+                }
+                previous = line;
+                continue;
+            }
+            if(line.equals(previous)){
+                continue;
+            }
+            lines.append(line).append('\n');
+            previous = line;
+        }
+
+        // a paragraph pasted twice, or a header repeated on every page, is only sent once
+        List<String> kept = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for(String paragraph : PARAGRAPHS.split(lines)){
+            paragraph = paragraph.strip();
+            if(!paragraph.isEmpty() && seen.add(paragraph.toLowerCase(Locale.ROOT))){
+                kept.add(paragraph);
+            }
+        }
+        return String.join("\n\n", kept);
+    }
+
+    /**
+     * Cut compacted text to a token budget, whole paragraphs are kept from the start while they fit. If the first
+     * paragraph alone is over the budget it is cut at the budget
+     * @param notes - compacted text from {@link #compact(String)}
+     * @param maxTokens - token budget, estimated with {@link TextUtils#estimateTokens(String)}
+     * @return - the text within the budget, the same text if it already fits
+     */
+    public static String trimToBudget(String notes, int maxTokens) {
+        if(maxTokens < 1){
+            throw new IllegalArgumentException("maxTokens must be positive");
+        }
+        if(TextUtils.estimateTokens(notes) <= maxTokens){
+            return notes;
+        }
+
+        StringBuilder trimmed = new StringBuilder();
+        int tokens = 0;
+        for(String paragraph : PARAGRAPHS.split(notes)){
+            String next = trimmed.isEmpty() ? paragraph : "\n\n" + paragraph;
+            tokens += TextUtils.estimateTokens(next);
+            if(tokens > maxTokens){
+                break;
+            }
+            trimmed.append(next);
+        }
+        if(trimmed.isEmpty()){
+            return notes.substring(0, TextUtils.tokenBudgetEnd(notes, maxTokens)).strip();
+        }
+        return trimmed.toString();
+    }
+}
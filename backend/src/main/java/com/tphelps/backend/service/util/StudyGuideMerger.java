@@ -0,0 +1,77 @@
+package com.tphelps.backend.service.util;
+
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Merges the partial study guides generated for the chunks of one note into a single guide. Chunks overlap in
+ * topic so the model tends to ask the same question more than once, a question is dropped when it repeats one already
+ * kept word for word or its keywords mostly match one (same token filtering the note graphing uses).
+ *
+ * Not thread safe, only merge from one thread
+ */
+public class StudyGuideMerger {
+
+    // jaccard similarity of question keywords at or above which two questions count as the same question
+    private static final double DUPLICATE_SIMILARITY = 0.8;
+
+    private final List<Steps> questions = new ArrayList<>();
+    private final List<Set<String>> questionTokens = new ArrayList<>();
+    private final Set<String> questionTexts = new HashSet<>();
+
+    /**
+     * Add the questions of a partial guide
+     * @param partial - questions generated for one chunk
+     * @return - the questions that were kept, in order
+     */
+    public List<Steps> add(List<Steps> partial){
+        List<Steps> kept = new ArrayList<>();
+        for(Steps step : partial){
+            if(step == null || step.question() == null || step.question().isBlank()){
+                continue;
+            }
+            String text = step.question().strip().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+            Set<String> tokens = TextUtils.tokenizeAndFilter(step.question());
+            if(!questionTexts.add(text) || isDuplicate(tokens)){
+                continue;
+            }
+            questions.add(step);
+            questionTokens.add(tokens);
+            kept.add(step);
+        }
+        return kept;
+    }
+
+    /**
+     * @param title - title of the merged guide
+     * @return - the merged guide of every question kept so far
+     */
+    public StudyGuide result(String title){
+        return new StudyGuide(title, List.copyOf(questions));
+    }
+
+    private boolean isDuplicate(Set<String> tokens){
+        for(Set<String> kept : questionTokens){
+            if(jaccard(tokens, kept) >= DUPLICATE_SIMILARITY){
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double jaccard(Set<String> a, Set<String> b){
+        // a question of only stop words can't be compared by keywords, only an exact match counts for it
+        if(a.isEmpty() || b.isEmpty()){
+            return 0.0;
+        }
+        Set<String> intersection = new HashSet<>(a);
+        intersection.retainAll(b);
+        return (double) intersection.size() / (a.size() + b.size() - intersection.size());
+    }
+}
@@ -0,0 +1,135 @@
+package com.tphelps.backend.service.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Incremental parser for a StudyGuide json document arriving in pieces from a streamed completion.
+ *
+ * Built on Jackson's non-blocking parser so each delta is tokenized as it comes in, and a question/answer pair
+ * is handed back as soon as its object closes instead of after the whole document
+ */
+public class StudyGuideStreamParser {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final List<Steps> questions = new ArrayList<>();
+
+    private int depth;
+    private String rootField;
+    private boolean inQuestions;
+    private String stepField;
+    private String question;
+    private String answer;
+    private String title;
+
+    public StudyGuideStreamParser() {
+        try {
+            this.parser = JSON_FACTORY.createNonBlockingByteArrayParser();
+        }catch(IOException e){
+            throw new IllegalStateException(e);
+        }
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    /**
+     * Feed the next piece of the document
+     * @param delta - the next piece of text from the model
+     * @return - the question/answer pairs completed by this piece, usually empty
+     * @throws IOException - if the document isn't valid json
+     */
+    public List<Steps> feed(String delta) throws IOException {
+        byte[] bytes = delta.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+
+        List<Steps> completed = new ArrayList<>();
+        JsonToken token;
+        while((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE){
+            handle(token, completed);
+        }
+        return completed;
+    }
+
+    /**
+     * Finish the document once the stream has ended
+     * @return - the full study guide
+     * @throws IOException - if the document was cut off
+     */
+    public StudyGuide finish() throws IOException {
+        feeder.endOfInput();
+        JsonToken token;
+        List<Steps> ignored = new ArrayList<>();
+        while((token = parser.nextToken()) != null){
+            handle(token, ignored);
+        }
+        if(depth != 0){
+            throw new IOException("Study guide json ended before the document was complete");
+        }
+        parser.close();
+        return new StudyGuide(title, List.copyOf(questions));
+    }
+
+    private void handle(JsonToken token, List<Steps> completed) throws IOException {
+        switch(token){
+            case START_OBJECT -> {
+                depth++;
+                if(inQuestions && depth == 3){
+                    question = null;
+                    answer = null;
+                }
+            }
+            case END_OBJECT -> {
+                if(inQuestions && depth == 3){
+                    Steps step = new Steps(question, answer);
+                    questions.add(step);
+                    completed.add(step);
+                }
+                depth--;
+            }
+            case START_ARRAY -> {
+                depth++;
+                if(depth == 2 && "questions".equals(rootField)){
+                    inQuestions = true;
+                }
+            }
+            case END_ARRAY -> {
+                if(depth == 2){
+                    inQuestions = false;
+                }
+                depth--;
+            }
+            case FIELD_NAME -> {
+                if(depth == 1){
+                    rootField = parser.currentName();
+                }else if(inQuestions && depth == 3){
+                    stepField = parser.currentName();
+                }
+            }
+            case VALUE_STRING -> {
+                if(depth == 1 && "title".equals(rootField)){
+                    title = parser.getText();
+                }else if(inQuestions && depth == 3){
+                    if("question".equals(stepField)){
+                        question = parser.getText();
+                    }else if("answer".equals(stepField)){
+                        answer = parser.getText();
+                    }
+                }
+            }
+            default -> {
+                // numbers, booleans and nulls aren't part of the study guide schema
+            }
+        }
+    }
+}
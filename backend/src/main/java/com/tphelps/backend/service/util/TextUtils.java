@@ -39,5 +39,64 @@ public class TextUtils {
                 .filter(str -> !NLTK_STOPWORDS.contains(str))
                 .collect(Collectors.toSet());
     }
+
+    /**
+     * Rough token count for OpenAI models, about 4 characters per token for English and other alphabetic text but
+     * about one token per character for CJK text, which 4 characters a token would undercount fourfold. Good enough
+     * for budgeting prompts without pulling in a tokenizer
+     * @param input - text to estimate
+     * @return - estimated number of tokens
+     */
+    public static int estimateTokens(String input){
+        if(input == null || input.isEmpty()){
+            return 0;
+        }
+        int dense = 0;
+        int other = 0;
+        for(int i = 0; i < input.length(); ){
+            int codePoint = input.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if(isDense(codePoint)){
+                dense++;
+            }else{
+                other++;
+            }
+        }
+        return dense + (other + 3) / 4;
+    }
+
+    /**
+     * Longest prefix of the text that fits a token budget as counted by {@link #estimateTokens(String)}, never cuts a
+     * surrogate pair
+     * @param input - text to cut
+     * @param maxTokens - token budget, at least 1
+     * @return - end index of the prefix, at least one character when the text isn't empty
+     */
+    public static int tokenBudgetEnd(String input, int maxTokens){
+        int dense = 0;
+        int other = 0;
+        int end = 0;
+        while(end < input.length()){
+            int codePoint = input.codePointAt(end);
+            if(isDense(codePoint)){
+                dense++;
+            }else{
+                other++;
+            }
+            if(dense + (other + 3) / 4 > maxTokens){
+                break;
+            }
+            end += Character.charCount(codePoint);
+        }
+        return end;
+    }
+
+    private static boolean isDense(int codePoint){
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
     }
+}
 
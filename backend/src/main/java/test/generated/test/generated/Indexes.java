@@ -9,7 +9,13 @@ import org.jooq.OrderField;
 import org.jooq.impl.DSL;
 import org.jooq.impl.Internal;
 
+import test.generated.tables.Jobs;
+import test.generated.tables.JobsHistory;
+import test.generated.tables.NoteBlobs;
 import test.generated.tables.NoteLinks;
+import test.generated.tables.StudyGuideCache;
+import test.generated.tables.StudyGuideJobs;
+import test.generated.tables.UserNoteHistory;
 
 
 /**
@@ -24,5 +30,18 @@ public class Indexes {
 
     public static final Index IDX_FROM_NOTE = Internal.createIndex(DSL.name("idx_from_note"), NoteLinks.NOTE_LINKS, new OrderField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID }, false);
     public static final Index IDX_FROM_SIMILARITY = Internal.createIndex(DSL.name("idx_from_similarity"), NoteLinks.NOTE_LINKS, new OrderField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID, NoteLinks.NOTE_LINKS.SIMILARITY_SCORE.desc() }, false);
+    public static final Index IDX_JOBS_COMPLETED_UPDATED_AT = Internal.createIndex(DSL.name("idx_jobs_completed_updated_at"), Jobs.JOBS, new OrderField[] { Jobs.JOBS.UPDATED_AT }, false);
+    public static final Index IDX_JOBS_HISTORY_ARCHIVED_AT = Internal.createIndex(DSL.name("idx_jobs_history_archived_at"), JobsHistory.JOBS_HISTORY, new OrderField[] { JobsHistory.JOBS_HISTORY.ARCHIVED_AT }, false);
+    public static final Index IDX_JOBS_HISTORY_NOTE_ID = Internal.createIndex(DSL.name("idx_jobs_history_note_id"), JobsHistory.JOBS_HISTORY, new OrderField[] { JobsHistory.JOBS_HISTORY.NOTE_ID }, false);
+    public static final Index IDX_JOBS_NOTE_ID = Internal.createIndex(DSL.name("idx_jobs_note_id"), Jobs.JOBS, new OrderField[] { Jobs.JOBS.NOTE_ID }, false);
+    public static final Index IDX_JOBS_PENDING_CREATED_AT = Internal.createIndex(DSL.name("idx_jobs_pending_created_at"), Jobs.JOBS, new OrderField[] { Jobs.JOBS.CREATED_AT }, false);
+    public static final Index IDX_NOTE_BLOBS_UNREFERENCED = Internal.createIndex(DSL.name("idx_note_blobs_unreferenced"), NoteBlobs.NOTE_BLOBS, new OrderField[] { NoteBlobs.NOTE_BLOBS.UPDATED_AT }, false);
+    public static final Index IDX_NOTE_LINKS_FROM_TO = Internal.createIndex(DSL.name("idx_note_links_from_to"), NoteLinks.NOTE_LINKS, new OrderField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID, NoteLinks.NOTE_LINKS.TO_NOTE_ID }, false);
+    public static final Index IDX_STUDY_GUIDE_CACHE_LAST_HIT_AT = Internal.createIndex(DSL.name("idx_study_guide_cache_last_hit_at"), StudyGuideCache.STUDY_GUIDE_CACHE, new OrderField[] { StudyGuideCache.STUDY_GUIDE_CACHE.LAST_HIT_AT }, false);
+    public static final Index IDX_STUDY_GUIDE_JOBS_PENDING_NEXT_ATTEMPT_AT = Internal.createIndex(DSL.name("idx_study_guide_jobs_pending_next_attempt_at"), StudyGuideJobs.STUDY_GUIDE_JOBS, new OrderField[] { StudyGuideJobs.STUDY_GUIDE_JOBS.NEXT_ATTEMPT_AT }, false);
+    public static final Index IDX_STUDY_GUIDE_JOBS_PROCESSING_CLAIMED_AT = Internal.createIndex(DSL.name("idx_study_guide_jobs_processing_claimed_at"), StudyGuideJobs.STUDY_GUIDE_JOBS, new OrderField[] { StudyGuideJobs.STUDY_GUIDE_JOBS.CLAIMED_AT }, false);
+    public static final Index IDX_STUDY_GUIDE_JOBS_UPDATED_AT = Internal.createIndex(DSL.name("idx_study_guide_jobs_updated_at"), StudyGuideJobs.STUDY_GUIDE_JOBS, new OrderField[] { StudyGuideJobs.STUDY_GUIDE_JOBS.UPDATED_AT }, false);
     public static final Index IDX_TO_NOTE = Internal.createIndex(DSL.name("idx_to_note"), NoteLinks.NOTE_LINKS, new OrderField[] { NoteLinks.NOTE_LINKS.TO_NOTE_ID }, false);
+    public static final Index IDX_USER_NOTE_HISTORY_PENDING_UPLOAD = Internal.createIndex(DSL.name("idx_user_note_history_pending_upload"), UserNoteHistory.USER_NOTE_HISTORY, new OrderField[] { UserNoteHistory.USER_NOTE_HISTORY.NEXT_UPLOAD_AT }, false);
+    public static final Index IDX_USER_NOTE_HISTORY_UPLOADING = Internal.createIndex(DSL.name("idx_user_note_history_uploading"), UserNoteHistory.USER_NOTE_HISTORY, new OrderField[] { UserNoteHistory.USER_NOTE_HISTORY.UPLOAD_CLAIMED_AT }, false);
 }
@@ -12,16 +12,26 @@ import org.jooq.impl.Internal;
 import org.jooq.impl.QOM.ForeignKeyRule;
 
 import test.generated.tables.Jobs;
+import test.generated.tables.JobsHistory;
+import test.generated.tables.NoteBlobs;
+import test.generated.tables.NoteChunks;
 import test.generated.tables.NoteLinks;
 import test.generated.tables.PasswordResetTokens;
 import test.generated.tables.StripeEvents;
+import test.generated.tables.StudyGuideCache;
+import test.generated.tables.StudyGuideJobs;
 import test.generated.tables.Subscriptions;
 import test.generated.tables.UserNoteHistory;
 import test.generated.tables.Users;
+import test.generated.tables.records.JobsHistoryRecord;
 import test.generated.tables.records.JobsRecord;
+import test.generated.tables.records.NoteBlobsRecord;
+import test.generated.tables.records.NoteChunksRecord;
 import test.generated.tables.records.NoteLinksRecord;
 import test.generated.tables.records.PasswordResetTokensRecord;
 import test.generated.tables.records.StripeEventsRecord;
+import test.generated.tables.records.StudyGuideCacheRecord;
+import test.generated.tables.records.StudyGuideJobsRecord;
 import test.generated.tables.records.SubscriptionsRecord;
 import test.generated.tables.records.UserNoteHistoryRecord;
 import test.generated.tables.records.UsersRecord;
@@ -38,12 +48,17 @@ public class Keys {
     // UNIQUE and PRIMARY KEY definitions
     // -------------------------------------------------------------------------
 
-    public static final UniqueKey<JobsRecord> JOBS_PKEY = Internal.createUniqueKey(Jobs.JOBS, DSL.name("jobs_pkey"), new TableField[] { Jobs.JOBS.ID }, true);
-    public static final UniqueKey<NoteLinksRecord> NOTE_LINKS_FROM_NOTE_ID_TO_NOTE_ID_KEY = Internal.createUniqueKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_from_note_id_to_note_id_key"), new TableField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID, NoteLinks.NOTE_LINKS.TO_NOTE_ID }, true);
-    public static final UniqueKey<NoteLinksRecord> NOTE_LINKS_PKEY = Internal.createUniqueKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_pkey"), new TableField[] { NoteLinks.NOTE_LINKS.ID }, true);
+    public static final UniqueKey<JobsRecord> JOBS_PARTITIONED_PKEY = Internal.createUniqueKey(Jobs.JOBS, DSL.name("jobs_partitioned_pkey"), new TableField[] { Jobs.JOBS.ID, Jobs.JOBS.CREATED_AT }, true);
+    public static final UniqueKey<JobsHistoryRecord> JOBS_HISTORY_PKEY = Internal.createUniqueKey(JobsHistory.JOBS_HISTORY, DSL.name("jobs_history_pkey"), new TableField[] { JobsHistory.JOBS_HISTORY.ID }, true);
+    public static final UniqueKey<NoteBlobsRecord> NOTE_BLOBS_PKEY = Internal.createUniqueKey(NoteBlobs.NOTE_BLOBS, DSL.name("note_blobs_pkey"), new TableField[] { NoteBlobs.NOTE_BLOBS.USERNAME, NoteBlobs.NOTE_BLOBS.CONTENT_HASH }, true);
+    public static final UniqueKey<NoteChunksRecord> NOTE_CHUNKS_PKEY = Internal.createUniqueKey(NoteChunks.NOTE_CHUNKS, DSL.name("note_chunks_pkey"), new TableField[] { NoteChunks.NOTE_CHUNKS.NOTE_ID, NoteChunks.NOTE_CHUNKS.SEQ }, true);
+    public static final UniqueKey<NoteLinksRecord> NOTE_LINKS_PARTITIONED_FROM_NOTE_ID_TO_NOTE_ID_CREATED_AT_KEY = Internal.createUniqueKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_partitioned_from_note_id_to_note_id_created_at_key"), new TableField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID, NoteLinks.NOTE_LINKS.TO_NOTE_ID, NoteLinks.NOTE_LINKS.CREATED_AT }, true);
+    public static final UniqueKey<NoteLinksRecord> NOTE_LINKS_PARTITIONED_PKEY = Internal.createUniqueKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_partitioned_pkey"), new TableField[] { NoteLinks.NOTE_LINKS.ID, NoteLinks.NOTE_LINKS.CREATED_AT }, true);
     public static final UniqueKey<PasswordResetTokensRecord> PASSWORD_RESET_TOKENS_HASHED_TOKEN_KEY = Internal.createUniqueKey(PasswordResetTokens.PASSWORD_RESET_TOKENS, DSL.name("password_reset_tokens_hashed_token_key"), new TableField[] { PasswordResetTokens.PASSWORD_RESET_TOKENS.HASHED_TOKEN }, true);
     public static final UniqueKey<PasswordResetTokensRecord> PASSWORD_RESET_TOKENS_PKEY = Internal.createUniqueKey(PasswordResetTokens.PASSWORD_RESET_TOKENS, DSL.name("password_reset_tokens_pkey"), new TableField[] { PasswordResetTokens.PASSWORD_RESET_TOKENS.ID }, true);
     public static final UniqueKey<StripeEventsRecord> STRIPE_EVENTS_PKEY = Internal.createUniqueKey(StripeEvents.STRIPE_EVENTS, DSL.name("stripe_events_pkey"), new TableField[] { StripeEvents.STRIPE_EVENTS.EVENT_ID }, true);
+    public static final UniqueKey<StudyGuideCacheRecord> STUDY_GUIDE_CACHE_PKEY = Internal.createUniqueKey(StudyGuideCache.STUDY_GUIDE_CACHE, DSL.name("study_guide_cache_pkey"), new TableField[] { StudyGuideCache.STUDY_GUIDE_CACHE.CACHE_KEY }, true);
+    public static final UniqueKey<StudyGuideJobsRecord> STUDY_GUIDE_JOBS_PKEY = Internal.createUniqueKey(StudyGuideJobs.STUDY_GUIDE_JOBS, DSL.name("study_guide_jobs_pkey"), new TableField[] { StudyGuideJobs.STUDY_GUIDE_JOBS.ID }, true);
     public static final UniqueKey<SubscriptionsRecord> SUBSCRIPTIONS_LATEST_INVOICE_KEY = Internal.createUniqueKey(Subscriptions.SUBSCRIPTIONS, DSL.name("subscriptions_latest_invoice_key"), new TableField[] { Subscriptions.SUBSCRIPTIONS.LATEST_INVOICE }, true);
     public static final UniqueKey<SubscriptionsRecord> SUBSCRIPTIONS_PKEY = Internal.createUniqueKey(Subscriptions.SUBSCRIPTIONS, DSL.name("subscriptions_pkey"), new TableField[] { Subscriptions.SUBSCRIPTIONS.ID }, true);
     public static final UniqueKey<SubscriptionsRecord> SUBSCRIPTIONS_SUBSCRIPTION_ID_KEY = Internal.createUniqueKey(Subscriptions.SUBSCRIPTIONS, DSL.name("subscriptions_subscription_id_key"), new TableField[] { Subscriptions.SUBSCRIPTIONS.SUBSCRIPTION_ID }, true);
@@ -58,8 +73,11 @@ public class Keys {
     // -------------------------------------------------------------------------
 
     public static final ForeignKey<JobsRecord, UserNoteHistoryRecord> JOBS__FK_USERNOTEHISTORY_NOTEID = Internal.createForeignKey(Jobs.JOBS, DSL.name("fk_usernotehistory_noteid"), new TableField[] { Jobs.JOBS.NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
-    public static final ForeignKey<NoteLinksRecord, UserNoteHistoryRecord> NOTE_LINKS__NOTE_LINKS_FROM_NOTE_ID_FKEY = Internal.createForeignKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_from_note_id_fkey"), new TableField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
-    public static final ForeignKey<NoteLinksRecord, UserNoteHistoryRecord> NOTE_LINKS__NOTE_LINKS_TO_NOTE_ID_FKEY = Internal.createForeignKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_to_note_id_fkey"), new TableField[] { NoteLinks.NOTE_LINKS.TO_NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
+    public static final ForeignKey<JobsHistoryRecord, UserNoteHistoryRecord> JOBS_HISTORY__FK_JOBSHISTORY_NOTEID = Internal.createForeignKey(JobsHistory.JOBS_HISTORY, DSL.name("fk_jobshistory_noteid"), new TableField[] { JobsHistory.JOBS_HISTORY.NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
+    public static final ForeignKey<NoteChunksRecord, UserNoteHistoryRecord> NOTE_CHUNKS__FK_NOTECHUNKS_NOTEID = Internal.createForeignKey(NoteChunks.NOTE_CHUNKS, DSL.name("fk_notechunks_noteid"), new TableField[] { NoteChunks.NOTE_CHUNKS.NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
+    public static final ForeignKey<NoteLinksRecord, UserNoteHistoryRecord> NOTE_LINKS__NOTE_LINKS_PARTITIONED_FROM_NOTE_ID_FKEY = Internal.createForeignKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_partitioned_from_note_id_fkey"), new TableField[] { NoteLinks.NOTE_LINKS.FROM_NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
+    public static final ForeignKey<NoteLinksRecord, UserNoteHistoryRecord> NOTE_LINKS__NOTE_LINKS_PARTITIONED_TO_NOTE_ID_FKEY = Internal.createForeignKey(NoteLinks.NOTE_LINKS, DSL.name("note_links_partitioned_to_note_id_fkey"), new TableField[] { NoteLinks.NOTE_LINKS.TO_NOTE_ID }, Keys.USER_NOTE_HISTORY_PKEY, new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
     public static final ForeignKey<PasswordResetTokensRecord, UsersRecord> PASSWORD_RESET_TOKENS__FK_USER = Internal.createForeignKey(PasswordResetTokens.PASSWORD_RESET_TOKENS, DSL.name("fk_user"), new TableField[] { PasswordResetTokens.PASSWORD_RESET_TOKENS.USER_ID }, Keys.USERS_PKEY, new TableField[] { Users.USERS.ID }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
+    public static final ForeignKey<StudyGuideJobsRecord, UsersRecord> STUDY_GUIDE_JOBS__FK_STUDYGUIDEJOBS_USERNAME = Internal.createForeignKey(StudyGuideJobs.STUDY_GUIDE_JOBS, DSL.name("fk_studyguidejobs_username"), new TableField[] { StudyGuideJobs.STUDY_GUIDE_JOBS.USERNAME }, Keys.USERS_USERNAME_KEY, new TableField[] { Users.USERS.USERNAME }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
     public static final ForeignKey<UserNoteHistoryRecord, UsersRecord> USER_NOTE_HISTORY__FK_USERNOTEHISTORY_USERNAME = Internal.createForeignKey(UserNoteHistory.USER_NOTE_HISTORY, DSL.name("fk_usernotehistory_username"), new TableField[] { UserNoteHistory.USER_NOTE_HISTORY.USERNAME }, Keys.USERS_USERNAME_KEY, new TableField[] { Users.USERS.USERNAME }, true, ForeignKeyRule.CASCADE, ForeignKeyRule.NO_ACTION);
 }
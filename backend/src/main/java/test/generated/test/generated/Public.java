@@ -13,9 +13,14 @@ import org.jooq.impl.DSL;
 import org.jooq.impl.SchemaImpl;
 
 import test.generated.tables.Jobs;
+import test.generated.tables.JobsHistory;
+import test.generated.tables.NoteBlobs;
+import test.generated.tables.NoteChunks;
 import test.generated.tables.NoteLinks;
 import test.generated.tables.PasswordResetTokens;
 import test.generated.tables.StripeEvents;
+import test.generated.tables.StudyGuideCache;
+import test.generated.tables.StudyGuideJobs;
 import test.generated.tables.Subscriptions;
 import test.generated.tables.UserNoteHistory;
 import test.generated.tables.Users;
@@ -39,6 +44,21 @@ public class Public extends SchemaImpl {
      */
     public final Jobs JOBS = Jobs.JOBS;
 
+    /**
+     * The table <code>public.jobs_history</code>.
+     */
+    public final JobsHistory JOBS_HISTORY = JobsHistory.JOBS_HISTORY;
+
+    /**
+     * The table <code>public.note_blobs</code>.
+     */
+    public final NoteBlobs NOTE_BLOBS = NoteBlobs.NOTE_BLOBS;
+
+    /**
+     * The table <code>public.note_chunks</code>.
+     */
+    public final NoteChunks NOTE_CHUNKS = NoteChunks.NOTE_CHUNKS;
+
     /**
      * The table <code>public.note_links</code>.
      */
@@ -54,6 +74,16 @@ public class Public extends SchemaImpl {
      */
     public final StripeEvents STRIPE_EVENTS = StripeEvents.STRIPE_EVENTS;
 
+    /**
+     * The table <code>public.study_guide_cache</code>.
+     */
+    public final StudyGuideCache STUDY_GUIDE_CACHE = StudyGuideCache.STUDY_GUIDE_CACHE;
+
+    /**
+     * The table <code>public.study_guide_jobs</code>.
+     */
+    public final StudyGuideJobs STUDY_GUIDE_JOBS = StudyGuideJobs.STUDY_GUIDE_JOBS;
+
     /**
      * The table <code>public.subscriptions</code>.
      */
@@ -86,9 +116,14 @@ public class Public extends SchemaImpl {
     public final List<Table<?>> getTables() {
         return Arrays.asList(
             Jobs.JOBS,
+            JobsHistory.JOBS_HISTORY,
+            NoteBlobs.NOTE_BLOBS,
+            NoteChunks.NOTE_CHUNKS,
             NoteLinks.NOTE_LINKS,
             PasswordResetTokens.PASSWORD_RESET_TOKENS,
             StripeEvents.STRIPE_EVENTS,
+            StudyGuideCache.STUDY_GUIDE_CACHE,
+            StudyGuideJobs.STUDY_GUIDE_JOBS,
             Subscriptions.SUBSCRIPTIONS,
             UserNoteHistory.USER_NOTE_HISTORY,
             Users.USERS
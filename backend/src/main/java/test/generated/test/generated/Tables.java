@@ -5,9 +5,14 @@ package test.generated;
 
 
 import test.generated.tables.Jobs;
+import test.generated.tables.JobsHistory;
+import test.generated.tables.NoteBlobs;
+import test.generated.tables.NoteChunks;
 import test.generated.tables.NoteLinks;
 import test.generated.tables.PasswordResetTokens;
 import test.generated.tables.StripeEvents;
+import test.generated.tables.StudyGuideCache;
+import test.generated.tables.StudyGuideJobs;
 import test.generated.tables.Subscriptions;
 import test.generated.tables.UserNoteHistory;
 import test.generated.tables.Users;
@@ -24,6 +29,21 @@ public class Tables {
      */
     public static final Jobs JOBS = Jobs.JOBS;
 
+    /**
+     * The table <code>public.jobs_history</code>.
+     */
+    public static final JobsHistory JOBS_HISTORY = JobsHistory.JOBS_HISTORY;
+
+    /**
+     * The table <code>public.note_blobs</code>.
+     */
+    public static final NoteBlobs NOTE_BLOBS = NoteBlobs.NOTE_BLOBS;
+
+    /**
+     * The table <code>public.note_chunks</code>.
+     */
+    public static final NoteChunks NOTE_CHUNKS = NoteChunks.NOTE_CHUNKS;
+
     /**
      * The table <code>public.note_links</code>.
      */
@@ -39,6 +59,16 @@ public class Tables {
      */
     public static final StripeEvents STRIPE_EVENTS = StripeEvents.STRIPE_EVENTS;
 
+    /**
+     * The table <code>public.study_guide_cache</code>.
+     */
+    public static final StudyGuideCache STUDY_GUIDE_CACHE = StudyGuideCache.STUDY_GUIDE_CACHE;
+
+    /**
+     * The table <code>public.study_guide_jobs</code>.
+     */
+    public static final StudyGuideJobs STUDY_GUIDE_JOBS = StudyGuideJobs.STUDY_GUIDE_JOBS;
+
     /**
      * The table <code>public.subscriptions</code>.
      */
@@ -13,6 +13,7 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
 import org.jooq.Path;
@@ -31,6 +32,7 @@ import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
 import org.jooq.impl.TableImpl;
 
+import test.generated.Indexes;
 import test.generated.Keys;
 import test.generated.Public;
 import test.generated.tables.UserNoteHistory.UserNoteHistoryPath;
@@ -165,6 +167,11 @@ public class Jobs extends TableImpl<JobsRecord> {
         return aliased() ? null : Public.PUBLIC;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.IDX_JOBS_COMPLETED_UPDATED_AT, Indexes.IDX_JOBS_NOTE_ID, Indexes.IDX_JOBS_PENDING_CREATED_AT);
+    }
+
     @Override
     public Identity<JobsRecord, Integer> getIdentity() {
         return (Identity<JobsRecord, Integer>) super.getIdentity();
@@ -172,7 +179,7 @@ public class Jobs extends TableImpl<JobsRecord> {
 
     @Override
     public UniqueKey<JobsRecord> getPrimaryKey() {
-        return Keys.JOBS_PKEY;
+        return Keys.JOBS_PARTITIONED_PKEY;
     }
 
     @Override
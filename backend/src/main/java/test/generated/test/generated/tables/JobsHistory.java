@@ -0,0 +1,324 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables;
+
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.ForeignKey;
+import org.jooq.Index;
+import org.jooq.InverseForeignKey;
+import org.jooq.Name;
+import org.jooq.Path;
+import org.jooq.PlainSQL;
+import org.jooq.QueryPart;
+import org.jooq.Record;
+import org.jooq.SQL;
+import org.jooq.Schema;
+import org.jooq.Select;
+import org.jooq.Stringly;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import test.generated.Indexes;
+import test.generated.Keys;
+import test.generated.Public;
+import test.generated.tables.UserNoteHistory.UserNoteHistoryPath;
+import test.generated.tables.records.JobsHistoryRecord;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class JobsHistory extends TableImpl<JobsHistoryRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reference instance of <code>public.jobs_history</code>
+     */
+    public static final JobsHistory JOBS_HISTORY = new JobsHistory();
+
+    /**
+     * The class holding records for this type
+     */
+    @Override
+    public Class<JobsHistoryRecord> getRecordType() {
+        return JobsHistoryRecord.class;
+    }
+
+    /**
+     * The column <code>public.jobs_history.id</code>.
+     */
+    public final TableField<JobsHistoryRecord, Integer> ID = createField(DSL.name("id"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.note_id</code>.
+     */
+    public final TableField<JobsHistoryRecord, Integer> NOTE_ID = createField(DSL.name("note_id"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.status</code>.
+     */
+    public final TableField<JobsHistoryRecord, String> STATUS = createField(DSL.name("status"), SQLDataType.VARCHAR(15).nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.attempt_count</code>.
+     */
+    public final TableField<JobsHistoryRecord, Short> ATTEMPT_COUNT = createField(DSL.name("attempt_count"), SQLDataType.SMALLINT.nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.last_error</code>.
+     */
+    public final TableField<JobsHistoryRecord, String> LAST_ERROR = createField(DSL.name("last_error"), SQLDataType.CLOB, this, "");
+
+    /**
+     * The column <code>public.jobs_history.username</code>.
+     */
+    public final TableField<JobsHistoryRecord, String> USERNAME = createField(DSL.name("username"), SQLDataType.VARCHAR(255).nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.created_at</code>.
+     */
+    public final TableField<JobsHistoryRecord, LocalDateTime> CREATED_AT = createField(DSL.name("created_at"), SQLDataType.LOCALDATETIME(6).nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.updated_at</code>.
+     */
+    public final TableField<JobsHistoryRecord, LocalDateTime> UPDATED_AT = createField(DSL.name("updated_at"), SQLDataType.LOCALDATETIME(6).nullable(false), this, "");
+
+    /**
+     * The column <code>public.jobs_history.archived_at</code>.
+     */
+    public final TableField<JobsHistoryRecord, LocalDateTime> ARCHIVED_AT = createField(DSL.name("archived_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    private JobsHistory(Name alias, Table<JobsHistoryRecord> aliased) {
+        this(alias, aliased, (Field<?>[]) null, null);
+    }
+
+    private JobsHistory(Name alias, Table<JobsHistoryRecord> aliased, Field<?>[] parameters, Condition where) {
+        super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table(), where);
+    }
+
+    /**
+     * Create an aliased <code>public.jobs_history</code> table reference
+     */
+    public JobsHistory(String alias) {
+        this(DSL.name(alias), JOBS_HISTORY);
+    }
+
+    /**
+     * Create an aliased <code>public.jobs_history</code> table reference
+     */
+    public JobsHistory(Name alias) {
+        this(alias, JOBS_HISTORY);
+    }
+
+    /**
+     * Create a <code>public.jobs_history</code> table reference
+     */
+    public JobsHistory() {
+        this(DSL.name("jobs_history"), null);
+    }
+
+    public <O extends Record> JobsHistory(Table<O> path, ForeignKey<O, JobsHistoryRecord> childPath, InverseForeignKey<O, JobsHistoryRecord> parentPath) {
+        super(path, childPath, parentPath, JOBS_HISTORY);
+    }
+
+    /**
+     * A subtype implementing {@link Path} for simplified path-based joins.
+     */
+    public static class JobsHistoryPath extends JobsHistory implements Path<JobsHistoryRecord> {
+
+        private static final long serialVersionUID = 1L;
+        public <O extends Record> JobsHistoryPath(Table<O> path, ForeignKey<O, JobsHistoryRecord> childPath, InverseForeignKey<O, JobsHistoryRecord> parentPath) {
+            super(path, childPath, parentPath);
+        }
+        private JobsHistoryPath(Name alias, Table<JobsHistoryRecord> aliased) {
+            super(alias, aliased);
+        }
+
+        @Override
+        public JobsHistoryPath as(String alias) {
+            return new JobsHistoryPath(DSL.name(alias), this);
+        }
+
+        @Override
+        public JobsHistoryPath as(Name alias) {
+            return new JobsHistoryPath(alias, this);
+        }
+
+        @Override
+        public JobsHistoryPath as(Table<?> alias) {
+            return new JobsHistoryPath(alias.getQualifiedName(), this);
+        }
+    }
+
+    @Override
+    public Schema getSchema() {
+        return aliased() ? null : Public.PUBLIC;
+    }
+
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.IDX_JOBS_HISTORY_ARCHIVED_AT, Indexes.IDX_JOBS_HISTORY_NOTE_ID);
+    }
+
+    @Override
+    public UniqueKey<JobsHistoryRecord> getPrimaryKey() {
+        return Keys.JOBS_HISTORY_PKEY;
+    }
+
+    @Override
+    public List<ForeignKey<JobsHistoryRecord, ?>> getReferences() {
+        return Arrays.asList(Keys.JOBS_HISTORY__FK_JOBSHISTORY_NOTEID);
+    }
+
+    private transient UserNoteHistoryPath _userNoteHistory;
+
+    /**
+     * Get the implicit join path to the <code>public.user_note_history</code>
+     * table.
+     */
+    public UserNoteHistoryPath userNoteHistory() {
+        if (_userNoteHistory == null)
+            _userNoteHistory = new UserNoteHistoryPath(this, Keys.JOBS_HISTORY__FK_JOBSHISTORY_NOTEID, null);
+
+        return _userNoteHistory;
+    }
+
+    @Override
+    public JobsHistory as(String alias) {
+        return new JobsHistory(DSL.name(alias), this);
+    }
+
+    @Override
+    public JobsHistory as(Name alias) {
+        return new JobsHistory(alias, this);
+    }
+
+    @Override
+    public JobsHistory as(Table<?> alias) {
+        return new JobsHistory(alias.getQualifiedName(), this);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public JobsHistory rename(String name) {
+        return new JobsHistory(DSL.name(name), null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public JobsHistory rename(Name name) {
+        return new JobsHistory(name, null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public JobsHistory rename(Table<?> name) {
+        return new JobsHistory(name.getQualifiedName(), null);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public JobsHistory where(Condition condition) {
+        return new JobsHistory(getQualifiedName(), aliased() ? this : null, null, condition);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public JobsHistory where(Collection<? extends Condition> conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public JobsHistory where(Condition... conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public JobsHistory where(Field<Boolean> condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public JobsHistory where(SQL condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public JobsHistory where(@Stringly.SQL String condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public JobsHistory where(@Stringly.SQL String condition, Object... binds) {
+        return where(DSL.condition(condition, binds));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public JobsHistory where(@Stringly.SQL String condition, QueryPart... parts) {
+        return where(DSL.condition(condition, parts));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public JobsHistory whereExists(Select<?> select) {
+        return where(DSL.exists(select));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public JobsHistory whereNotExists(Select<?> select) {
+        return where(DSL.notExists(select));
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables;
+
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Index;
+import org.jooq.Name;
+import org.jooq.PlainSQL;
+import org.jooq.QueryPart;
+import org.jooq.SQL;
+import org.jooq.Schema;
+import org.jooq.Select;
+import org.jooq.Stringly;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import test.generated.Indexes;
+import test.generated.Keys;
+import test.generated.Public;
+import test.generated.tables.records.NoteBlobsRecord;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class NoteBlobs extends TableImpl<NoteBlobsRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reference instance of <code>public.note_blobs</code>
+     */
+    public static final NoteBlobs NOTE_BLOBS = new NoteBlobs();
+
+    /**
+     * The class holding records for this type
+     */
+    @Override
+    public Class<NoteBlobsRecord> getRecordType() {
+        return NoteBlobsRecord.class;
+    }
+
+    /**
+     * The column <code>public.note_blobs.username</code>.
+     */
+    public final TableField<NoteBlobsRecord, String> USERNAME = createField(DSL.name("username"), SQLDataType.VARCHAR(255).nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_blobs.content_hash</code>.
+     */
+    public final TableField<NoteBlobsRecord, String> CONTENT_HASH = createField(DSL.name("content_hash"), SQLDataType.VARCHAR(64).nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_blobs.location</code>.
+     */
+    public final TableField<NoteBlobsRecord, String> LOCATION = createField(DSL.name("location"), SQLDataType.CLOB.nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_blobs.size_bytes</code>.
+     */
+    public final TableField<NoteBlobsRecord, Long> SIZE_BYTES = createField(DSL.name("size_bytes"), SQLDataType.BIGINT.nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_blobs.ref_count</code>.
+     */
+    public final TableField<NoteBlobsRecord, Integer> REF_COUNT = createField(DSL.name("ref_count"), SQLDataType.INTEGER.nullable(false).defaultValue(DSL.field(DSL.raw("1"), SQLDataType.INTEGER)), this, "");
+
+    /**
+     * The column <code>public.note_blobs.status</code>.
+     */
+    public final TableField<NoteBlobsRecord, String> STATUS = createField(DSL.name("status"), SQLDataType.VARCHAR(15).nullable(false).defaultValue(DSL.field(DSL.raw("'pending'::character varying"), SQLDataType.VARCHAR)), this, "");
+
+    /**
+     * The column <code>public.note_blobs.created_at</code>.
+     */
+    public final TableField<NoteBlobsRecord, LocalDateTime> CREATED_AT = createField(DSL.name("created_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    /**
+     * The column <code>public.note_blobs.updated_at</code>.
+     */
+    public final TableField<NoteBlobsRecord, LocalDateTime> UPDATED_AT = createField(DSL.name("updated_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    /**
+     * The column <code>public.note_blobs.content_encoding</code>.
+     */
+    public final TableField<NoteBlobsRecord, String> CONTENT_ENCODING = createField(DSL.name("content_encoding"), SQLDataType.VARCHAR(15), this, "");
+
+    private NoteBlobs(Name alias, Table<NoteBlobsRecord> aliased) {
+        this(alias, aliased, (Field<?>[]) null, null);
+    }
+
+    private NoteBlobs(Name alias, Table<NoteBlobsRecord> aliased, Field<?>[] parameters, Condition where) {
+        super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table(), where);
+    }
+
+    /**
+     * Create an aliased <code>public.note_blobs</code> table reference
+     */
+    public NoteBlobs(String alias) {
+        this(DSL.name(alias), NOTE_BLOBS);
+    }
+
+    /**
+     * Create an aliased <code>public.note_blobs</code> table reference
+     */
+    public NoteBlobs(Name alias) {
+        this(alias, NOTE_BLOBS);
+    }
+
+    /**
+     * Create a <code>public.note_blobs</code> table reference
+     */
+    public NoteBlobs() {
+        this(DSL.name("note_blobs"), null);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return aliased() ? null : Public.PUBLIC;
+    }
+
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.IDX_NOTE_BLOBS_UNREFERENCED);
+    }
+
+    @Override
+    public UniqueKey<NoteBlobsRecord> getPrimaryKey() {
+        return Keys.NOTE_BLOBS_PKEY;
+    }
+
+    @Override
+    public NoteBlobs as(String alias) {
+        return new NoteBlobs(DSL.name(alias), this);
+    }
+
+    @Override
+    public NoteBlobs as(Name alias) {
+        return new NoteBlobs(alias, this);
+    }
+
+    @Override
+    public NoteBlobs as(Table<?> alias) {
+        return new NoteBlobs(alias.getQualifiedName(), this);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public NoteBlobs rename(String name) {
+        return new NoteBlobs(DSL.name(name), null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public NoteBlobs rename(Name name) {
+        return new NoteBlobs(name, null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public NoteBlobs rename(Table<?> name) {
+        return new NoteBlobs(name.getQualifiedName(), null);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteBlobs where(Condition condition) {
+        return new NoteBlobs(getQualifiedName(), aliased() ? this : null, null, condition);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteBlobs where(Collection<? extends Condition> conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteBlobs where(Condition... conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteBlobs where(Field<Boolean> condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteBlobs where(SQL condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteBlobs where(@Stringly.SQL String condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteBlobs where(@Stringly.SQL String condition, Object... binds) {
+        return where(DSL.condition(condition, binds));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteBlobs where(@Stringly.SQL String condition, QueryPart... parts) {
+        return where(DSL.condition(condition, parts));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteBlobs whereExists(Select<?> select) {
+        return where(DSL.exists(select));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteBlobs whereNotExists(Select<?> select) {
+        return where(DSL.notExists(select));
+    }
+}
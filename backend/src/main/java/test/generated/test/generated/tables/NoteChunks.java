@@ -0,0 +1,301 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables;
+
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.ForeignKey;
+import org.jooq.InverseForeignKey;
+import org.jooq.Name;
+import org.jooq.Path;
+import org.jooq.PlainSQL;
+import org.jooq.QueryPart;
+import org.jooq.Record;
+import org.jooq.SQL;
+import org.jooq.Schema;
+import org.jooq.Select;
+import org.jooq.Stringly;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import test.generated.Keys;
+import test.generated.Public;
+import test.generated.tables.UserNoteHistory.UserNoteHistoryPath;
+import test.generated.tables.records.NoteChunksRecord;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class NoteChunks extends TableImpl<NoteChunksRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reference instance of <code>public.note_chunks</code>
+     */
+    public static final NoteChunks NOTE_CHUNKS = new NoteChunks();
+
+    /**
+     * The class holding records for this type
+     */
+    @Override
+    public Class<NoteChunksRecord> getRecordType() {
+        return NoteChunksRecord.class;
+    }
+
+    /**
+     * The column <code>public.note_chunks.note_id</code>.
+     */
+    public final TableField<NoteChunksRecord, Integer> NOTE_ID = createField(DSL.name("note_id"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_chunks.seq</code>.
+     */
+    public final TableField<NoteChunksRecord, Integer> SEQ = createField(DSL.name("seq"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_chunks.username</code>.
+     */
+    public final TableField<NoteChunksRecord, String> USERNAME = createField(DSL.name("username"), SQLDataType.VARCHAR(255).nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_chunks.content_hash</code>.
+     */
+    public final TableField<NoteChunksRecord, String> CONTENT_HASH = createField(DSL.name("content_hash"), SQLDataType.VARCHAR(64).nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_chunks.byte_offset</code>.
+     */
+    public final TableField<NoteChunksRecord, Long> BYTE_OFFSET = createField(DSL.name("byte_offset"), SQLDataType.BIGINT.nullable(false), this, "");
+
+    /**
+     * The column <code>public.note_chunks.size_bytes</code>.
+     */
+    public final TableField<NoteChunksRecord, Integer> SIZE_BYTES = createField(DSL.name("size_bytes"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    private NoteChunks(Name alias, Table<NoteChunksRecord> aliased) {
+        this(alias, aliased, (Field<?>[]) null, null);
+    }
+
+    private NoteChunks(Name alias, Table<NoteChunksRecord> aliased, Field<?>[] parameters, Condition where) {
+        super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table(), where);
+    }
+
+    /**
+     * Create an aliased <code>public.note_chunks</code> table reference
+     */
+    public NoteChunks(String alias) {
+        this(DSL.name(alias), NOTE_CHUNKS);
+    }
+
+    /**
+     * Create an aliased <code>public.note_chunks</code> table reference
+     */
+    public NoteChunks(Name alias) {
+        this(alias, NOTE_CHUNKS);
+    }
+
+    /**
+     * Create a <code>public.note_chunks</code> table reference
+     */
+    public NoteChunks() {
+        this(DSL.name("note_chunks"), null);
+    }
+
+    public <O extends Record> NoteChunks(Table<O> path, ForeignKey<O, NoteChunksRecord> childPath, InverseForeignKey<O, NoteChunksRecord> parentPath) {
+        super(path, childPath, parentPath, NOTE_CHUNKS);
+    }
+
+    /**
+     * A subtype implementing {@link Path} for simplified path-based joins.
+     */
+    public static class NoteChunksPath extends NoteChunks implements Path<NoteChunksRecord> {
+
+        private static final long serialVersionUID = 1L;
+        public <O extends Record> NoteChunksPath(Table<O> path, ForeignKey<O, NoteChunksRecord> childPath, InverseForeignKey<O, NoteChunksRecord> parentPath) {
+            super(path, childPath, parentPath);
+        }
+        private NoteChunksPath(Name alias, Table<NoteChunksRecord> aliased) {
+            super(alias, aliased);
+        }
+
+        @Override
+        public NoteChunksPath as(String alias) {
+            return new NoteChunksPath(DSL.name(alias), this);
+        }
+
+        @Override
+        public NoteChunksPath as(Name alias) {
+            return new NoteChunksPath(alias, this);
+        }
+
+        @Override
+        public NoteChunksPath as(Table<?> alias) {
+            return new NoteChunksPath(alias.getQualifiedName(), this);
+        }
+    }
+
+    @Override
+    public Schema getSchema() {
+        return aliased() ? null : Public.PUBLIC;
+    }
+
+    @Override
+    public UniqueKey<NoteChunksRecord> getPrimaryKey() {
+        return Keys.NOTE_CHUNKS_PKEY;
+    }
+
+    @Override
+    public List<ForeignKey<NoteChunksRecord, ?>> getReferences() {
+        return Arrays.asList(Keys.NOTE_CHUNKS__FK_NOTECHUNKS_NOTEID);
+    }
+
+    private transient UserNoteHistoryPath _userNoteHistory;
+
+    /**
+     * Get the implicit join path to the <code>public.user_note_history</code>
+     * table.
+     */
+    public UserNoteHistoryPath userNoteHistory() {
+        if (_userNoteHistory == null)
+            _userNoteHistory = new UserNoteHistoryPath(this, Keys.NOTE_CHUNKS__FK_NOTECHUNKS_NOTEID, null);
+
+        return _userNoteHistory;
+    }
+
+    @Override
+    public NoteChunks as(String alias) {
+        return new NoteChunks(DSL.name(alias), this);
+    }
+
+    @Override
+    public NoteChunks as(Name alias) {
+        return new NoteChunks(alias, this);
+    }
+
+    @Override
+    public NoteChunks as(Table<?> alias) {
+        return new NoteChunks(alias.getQualifiedName(), this);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public NoteChunks rename(String name) {
+        return new NoteChunks(DSL.name(name), null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public NoteChunks rename(Name name) {
+        return new NoteChunks(name, null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public NoteChunks rename(Table<?> name) {
+        return new NoteChunks(name.getQualifiedName(), null);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteChunks where(Condition condition) {
+        return new NoteChunks(getQualifiedName(), aliased() ? this : null, null, condition);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteChunks where(Collection<? extends Condition> conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteChunks where(Condition... conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteChunks where(Field<Boolean> condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteChunks where(SQL condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteChunks where(@Stringly.SQL String condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteChunks where(@Stringly.SQL String condition, Object... binds) {
+        return where(DSL.condition(condition, binds));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public NoteChunks where(@Stringly.SQL String condition, QueryPart... parts) {
+        return where(DSL.condition(condition, parts));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteChunks whereExists(Select<?> select) {
+        return where(DSL.exists(select));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public NoteChunks whereNotExists(Select<?> select) {
+        return where(DSL.notExists(select));
+    }
+}
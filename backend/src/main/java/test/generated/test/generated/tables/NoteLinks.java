@@ -83,7 +83,7 @@ public class NoteLinks extends TableImpl<NoteLinksRecord> {
     /**
      * The column <code>public.note_links.created_at</code>.
      */
-    public final TableField<NoteLinksRecord, LocalDateTime> CREATED_AT = createField(DSL.name("created_at"), SQLDataType.LOCALDATETIME(6).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+    public final TableField<NoteLinksRecord, LocalDateTime> CREATED_AT = createField(DSL.name("created_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
 
     /**
      * The column <code>public.note_links.username</code>.
@@ -159,7 +159,7 @@ public class NoteLinks extends TableImpl<NoteLinksRecord> {
 
     @Override
     public List<Index> getIndexes() {
-        return Arrays.asList(Indexes.IDX_FROM_NOTE, Indexes.IDX_FROM_SIMILARITY, Indexes.IDX_TO_NOTE);
+        return Arrays.asList(Indexes.IDX_FROM_NOTE, Indexes.IDX_FROM_SIMILARITY, Indexes.IDX_NOTE_LINKS_FROM_TO, Indexes.IDX_TO_NOTE);
     }
 
     @Override
@@ -169,43 +169,43 @@ public class NoteLinks extends TableImpl<NoteLinksRecord> {
 
     @Override
     public UniqueKey<NoteLinksRecord> getPrimaryKey() {
-        return Keys.NOTE_LINKS_PKEY;
+        return Keys.NOTE_LINKS_PARTITIONED_PKEY;
     }
 
     @Override
     public List<UniqueKey<NoteLinksRecord>> getUniqueKeys() {
-        return Arrays.asList(Keys.NOTE_LINKS_FROM_NOTE_ID_TO_NOTE_ID_KEY);
+        return Arrays.asList(Keys.NOTE_LINKS_PARTITIONED_FROM_NOTE_ID_TO_NOTE_ID_CREATED_AT_KEY);
     }
 
     @Override
     public List<ForeignKey<NoteLinksRecord, ?>> getReferences() {
-        return Arrays.asList(Keys.NOTE_LINKS__NOTE_LINKS_FROM_NOTE_ID_FKEY, Keys.NOTE_LINKS__NOTE_LINKS_TO_NOTE_ID_FKEY);
+        return Arrays.asList(Keys.NOTE_LINKS__NOTE_LINKS_PARTITIONED_FROM_NOTE_ID_FKEY, Keys.NOTE_LINKS__NOTE_LINKS_PARTITIONED_TO_NOTE_ID_FKEY);
     }
 
-    private transient UserNoteHistoryPath _noteLinksFromNoteIdFkey;
+    private transient UserNoteHistoryPath _noteLinksPartitionedFromNoteIdFkey;
 
     /**
      * Get the implicit join path to the <code>public.user_note_history</code>
-     * table, via the <code>note_links_from_note_id_fkey</code> key.
+     * table, via the <code>note_links_partitioned_from_note_id_fkey</code> key.
      */
-    public UserNoteHistoryPath noteLinksFromNoteIdFkey() {
-        if (_noteLinksFromNoteIdFkey == null)
-            _noteLinksFromNoteIdFkey = new UserNoteHistoryPath(this, Keys.NOTE_LINKS__NOTE_LINKS_FROM_NOTE_ID_FKEY, null);
+    public UserNoteHistoryPath noteLinksPartitionedFromNoteIdFkey() {
+        if (_noteLinksPartitionedFromNoteIdFkey == null)
+            _noteLinksPartitionedFromNoteIdFkey = new UserNoteHistoryPath(this, Keys.NOTE_LINKS__NOTE_LINKS_PARTITIONED_FROM_NOTE_ID_FKEY, null);
 
-        return _noteLinksFromNoteIdFkey;
+        return _noteLinksPartitionedFromNoteIdFkey;
     }
 
-    private transient UserNoteHistoryPath _noteLinksToNoteIdFkey;
+    private transient UserNoteHistoryPath _noteLinksPartitionedToNoteIdFkey;
 
     /**
      * Get the implicit join path to the <code>public.user_note_history</code>
-     * table, via the <code>note_links_to_note_id_fkey</code> key.
+     * table, via the <code>note_links_partitioned_to_note_id_fkey</code> key.
      */
-    public UserNoteHistoryPath noteLinksToNoteIdFkey() {
-        if (_noteLinksToNoteIdFkey == null)
-            _noteLinksToNoteIdFkey = new UserNoteHistoryPath(this, Keys.NOTE_LINKS__NOTE_LINKS_TO_NOTE_ID_FKEY, null);
+    public UserNoteHistoryPath noteLinksPartitionedToNoteIdFkey() {
+        if (_noteLinksPartitionedToNoteIdFkey == null)
+            _noteLinksPartitionedToNoteIdFkey = new UserNoteHistoryPath(this, Keys.NOTE_LINKS__NOTE_LINKS_PARTITIONED_TO_NOTE_ID_FKEY, null);
 
-        return _noteLinksToNoteIdFkey;
+        return _noteLinksPartitionedToNoteIdFkey;
     }
 
     @Override
@@ -0,0 +1,259 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables;
+
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.Index;
+import org.jooq.JSONB;
+import org.jooq.Name;
+import org.jooq.PlainSQL;
+import org.jooq.QueryPart;
+import org.jooq.SQL;
+import org.jooq.Schema;
+import org.jooq.Select;
+import org.jooq.Stringly;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import test.generated.Indexes;
+import test.generated.Keys;
+import test.generated.Public;
+import test.generated.tables.records.StudyGuideCacheRecord;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class StudyGuideCache extends TableImpl<StudyGuideCacheRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reference instance of <code>public.study_guide_cache</code>
+     */
+    public static final StudyGuideCache STUDY_GUIDE_CACHE = new StudyGuideCache();
+
+    /**
+     * The class holding records for this type
+     */
+    @Override
+    public Class<StudyGuideCacheRecord> getRecordType() {
+        return StudyGuideCacheRecord.class;
+    }
+
+    /**
+     * The column <code>public.study_guide_cache.cache_key</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, String> CACHE_KEY = createField(DSL.name("cache_key"), SQLDataType.VARCHAR(64).nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_cache.model</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, String> MODEL = createField(DSL.name("model"), SQLDataType.VARCHAR(50).nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_cache.prompt_version</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, Integer> PROMPT_VERSION = createField(DSL.name("prompt_version"), SQLDataType.INTEGER.nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_cache.study_guide</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, JSONB> STUDY_GUIDE = createField(DSL.name("study_guide"), SQLDataType.JSONB.nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_cache.hits</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, Integer> HITS = createField(DSL.name("hits"), SQLDataType.INTEGER.nullable(false).defaultValue(DSL.field(DSL.raw("0"), SQLDataType.INTEGER)), this, "");
+
+    /**
+     * The column <code>public.study_guide_cache.created_at</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, LocalDateTime> CREATED_AT = createField(DSL.name("created_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    /**
+     * The column <code>public.study_guide_cache.last_hit_at</code>.
+     */
+    public final TableField<StudyGuideCacheRecord, LocalDateTime> LAST_HIT_AT = createField(DSL.name("last_hit_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    private StudyGuideCache(Name alias, Table<StudyGuideCacheRecord> aliased) {
+        this(alias, aliased, (Field<?>[]) null, null);
+    }
+
+    private StudyGuideCache(Name alias, Table<StudyGuideCacheRecord> aliased, Field<?>[] parameters, Condition where) {
+        super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table(), where);
+    }
+
+    /**
+     * Create an aliased <code>public.study_guide_cache</code> table reference
+     */
+    public StudyGuideCache(String alias) {
+        this(DSL.name(alias), STUDY_GUIDE_CACHE);
+    }
+
+    /**
+     * Create an aliased <code>public.study_guide_cache</code> table reference
+     */
+    public StudyGuideCache(Name alias) {
+        this(alias, STUDY_GUIDE_CACHE);
+    }
+
+    /**
+     * Create a <code>public.study_guide_cache</code> table reference
+     */
+    public StudyGuideCache() {
+        this(DSL.name("study_guide_cache"), null);
+    }
+
+    @Override
+    public Schema getSchema() {
+        return aliased() ? null : Public.PUBLIC;
+    }
+
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.IDX_STUDY_GUIDE_CACHE_LAST_HIT_AT);
+    }
+
+    @Override
+    public UniqueKey<StudyGuideCacheRecord> getPrimaryKey() {
+        return Keys.STUDY_GUIDE_CACHE_PKEY;
+    }
+
+    @Override
+    public StudyGuideCache as(String alias) {
+        return new StudyGuideCache(DSL.name(alias), this);
+    }
+
+    @Override
+    public StudyGuideCache as(Name alias) {
+        return new StudyGuideCache(alias, this);
+    }
+
+    @Override
+    public StudyGuideCache as(Table<?> alias) {
+        return new StudyGuideCache(alias.getQualifiedName(), this);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public StudyGuideCache rename(String name) {
+        return new StudyGuideCache(DSL.name(name), null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public StudyGuideCache rename(Name name) {
+        return new StudyGuideCache(name, null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public StudyGuideCache rename(Table<?> name) {
+        return new StudyGuideCache(name.getQualifiedName(), null);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideCache where(Condition condition) {
+        return new StudyGuideCache(getQualifiedName(), aliased() ? this : null, null, condition);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideCache where(Collection<? extends Condition> conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideCache where(Condition... conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideCache where(Field<Boolean> condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideCache where(SQL condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideCache where(@Stringly.SQL String condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideCache where(@Stringly.SQL String condition, Object... binds) {
+        return where(DSL.condition(condition, binds));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideCache where(@Stringly.SQL String condition, QueryPart... parts) {
+        return where(DSL.condition(condition, parts));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideCache whereExists(Select<?> select) {
+        return where(DSL.exists(select));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideCache whereNotExists(Select<?> select) {
+        return where(DSL.notExists(select));
+    }
+}
@@ -0,0 +1,340 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables;
+
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+import org.jooq.Condition;
+import org.jooq.Field;
+import org.jooq.ForeignKey;
+import org.jooq.Index;
+import org.jooq.InverseForeignKey;
+import org.jooq.JSONB;
+import org.jooq.Name;
+import org.jooq.Path;
+import org.jooq.PlainSQL;
+import org.jooq.QueryPart;
+import org.jooq.Record;
+import org.jooq.SQL;
+import org.jooq.Schema;
+import org.jooq.Select;
+import org.jooq.Stringly;
+import org.jooq.Table;
+import org.jooq.TableField;
+import org.jooq.TableOptions;
+import org.jooq.UniqueKey;
+import org.jooq.impl.DSL;
+import org.jooq.impl.SQLDataType;
+import org.jooq.impl.TableImpl;
+
+import test.generated.Indexes;
+import test.generated.Keys;
+import test.generated.Public;
+import test.generated.tables.Users.UsersPath;
+import test.generated.tables.records.StudyGuideJobsRecord;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class StudyGuideJobs extends TableImpl<StudyGuideJobsRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * The reference instance of <code>public.study_guide_jobs</code>
+     */
+    public static final StudyGuideJobs STUDY_GUIDE_JOBS = new StudyGuideJobs();
+
+    /**
+     * The class holding records for this type
+     */
+    @Override
+    public Class<StudyGuideJobsRecord> getRecordType() {
+        return StudyGuideJobsRecord.class;
+    }
+
+    /**
+     * The column <code>public.study_guide_jobs.id</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, UUID> ID = createField(DSL.name("id"), SQLDataType.UUID.nullable(false).defaultValue(DSL.field(DSL.raw("gen_random_uuid()"), SQLDataType.UUID)), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.username</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, String> USERNAME = createField(DSL.name("username"), SQLDataType.VARCHAR(255).nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.title</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, String> TITLE = createField(DSL.name("title"), SQLDataType.VARCHAR(255).nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.notes</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, String> NOTES = createField(DSL.name("notes"), SQLDataType.CLOB.nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.status</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, String> STATUS = createField(DSL.name("status"), SQLDataType.VARCHAR(15).nullable(false), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.attempt_count</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, Short> ATTEMPT_COUNT = createField(DSL.name("attempt_count"), SQLDataType.SMALLINT.nullable(false).defaultValue(DSL.field(DSL.raw("0"), SQLDataType.SMALLINT)), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.last_error</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, String> LAST_ERROR = createField(DSL.name("last_error"), SQLDataType.CLOB, this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.study_guide</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, JSONB> STUDY_GUIDE = createField(DSL.name("study_guide"), SQLDataType.JSONB, this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.claimed_at</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, LocalDateTime> CLAIMED_AT = createField(DSL.name("claimed_at"), SQLDataType.LOCALDATETIME(6), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.next_attempt_at</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, LocalDateTime> NEXT_ATTEMPT_AT = createField(DSL.name("next_attempt_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.created_at</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, LocalDateTime> CREATED_AT = createField(DSL.name("created_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    /**
+     * The column <code>public.study_guide_jobs.updated_at</code>.
+     */
+    public final TableField<StudyGuideJobsRecord, LocalDateTime> UPDATED_AT = createField(DSL.name("updated_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    private StudyGuideJobs(Name alias, Table<StudyGuideJobsRecord> aliased) {
+        this(alias, aliased, (Field<?>[]) null, null);
+    }
+
+    private StudyGuideJobs(Name alias, Table<StudyGuideJobsRecord> aliased, Field<?>[] parameters, Condition where) {
+        super(alias, null, aliased, parameters, DSL.comment(""), TableOptions.table(), where);
+    }
+
+    /**
+     * Create an aliased <code>public.study_guide_jobs</code> table reference
+     */
+    public StudyGuideJobs(String alias) {
+        this(DSL.name(alias), STUDY_GUIDE_JOBS);
+    }
+
+    /**
+     * Create an aliased <code>public.study_guide_jobs</code> table reference
+     */
+    public StudyGuideJobs(Name alias) {
+        this(alias, STUDY_GUIDE_JOBS);
+    }
+
+    /**
+     * Create a <code>public.study_guide_jobs</code> table reference
+     */
+    public StudyGuideJobs() {
+        this(DSL.name("study_guide_jobs"), null);
+    }
+
+    public <O extends Record> StudyGuideJobs(Table<O> path, ForeignKey<O, StudyGuideJobsRecord> childPath, InverseForeignKey<O, StudyGuideJobsRecord> parentPath) {
+        super(path, childPath, parentPath, STUDY_GUIDE_JOBS);
+    }
+
+    /**
+     * A subtype implementing {@link Path} for simplified path-based joins.
+     */
+    public static class StudyGuideJobsPath extends StudyGuideJobs implements Path<StudyGuideJobsRecord> {
+
+        private static final long serialVersionUID = 1L;
+        public <O extends Record> StudyGuideJobsPath(Table<O> path, ForeignKey<O, StudyGuideJobsRecord> childPath, InverseForeignKey<O, StudyGuideJobsRecord> parentPath) {
+            super(path, childPath, parentPath);
+        }
+        private StudyGuideJobsPath(Name alias, Table<StudyGuideJobsRecord> aliased) {
+            super(alias, aliased);
+        }
+
+        @Override
+        public StudyGuideJobsPath as(String alias) {
+            return new StudyGuideJobsPath(DSL.name(alias), this);
+        }
+
+        @Override
+        public StudyGuideJobsPath as(Name alias) {
+            return new StudyGuideJobsPath(alias, this);
+        }
+
+        @Override
+        public StudyGuideJobsPath as(Table<?> alias) {
+            return new StudyGuideJobsPath(alias.getQualifiedName(), this);
+        }
+    }
+
+    @Override
+    public Schema getSchema() {
+        return aliased() ? null : Public.PUBLIC;
+    }
+
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.IDX_STUDY_GUIDE_JOBS_PENDING_NEXT_ATTEMPT_AT, Indexes.IDX_STUDY_GUIDE_JOBS_PROCESSING_CLAIMED_AT, Indexes.IDX_STUDY_GUIDE_JOBS_UPDATED_AT);
+    }
+
+    @Override
+    public UniqueKey<StudyGuideJobsRecord> getPrimaryKey() {
+        return Keys.STUDY_GUIDE_JOBS_PKEY;
+    }
+
+    @Override
+    public List<ForeignKey<StudyGuideJobsRecord, ?>> getReferences() {
+        return Arrays.asList(Keys.STUDY_GUIDE_JOBS__FK_STUDYGUIDEJOBS_USERNAME);
+    }
+
+    private transient UsersPath _users;
+
+    /**
+     * Get the implicit join path to the <code>public.users</code> table.
+     */
+    public UsersPath users() {
+        if (_users == null)
+            _users = new UsersPath(this, Keys.STUDY_GUIDE_JOBS__FK_STUDYGUIDEJOBS_USERNAME, null);
+
+        return _users;
+    }
+
+    @Override
+    public StudyGuideJobs as(String alias) {
+        return new StudyGuideJobs(DSL.name(alias), this);
+    }
+
+    @Override
+    public StudyGuideJobs as(Name alias) {
+        return new StudyGuideJobs(alias, this);
+    }
+
+    @Override
+    public StudyGuideJobs as(Table<?> alias) {
+        return new StudyGuideJobs(alias.getQualifiedName(), this);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public StudyGuideJobs rename(String name) {
+        return new StudyGuideJobs(DSL.name(name), null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public StudyGuideJobs rename(Name name) {
+        return new StudyGuideJobs(name, null);
+    }
+
+    /**
+     * Rename this table
+     */
+    @Override
+    public StudyGuideJobs rename(Table<?> name) {
+        return new StudyGuideJobs(name.getQualifiedName(), null);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideJobs where(Condition condition) {
+        return new StudyGuideJobs(getQualifiedName(), aliased() ? this : null, null, condition);
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideJobs where(Collection<? extends Condition> conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideJobs where(Condition... conditions) {
+        return where(DSL.and(conditions));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideJobs where(Field<Boolean> condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideJobs where(SQL condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideJobs where(@Stringly.SQL String condition) {
+        return where(DSL.condition(condition));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideJobs where(@Stringly.SQL String condition, Object... binds) {
+        return where(DSL.condition(condition, binds));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    @PlainSQL
+    public StudyGuideJobs where(@Stringly.SQL String condition, QueryPart... parts) {
+        return where(DSL.condition(condition, parts));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideJobs whereExists(Select<?> select) {
+        return where(DSL.exists(select));
+    }
+
+    /**
+     * Create an inline derived table from this table
+     */
+    @Override
+    public StudyGuideJobs whereNotExists(Select<?> select) {
+        return where(DSL.notExists(select));
+    }
+}
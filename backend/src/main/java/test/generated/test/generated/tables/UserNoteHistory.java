@@ -4,6 +4,7 @@
 package test.generated.tables;
 
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.Arrays;
 import java.util.Collection;
@@ -13,6 +14,7 @@ import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.ForeignKey;
 import org.jooq.Identity;
+import org.jooq.Index;
 import org.jooq.InverseForeignKey;
 import org.jooq.Name;
 import org.jooq.Path;
@@ -31,9 +33,12 @@ import org.jooq.impl.DSL;
 import org.jooq.impl.SQLDataType;
 import org.jooq.impl.TableImpl;
 
+import test.generated.Indexes;
 import test.generated.Keys;
 import test.generated.Public;
 import test.generated.tables.Jobs.JobsPath;
+import test.generated.tables.JobsHistory.JobsHistoryPath;
+import test.generated.tables.NoteChunks.NoteChunksPath;
 import test.generated.tables.NoteLinks.NoteLinksPath;
 import test.generated.tables.Users.UsersPath;
 import test.generated.tables.records.UserNoteHistoryRecord;
@@ -90,6 +95,41 @@ public class UserNoteHistory extends TableImpl<UserNoteHistoryRecord> {
      */
     public final TableField<UserNoteHistoryRecord, String> TEXT_CONTENT = createField(DSL.name("text_content"), SQLDataType.CLOB, this, "");
 
+    /**
+     * The column <code>public.user_note_history.content_hash</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, String> CONTENT_HASH = createField(DSL.name("content_hash"), SQLDataType.VARCHAR(64), this, "");
+
+    /**
+     * The column <code>public.user_note_history.upload_status</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, String> UPLOAD_STATUS = createField(DSL.name("upload_status"), SQLDataType.VARCHAR(15).nullable(false).defaultValue(DSL.field(DSL.raw("'pending'::character varying"), SQLDataType.VARCHAR)), this, "");
+
+    /**
+     * The column <code>public.user_note_history.upload_attempts</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, Short> UPLOAD_ATTEMPTS = createField(DSL.name("upload_attempts"), SQLDataType.SMALLINT.nullable(false).defaultValue(DSL.field(DSL.raw("0"), SQLDataType.SMALLINT)), this, "");
+
+    /**
+     * The column <code>public.user_note_history.upload_error</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, String> UPLOAD_ERROR = createField(DSL.name("upload_error"), SQLDataType.CLOB, this, "");
+
+    /**
+     * The column <code>public.user_note_history.upload_claimed_at</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, LocalDateTime> UPLOAD_CLAIMED_AT = createField(DSL.name("upload_claimed_at"), SQLDataType.LOCALDATETIME(6), this, "");
+
+    /**
+     * The column <code>public.user_note_history.next_upload_at</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, LocalDateTime> NEXT_UPLOAD_AT = createField(DSL.name("next_upload_at"), SQLDataType.LOCALDATETIME(6).nullable(false).defaultValue(DSL.field(DSL.raw("CURRENT_TIMESTAMP"), SQLDataType.LOCALDATETIME)), this, "");
+
+    /**
+     * The column <code>public.user_note_history.content_encoding</code>.
+     */
+    public final TableField<UserNoteHistoryRecord, String> CONTENT_ENCODING = createField(DSL.name("content_encoding"), SQLDataType.VARCHAR(15), this, "");
+
     private UserNoteHistory(Name alias, Table<UserNoteHistoryRecord> aliased) {
         this(alias, aliased, (Field<?>[]) null, null);
     }
@@ -157,6 +197,11 @@ public class UserNoteHistory extends TableImpl<UserNoteHistoryRecord> {
         return aliased() ? null : Public.PUBLIC;
     }
 
+    @Override
+    public List<Index> getIndexes() {
+        return Arrays.asList(Indexes.IDX_USER_NOTE_HISTORY_PENDING_UPLOAD, Indexes.IDX_USER_NOTE_HISTORY_UPLOADING);
+    }
+
     @Override
     public Identity<UserNoteHistoryRecord, Integer> getIdentity() {
         return (Identity<UserNoteHistoryRecord, Integer>) super.getIdentity();
@@ -184,6 +229,32 @@ public class UserNoteHistory extends TableImpl<UserNoteHistoryRecord> {
         return _users;
     }
 
+    private transient JobsHistoryPath _jobsHistory;
+
+    /**
+     * Get the implicit to-many join path to the
+     * <code>public.jobs_history</code> table
+     */
+    public JobsHistoryPath jobsHistory() {
+        if (_jobsHistory == null)
+            _jobsHistory = new JobsHistoryPath(this, null, Keys.JOBS_HISTORY__FK_JOBSHISTORY_NOTEID.getInverseKey());
+
+        return _jobsHistory;
+    }
+
+    private transient NoteChunksPath _noteChunks;
+
+    /**
+     * Get the implicit to-many join path to the <code>public.note_chunks</code>
+     * table
+     */
+    public NoteChunksPath noteChunks() {
+        if (_noteChunks == null)
+            _noteChunks = new NoteChunksPath(this, null, Keys.NOTE_CHUNKS__FK_NOTECHUNKS_NOTEID.getInverseKey());
+
+        return _noteChunks;
+    }
+
     private transient JobsPath _jobs;
 
     /**
@@ -196,30 +267,30 @@ public class UserNoteHistory extends TableImpl<UserNoteHistoryRecord> {
         return _jobs;
     }
 
-    private transient NoteLinksPath _noteLinksFromNoteIdFkey;
+    private transient NoteLinksPath _noteLinksPartitionedFromNoteIdFkey;
 
     /**
      * Get the implicit to-many join path to the <code>public.note_links</code>
-     * table, via the <code>note_links_from_note_id_fkey</code> key
+     * table, via the <code>note_links_partitioned_from_note_id_fkey</code> key
      */
-    public NoteLinksPath noteLinksFromNoteIdFkey() {
-        if (_noteLinksFromNoteIdFkey == null)
-            _noteLinksFromNoteIdFkey = new NoteLinksPath(this, null, Keys.NOTE_LINKS__NOTE_LINKS_FROM_NOTE_ID_FKEY.getInverseKey());
+    public NoteLinksPath noteLinksPartitionedFromNoteIdFkey() {
+        if (_noteLinksPartitionedFromNoteIdFkey == null)
+            _noteLinksPartitionedFromNoteIdFkey = new NoteLinksPath(this, null, Keys.NOTE_LINKS__NOTE_LINKS_PARTITIONED_FROM_NOTE_ID_FKEY.getInverseKey());
 
-        return _noteLinksFromNoteIdFkey;
+        return _noteLinksPartitionedFromNoteIdFkey;
     }
 
-    private transient NoteLinksPath _noteLinksToNoteIdFkey;
+    private transient NoteLinksPath _noteLinksPartitionedToNoteIdFkey;
 
     /**
      * Get the implicit to-many join path to the <code>public.note_links</code>
-     * table, via the <code>note_links_to_note_id_fkey</code> key
+     * table, via the <code>note_links_partitioned_to_note_id_fkey</code> key
      */
-    public NoteLinksPath noteLinksToNoteIdFkey() {
-        if (_noteLinksToNoteIdFkey == null)
-            _noteLinksToNoteIdFkey = new NoteLinksPath(this, null, Keys.NOTE_LINKS__NOTE_LINKS_TO_NOTE_ID_FKEY.getInverseKey());
+    public NoteLinksPath noteLinksPartitionedToNoteIdFkey() {
+        if (_noteLinksPartitionedToNoteIdFkey == null)
+            _noteLinksPartitionedToNoteIdFkey = new NoteLinksPath(this, null, Keys.NOTE_LINKS__NOTE_LINKS_PARTITIONED_TO_NOTE_ID_FKEY.getInverseKey());
 
-        return _noteLinksToNoteIdFkey;
+        return _noteLinksPartitionedToNoteIdFkey;
     }
 
     @Override
@@ -34,6 +34,7 @@ import org.jooq.impl.TableImpl;
 import test.generated.Keys;
 import test.generated.Public;
 import test.generated.tables.PasswordResetTokens.PasswordResetTokensPath;
+import test.generated.tables.StudyGuideJobs.StudyGuideJobsPath;
 import test.generated.tables.UserNoteHistory.UserNoteHistoryPath;
 import test.generated.tables.records.UsersRecord;
 
@@ -176,6 +177,19 @@ public class Users extends TableImpl<UsersRecord> {
         return Arrays.asList(Keys.USERS_EMAIL_KEY, Keys.USERS_STRIPE_CUSTOMER_ID_KEY, Keys.USERS_USERNAME_KEY);
     }
 
+    private transient StudyGuideJobsPath _studyGuideJobs;
+
+    /**
+     * Get the implicit to-many join path to the
+     * <code>public.study_guide_jobs</code> table
+     */
+    public StudyGuideJobsPath studyGuideJobs() {
+        if (_studyGuideJobs == null)
+            _studyGuideJobs = new StudyGuideJobsPath(this, null, Keys.STUDY_GUIDE_JOBS__FK_STUDYGUIDEJOBS_USERNAME.getInverseKey());
+
+        return _studyGuideJobs;
+    }
+
     private transient PasswordResetTokensPath _passwordResetTokens;
 
     /**
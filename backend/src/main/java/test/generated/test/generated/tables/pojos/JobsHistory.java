@@ -0,0 +1,290 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.pojos;
+
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class JobsHistory implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer id;
+    private Integer noteId;
+    private String status;
+    private Short attemptCount;
+    private String lastError;
+    private String username;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime archivedAt;
+
+    public JobsHistory() {}
+
+    public JobsHistory(JobsHistory value) {
+        this.id = value.id;
+        this.noteId = value.noteId;
+        this.status = value.status;
+        this.attemptCount = value.attemptCount;
+        this.lastError = value.lastError;
+        this.username = value.username;
+        this.createdAt = value.createdAt;
+        this.updatedAt = value.updatedAt;
+        this.archivedAt = value.archivedAt;
+    }
+
+    public JobsHistory(
+        Integer id,
+        Integer noteId,
+        String status,
+        Short attemptCount,
+        String lastError,
+        String username,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        LocalDateTime archivedAt
+    ) {
+        this.id = id;
+        this.noteId = noteId;
+        this.status = status;
+        this.attemptCount = attemptCount;
+        this.lastError = lastError;
+        this.username = username;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.archivedAt = archivedAt;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.id</code>.
+     */
+    public Integer getId() {
+        return this.id;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.id</code>.
+     */
+    public void setId(Integer id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.note_id</code>.
+     */
+    public Integer getNoteId() {
+        return this.noteId;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.note_id</code>.
+     */
+    public void setNoteId(Integer noteId) {
+        this.noteId = noteId;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.status</code>.
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.status</code>.
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.attempt_count</code>.
+     */
+    public Short getAttemptCount() {
+        return this.attemptCount;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.attempt_count</code>.
+     */
+    public void setAttemptCount(Short attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.last_error</code>.
+     */
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.last_error</code>.
+     */
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.username</code>.
+     */
+    public String getUsername() {
+        return this.username;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.username</code>.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.updated_at</code>.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.updated_at</code>.
+     */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.archived_at</code>.
+     */
+    public LocalDateTime getArchivedAt() {
+        return this.archivedAt;
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.archived_at</code>.
+     */
+    public void setArchivedAt(LocalDateTime archivedAt) {
+        this.archivedAt = archivedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final JobsHistory other = (JobsHistory) obj;
+        if (this.id == null) {
+            if (other.id != null)
+                return false;
+        }
+        else if (!this.id.equals(other.id))
+            return false;
+        if (this.noteId == null) {
+            if (other.noteId != null)
+                return false;
+        }
+        else if (!this.noteId.equals(other.noteId))
+            return false;
+        if (this.status == null) {
+            if (other.status != null)
+                return false;
+        }
+        else if (!this.status.equals(other.status))
+            return false;
+        if (this.attemptCount == null) {
+            if (other.attemptCount != null)
+                return false;
+        }
+        else if (!this.attemptCount.equals(other.attemptCount))
+            return false;
+        if (this.lastError == null) {
+            if (other.lastError != null)
+                return false;
+        }
+        else if (!this.lastError.equals(other.lastError))
+            return false;
+        if (this.username == null) {
+            if (other.username != null)
+                return false;
+        }
+        else if (!this.username.equals(other.username))
+            return false;
+        if (this.createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        }
+        else if (!this.createdAt.equals(other.createdAt))
+            return false;
+        if (this.updatedAt == null) {
+            if (other.updatedAt != null)
+                return false;
+        }
+        else if (!this.updatedAt.equals(other.updatedAt))
+            return false;
+        if (this.archivedAt == null) {
+            if (other.archivedAt != null)
+                return false;
+        }
+        else if (!this.archivedAt.equals(other.archivedAt))
+            return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((this.id == null) ? 0 : this.id.hashCode());
+        result = prime * result + ((this.noteId == null) ? 0 : this.noteId.hashCode());
+        result = prime * result + ((this.status == null) ? 0 : this.status.hashCode());
+        result = prime * result + ((this.attemptCount == null) ? 0 : this.attemptCount.hashCode());
+        result = prime * result + ((this.lastError == null) ? 0 : this.lastError.hashCode());
+        result = prime * result + ((this.username == null) ? 0 : this.username.hashCode());
+        result = prime * result + ((this.createdAt == null) ? 0 : this.createdAt.hashCode());
+        result = prime * result + ((this.updatedAt == null) ? 0 : this.updatedAt.hashCode());
+        result = prime * result + ((this.archivedAt == null) ? 0 : this.archivedAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("JobsHistory (");
+
+        sb.append(id);
+        sb.append(", ").append(noteId);
+        sb.append(", ").append(status);
+        sb.append(", ").append(attemptCount);
+        sb.append(", ").append(lastError);
+        sb.append(", ").append(username);
+        sb.append(", ").append(createdAt);
+        sb.append(", ").append(updatedAt);
+        sb.append(", ").append(archivedAt);
+
+        sb.append(")");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.pojos;
+
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class NoteBlobs implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String username;
+    private String contentHash;
+    private String location;
+    private Long sizeBytes;
+    private Integer refCount;
+    private String status;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+    private String contentEncoding;
+
+    public NoteBlobs() {}
+
+    public NoteBlobs(NoteBlobs value) {
+        this.username = value.username;
+        this.contentHash = value.contentHash;
+        this.location = value.location;
+        this.sizeBytes = value.sizeBytes;
+        this.refCount = value.refCount;
+        this.status = value.status;
+        this.createdAt = value.createdAt;
+        this.updatedAt = value.updatedAt;
+        this.contentEncoding = value.contentEncoding;
+    }
+
+    public NoteBlobs(
+        String username,
+        String contentHash,
+        String location,
+        Long sizeBytes,
+        Integer refCount,
+        String status,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        String contentEncoding
+    ) {
+        this.username = username;
+        this.contentHash = contentHash;
+        this.location = location;
+        this.sizeBytes = sizeBytes;
+        this.refCount = refCount;
+        this.status = status;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        this.contentEncoding = contentEncoding;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.username</code>.
+     */
+    public String getUsername() {
+        return this.username;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.username</code>.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.content_hash</code>.
+     */
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.content_hash</code>.
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.location</code>.
+     */
+    public String getLocation() {
+        return this.location;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.location</code>.
+     */
+    public void setLocation(String location) {
+        this.location = location;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.size_bytes</code>.
+     */
+    public Long getSizeBytes() {
+        return this.sizeBytes;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.size_bytes</code>.
+     */
+    public void setSizeBytes(Long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.ref_count</code>.
+     */
+    public Integer getRefCount() {
+        return this.refCount;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.ref_count</code>.
+     */
+    public void setRefCount(Integer refCount) {
+        this.refCount = refCount;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.status</code>.
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.status</code>.
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.updated_at</code>.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.updated_at</code>.
+     */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.content_encoding</code>.
+     */
+    public String getContentEncoding() {
+        return this.contentEncoding;
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.content_encoding</code>.
+     */
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final NoteBlobs other = (NoteBlobs) obj;
+        if (this.username == null) {
+            if (other.username != null)
+                return false;
+        }
+        else if (!this.username.equals(other.username))
+            return false;
+        if (this.contentHash == null) {
+            if (other.contentHash != null)
+                return false;
+        }
+        else if (!this.contentHash.equals(other.contentHash))
+            return false;
+        if (this.location == null) {
+            if (other.location != null)
+                return false;
+        }
+        else if (!this.location.equals(other.location))
+            return false;
+        if (this.sizeBytes == null) {
+            if (other.sizeBytes != null)
+                return false;
+        }
+        else if (!this.sizeBytes.equals(other.sizeBytes))
+            return false;
+        if (this.refCount == null) {
+            if (other.refCount != null)
+                return false;
+        }
+        else if (!this.refCount.equals(other.refCount))
+            return false;
+        if (this.status == null) {
+            if (other.status != null)
+                return false;
+        }
+        else if (!this.status.equals(other.status))
+            return false;
+        if (this.createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        }
+        else if (!this.createdAt.equals(other.createdAt))
+            return false;
+        if (this.updatedAt == null) {
+            if (other.updatedAt != null)
+                return false;
+        }
+        else if (!this.updatedAt.equals(other.updatedAt))
+            return false;
+        if (this.contentEncoding == null) {
+            if (other.contentEncoding != null)
+                return false;
+        }
+        else if (!this.contentEncoding.equals(other.contentEncoding))
+            return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((this.username == null) ? 0 : this.username.hashCode());
+        result = prime * result + ((this.contentHash == null) ? 0 : this.contentHash.hashCode());
+        result = prime * result + ((this.location == null) ? 0 : this.location.hashCode());
+        result = prime * result + ((this.sizeBytes == null) ? 0 : this.sizeBytes.hashCode());
+        result = prime * result + ((this.refCount == null) ? 0 : this.refCount.hashCode());
+        result = prime * result + ((this.status == null) ? 0 : this.status.hashCode());
+        result = prime * result + ((this.createdAt == null) ? 0 : this.createdAt.hashCode());
+        result = prime * result + ((this.updatedAt == null) ? 0 : this.updatedAt.hashCode());
+        result = prime * result + ((this.contentEncoding == null) ? 0 : this.contentEncoding.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("NoteBlobs (");
+
+        sb.append(username);
+        sb.append(", ").append(contentHash);
+        sb.append(", ").append(location);
+        sb.append(", ").append(sizeBytes);
+        sb.append(", ").append(refCount);
+        sb.append(", ").append(status);
+        sb.append(", ").append(createdAt);
+        sb.append(", ").append(updatedAt);
+        sb.append(", ").append(contentEncoding);
+
+        sb.append(")");
+        return sb.toString();
+    }
+}
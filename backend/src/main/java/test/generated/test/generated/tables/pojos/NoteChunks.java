@@ -0,0 +1,211 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.pojos;
+
+
+import java.io.Serializable;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class NoteChunks implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Integer noteId;
+    private Integer seq;
+    private String username;
+    private String contentHash;
+    private Long byteOffset;
+    private Integer sizeBytes;
+
+    public NoteChunks() {}
+
+    public NoteChunks(NoteChunks value) {
+        this.noteId = value.noteId;
+        this.seq = value.seq;
+        this.username = value.username;
+        this.contentHash = value.contentHash;
+        this.byteOffset = value.byteOffset;
+        this.sizeBytes = value.sizeBytes;
+    }
+
+    public NoteChunks(
+        Integer noteId,
+        Integer seq,
+        String username,
+        String contentHash,
+        Long byteOffset,
+        Integer sizeBytes
+    ) {
+        this.noteId = noteId;
+        this.seq = seq;
+        this.username = username;
+        this.contentHash = contentHash;
+        this.byteOffset = byteOffset;
+        this.sizeBytes = sizeBytes;
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.note_id</code>.
+     */
+    public Integer getNoteId() {
+        return this.noteId;
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.note_id</code>.
+     */
+    public void setNoteId(Integer noteId) {
+        this.noteId = noteId;
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.seq</code>.
+     */
+    public Integer getSeq() {
+        return this.seq;
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.seq</code>.
+     */
+    public void setSeq(Integer seq) {
+        this.seq = seq;
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.username</code>.
+     */
+    public String getUsername() {
+        return this.username;
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.username</code>.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.content_hash</code>.
+     */
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.content_hash</code>.
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.byte_offset</code>.
+     */
+    public Long getByteOffset() {
+        return this.byteOffset;
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.byte_offset</code>.
+     */
+    public void setByteOffset(Long byteOffset) {
+        this.byteOffset = byteOffset;
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.size_bytes</code>.
+     */
+    public Integer getSizeBytes() {
+        return this.sizeBytes;
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.size_bytes</code>.
+     */
+    public void setSizeBytes(Integer sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final NoteChunks other = (NoteChunks) obj;
+        if (this.noteId == null) {
+            if (other.noteId != null)
+                return false;
+        }
+        else if (!this.noteId.equals(other.noteId))
+            return false;
+        if (this.seq == null) {
+            if (other.seq != null)
+                return false;
+        }
+        else if (!this.seq.equals(other.seq))
+            return false;
+        if (this.username == null) {
+            if (other.username != null)
+                return false;
+        }
+        else if (!this.username.equals(other.username))
+            return false;
+        if (this.contentHash == null) {
+            if (other.contentHash != null)
+                return false;
+        }
+        else if (!this.contentHash.equals(other.contentHash))
+            return false;
+        if (this.byteOffset == null) {
+            if (other.byteOffset != null)
+                return false;
+        }
+        else if (!this.byteOffset.equals(other.byteOffset))
+            return false;
+        if (this.sizeBytes == null) {
+            if (other.sizeBytes != null)
+                return false;
+        }
+        else if (!this.sizeBytes.equals(other.sizeBytes))
+            return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((this.noteId == null) ? 0 : this.noteId.hashCode());
+        result = prime * result + ((this.seq == null) ? 0 : this.seq.hashCode());
+        result = prime * result + ((this.username == null) ? 0 : this.username.hashCode());
+        result = prime * result + ((this.contentHash == null) ? 0 : this.contentHash.hashCode());
+        result = prime * result + ((this.byteOffset == null) ? 0 : this.byteOffset.hashCode());
+        result = prime * result + ((this.sizeBytes == null) ? 0 : this.sizeBytes.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("NoteChunks (");
+
+        sb.append(noteId);
+        sb.append(", ").append(seq);
+        sb.append(", ").append(username);
+        sb.append(", ").append(contentHash);
+        sb.append(", ").append(byteOffset);
+        sb.append(", ").append(sizeBytes);
+
+        sb.append(")");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,240 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.pojos;
+
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import org.jooq.JSONB;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class StudyGuideCache implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String cacheKey;
+    private String model;
+    private Integer promptVersion;
+    private JSONB studyGuide;
+    private Integer hits;
+    private LocalDateTime createdAt;
+    private LocalDateTime lastHitAt;
+
+    public StudyGuideCache() {}
+
+    public StudyGuideCache(StudyGuideCache value) {
+        this.cacheKey = value.cacheKey;
+        this.model = value.model;
+        this.promptVersion = value.promptVersion;
+        this.studyGuide = value.studyGuide;
+        this.hits = value.hits;
+        this.createdAt = value.createdAt;
+        this.lastHitAt = value.lastHitAt;
+    }
+
+    public StudyGuideCache(
+        String cacheKey,
+        String model,
+        Integer promptVersion,
+        JSONB studyGuide,
+        Integer hits,
+        LocalDateTime createdAt,
+        LocalDateTime lastHitAt
+    ) {
+        this.cacheKey = cacheKey;
+        this.model = model;
+        this.promptVersion = promptVersion;
+        this.studyGuide = studyGuide;
+        this.hits = hits;
+        this.createdAt = createdAt;
+        this.lastHitAt = lastHitAt;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.cache_key</code>.
+     */
+    public String getCacheKey() {
+        return this.cacheKey;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.cache_key</code>.
+     */
+    public void setCacheKey(String cacheKey) {
+        this.cacheKey = cacheKey;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.model</code>.
+     */
+    public String getModel() {
+        return this.model;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.model</code>.
+     */
+    public void setModel(String model) {
+        this.model = model;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.prompt_version</code>.
+     */
+    public Integer getPromptVersion() {
+        return this.promptVersion;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.prompt_version</code>.
+     */
+    public void setPromptVersion(Integer promptVersion) {
+        this.promptVersion = promptVersion;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.study_guide</code>.
+     */
+    public JSONB getStudyGuide() {
+        return this.studyGuide;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.study_guide</code>.
+     */
+    public void setStudyGuide(JSONB studyGuide) {
+        this.studyGuide = studyGuide;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.hits</code>.
+     */
+    public Integer getHits() {
+        return this.hits;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.hits</code>.
+     */
+    public void setHits(Integer hits) {
+        this.hits = hits;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.last_hit_at</code>.
+     */
+    public LocalDateTime getLastHitAt() {
+        return this.lastHitAt;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.last_hit_at</code>.
+     */
+    public void setLastHitAt(LocalDateTime lastHitAt) {
+        this.lastHitAt = lastHitAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final StudyGuideCache other = (StudyGuideCache) obj;
+        if (this.cacheKey == null) {
+            if (other.cacheKey != null)
+                return false;
+        }
+        else if (!this.cacheKey.equals(other.cacheKey))
+            return false;
+        if (this.model == null) {
+            if (other.model != null)
+                return false;
+        }
+        else if (!this.model.equals(other.model))
+            return false;
+        if (this.promptVersion == null) {
+            if (other.promptVersion != null)
+                return false;
+        }
+        else if (!this.promptVersion.equals(other.promptVersion))
+            return false;
+        if (this.studyGuide == null) {
+            if (other.studyGuide != null)
+                return false;
+        }
+        else if (!this.studyGuide.equals(other.studyGuide))
+            return false;
+        if (this.hits == null) {
+            if (other.hits != null)
+                return false;
+        }
+        else if (!this.hits.equals(other.hits))
+            return false;
+        if (this.createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        }
+        else if (!this.createdAt.equals(other.createdAt))
+            return false;
+        if (this.lastHitAt == null) {
+            if (other.lastHitAt != null)
+                return false;
+        }
+        else if (!this.lastHitAt.equals(other.lastHitAt))
+            return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((this.cacheKey == null) ? 0 : this.cacheKey.hashCode());
+        result = prime * result + ((this.model == null) ? 0 : this.model.hashCode());
+        result = prime * result + ((this.promptVersion == null) ? 0 : this.promptVersion.hashCode());
+        result = prime * result + ((this.studyGuide == null) ? 0 : this.studyGuide.hashCode());
+        result = prime * result + ((this.hits == null) ? 0 : this.hits.hashCode());
+        result = prime * result + ((this.createdAt == null) ? 0 : this.createdAt.hashCode());
+        result = prime * result + ((this.lastHitAt == null) ? 0 : this.lastHitAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("StudyGuideCache (");
+
+        sb.append(cacheKey);
+        sb.append(", ").append(model);
+        sb.append(", ").append(promptVersion);
+        sb.append(", ").append(studyGuide);
+        sb.append(", ").append(hits);
+        sb.append(", ").append(createdAt);
+        sb.append(", ").append(lastHitAt);
+
+        sb.append(")");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,371 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.pojos;
+
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.jooq.JSONB;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class StudyGuideJobs implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private UUID id;
+    private String username;
+    private String title;
+    private String notes;
+    private String status;
+    private Short attemptCount;
+    private String lastError;
+    private JSONB studyGuide;
+    private LocalDateTime claimedAt;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    public StudyGuideJobs() {}
+
+    public StudyGuideJobs(StudyGuideJobs value) {
+        this.id = value.id;
+        this.username = value.username;
+        this.title = value.title;
+        this.notes = value.notes;
+        this.status = value.status;
+        this.attemptCount = value.attemptCount;
+        this.lastError = value.lastError;
+        this.studyGuide = value.studyGuide;
+        this.claimedAt = value.claimedAt;
+        this.nextAttemptAt = value.nextAttemptAt;
+        this.createdAt = value.createdAt;
+        this.updatedAt = value.updatedAt;
+    }
+
+    public StudyGuideJobs(
+        UUID id,
+        String username,
+        String title,
+        String notes,
+        String status,
+        Short attemptCount,
+        String lastError,
+        JSONB studyGuide,
+        LocalDateTime claimedAt,
+        LocalDateTime nextAttemptAt,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+    ) {
+        this.id = id;
+        this.username = username;
+        this.title = title;
+        this.notes = notes;
+        this.status = status;
+        this.attemptCount = attemptCount;
+        this.lastError = lastError;
+        this.studyGuide = studyGuide;
+        this.claimedAt = claimedAt;
+        this.nextAttemptAt = nextAttemptAt;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.id</code>.
+     */
+    public UUID getId() {
+        return this.id;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.id</code>.
+     */
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.username</code>.
+     */
+    public String getUsername() {
+        return this.username;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.username</code>.
+     */
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.title</code>.
+     */
+    public String getTitle() {
+        return this.title;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.title</code>.
+     */
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.notes</code>.
+     */
+    public String getNotes() {
+        return this.notes;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.notes</code>.
+     */
+    public void setNotes(String notes) {
+        this.notes = notes;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.status</code>.
+     */
+    public String getStatus() {
+        return this.status;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.status</code>.
+     */
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.attempt_count</code>.
+     */
+    public Short getAttemptCount() {
+        return this.attemptCount;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.attempt_count</code>.
+     */
+    public void setAttemptCount(Short attemptCount) {
+        this.attemptCount = attemptCount;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.last_error</code>.
+     */
+    public String getLastError() {
+        return this.lastError;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.last_error</code>.
+     */
+    public void setLastError(String lastError) {
+        this.lastError = lastError;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.study_guide</code>.
+     */
+    public JSONB getStudyGuide() {
+        return this.studyGuide;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.study_guide</code>.
+     */
+    public void setStudyGuide(JSONB studyGuide) {
+        this.studyGuide = studyGuide;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.claimed_at</code>.
+     */
+    public LocalDateTime getClaimedAt() {
+        return this.claimedAt;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.claimed_at</code>.
+     */
+    public void setClaimedAt(LocalDateTime claimedAt) {
+        this.claimedAt = claimedAt;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.next_attempt_at</code>.
+     */
+    public LocalDateTime getNextAttemptAt() {
+        return this.nextAttemptAt;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.next_attempt_at</code>.
+     */
+    public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return this.createdAt;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.updated_at</code>.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return this.updatedAt;
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.updated_at</code>.
+     */
+    public void setUpdatedAt(LocalDateTime updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj)
+            return true;
+        if (obj == null)
+            return false;
+        if (getClass() != obj.getClass())
+            return false;
+        final StudyGuideJobs other = (StudyGuideJobs) obj;
+        if (this.id == null) {
+            if (other.id != null)
+                return false;
+        }
+        else if (!this.id.equals(other.id))
+            return false;
+        if (this.username == null) {
+            if (other.username != null)
+                return false;
+        }
+        else if (!this.username.equals(other.username))
+            return false;
+        if (this.title == null) {
+            if (other.title != null)
+                return false;
+        }
+        else if (!this.title.equals(other.title))
+            return false;
+        if (this.notes == null) {
+            if (other.notes != null)
+                return false;
+        }
+        else if (!this.notes.equals(other.notes))
+            return false;
+        if (this.status == null) {
+            if (other.status != null)
+                return false;
+        }
+        else if (!this.status.equals(other.status))
+            return false;
+        if (this.attemptCount == null) {
+            if (other.attemptCount != null)
+                return false;
+        }
+        else if (!this.attemptCount.equals(other.attemptCount))
+            return false;
+        if (this.lastError == null) {
+            if (other.lastError != null)
+                return false;
+        }
+        else if (!this.lastError.equals(other.lastError))
+            return false;
+        if (this.studyGuide == null) {
+            if (other.studyGuide != null)
+                return false;
+        }
+        else if (!this.studyGuide.equals(other.studyGuide))
+            return false;
+        if (this.claimedAt == null) {
+            if (other.claimedAt != null)
+                return false;
+        }
+        else if (!this.claimedAt.equals(other.claimedAt))
+            return false;
+        if (this.nextAttemptAt == null) {
+            if (other.nextAttemptAt != null)
+                return false;
+        }
+        else if (!this.nextAttemptAt.equals(other.nextAttemptAt))
+            return false;
+        if (this.createdAt == null) {
+            if (other.createdAt != null)
+                return false;
+        }
+        else if (!this.createdAt.equals(other.createdAt))
+            return false;
+        if (this.updatedAt == null) {
+            if (other.updatedAt != null)
+                return false;
+        }
+        else if (!this.updatedAt.equals(other.updatedAt))
+            return false;
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        final int prime = 31;
+        int result = 1;
+        result = prime * result + ((this.id == null) ? 0 : this.id.hashCode());
+        result = prime * result + ((this.username == null) ? 0 : this.username.hashCode());
+        result = prime * result + ((this.title == null) ? 0 : this.title.hashCode());
+        result = prime * result + ((this.notes == null) ? 0 : this.notes.hashCode());
+        result = prime * result + ((this.status == null) ? 0 : this.status.hashCode());
+        result = prime * result + ((this.attemptCount == null) ? 0 : this.attemptCount.hashCode());
+        result = prime * result + ((this.lastError == null) ? 0 : this.lastError.hashCode());
+        result = prime * result + ((this.studyGuide == null) ? 0 : this.studyGuide.hashCode());
+        result = prime * result + ((this.claimedAt == null) ? 0 : this.claimedAt.hashCode());
+        result = prime * result + ((this.nextAttemptAt == null) ? 0 : this.nextAttemptAt.hashCode());
+        result = prime * result + ((this.createdAt == null) ? 0 : this.createdAt.hashCode());
+        result = prime * result + ((this.updatedAt == null) ? 0 : this.updatedAt.hashCode());
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("StudyGuideJobs (");
+
+        sb.append(id);
+        sb.append(", ").append(username);
+        sb.append(", ").append(title);
+        sb.append(", ").append(notes);
+        sb.append(", ").append(status);
+        sb.append(", ").append(attemptCount);
+        sb.append(", ").append(lastError);
+        sb.append(", ").append(studyGuide);
+        sb.append(", ").append(claimedAt);
+        sb.append(", ").append(nextAttemptAt);
+        sb.append(", ").append(createdAt);
+        sb.append(", ").append(updatedAt);
+
+        sb.append(")");
+        return sb.toString();
+    }
+}
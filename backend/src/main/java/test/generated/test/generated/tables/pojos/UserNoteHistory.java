@@ -5,6 +5,7 @@ package test.generated.tables.pojos;
 
 
 import java.io.Serializable;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 
@@ -22,6 +23,13 @@ public class UserNoteHistory implements Serializable {
     private LocalTime savedAt;
     private String title;
     private String textContent;
+    private String contentHash;
+    private String uploadStatus;
+    private Short uploadAttempts;
+    private String uploadError;
+    private LocalDateTime uploadClaimedAt;
+    private LocalDateTime nextUploadAt;
+    private String contentEncoding;
 
     public UserNoteHistory() {}
 
@@ -32,6 +40,13 @@ public class UserNoteHistory implements Serializable {
         this.savedAt = value.savedAt;
         this.title = value.title;
         this.textContent = value.textContent;
+        this.contentHash = value.contentHash;
+        this.uploadStatus = value.uploadStatus;
+        this.uploadAttempts = value.uploadAttempts;
+        this.uploadError = value.uploadError;
+        this.uploadClaimedAt = value.uploadClaimedAt;
+        this.nextUploadAt = value.nextUploadAt;
+        this.contentEncoding = value.contentEncoding;
     }
 
     public UserNoteHistory(
@@ -40,7 +55,14 @@ public class UserNoteHistory implements Serializable {
         String linkToNote,
         LocalTime savedAt,
         String title,
-        String textContent
+        String textContent,
+        String contentHash,
+        String uploadStatus,
+        Short uploadAttempts,
+        String uploadError,
+        LocalDateTime uploadClaimedAt,
+        LocalDateTime nextUploadAt,
+        String contentEncoding
     ) {
         this.id = id;
         this.username = username;
@@ -48,6 +70,13 @@ public class UserNoteHistory implements Serializable {
         this.savedAt = savedAt;
         this.title = title;
         this.textContent = textContent;
+        this.contentHash = contentHash;
+        this.uploadStatus = uploadStatus;
+        this.uploadAttempts = uploadAttempts;
+        this.uploadError = uploadError;
+        this.uploadClaimedAt = uploadClaimedAt;
+        this.nextUploadAt = nextUploadAt;
+        this.contentEncoding = contentEncoding;
     }
 
     /**
@@ -134,6 +163,104 @@ public class UserNoteHistory implements Serializable {
         this.textContent = textContent;
     }
 
+    /**
+     * Getter for <code>public.user_note_history.content_hash</code>.
+     */
+    public String getContentHash() {
+        return this.contentHash;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.content_hash</code>.
+     */
+    public void setContentHash(String contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_status</code>.
+     */
+    public String getUploadStatus() {
+        return this.uploadStatus;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_status</code>.
+     */
+    public void setUploadStatus(String uploadStatus) {
+        this.uploadStatus = uploadStatus;
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_attempts</code>.
+     */
+    public Short getUploadAttempts() {
+        return this.uploadAttempts;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_attempts</code>.
+     */
+    public void setUploadAttempts(Short uploadAttempts) {
+        this.uploadAttempts = uploadAttempts;
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_error</code>.
+     */
+    public String getUploadError() {
+        return this.uploadError;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_error</code>.
+     */
+    public void setUploadError(String uploadError) {
+        this.uploadError = uploadError;
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_claimed_at</code>.
+     */
+    public LocalDateTime getUploadClaimedAt() {
+        return this.uploadClaimedAt;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_claimed_at</code>.
+     */
+    public void setUploadClaimedAt(LocalDateTime uploadClaimedAt) {
+        this.uploadClaimedAt = uploadClaimedAt;
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.next_upload_at</code>.
+     */
+    public LocalDateTime getNextUploadAt() {
+        return this.nextUploadAt;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.next_upload_at</code>.
+     */
+    public void setNextUploadAt(LocalDateTime nextUploadAt) {
+        this.nextUploadAt = nextUploadAt;
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.content_encoding</code>.
+     */
+    public String getContentEncoding() {
+        return this.contentEncoding;
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.content_encoding</code>.
+     */
+    public void setContentEncoding(String contentEncoding) {
+        this.contentEncoding = contentEncoding;
+    }
+
     @Override
     public boolean equals(Object obj) {
         if (this == obj)
@@ -179,6 +306,48 @@ public class UserNoteHistory implements Serializable {
         }
         else if (!this.textContent.equals(other.textContent))
             return false;
+        if (this.contentHash == null) {
+            if (other.contentHash != null)
+                return false;
+        }
+        else if (!this.contentHash.equals(other.contentHash))
+            return false;
+        if (this.uploadStatus == null) {
+            if (other.uploadStatus != null)
+                return false;
+        }
+        else if (!this.uploadStatus.equals(other.uploadStatus))
+            return false;
+        if (this.uploadAttempts == null) {
+            if (other.uploadAttempts != null)
+                return false;
+        }
+        else if (!this.uploadAttempts.equals(other.uploadAttempts))
+            return false;
+        if (this.uploadError == null) {
+            if (other.uploadError != null)
+                return false;
+        }
+        else if (!this.uploadError.equals(other.uploadError))
+            return false;
+        if (this.uploadClaimedAt == null) {
+            if (other.uploadClaimedAt != null)
+                return false;
+        }
+        else if (!this.uploadClaimedAt.equals(other.uploadClaimedAt))
+            return false;
+        if (this.nextUploadAt == null) {
+            if (other.nextUploadAt != null)
+                return false;
+        }
+        else if (!this.nextUploadAt.equals(other.nextUploadAt))
+            return false;
+        if (this.contentEncoding == null) {
+            if (other.contentEncoding != null)
+                return false;
+        }
+        else if (!this.contentEncoding.equals(other.contentEncoding))
+            return false;
         return true;
     }
 
@@ -192,6 +361,13 @@ public class UserNoteHistory implements Serializable {
         result = prime * result + ((this.savedAt == null) ? 0 : this.savedAt.hashCode());
         result = prime * result + ((this.title == null) ? 0 : this.title.hashCode());
         result = prime * result + ((this.textContent == null) ? 0 : this.textContent.hashCode());
+        result = prime * result + ((this.contentHash == null) ? 0 : this.contentHash.hashCode());
+        result = prime * result + ((this.uploadStatus == null) ? 0 : this.uploadStatus.hashCode());
+        result = prime * result + ((this.uploadAttempts == null) ? 0 : this.uploadAttempts.hashCode());
+        result = prime * result + ((this.uploadError == null) ? 0 : this.uploadError.hashCode());
+        result = prime * result + ((this.uploadClaimedAt == null) ? 0 : this.uploadClaimedAt.hashCode());
+        result = prime * result + ((this.nextUploadAt == null) ? 0 : this.nextUploadAt.hashCode());
+        result = prime * result + ((this.contentEncoding == null) ? 0 : this.contentEncoding.hashCode());
         return result;
     }
 
@@ -205,6 +381,13 @@ public class UserNoteHistory implements Serializable {
         sb.append(", ").append(savedAt);
         sb.append(", ").append(title);
         sb.append(", ").append(textContent);
+        sb.append(", ").append(contentHash);
+        sb.append(", ").append(uploadStatus);
+        sb.append(", ").append(uploadAttempts);
+        sb.append(", ").append(uploadError);
+        sb.append(", ").append(uploadClaimedAt);
+        sb.append(", ").append(nextUploadAt);
+        sb.append(", ").append(contentEncoding);
 
         sb.append(")");
         return sb.toString();
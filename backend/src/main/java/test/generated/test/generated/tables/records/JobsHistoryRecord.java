@@ -0,0 +1,206 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.records;
+
+
+import java.time.LocalDateTime;
+
+import org.jooq.Record1;
+import org.jooq.impl.UpdatableRecordImpl;
+
+import test.generated.tables.JobsHistory;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class JobsHistoryRecord extends UpdatableRecordImpl<JobsHistoryRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Setter for <code>public.jobs_history.id</code>.
+     */
+    public void setId(Integer value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.id</code>.
+     */
+    public Integer getId() {
+        return (Integer) get(0);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.note_id</code>.
+     */
+    public void setNoteId(Integer value) {
+        set(1, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.note_id</code>.
+     */
+    public Integer getNoteId() {
+        return (Integer) get(1);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.status</code>.
+     */
+    public void setStatus(String value) {
+        set(2, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.status</code>.
+     */
+    public String getStatus() {
+        return (String) get(2);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.attempt_count</code>.
+     */
+    public void setAttemptCount(Short value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.attempt_count</code>.
+     */
+    public Short getAttemptCount() {
+        return (Short) get(3);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.last_error</code>.
+     */
+    public void setLastError(String value) {
+        set(4, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.last_error</code>.
+     */
+    public String getLastError() {
+        return (String) get(4);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.username</code>.
+     */
+    public void setUsername(String value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.username</code>.
+     */
+    public String getUsername() {
+        return (String) get(5);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return (LocalDateTime) get(6);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.updated_at</code>.
+     */
+    public void setUpdatedAt(LocalDateTime value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.updated_at</code>.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return (LocalDateTime) get(7);
+    }
+
+    /**
+     * Setter for <code>public.jobs_history.archived_at</code>.
+     */
+    public void setArchivedAt(LocalDateTime value) {
+        set(8, value);
+    }
+
+    /**
+     * Getter for <code>public.jobs_history.archived_at</code>.
+     */
+    public LocalDateTime getArchivedAt() {
+        return (LocalDateTime) get(8);
+    }
+
+    // -------------------------------------------------------------------------
+    // Primary key information
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Record1<Integer> key() {
+        return (Record1) super.key();
+    }
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+
+    /**
+     * Create a detached JobsHistoryRecord
+     */
+    public JobsHistoryRecord() {
+        super(JobsHistory.JOBS_HISTORY);
+    }
+
+    /**
+     * Create a detached, initialised JobsHistoryRecord
+     */
+    public JobsHistoryRecord(Integer id, Integer noteId, String status, Short attemptCount, String lastError, String username, LocalDateTime createdAt, LocalDateTime updatedAt, LocalDateTime archivedAt) {
+        super(JobsHistory.JOBS_HISTORY);
+
+        setId(id);
+        setNoteId(noteId);
+        setStatus(status);
+        setAttemptCount(attemptCount);
+        setLastError(lastError);
+        setUsername(username);
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+        setArchivedAt(archivedAt);
+        resetTouchedOnNotNull();
+    }
+
+    /**
+     * Create a detached, initialised JobsHistoryRecord
+     */
+    public JobsHistoryRecord(test.generated.tables.pojos.JobsHistory value) {
+        super(JobsHistory.JOBS_HISTORY);
+
+        if (value != null) {
+            setId(value.getId());
+            setNoteId(value.getNoteId());
+            setStatus(value.getStatus());
+            setAttemptCount(value.getAttemptCount());
+            setLastError(value.getLastError());
+            setUsername(value.getUsername());
+            setCreatedAt(value.getCreatedAt());
+            setUpdatedAt(value.getUpdatedAt());
+            setArchivedAt(value.getArchivedAt());
+            resetTouchedOnNotNull();
+        }
+    }
+}
@@ -6,7 +6,7 @@ package test.generated.tables.records;
 
 import java.time.LocalDateTime;
 
-import org.jooq.Record1;
+import org.jooq.Record2;
 import org.jooq.impl.UpdatableRecordImpl;
 
 import test.generated.tables.Jobs;
@@ -137,8 +137,8 @@ public class JobsRecord extends UpdatableRecordImpl<JobsRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<Integer> key() {
-        return (Record1) super.key();
+    public Record2<Integer, LocalDateTime> key() {
+        return (Record2) super.key();
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,206 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.records;
+
+
+import java.time.LocalDateTime;
+
+import org.jooq.Record2;
+import org.jooq.impl.UpdatableRecordImpl;
+
+import test.generated.tables.NoteBlobs;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class NoteBlobsRecord extends UpdatableRecordImpl<NoteBlobsRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Setter for <code>public.note_blobs.username</code>.
+     */
+    public void setUsername(String value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.username</code>.
+     */
+    public String getUsername() {
+        return (String) get(0);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.content_hash</code>.
+     */
+    public void setContentHash(String value) {
+        set(1, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.content_hash</code>.
+     */
+    public String getContentHash() {
+        return (String) get(1);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.location</code>.
+     */
+    public void setLocation(String value) {
+        set(2, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.location</code>.
+     */
+    public String getLocation() {
+        return (String) get(2);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.size_bytes</code>.
+     */
+    public void setSizeBytes(Long value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.size_bytes</code>.
+     */
+    public Long getSizeBytes() {
+        return (Long) get(3);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.ref_count</code>.
+     */
+    public void setRefCount(Integer value) {
+        set(4, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.ref_count</code>.
+     */
+    public Integer getRefCount() {
+        return (Integer) get(4);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.status</code>.
+     */
+    public void setStatus(String value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.status</code>.
+     */
+    public String getStatus() {
+        return (String) get(5);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return (LocalDateTime) get(6);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.updated_at</code>.
+     */
+    public void setUpdatedAt(LocalDateTime value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.updated_at</code>.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return (LocalDateTime) get(7);
+    }
+
+    /**
+     * Setter for <code>public.note_blobs.content_encoding</code>.
+     */
+    public void setContentEncoding(String value) {
+        set(8, value);
+    }
+
+    /**
+     * Getter for <code>public.note_blobs.content_encoding</code>.
+     */
+    public String getContentEncoding() {
+        return (String) get(8);
+    }
+
+    // -------------------------------------------------------------------------
+    // Primary key information
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Record2<String, String> key() {
+        return (Record2) super.key();
+    }
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+
+    /**
+     * Create a detached NoteBlobsRecord
+     */
+    public NoteBlobsRecord() {
+        super(NoteBlobs.NOTE_BLOBS);
+    }
+
+    /**
+     * Create a detached, initialised NoteBlobsRecord
+     */
+    public NoteBlobsRecord(String username, String contentHash, String location, Long sizeBytes, Integer refCount, String status, LocalDateTime createdAt, LocalDateTime updatedAt, String contentEncoding) {
+        super(NoteBlobs.NOTE_BLOBS);
+
+        setUsername(username);
+        setContentHash(contentHash);
+        setLocation(location);
+        setSizeBytes(sizeBytes);
+        setRefCount(refCount);
+        setStatus(status);
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+        setContentEncoding(contentEncoding);
+        resetTouchedOnNotNull();
+    }
+
+    /**
+     * Create a detached, initialised NoteBlobsRecord
+     */
+    public NoteBlobsRecord(test.generated.tables.pojos.NoteBlobs value) {
+        super(NoteBlobs.NOTE_BLOBS);
+
+        if (value != null) {
+            setUsername(value.getUsername());
+            setContentHash(value.getContentHash());
+            setLocation(value.getLocation());
+            setSizeBytes(value.getSizeBytes());
+            setRefCount(value.getRefCount());
+            setStatus(value.getStatus());
+            setCreatedAt(value.getCreatedAt());
+            setUpdatedAt(value.getUpdatedAt());
+            setContentEncoding(value.getContentEncoding());
+            resetTouchedOnNotNull();
+        }
+    }
+}
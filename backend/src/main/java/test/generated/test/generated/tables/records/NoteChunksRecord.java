@@ -0,0 +1,156 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.records;
+
+
+import org.jooq.Record2;
+import org.jooq.impl.UpdatableRecordImpl;
+
+import test.generated.tables.NoteChunks;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class NoteChunksRecord extends UpdatableRecordImpl<NoteChunksRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Setter for <code>public.note_chunks.note_id</code>.
+     */
+    public void setNoteId(Integer value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.note_id</code>.
+     */
+    public Integer getNoteId() {
+        return (Integer) get(0);
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.seq</code>.
+     */
+    public void setSeq(Integer value) {
+        set(1, value);
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.seq</code>.
+     */
+    public Integer getSeq() {
+        return (Integer) get(1);
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.username</code>.
+     */
+    public void setUsername(String value) {
+        set(2, value);
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.username</code>.
+     */
+    public String getUsername() {
+        return (String) get(2);
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.content_hash</code>.
+     */
+    public void setContentHash(String value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.content_hash</code>.
+     */
+    public String getContentHash() {
+        return (String) get(3);
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.byte_offset</code>.
+     */
+    public void setByteOffset(Long value) {
+        set(4, value);
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.byte_offset</code>.
+     */
+    public Long getByteOffset() {
+        return (Long) get(4);
+    }
+
+    /**
+     * Setter for <code>public.note_chunks.size_bytes</code>.
+     */
+    public void setSizeBytes(Integer value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>public.note_chunks.size_bytes</code>.
+     */
+    public Integer getSizeBytes() {
+        return (Integer) get(5);
+    }
+
+    // -------------------------------------------------------------------------
+    // Primary key information
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Record2<Integer, Integer> key() {
+        return (Record2) super.key();
+    }
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+
+    /**
+     * Create a detached NoteChunksRecord
+     */
+    public NoteChunksRecord() {
+        super(NoteChunks.NOTE_CHUNKS);
+    }
+
+    /**
+     * Create a detached, initialised NoteChunksRecord
+     */
+    public NoteChunksRecord(Integer noteId, Integer seq, String username, String contentHash, Long byteOffset, Integer sizeBytes) {
+        super(NoteChunks.NOTE_CHUNKS);
+
+        setNoteId(noteId);
+        setSeq(seq);
+        setUsername(username);
+        setContentHash(contentHash);
+        setByteOffset(byteOffset);
+        setSizeBytes(sizeBytes);
+        resetTouchedOnNotNull();
+    }
+
+    /**
+     * Create a detached, initialised NoteChunksRecord
+     */
+    public NoteChunksRecord(test.generated.tables.pojos.NoteChunks value) {
+        super(NoteChunks.NOTE_CHUNKS);
+
+        if (value != null) {
+            setNoteId(value.getNoteId());
+            setSeq(value.getSeq());
+            setUsername(value.getUsername());
+            setContentHash(value.getContentHash());
+            setByteOffset(value.getByteOffset());
+            setSizeBytes(value.getSizeBytes());
+            resetTouchedOnNotNull();
+        }
+    }
+}
@@ -6,7 +6,7 @@ package test.generated.tables.records;
 
 import java.time.LocalDateTime;
 
-import org.jooq.Record1;
+import org.jooq.Record2;
 import org.jooq.impl.UpdatableRecordImpl;
 
 import test.generated.tables.NoteLinks;
@@ -109,8 +109,8 @@ public class NoteLinksRecord extends UpdatableRecordImpl<NoteLinksRecord> {
     // -------------------------------------------------------------------------
 
     @Override
-    public Record1<Integer> key() {
-        return (Record1) super.key();
+    public Record2<Integer, LocalDateTime> key() {
+        return (Record2) super.key();
     }
 
     // -------------------------------------------------------------------------
@@ -0,0 +1,175 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.records;
+
+
+import java.time.LocalDateTime;
+
+import org.jooq.JSONB;
+import org.jooq.Record1;
+import org.jooq.impl.UpdatableRecordImpl;
+
+import test.generated.tables.StudyGuideCache;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class StudyGuideCacheRecord extends UpdatableRecordImpl<StudyGuideCacheRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Setter for <code>public.study_guide_cache.cache_key</code>.
+     */
+    public void setCacheKey(String value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.cache_key</code>.
+     */
+    public String getCacheKey() {
+        return (String) get(0);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.model</code>.
+     */
+    public void setModel(String value) {
+        set(1, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.model</code>.
+     */
+    public String getModel() {
+        return (String) get(1);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.prompt_version</code>.
+     */
+    public void setPromptVersion(Integer value) {
+        set(2, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.prompt_version</code>.
+     */
+    public Integer getPromptVersion() {
+        return (Integer) get(2);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.study_guide</code>.
+     */
+    public void setStudyGuide(JSONB value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.study_guide</code>.
+     */
+    public JSONB getStudyGuide() {
+        return (JSONB) get(3);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.hits</code>.
+     */
+    public void setHits(Integer value) {
+        set(4, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.hits</code>.
+     */
+    public Integer getHits() {
+        return (Integer) get(4);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return (LocalDateTime) get(5);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_cache.last_hit_at</code>.
+     */
+    public void setLastHitAt(LocalDateTime value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_cache.last_hit_at</code>.
+     */
+    public LocalDateTime getLastHitAt() {
+        return (LocalDateTime) get(6);
+    }
+
+    // -------------------------------------------------------------------------
+    // Primary key information
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Record1<String> key() {
+        return (Record1) super.key();
+    }
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+
+    /**
+     * Create a detached StudyGuideCacheRecord
+     */
+    public StudyGuideCacheRecord() {
+        super(StudyGuideCache.STUDY_GUIDE_CACHE);
+    }
+
+    /**
+     * Create a detached, initialised StudyGuideCacheRecord
+     */
+    public StudyGuideCacheRecord(String cacheKey, String model, Integer promptVersion, JSONB studyGuide, Integer hits, LocalDateTime createdAt, LocalDateTime lastHitAt) {
+        super(StudyGuideCache.STUDY_GUIDE_CACHE);
+
+        setCacheKey(cacheKey);
+        setModel(model);
+        setPromptVersion(promptVersion);
+        setStudyGuide(studyGuide);
+        setHits(hits);
+        setCreatedAt(createdAt);
+        setLastHitAt(lastHitAt);
+        resetTouchedOnNotNull();
+    }
+
+    /**
+     * Create a detached, initialised StudyGuideCacheRecord
+     */
+    public StudyGuideCacheRecord(test.generated.tables.pojos.StudyGuideCache value) {
+        super(StudyGuideCache.STUDY_GUIDE_CACHE);
+
+        if (value != null) {
+            setCacheKey(value.getCacheKey());
+            setModel(value.getModel());
+            setPromptVersion(value.getPromptVersion());
+            setStudyGuide(value.getStudyGuide());
+            setHits(value.getHits());
+            setCreatedAt(value.getCreatedAt());
+            setLastHitAt(value.getLastHitAt());
+            resetTouchedOnNotNull();
+        }
+    }
+}
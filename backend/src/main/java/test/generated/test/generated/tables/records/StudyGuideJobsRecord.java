@@ -0,0 +1,256 @@
+/*
+ * This file is generated by jOOQ.
+ */
+package test.generated.tables.records;
+
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.jooq.JSONB;
+import org.jooq.Record1;
+import org.jooq.impl.UpdatableRecordImpl;
+
+import test.generated.tables.StudyGuideJobs;
+
+
+/**
+ * This class is generated by jOOQ.
+ */
+@SuppressWarnings({ "all", "unchecked", "rawtypes", "this-escape" })
+public class StudyGuideJobsRecord extends UpdatableRecordImpl<StudyGuideJobsRecord> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Setter for <code>public.study_guide_jobs.id</code>.
+     */
+    public void setId(UUID value) {
+        set(0, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.id</code>.
+     */
+    public UUID getId() {
+        return (UUID) get(0);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.username</code>.
+     */
+    public void setUsername(String value) {
+        set(1, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.username</code>.
+     */
+    public String getUsername() {
+        return (String) get(1);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.title</code>.
+     */
+    public void setTitle(String value) {
+        set(2, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.title</code>.
+     */
+    public String getTitle() {
+        return (String) get(2);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.notes</code>.
+     */
+    public void setNotes(String value) {
+        set(3, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.notes</code>.
+     */
+    public String getNotes() {
+        return (String) get(3);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.status</code>.
+     */
+    public void setStatus(String value) {
+        set(4, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.status</code>.
+     */
+    public String getStatus() {
+        return (String) get(4);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.attempt_count</code>.
+     */
+    public void setAttemptCount(Short value) {
+        set(5, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.attempt_count</code>.
+     */
+    public Short getAttemptCount() {
+        return (Short) get(5);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.last_error</code>.
+     */
+    public void setLastError(String value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.last_error</code>.
+     */
+    public String getLastError() {
+        return (String) get(6);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.study_guide</code>.
+     */
+    public void setStudyGuide(JSONB value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.study_guide</code>.
+     */
+    public JSONB getStudyGuide() {
+        return (JSONB) get(7);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.claimed_at</code>.
+     */
+    public void setClaimedAt(LocalDateTime value) {
+        set(8, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.claimed_at</code>.
+     */
+    public LocalDateTime getClaimedAt() {
+        return (LocalDateTime) get(8);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.next_attempt_at</code>.
+     */
+    public void setNextAttemptAt(LocalDateTime value) {
+        set(9, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.next_attempt_at</code>.
+     */
+    public LocalDateTime getNextAttemptAt() {
+        return (LocalDateTime) get(9);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.created_at</code>.
+     */
+    public void setCreatedAt(LocalDateTime value) {
+        set(10, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.created_at</code>.
+     */
+    public LocalDateTime getCreatedAt() {
+        return (LocalDateTime) get(10);
+    }
+
+    /**
+     * Setter for <code>public.study_guide_jobs.updated_at</code>.
+     */
+    public void setUpdatedAt(LocalDateTime value) {
+        set(11, value);
+    }
+
+    /**
+     * Getter for <code>public.study_guide_jobs.updated_at</code>.
+     */
+    public LocalDateTime getUpdatedAt() {
+        return (LocalDateTime) get(11);
+    }
+
+    // -------------------------------------------------------------------------
+    // Primary key information
+    // -------------------------------------------------------------------------
+
+    @Override
+    public Record1<UUID> key() {
+        return (Record1) super.key();
+    }
+
+    // -------------------------------------------------------------------------
+    // Constructors
+    // -------------------------------------------------------------------------
+
+    /**
+     * Create a detached StudyGuideJobsRecord
+     */
+    public StudyGuideJobsRecord() {
+        super(StudyGuideJobs.STUDY_GUIDE_JOBS);
+    }
+
+    /**
+     * Create a detached, initialised StudyGuideJobsRecord
+     */
+    public StudyGuideJobsRecord(UUID id, String username, String title, String notes, String status, Short attemptCount, String lastError, JSONB studyGuide, LocalDateTime claimedAt, LocalDateTime nextAttemptAt, LocalDateTime createdAt, LocalDateTime updatedAt) {
+        super(StudyGuideJobs.STUDY_GUIDE_JOBS);
+
+        setId(id);
+        setUsername(username);
+        setTitle(title);
+        setNotes(notes);
+        setStatus(status);
+        setAttemptCount(attemptCount);
+        setLastError(lastError);
+        setStudyGuide(studyGuide);
+        setClaimedAt(claimedAt);
+        setNextAttemptAt(nextAttemptAt);
+        setCreatedAt(createdAt);
+        setUpdatedAt(updatedAt);
+        resetTouchedOnNotNull();
+    }
+
+    /**
+     * Create a detached, initialised StudyGuideJobsRecord
+     */
+    public StudyGuideJobsRecord(test.generated.tables.pojos.StudyGuideJobs value) {
+        super(StudyGuideJobs.STUDY_GUIDE_JOBS);
+
+        if (value != null) {
+            setId(value.getId());
+            setUsername(value.getUsername());
+            setTitle(value.getTitle());
+            setNotes(value.getNotes());
+            setStatus(value.getStatus());
+            setAttemptCount(value.getAttemptCount());
+            setLastError(value.getLastError());
+            setStudyGuide(value.getStudyGuide());
+            setClaimedAt(value.getClaimedAt());
+            setNextAttemptAt(value.getNextAttemptAt());
+            setCreatedAt(value.getCreatedAt());
+            setUpdatedAt(value.getUpdatedAt());
+            resetTouchedOnNotNull();
+        }
+    }
+}
@@ -4,6 +4,7 @@
 package test.generated.tables.records;
 
 
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 
 import org.jooq.Record1;
@@ -104,6 +105,104 @@ public class UserNoteHistoryRecord extends UpdatableRecordImpl<UserNoteHistoryRe
         return (String) get(5);
     }
 
+    /**
+     * Setter for <code>public.user_note_history.content_hash</code>.
+     */
+    public void setContentHash(String value) {
+        set(6, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.content_hash</code>.
+     */
+    public String getContentHash() {
+        return (String) get(6);
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_status</code>.
+     */
+    public void setUploadStatus(String value) {
+        set(7, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_status</code>.
+     */
+    public String getUploadStatus() {
+        return (String) get(7);
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_attempts</code>.
+     */
+    public void setUploadAttempts(Short value) {
+        set(8, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_attempts</code>.
+     */
+    public Short getUploadAttempts() {
+        return (Short) get(8);
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_error</code>.
+     */
+    public void setUploadError(String value) {
+        set(9, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_error</code>.
+     */
+    public String getUploadError() {
+        return (String) get(9);
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.upload_claimed_at</code>.
+     */
+    public void setUploadClaimedAt(LocalDateTime value) {
+        set(10, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.upload_claimed_at</code>.
+     */
+    public LocalDateTime getUploadClaimedAt() {
+        return (LocalDateTime) get(10);
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.next_upload_at</code>.
+     */
+    public void setNextUploadAt(LocalDateTime value) {
+        set(11, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.next_upload_at</code>.
+     */
+    public LocalDateTime getNextUploadAt() {
+        return (LocalDateTime) get(11);
+    }
+
+    /**
+     * Setter for <code>public.user_note_history.content_encoding</code>.
+     */
+    public void setContentEncoding(String value) {
+        set(12, value);
+    }
+
+    /**
+     * Getter for <code>public.user_note_history.content_encoding</code>.
+     */
+    public String getContentEncoding() {
+        return (String) get(12);
+    }
+
     // -------------------------------------------------------------------------
     // Primary key information
     // -------------------------------------------------------------------------
@@ -127,7 +226,7 @@ public class UserNoteHistoryRecord extends UpdatableRecordImpl<UserNoteHistoryRe
     /**
      * Create a detached, initialised UserNoteHistoryRecord
      */
-    public UserNoteHistoryRecord(Integer id, String username, String linkToNote, LocalTime savedAt, String title, String textContent) {
+    public UserNoteHistoryRecord(Integer id, String username, String linkToNote, LocalTime savedAt, String title, String textContent, String contentHash, String uploadStatus, Short uploadAttempts, String uploadError, LocalDateTime uploadClaimedAt, LocalDateTime nextUploadAt, String contentEncoding) {
         super(UserNoteHistory.USER_NOTE_HISTORY);
 
         setId(id);
@@ -136,6 +235,13 @@ public class UserNoteHistoryRecord extends UpdatableRecordImpl<UserNoteHistoryRe
         setSavedAt(savedAt);
         setTitle(title);
         setTextContent(textContent);
+        setContentHash(contentHash);
+        setUploadStatus(uploadStatus);
+        setUploadAttempts(uploadAttempts);
+        setUploadError(uploadError);
+        setUploadClaimedAt(uploadClaimedAt);
+        setNextUploadAt(nextUploadAt);
+        setContentEncoding(contentEncoding);
         resetTouchedOnNotNull();
     }
 
@@ -152,6 +258,13 @@ public class UserNoteHistoryRecord extends UpdatableRecordImpl<UserNoteHistoryRe
             setSavedAt(value.getSavedAt());
             setTitle(value.getTitle());
             setTextContent(value.getTextContent());
+            setContentHash(value.getContentHash());
+            setUploadStatus(value.getUploadStatus());
+            setUploadAttempts(value.getUploadAttempts());
+            setUploadError(value.getUploadError());
+            setUploadClaimedAt(value.getUploadClaimedAt());
+            setNextUploadAt(value.getNextUploadAt());
+            setContentEncoding(value.getContentEncoding());
             resetTouchedOnNotNull();
         }
     }
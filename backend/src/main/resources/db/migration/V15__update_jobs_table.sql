@@ -0,0 +1,11 @@
+-- fetchPendingJobs polls on status = 'pending' ordered by created_at, the INCLUDE columns let the poll be an index-only scan
+CREATE INDEX idx_jobs_pending_created_at ON jobs(created_at)
+    INCLUDE (note_id, status, attempt_count, username)
+    WHERE status = 'pending';
+
+-- every job state transition matches on note_id
+CREATE INDEX idx_jobs_note_id ON jobs(note_id);
+
+-- lets the archival job find completed jobs by age without scanning live work
+CREATE INDEX idx_jobs_completed_updated_at ON jobs(updated_at)
+    WHERE status = 'completed';
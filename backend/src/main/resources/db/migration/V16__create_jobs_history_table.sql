@@ -0,0 +1,19 @@
+-- completed jobs are moved here by the archival job so the hot jobs table only holds live work
+CREATE TABLE jobs_history(
+    id INTEGER PRIMARY KEY,
+    note_id INTEGER NOT NULL,
+    status varchar(15) NOT NULL,
+    attempt_count SMALLINT NOT NULL,
+    last_error TEXT,
+    username VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    archived_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_jobshistory_noteid
+                 FOREIGN KEY (note_id)
+                 REFERENCES user_note_history(id)
+                 ON DELETE CASCADE
+);
+
+CREATE INDEX idx_jobs_history_note_id ON jobs_history(note_id);
+CREATE INDEX idx_jobs_history_archived_at ON jobs_history(archived_at);
@@ -0,0 +1,59 @@
+-- rebuild jobs as a monthly range partitioned table on created_at so old months can be detached/dropped
+-- instead of vacuumed, the partition key has to be part of the primary key
+ALTER SEQUENCE jobs_id_seq OWNED BY NONE;
+
+CREATE TABLE jobs_partitioned(
+    id INTEGER NOT NULL DEFAULT nextval('jobs_id_seq'),
+    note_id INTEGER NOT NULL,
+    status varchar(15) NOT NULL, -- (PENDING, PROCESSING, FAILED, COMPLETED)
+    attempt_count SMALLINT NOT NULL DEFAULT 0,
+    last_error TEXT, -- optional error messages
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id, created_at),
+    CONSTRAINT fk_usernotehistory_noteid
+                 FOREIGN KEY (note_id)
+                 REFERENCES user_note_history(id)
+                 ON DELETE CASCADE
+) PARTITION BY RANGE (created_at);
+
+-- catches anything outside the managed monthly range so an insert never fails on a missing partition
+CREATE TABLE jobs_default PARTITION OF jobs_partitioned DEFAULT;
+
+-- one partition per month from the oldest existing job through 3 months ahead,
+-- the PartitionMaintenanceService keeps creating future months from here on
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(
+            date_trunc('month', COALESCE((SELECT MIN(created_at) FROM jobs), CURRENT_TIMESTAMP)),
+            date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months',
+            INTERVAL '1 month')::DATE
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF jobs_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'jobs_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
+
+INSERT INTO jobs_partitioned (id, note_id, status, attempt_count, last_error, created_at, updated_at, username)
+SELECT id, note_id, status, attempt_count, last_error, created_at, updated_at, username
+FROM jobs;
+
+DROP TABLE jobs;
+ALTER TABLE jobs_partitioned RENAME TO jobs;
+ALTER SEQUENCE jobs_id_seq OWNED BY jobs.id;
+
+-- indexes from V15, created on the parent so every partition (current and future) gets them
+CREATE INDEX idx_jobs_pending_created_at ON jobs(created_at)
+    INCLUDE (note_id, status, attempt_count, username)
+    WHERE status = 'pending';
+
+CREATE INDEX idx_jobs_note_id ON jobs(note_id);
+
+CREATE INDEX idx_jobs_completed_updated_at ON jobs(updated_at)
+    WHERE status = 'completed';
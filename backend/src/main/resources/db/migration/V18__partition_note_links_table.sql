@@ -0,0 +1,47 @@
+-- rebuild note_links as a monthly range partitioned table on created_at, same layout as jobs in V17.
+-- unique constraints on a partitioned table must contain the partition key, so duplicate links are
+-- now only rejected within a partition, NoteGraphingService already skips existing edges before inserting
+ALTER SEQUENCE note_links_id_seq OWNED BY NONE;
+
+CREATE TABLE note_links_partitioned (
+    id INTEGER NOT NULL DEFAULT nextval('note_links_id_seq'),
+    from_note_id INTEGER REFERENCES user_note_history(id) ON DELETE CASCADE,
+    to_note_id INTEGER REFERENCES user_note_history(id) ON DELETE CASCADE,
+    similarity_score DOUBLE PRECISION,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    username VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id, created_at),
+    UNIQUE (from_note_id, to_note_id, created_at)
+) PARTITION BY RANGE (created_at);
+
+CREATE TABLE note_links_default PARTITION OF note_links_partitioned DEFAULT;
+
+DO $$
+DECLARE
+    month_start DATE;
+BEGIN
+    FOR month_start IN
+        SELECT generate_series(
+            date_trunc('month', COALESCE((SELECT MIN(created_at) FROM note_links), CURRENT_TIMESTAMP)),
+            date_trunc('month', CURRENT_TIMESTAMP) + INTERVAL '3 months',
+            INTERVAL '1 month')::DATE
+    LOOP
+        EXECUTE format('CREATE TABLE %I PARTITION OF note_links_partitioned FOR VALUES FROM (%L) TO (%L)',
+            'note_links_p' || to_char(month_start, 'YYYYMM'),
+            month_start,
+            (month_start + INTERVAL '1 month')::DATE);
+    END LOOP;
+END $$;
+
+-- created_at was nullable before, rows without one land in the current month
+INSERT INTO note_links_partitioned (id, from_note_id, to_note_id, similarity_score, created_at, username)
+SELECT id, from_note_id, to_note_id, similarity_score, COALESCE(created_at, CURRENT_TIMESTAMP), username
+FROM note_links;
+
+DROP TABLE note_links;
+ALTER TABLE note_links_partitioned RENAME TO note_links;
+ALTER SEQUENCE note_links_id_seq OWNED BY note_links.id;
+
+CREATE INDEX idx_from_note ON note_links(from_note_id);
+CREATE INDEX idx_to_note ON note_links(to_note_id);
+CREATE INDEX idx_from_similarity ON note_links(from_note_id, similarity_score DESC);
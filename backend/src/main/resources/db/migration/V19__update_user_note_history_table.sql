@@ -0,0 +1,7 @@
+-- sha-256 (hex) of text_content, used to key the note content cache
+ALTER TABLE user_note_history
+ADD COLUMN content_hash VARCHAR(64);
+
+UPDATE user_note_history
+SET content_hash = encode(sha256(convert_to(text_content, 'UTF8')), 'hex')
+WHERE text_content IS NOT NULL;
@@ -0,0 +1,16 @@
+-- outbox columns for the write-behind uploader, notes are saved to the db first and pushed to the remote after
+ALTER TABLE user_note_history
+ADD COLUMN upload_status VARCHAR(15) NOT NULL DEFAULT 'uploaded', -- (PENDING, UPLOADING, UPLOADED, FAILED)
+ADD COLUMN upload_attempts SMALLINT NOT NULL DEFAULT 0,
+ADD COLUMN upload_error TEXT,
+ADD COLUMN upload_claimed_at TIMESTAMP,
+ADD COLUMN next_upload_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP;
+
+-- existing rows are already in the remote, new rows start as pending
+ALTER TABLE user_note_history ALTER COLUMN upload_status SET DEFAULT 'pending';
+
+CREATE INDEX idx_user_note_history_pending_upload ON user_note_history(next_upload_at)
+    WHERE upload_status = 'pending';
+
+CREATE INDEX idx_user_note_history_uploading ON user_note_history(upload_claimed_at)
+    WHERE upload_status = 'uploading';
@@ -0,0 +1,51 @@
+-- content addressed note bodies, notes with the same content share one stored copy per user
+CREATE TABLE note_blobs(
+    username VARCHAR(255) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    location TEXT NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    ref_count INTEGER NOT NULL DEFAULT 1,
+    status VARCHAR(15) NOT NULL DEFAULT 'pending', -- (PENDING, UPLOADED)
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (username, content_hash)
+);
+
+-- no fk to users on purpose, blobs of deleted users have to outlive the user row until they're removed from storage
+CREATE INDEX idx_note_blobs_unreferenced ON note_blobs(updated_at) WHERE ref_count = 0;
+
+-- release the blob reference of every deleted note, including notes removed by the users cascade
+CREATE FUNCTION release_note_blob() RETURNS trigger AS $$
+BEGIN
+    UPDATE note_blobs
+    SET ref_count = ref_count - 1,
+        updated_at = CURRENT_TIMESTAMP
+    WHERE username = OLD.username
+      AND content_hash = OLD.content_hash
+      AND location = OLD.link_to_note;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_user_note_history_release_blob
+    AFTER DELETE ON user_note_history
+    FOR EACH ROW
+    WHEN (OLD.content_hash IS NOT NULL)
+    EXECUTE FUNCTION release_note_blob();
+
+-- notes still waiting on their upload move onto blobs (default rclone location), already uploaded notes keep their title path
+INSERT INTO note_blobs(username, content_hash, location, size_bytes, ref_count)
+SELECT username,
+       content_hash,
+       'GDRIVE:/ai-notes/' || username || '/blobs/' || content_hash || '.txt',
+       MAX(octet_length(text_content)),
+       COUNT(*)
+FROM user_note_history
+WHERE upload_status <> 'uploaded'
+  AND content_hash IS NOT NULL
+GROUP BY username, content_hash;
+
+UPDATE user_note_history
+SET link_to_note = 'GDRIVE:/ai-notes/' || username || '/blobs/' || content_hash || '.txt'
+WHERE upload_status <> 'uploaded'
+  AND content_hash IS NOT NULL;
@@ -0,0 +1,4 @@
+-- encoding a blob is stored with (gzip), null for plain text, copied onto the notes that use the blob
+ALTER TABLE note_blobs ADD COLUMN content_encoding VARCHAR(15);
+
+ALTER TABLE user_note_history ADD COLUMN content_encoding VARCHAR(15);
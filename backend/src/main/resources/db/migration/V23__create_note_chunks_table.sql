@@ -0,0 +1,31 @@
+-- chunk manifest of a note, each chunk's content is a note_blobs row so unchanged chunks of an edited note are shared
+CREATE TABLE note_chunks(
+    note_id INTEGER NOT NULL,
+    seq INTEGER NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    content_hash VARCHAR(64) NOT NULL,
+    byte_offset BIGINT NOT NULL,
+    size_bytes INTEGER NOT NULL,
+    PRIMARY KEY (note_id, seq),
+    CONSTRAINT fk_notechunks_noteid
+                 FOREIGN KEY (note_id)
+                 REFERENCES user_note_history(id)
+                 ON DELETE CASCADE
+);
+
+-- release the chunk's blob reference, runs for notes deleted directly and through the users cascade
+CREATE FUNCTION release_note_chunk() RETURNS trigger AS $$
+BEGIN
+    UPDATE note_blobs
+    SET ref_count = ref_count - 1,
+        updated_at = CURRENT_TIMESTAMP
+    WHERE username = OLD.username
+      AND content_hash = OLD.content_hash;
+    RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_note_chunks_release_blob
+    AFTER DELETE ON note_chunks
+    FOR EACH ROW
+    EXECUTE FUNCTION release_note_chunk();
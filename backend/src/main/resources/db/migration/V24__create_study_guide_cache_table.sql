@@ -0,0 +1,12 @@
+-- generated study guides keyed by sha256 of model + prompt version + normalized note text
+CREATE TABLE study_guide_cache(
+    cache_key VARCHAR(64) PRIMARY KEY,
+    model VARCHAR(50) NOT NULL,
+    prompt_version INTEGER NOT NULL,
+    study_guide JSONB NOT NULL,
+    hits INTEGER NOT NULL DEFAULT 0,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_hit_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE INDEX idx_study_guide_cache_last_hit_at ON study_guide_cache(last_hit_at);
@@ -0,0 +1,29 @@
+-- async study guide generations, claimed by the worker with a lease like note uploads since a generation
+-- runs far too long to hold a row lock for
+CREATE TABLE study_guide_jobs(
+    id UUID PRIMARY KEY DEFAULT gen_random_uuid(),
+    username VARCHAR(255) NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    notes TEXT NOT NULL,
+    status varchar(15) NOT NULL, -- (pending, processing, failed, completed)
+    attempt_count SMALLINT NOT NULL DEFAULT 0,
+    last_error TEXT,
+    study_guide JSONB, -- the result once completed
+    claimed_at TIMESTAMP,
+    next_attempt_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_studyguidejobs_username
+        FOREIGN KEY (username)
+        REFERENCES users(username)
+        ON DELETE CASCADE
+);
+
+-- the worker polls pending jobs by next_attempt_at and expired processing claims by claimed_at
+CREATE INDEX idx_study_guide_jobs_pending_next_attempt_at ON study_guide_jobs(next_attempt_at)
+    WHERE status = 'pending';
+CREATE INDEX idx_study_guide_jobs_processing_claimed_at ON study_guide_jobs(claimed_at)
+    WHERE status = 'processing';
+
+-- retention cleanup by age
+CREATE INDEX idx_study_guide_jobs_updated_at ON study_guide_jobs(updated_at);
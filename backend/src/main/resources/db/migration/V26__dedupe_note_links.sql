@@ -0,0 +1,10 @@
+-- V18 made the unique constraint (from_note_id, to_note_id, created_at) since a partitioned table needs the
+-- partition key in it, which no longer stops duplicate edges. Drop the duplicates that got in, keeping the oldest,
+-- and index (from, to) for the existence check the inserts now do instead
+DELETE FROM note_links dup
+USING note_links kept
+WHERE dup.from_note_id = kept.from_note_id
+  AND dup.to_note_id = kept.to_note_id
+  AND (dup.created_at, dup.id) > (kept.created_at, kept.id);
+
+CREATE INDEX idx_note_links_from_to ON note_links(from_note_id, to_note_id);
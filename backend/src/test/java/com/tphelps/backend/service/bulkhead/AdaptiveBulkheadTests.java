@@ -0,0 +1,158 @@
+package com.tphelps.backend.service.bulkhead;
+
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveBulkheadTests {
+
+	private static AdaptiveBulkhead bulkhead(int initialLimit, int maxLimit, long latencyThresholdMs){
+		return new AdaptiveBulkhead("test", initialLimit, 1, maxLimit, latencyThresholdMs, 0.5,
+				e -> !(e instanceof IllegalArgumentException), new SimpleMeterRegistry());
+	}
+
+	@Test
+	void fastSuccessWhileBusyRaisesLimitByOne() {
+		AdaptiveBulkhead bulkhead = bulkhead(2, 10, 60_000);
+
+		assertEquals("ok", bulkhead.call(() -> "ok"));
+
+		assertEquals(3, bulkhead.getLimit());
+		assertEquals(0, bulkhead.getInFlight());
+	}
+
+	@Test
+	void successWhileMostlyIdleKeepsLimit() {
+		AdaptiveBulkhead bulkhead = bulkhead(10, 20, 60_000);
+
+		bulkhead.call(() -> "ok");
+
+		assertEquals(10, bulkhead.getLimit());
+	}
+
+	@Test
+	void limitNeverGrowsPastMax() {
+		AdaptiveBulkhead bulkhead = bulkhead(2, 3, 60_000);
+
+		AdaptiveBulkhead.Permit first = bulkhead.acquire();
+		AdaptiveBulkhead.Permit second = bulkhead.acquire();
+		first.success();
+		first.close();
+		second.success();
+		second.close();
+
+		assertEquals(3, bulkhead.getLimit());
+	}
+
+	@Test
+	void overloadFailureCutsLimitByBackoffRatio() {
+		AdaptiveBulkhead bulkhead = bulkhead(10, 20, 60_000);
+
+		assertThrows(IOException.class, () -> bulkhead.call(() -> {
+			throw new IOException("connection reset");
+		}));
+
+		assertEquals(5, bulkhead.getLimit());
+		assertEquals(0, bulkhead.getInFlight());
+	}
+
+	@Test
+	void limitNeverDropsBelowMin() {
+		AdaptiveBulkhead bulkhead = bulkhead(2, 20, 60_000);
+
+		for(int i = 0; i < 5; i++){
+			try(AdaptiveBulkhead.Permit permit = bulkhead.acquire()){
+				permit.failure();
+			}
+		}
+
+		assertEquals(1, bulkhead.getLimit());
+	}
+
+	@Test
+	void failureTheClassifierRejectsDoesNotCutLimit() {
+		AdaptiveBulkhead bulkhead = bulkhead(10, 20, 60_000);
+
+		assertThrows(IllegalArgumentException.class, () -> bulkhead.call(() -> {
+			throw new IllegalArgumentException("invalid request");
+		}));
+
+		assertEquals(10, bulkhead.getLimit());
+	}
+
+	@Test
+	void slowSuccessCutsLimit() throws InterruptedException {
+		AdaptiveBulkhead bulkhead = bulkhead(10, 20, 1);
+
+		bulkhead.call(() -> {
+			Thread.sleep(20);
+			return "ok";
+		});
+
+		assertEquals(5, bulkhead.getLimit());
+	}
+
+	@Test
+	void permitClosedWithoutOutcomeLeavesLimit() {
+		AdaptiveBulkhead bulkhead = bulkhead(2, 10, 60_000);
+
+		try(AdaptiveBulkhead.Permit permit = bulkhead.acquire()){
+			assertEquals(1, bulkhead.getInFlight());
+		}
+
+		assertEquals(2, bulkhead.getLimit());
+		assertEquals(0, bulkhead.getInFlight());
+	}
+
+	@Test
+	void fullBulkheadRejectsWithoutRunningTheCall() {
+		AdaptiveBulkhead bulkhead = bulkhead(1, 10, 60_000);
+		AtomicBoolean ran = new AtomicBoolean();
+
+		try(AdaptiveBulkhead.Permit held = bulkhead.acquire()){
+			assertThrows(BulkheadFullException.class, () -> bulkhead.call(() -> ran.getAndSet(true)));
+		}
+
+		assertFalse(ran.get());
+		assertEquals(0, bulkhead.getInFlight());
+	}
+
+	@Test
+	void waitingAcquireGetsTheNextFreedSlot() throws Exception {
+		AdaptiveBulkhead bulkhead = bulkhead(1, 10, 60_000);
+		AdaptiveBulkhead.Permit held = bulkhead.acquire();
+		CountDownLatch waiting = new CountDownLatch(1);
+
+		Thread releaser = Thread.ofVirtual().start(() -> {
+			try {
+				waiting.await();
+				Thread.sleep(50);
+			}catch(InterruptedException e){
+				Thread.currentThread().interrupt();
+			}
+			held.close();
+		});
+
+		waiting.countDown();
+		assertEquals("ok", bulkhead.call(() -> "ok", Duration.ofSeconds(5)));
+		releaser.join();
+		assertEquals(0, bulkhead.getInFlight());
+	}
+
+	@Test
+	void waitingAcquireGivesUpAfterMaxWait() throws InterruptedException {
+		AdaptiveBulkhead bulkhead = bulkhead(1, 10, 60_000);
+
+		try(AdaptiveBulkhead.Permit held = bulkhead.acquire()){
+			assertThrows(BulkheadFullException.class, () -> bulkhead.acquire(Duration.ofMillis(20)));
+		}
+		assertEquals(0, bulkhead.getInFlight());
+	}
+}
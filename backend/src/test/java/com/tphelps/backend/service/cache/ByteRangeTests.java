@@ -0,0 +1,45 @@
+package com.tphelps.backend.service.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ByteRangeTests {
+
+	@Test
+	void parsesClosedRange() {
+		ByteRange range = ByteRange.parse("bytes=10-19", 100);
+
+		assertEquals(new ByteRange(10, 19, 100), range);
+		assertEquals(10, range.length());
+		assertEquals("bytes 10-19/100", range.contentRange());
+	}
+
+	@Test
+	void openRangeRunsToTheEnd() {
+		assertEquals(new ByteRange(90, 99, 100), ByteRange.parse("bytes=90-", 100));
+	}
+
+	@Test
+	void suffixRangeIsTheLastBytes() {
+		assertEquals(new ByteRange(75, 99, 100), ByteRange.parse("bytes=-25", 100));
+		assertEquals(new ByteRange(0, 99, 100), ByteRange.parse("bytes=-500", 100));
+	}
+
+	@Test
+	void endPastTheNoteIsClamped() {
+		assertEquals(new ByteRange(50, 99, 100), ByteRange.parse("bytes=50-1000", 100));
+	}
+
+	@Test
+	void unsatisfiableOrUnsupportedServesWholeNote() {
+		assertNull(ByteRange.parse(null, 100));
+		assertNull(ByteRange.parse("bytes=100-", 100));
+		assertNull(ByteRange.parse("bytes=20-10", 100));
+		assertNull(ByteRange.parse("bytes=-0", 100));
+		assertNull(ByteRange.parse("bytes=0-10,20-30", 100));
+		assertNull(ByteRange.parse("items=0-10", 100));
+		assertNull(ByteRange.parse("bytes=abc-def", 100));
+		assertNull(ByteRange.parse("bytes=0-10", 0));
+	}
+}
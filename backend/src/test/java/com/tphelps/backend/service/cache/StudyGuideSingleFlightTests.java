@@ -0,0 +1,129 @@
+package com.tphelps.backend.service.cache;
+
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import com.tphelps.backend.service.exceptions.BulkheadFullException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyGuideSingleFlightTests {
+
+	private static final Steps FIRST = new Steps("What is a cell?", "The basic unit of life.");
+	private static final Steps SECOND = new Steps("What do ribosomes build?", "Proteins.");
+
+	private static StudyGuideSingleFlight singleFlight(long timeoutMs){
+		return new StudyGuideSingleFlight(new SimpleMeterRegistry(), timeoutMs);
+	}
+
+	@Test
+	void firstRequestLeadsAndLaterOnesFollow() {
+		StudyGuideSingleFlight singleFlight = singleFlight(60_000);
+
+		StudyGuideSingleFlight.Flight leader = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight otherUser = singleFlight.join("other", "key");
+
+		assertTrue(leader.isLeader());
+		assertFalse(follower.isLeader());
+		assertTrue(otherUser.isLeader());
+	}
+
+	@Test
+	void followerReceivesPublishedPairsAndGuide() throws Exception {
+		StudyGuideSingleFlight singleFlight = singleFlight(60_000);
+		StudyGuideSingleFlight.Flight leader = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+
+		List<Steps> followed = new ArrayList<>();
+		CompletableFuture<StudyGuide> result = CompletableFuture.supplyAsync(() -> follower.follow(followed::add));
+		leader.publish(FIRST);
+		StudyGuide studyGuide = new StudyGuide("Cells", List.of(FIRST, SECOND));
+		leader.complete(studyGuide);
+
+		assertSame(studyGuide, result.get(5, TimeUnit.SECONDS));
+		assertEquals(List.of(FIRST, SECOND), followed);
+		assertTrue(singleFlight.join("user", "key").isLeader());
+	}
+
+	@Test
+	void leaderFailureReleasesFollowers() throws Exception {
+		StudyGuideSingleFlight singleFlight = singleFlight(60_000);
+		StudyGuideSingleFlight.Flight leader = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+
+		CompletableFuture<StudyGuide> result = CompletableFuture.supplyAsync(follower::await);
+		BulkheadFullException failure = new BulkheadFullException("openai");
+		leader.fail(failure);
+
+		ExecutionException thrown = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+		assertSame(failure, thrown.getCause());
+		assertTrue(singleFlight.join("user", "key").isLeader());
+	}
+
+	@Test
+	void leaderErrorIsWrappedForFollowers() {
+		StudyGuideSingleFlight singleFlight = singleFlight(60_000);
+		StudyGuideSingleFlight.Flight leader = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+
+		AssertionError error = new AssertionError("boom");
+		leader.fail(error);
+
+		IllegalStateException thrown = assertThrows(IllegalStateException.class, follower::await);
+		assertSame(error, thrown.getCause());
+	}
+
+	@Test
+	void awaitStartedThrowsFailureBeforeAnyPair() {
+		StudyGuideSingleFlight singleFlight = singleFlight(60_000);
+		StudyGuideSingleFlight.Flight leader = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+
+		BulkheadFullException failure = new BulkheadFullException("openai");
+		leader.fail(failure);
+
+		assertSame(failure, assertThrows(BulkheadFullException.class, follower::awaitStarted));
+	}
+
+	@Test
+	void awaitStartedReturnsOnceLeaderPublishes() {
+		StudyGuideSingleFlight singleFlight = singleFlight(60_000);
+		StudyGuideSingleFlight.Flight leader = singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+
+		leader.publish(FIRST);
+
+		assertDoesNotThrow(follower::awaitStarted);
+	}
+
+	@Test
+	void followerTimesOutOnUnfinishedFlight() {
+		StudyGuideSingleFlight singleFlight = singleFlight(50);
+		singleFlight.join("user", "key");
+		StudyGuideSingleFlight.Flight follower = singleFlight.join("user", "key");
+
+		assertThrows(IllegalStateException.class, follower::await);
+	}
+
+	@Test
+	void expiredFlightIsReplacedByNextRequest() throws InterruptedException {
+		StudyGuideSingleFlight singleFlight = singleFlight(50);
+		StudyGuideSingleFlight.Flight abandoned = singleFlight.join("user", "key");
+
+		Thread.sleep(100);
+		StudyGuideSingleFlight.Flight next = singleFlight.join("user", "key");
+		assertTrue(next.isLeader());
+
+		// the abandoned leader finishing late doesn't end the new flight
+		abandoned.complete(new StudyGuide("Cells", List.of(FIRST)));
+		assertFalse(singleFlight.join("user", "key").isLeader());
+	}
+}
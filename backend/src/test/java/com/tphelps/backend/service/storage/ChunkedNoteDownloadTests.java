@@ -0,0 +1,104 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.ChunkManifestEntry;
+import com.tphelps.backend.service.pojos.NoteDownload;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkedNoteDownloadTests {
+
+	private static final String FIRST = "the first chunk is stored compressed, ";
+	private static final String SECOND = "the second one as plain text";
+
+	private final InMemoryNoteStorage noteStorage = new InMemoryNoteStorage();
+	private final NoteCompression noteCompression = new NoteCompression();
+
+	@Test
+	void gzipClientGetsOneMemberPerChunk() throws IOException {
+		List<ChunkManifestEntry> chunks = storeChunks();
+
+		try(NoteDownload download = noteCompression.forClient("note.txt", chunks, null, "gzip, br", noteStorage)){
+			assertEquals(NoteCompression.GZIP, download.contentEncoding());
+			assertEquals(200, download.status());
+			assertEquals(-1, download.contentLength());
+			assertEquals(FIRST + SECOND, gunzip(written(download)));
+		}
+	}
+
+	@Test
+	void plainClientGetsDecodedNote() throws IOException {
+		List<ChunkManifestEntry> chunks = storeChunks();
+
+		try(NoteDownload download = noteCompression.forClient("note.txt", chunks, null, "identity", noteStorage)){
+			assertNull(download.contentEncoding());
+			assertEquals(FIRST.length() + SECOND.length(), download.contentLength());
+			assertEquals(FIRST + SECOND, new String(written(download), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void rangeIsServedDecodedEvenWhenGzipIsAccepted() throws IOException {
+		List<ChunkManifestEntry> chunks = storeChunks();
+		int start = FIRST.length() - 5;
+		int end = FIRST.length() + 9;
+
+		try(NoteDownload download = noteCompression.forClient("note.txt", chunks, "bytes=" + start + "-" + end, "gzip", noteStorage)){
+			assertNull(download.contentEncoding());
+			assertEquals(206, download.status());
+			assertEquals((FIRST + SECOND).substring(start, end + 1), new String(written(download), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Test
+	void noteWithoutCompressedChunksIsNeverEncoded() throws IOException {
+		byte[] content = (FIRST + SECOND).getBytes(StandardCharsets.UTF_8);
+		noteStorage.store("plain", content);
+		List<ChunkManifestEntry> chunks = List.of(
+				new ChunkManifestEntry(0, "h", 0, content.length, noteStorage.location("plain"), null, "uploaded"));
+
+		try(NoteDownload download = noteCompression.forClient("note.txt", chunks, null, "gzip", noteStorage)){
+			assertNull(download.contentEncoding());
+			assertEquals(FIRST + SECOND, new String(written(download), StandardCharsets.UTF_8));
+		}
+	}
+
+	private List<ChunkManifestEntry> storeChunks() throws IOException {
+		byte[] first = FIRST.getBytes(StandardCharsets.UTF_8);
+		byte[] second = SECOND.getBytes(StandardCharsets.UTF_8);
+		noteStorage.store("first", gzip(first));
+		noteStorage.store("second", second);
+		return List.of(
+				new ChunkManifestEntry(0, "h0", 0, first.length, noteStorage.location("first"), NoteCompression.GZIP, "uploaded"),
+				new ChunkManifestEntry(1, "h1", first.length, second.length, noteStorage.location("second"), null, "uploaded"));
+	}
+
+	private static byte[] written(NoteDownload download) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		download.writeTo(out);
+		return out.toByteArray();
+	}
+
+	private static byte[] gzip(byte[] content) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try(GZIPOutputStream gzip = new GZIPOutputStream(out)){
+			gzip.write(content);
+		}
+		return out.toByteArray();
+	}
+
+	private static String gunzip(byte[] content) throws IOException {
+		try(InputStream in = new GZIPInputStream(new ByteArrayInputStream(content))){
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+}
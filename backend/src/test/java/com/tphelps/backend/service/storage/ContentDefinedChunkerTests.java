@@ -0,0 +1,96 @@
+package com.tphelps.backend.service.storage;
+
+import com.tphelps.backend.service.pojos.NoteChunk;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContentDefinedChunkerTests {
+
+	private static final int MIN = 64;
+	private static final int AVG = 256;
+	private static final int MAX = 1024;
+
+	private final ContentDefinedChunker chunker = new ContentDefinedChunker(MIN, AVG, MAX);
+
+	@Test
+	void chunksCoverTheContentInOrder() {
+		byte[] content = randomBytes(20_000, 1);
+
+		List<NoteChunk> chunks = chunker.chunk(content);
+
+		long offset = 0;
+		for(int i = 0; i < chunks.size(); i++){
+			NoteChunk chunk = chunks.get(i);
+			assertEquals(i, chunk.seq());
+			assertEquals(offset, chunk.byteOffset());
+			assertTrue(chunk.sizeBytes() <= MAX);
+			if(i < chunks.size() - 1){
+				assertTrue(chunk.sizeBytes() > MIN);
+			}
+			offset += chunk.sizeBytes();
+		}
+		assertEquals(content.length, offset);
+	}
+
+	@Test
+	void smallContentIsOneChunk() {
+		List<NoteChunk> chunks = chunker.chunk(randomBytes(MIN, 2));
+
+		assertEquals(1, chunks.size());
+		assertEquals(MIN, chunks.get(0).sizeBytes());
+		assertTrue(chunker.chunk(new byte[0]).isEmpty());
+	}
+
+	@Test
+	void sameContentGivesSameChunks() {
+		byte[] content = randomBytes(20_000, 3);
+
+		assertEquals(chunker.chunk(content), chunker.chunk(content.clone()));
+	}
+
+	@Test
+	void insertOnlyChangesChunksAroundTheEdit() {
+		byte[] original = randomBytes(20_000, 4);
+		int editAt = 10_000;
+		byte[] inserted = randomBytes(37, 5);
+		byte[] edited = new byte[original.length + inserted.length];
+		System.arraycopy(original, 0, edited, 0, editAt);
+		System.arraycopy(inserted, 0, edited, editAt, inserted.length);
+		System.arraycopy(original, editAt, edited, editAt + inserted.length, original.length - editAt);
+
+		List<NoteChunk> before = chunker.chunk(original);
+		List<NoteChunk> after = chunker.chunk(edited);
+
+		// chunks that end before the edit are untouched, including their offsets
+		for(NoteChunk chunk : before){
+			if(chunk.byteOffset() + chunk.sizeBytes() <= editAt){
+				assertEquals(chunk, after.get(chunk.seq()));
+			}
+		}
+
+		// past the edit the boundaries resync, so only a couple of chunks are new
+		Set<String> beforeHashes = before.stream().map(NoteChunk::contentHash).collect(Collectors.toSet());
+		long newChunks = after.stream().filter(chunk -> !beforeHashes.contains(chunk.contentHash())).count();
+		assertTrue(newChunks <= 3, "expected at most 3 new chunks, got " + newChunks);
+		assertEquals(before.get(before.size() - 1).contentHash(), after.get(after.size() - 1).contentHash());
+	}
+
+	@Test
+	void rejectsInvalidSizes() {
+		assertThrows(IllegalArgumentException.class, () -> new ContentDefinedChunker(0, 256, 1024));
+		assertThrows(IllegalArgumentException.class, () -> new ContentDefinedChunker(256, 256, 1024));
+		assertThrows(IllegalArgumentException.class, () -> new ContentDefinedChunker(64, 1024, 1024));
+	}
+
+	private static byte[] randomBytes(int length, long seed){
+		byte[] bytes = new byte[length];
+		new Random(seed).nextBytes(bytes);
+		return bytes;
+	}
+}
@@ -0,0 +1,79 @@
+package com.tphelps.backend.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class NoteSplitterTests {
+
+	private static String paragraph(int index){
+		return ("Paragraph " + index + " talks about topic " + index + ". ").repeat(3).strip();
+	}
+
+	@Test
+	void returnsNotesThatFitAsOneChunk() {
+		List<String> chunks = NoteSplitter.split("  Short notes.\n\nStill short.  ", 100);
+
+		assertEquals(List.of("Short notes.\n\nStill short."), chunks);
+	}
+
+	@Test
+	void returnsNoChunksForBlankNotes() {
+		assertTrue(NoteSplitter.split(" \n\n ", 100).isEmpty());
+	}
+
+	@Test
+	void packsParagraphsIntoChunksWithinBudget() {
+		List<String> paragraphs = new ArrayList<>();
+		for(int i = 0; i < 12; i++){
+			paragraphs.add(paragraph(i));
+		}
+
+		List<String> chunks = NoteSplitter.split(String.join("\n\n", paragraphs), 100);
+
+		assertTrue(chunks.size() > 1);
+		List<String> rejoined = new ArrayList<>();
+		for(String chunk : chunks){
+			assertTrue(TextUtils.estimateTokens(chunk) <= 100, chunk);
+			rejoined.addAll(Arrays.asList(chunk.split("\n\n")));
+		}
+		assertEquals(paragraphs, rejoined);
+	}
+
+	@Test
+	void breaksOversizedParagraphOnSentences() {
+		String sentence = "This sentence is about forty characters.";
+		String paragraph = String.join(" ", List.of(sentence, sentence, sentence, sentence, sentence, sentence));
+
+		List<String> chunks = NoteSplitter.split("Intro.\n\n" + paragraph, 25);
+
+		assertEquals("Intro.", chunks.get(0));
+		for(String chunk : chunks.subList(1, chunks.size())){
+			assertTrue(TextUtils.estimateTokens(chunk) <= 25, chunk);
+			assertTrue(chunk.endsWith("."), chunk);
+		}
+		assertEquals(paragraph, String.join(" ", chunks.subList(1, chunks.size())));
+	}
+
+	@Test
+	void cutsTextWithoutSeparatorsAtTheBudget() {
+		String text = "x".repeat(1000);
+
+		List<String> chunks = NoteSplitter.split(text, 100);
+
+		assertEquals(3, chunks.size());
+		for(String chunk : chunks){
+			assertTrue(TextUtils.estimateTokens(chunk) <= 100);
+		}
+		assertEquals(text, String.join("", chunks));
+	}
+
+	@Test
+	void rejectsNonPositiveBudget() {
+		assertThrows(IllegalArgumentException.class, () -> NoteSplitter.split("notes", 0));
+	}
+}
@@ -0,0 +1,78 @@
+package com.tphelps.backend.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptCompactorTests {
+
+	// "cell biology notes" in Chinese, one token per character
+	private static final String CJK = "\u7EC6\u80DE\u751F\u7269\u5B66\u7B14\u8BB0";
+
+	@Test
+	void normalizesWhitespace() {
+		String notes = "  Cells \t are\u00A0small.\r\nThey\u200B divide.\r\n\r\n\r\n\r\nMitosis   has phases.  ";
+
+		assertEquals("Cells are small.\nThey divide.\n\nMitosis has phases.", PromptCompactor.compact(notes));
+	}
+
+	@Test
+	void dropsImmediatelyRepeatedLines() {
+		String notes = "Header\nHeader\nBody\nHeader";
+
+		assertEquals("Header\nBody\nHeader", PromptCompactor.compact(notes));
+	}
+
+	@Test
+	void dropsRepeatedParagraphsAnywhereIgnoringCase() {
+		String notes = "Page 1\n\nCells are small.\n\npage 1\n\nThey divide.";
+
+		assertEquals("Page 1\n\nCells are small.\n\nThey divide.", PromptCompactor.compact(notes));
+	}
+
+	@Test
+	void compactsMissingNotesToEmpty() {
+		assertEquals("", PromptCompactor.compact(null));
+		assertEquals("", PromptCompactor.compact(""));
+	}
+
+	@Test
+	void keepsNotesWithinBudget() {
+		String notes = "Cells are small.\n\nThey divide.";
+
+		assertSame(notes, PromptCompactor.trimToBudget(notes, 100));
+	}
+
+	@Test
+	void keepsWholeParagraphsThatFit() {
+		String first = "a".repeat(40);
+		String second = "b".repeat(40);
+		String third = "c".repeat(40);
+
+		String trimmed = PromptCompactor.trimToBudget(first + "\n\n" + second + "\n\n" + third, 22);
+
+		assertEquals(first + "\n\n" + second, trimmed);
+	}
+
+	@Test
+	void cutsOversizedFirstParagraphAtBudget() {
+		String trimmed = PromptCompactor.trimToBudget("x".repeat(100) + "\n\nrest", 10);
+
+		assertEquals("x".repeat(40), trimmed);
+	}
+
+	@Test
+	void cutsCjkParagraphByCharacterCount() {
+		String notes = CJK.repeat(10);
+
+		String trimmed = PromptCompactor.trimToBudget(notes, 20);
+
+		assertEquals(20, trimmed.length());
+		assertEquals(20, TextUtils.estimateTokens(trimmed));
+	}
+
+	@Test
+	void rejectsNonPositiveBudget() {
+		assertThrows(IllegalArgumentException.class, () -> PromptCompactor.trimToBudget("notes", 0));
+	}
+}
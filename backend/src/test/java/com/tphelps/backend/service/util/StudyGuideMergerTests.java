@@ -0,0 +1,76 @@
+package com.tphelps.backend.service.util;
+
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyGuideMergerTests {
+
+	private static final Steps MITOCHONDRIA = new Steps("What is the function of mitochondria in cells?", "Energy.");
+	private static final Steps RIBOSOMES = new Steps("What do ribosomes build?", "Proteins.");
+
+	@Test
+	void keepsDistinctQuestionsInOrder() {
+		StudyGuideMerger merger = new StudyGuideMerger();
+
+		assertEquals(List.of(MITOCHONDRIA), merger.add(List.of(MITOCHONDRIA)));
+		assertEquals(List.of(RIBOSOMES), merger.add(List.of(RIBOSOMES)));
+
+		StudyGuide merged = merger.result("Cells");
+		assertEquals("Cells", merged.title());
+		assertEquals(List.of(MITOCHONDRIA, RIBOSOMES), merged.questions());
+	}
+
+	@Test
+	void dropsExactRepeatIgnoringCaseAndWhitespace() {
+		StudyGuideMerger merger = new StudyGuideMerger();
+		merger.add(List.of(RIBOSOMES));
+
+		List<Steps> kept = merger.add(List.of(new Steps("  what do   RIBOSOMES build? ", "Protein chains.")));
+
+		assertTrue(kept.isEmpty());
+		assertEquals(List.of(RIBOSOMES), merger.result("Cells").questions());
+	}
+
+	@Test
+	void dropsQuestionWithMatchingKeywords() {
+		StudyGuideMerger merger = new StudyGuideMerger();
+		merger.add(List.of(MITOCHONDRIA));
+
+		List<Steps> kept = merger.add(List.of(new Steps("What is the function of the mitochondria in cells", "ATP.")));
+
+		assertTrue(kept.isEmpty());
+	}
+
+	@Test
+	void dropsRepeatWithinOnePartial() {
+		StudyGuideMerger merger = new StudyGuideMerger();
+
+		List<Steps> kept = merger.add(List.of(RIBOSOMES, MITOCHONDRIA, RIBOSOMES));
+
+		assertEquals(List.of(RIBOSOMES, MITOCHONDRIA), kept);
+	}
+
+	@Test
+	void skipsMissingQuestions() {
+		StudyGuideMerger merger = new StudyGuideMerger();
+
+		List<Steps> kept = merger.add(Arrays.asList(null, new Steps(null, "a"), new Steps("  ", "b"), RIBOSOMES));
+
+		assertEquals(List.of(RIBOSOMES), kept);
+	}
+
+	@Test
+	void comparesStopWordQuestionsOnlyByText() {
+		StudyGuideMerger merger = new StudyGuideMerger();
+
+		List<Steps> kept = merger.add(List.of(new Steps("What is it?", "a"), new Steps("Who is it?", "b")));
+
+		assertEquals(2, kept.size());
+	}
+}
@@ -0,0 +1,95 @@
+package com.tphelps.backend.service.util;
+
+import com.tphelps.backend.controller.pojos.Steps;
+import com.tphelps.backend.controller.pojos.StudyGuide;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StudyGuideStreamParserTests {
+
+	private static final String DOCUMENT = """
+			{"title": "Cells", "questions": [
+			  {"question": "What is a cell?", "answer": "The basic unit of life."},
+			  {"answer": "Mitochondria", "question": "Powerhouse of the cell?"}
+			]}""";
+
+	@Test
+	void parsesWholeDocument() throws IOException {
+		StudyGuideStreamParser parser = new StudyGuideStreamParser();
+
+		List<Steps> completed = parser.feed(DOCUMENT);
+		StudyGuide studyGuide = parser.finish();
+
+		assertEquals(2, completed.size());
+		assertEquals("Cells", studyGuide.title());
+		assertEquals(List.of(
+				new Steps("What is a cell?", "The basic unit of life."),
+				new Steps("Powerhouse of the cell?", "Mitochondria")), studyGuide.questions());
+	}
+
+	@Test
+	void emitsEachPairWhenItsObjectCloses() throws IOException {
+		StudyGuideStreamParser parser = new StudyGuideStreamParser();
+		int firstClose = DOCUMENT.indexOf('}');
+
+		List<Steps> completed = new ArrayList<>();
+		for(int i = 0; i < DOCUMENT.length(); i++){
+			List<Steps> steps = parser.feed(String.valueOf(DOCUMENT.charAt(i)));
+			if(i < firstClose){
+				assertTrue(steps.isEmpty(), "pair emitted before its object closed at index " + i);
+			}
+			if(i == firstClose){
+				assertEquals(List.of(new Steps("What is a cell?", "The basic unit of life.")), steps);
+			}
+			completed.addAll(steps);
+		}
+
+		assertEquals(parser.finish().questions(), completed);
+	}
+
+	@Test
+	void handlesNonAsciiSplitAcrossPieces() throws IOException {
+		StudyGuideStreamParser parser = new StudyGuideStreamParser();
+
+		parser.feed("{\"title\": \"Zell");
+		parser.feed("biologie \u2013 ");
+		parser.feed("\u7d30\u80de\", \"questions\": []}");
+
+		assertEquals("Zellbiologie \u2013 \u7d30\u80de", parser.finish().title());
+	}
+
+	@Test
+	void ignoresFieldsOutsideTheSchema() throws IOException {
+		StudyGuideStreamParser parser = new StudyGuideStreamParser();
+
+		parser.feed("""
+				{"meta": {"title": "not this", "count": 2}, "questions": [
+				  {"question": "Q", "answer": "A", "score": 0.5, "tags": ["x"]}
+				], "title": "T", "done": true}""");
+		StudyGuide studyGuide = parser.finish();
+
+		assertEquals("T", studyGuide.title());
+		assertEquals(List.of(new Steps("Q", "A")), studyGuide.questions());
+	}
+
+	@Test
+	void truncatedDocumentFailsOnFinish() throws IOException {
+		StudyGuideStreamParser parser = new StudyGuideStreamParser();
+
+		parser.feed(DOCUMENT.substring(0, DOCUMENT.length() / 2));
+
+		assertThrows(IOException.class, parser::finish);
+	}
+
+	@Test
+	void invalidJsonFailsOnFeed() {
+		StudyGuideStreamParser parser = new StudyGuideStreamParser();
+
+		assertThrows(IOException.class, () -> parser.feed("{\"title\": \"T\" \"questions\""));
+	}
+}
@@ -0,0 +1,41 @@
+package com.tphelps.backend.service.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TextUtilsTests {
+
+	@Test
+	void estimatesAlphabeticTextAtFourCharactersPerToken() {
+		assertEquals(0, TextUtils.estimateTokens(""));
+		assertEquals(0, TextUtils.estimateTokens(null));
+		assertEquals(1, TextUtils.estimateTokens("abc"));
+		assertEquals(3, TextUtils.estimateTokens("a".repeat(12)));
+	}
+
+	@Test
+	void estimatesCjkTextAtOneTokenPerCharacter() {
+		// Han, Hiragana, Katakana and Hangul
+		assertEquals(4, TextUtils.estimateTokens("\u7EC6\u3042\u30A2\uD55C"));
+		assertEquals(4, TextUtils.estimateTokens("\u7EC6\u80DE abcd"));
+	}
+
+	@Test
+	void countsSupplementaryCharacterOnce() {
+		// CJK extension B, a surrogate pair
+		assertEquals(1, TextUtils.estimateTokens("\uD840\uDC00"));
+	}
+
+	@Test
+	void findsLongestPrefixWithinBudget() {
+		assertEquals(8, TextUtils.tokenBudgetEnd("a".repeat(20), 2));
+		assertEquals(3, TextUtils.tokenBudgetEnd("\u7EC6\u80DE\u751F\u7269", 3));
+		assertEquals(0, TextUtils.tokenBudgetEnd("", 3));
+	}
+
+	@Test
+	void neverCutsSurrogatePair() {
+		assertEquals(2, TextUtils.tokenBudgetEnd("\uD840\uDC00\uD840\uDC00", 1));
+	}
+}